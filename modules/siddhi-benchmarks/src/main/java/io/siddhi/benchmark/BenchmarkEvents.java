@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates the stock events sent by the benchmarks. Events are generated upfront with a fixed seed, so that the
+ * event generation is not measured and every run processes the same events.
+ */
+public final class BenchmarkEvents {
+
+    public static final String STOCK_STREAM = "define stream StockStream (symbol string, price float, volume long);";
+    public static final int EVENT_COUNT = 4096;
+    private static final int EVENT_MASK = EVENT_COUNT - 1;
+
+    private final Object[][] events;
+    private int index = 0;
+
+    public BenchmarkEvents(int symbolCount) {
+        Random random = new Random(1234);
+        events = new Object[EVENT_COUNT][];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            events[i] = new Object[]{"SYM" + random.nextInt(symbolCount), random.nextFloat() * 200,
+                    (long) random.nextInt(100)};
+        }
+    }
+
+    public Object[] next() {
+        return events[index++ & EVENT_MASK];
+    }
+}
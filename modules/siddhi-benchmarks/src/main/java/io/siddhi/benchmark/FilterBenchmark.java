@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures filter queries, covering the evaluation of condition, math and function expression executors.
+ */
+public class FilterBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"price > 100",
+            "price > 100 and volume < 50 and symbol != 'SYM1'",
+            "(price * volume) / 2 > 1000 or symbol == 'SYM1'",
+            "ifThenElse(volume > 50, price, price * 2) > 150 and not (symbol is null)"})
+    public String condition;
+
+    @Param({"1", "8"})
+    public int queryCount;
+
+    @Setup
+    public void setup() {
+        StringBuilder siddhiApp = new StringBuilder(BenchmarkEvents.STOCK_STREAM);
+        for (int i = 0; i < queryCount; i++) {
+            siddhiApp.append("from StockStream[").append(condition).append("] ")
+                    .append("select symbol, price * volume as total, price ")
+                    .append("insert into OutputStream;");
+        }
+        start(siddhiApp.toString(), 10, "OutputStream");
+    }
+
+    @Benchmark
+    public void send() throws InterruptedException {
+        sendEvent();
+    }
+}
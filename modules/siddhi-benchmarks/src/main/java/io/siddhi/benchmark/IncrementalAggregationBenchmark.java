@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.event.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures incremental aggregation, both when aggregating the incoming events and when finding the aggregates
+ * through on-demand queries.
+ */
+public class IncrementalAggregationBenchmark extends SiddhiAppBenchmark {
+
+    private static final int INITIAL_EVENT_COUNT = 10000;
+
+    @Param({"seconds", "hours"})
+    public String per;
+
+    private String findQuery;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        String siddhiApp = BenchmarkEvents.STOCK_STREAM +
+                "define aggregation StockAggregation " +
+                "from StockStream " +
+                "select symbol, sum(price) as totalPrice, avg(price) as avgPrice, count() as eventCount " +
+                "group by symbol " +
+                "aggregate every sec...day;";
+        start(siddhiApp, 100);
+        for (int i = 0; i < INITIAL_EVENT_COUNT; i++) {
+            sendEvent();
+        }
+        findQuery = "from StockAggregation " +
+                "within 0L, 4102444800000L " +
+                "per '" + per + "' " +
+                "select symbol, totalPrice, avgPrice, eventCount";
+    }
+
+    @Benchmark
+    public void aggregate() throws InterruptedException {
+        sendEvent();
+    }
+
+    @Benchmark
+    public Event[] find() {
+        return siddhiAppRuntime.query(findQuery);
+    }
+}
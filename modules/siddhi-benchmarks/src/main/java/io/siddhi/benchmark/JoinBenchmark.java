@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.stream.input.InputHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures joining a stream with a window, with a table and with a table indexed by a primary key
+ * (i.e. a table backed by an IndexEventHolder), each holding one event per symbol.
+ */
+public class JoinBenchmark extends SiddhiAppBenchmark {
+
+    private static final int SYMBOL_COUNT = 1000;
+
+    @Param({"window", "table", "indexedTable"})
+    public String store;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        String storeDefinition;
+        switch (store) {
+            case "window":
+                storeDefinition = "define window StockStore (symbol string, price float, volume long) " +
+                        "length(" + SYMBOL_COUNT + ");";
+                break;
+            case "table":
+                storeDefinition = "define table StockStore (symbol string, price float, volume long);";
+                break;
+            default:
+                storeDefinition = "@PrimaryKey('symbol') " +
+                        "define table StockStore (symbol string, price float, volume long);";
+                break;
+        }
+        String siddhiApp = BenchmarkEvents.STOCK_STREAM +
+                "define stream StoreStream (symbol string, price float, volume long);" +
+                storeDefinition +
+                "from StoreStream insert into StockStore;" +
+                "from StockStream as s join StockStore as t on s.symbol == t.symbol " +
+                "select s.symbol, s.price, t.price as storedPrice " +
+                "insert into OutputStream;";
+        start(siddhiApp, SYMBOL_COUNT, "OutputStream");
+
+        InputHandler storeStreamHandler = siddhiAppRuntime.getInputHandler("StoreStream");
+        for (int i = 0; i < SYMBOL_COUNT; i++) {
+            storeStreamHandler.send(new Object[]{"SYM" + i, (float) i, (long) i});
+        }
+    }
+
+    @Benchmark
+    public void send() throws InterruptedException {
+        sendEvent();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures pattern and sequence matching over the StockStream.
+ */
+public class PatternBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"pattern", "patternWithin", "sequence", "countingSequence"})
+    public String matching;
+
+    @Setup
+    public void setup() {
+        String input;
+        String nextPrice = "e2.price";
+        switch (matching) {
+            case "pattern":
+                input = "from every e1=StockStream[price > 150] -> " +
+                        "e2=StockStream[symbol == e1.symbol and price > e1.price] ";
+                break;
+            case "patternWithin":
+                input = "from every e1=StockStream[price > 150] -> " +
+                        "e2=StockStream[symbol == e1.symbol and price > e1.price] within 1 sec ";
+                break;
+            case "sequence":
+                input = "from every e1=StockStream, e2=StockStream[price > e1.price] ";
+                break;
+            default:
+                input = "from every e1=StockStream, e2=StockStream[price > e1.price]+, " +
+                        "e3=StockStream[price < e2[last].price] ";
+                nextPrice = "e2[0].price";
+                break;
+        }
+        String siddhiApp = BenchmarkEvents.STOCK_STREAM +
+                input +
+                "select e1.symbol, e1.price as initialPrice, " + nextPrice + " as nextPrice " +
+                "insert into OutputStream;";
+        start(siddhiApp, 10, "OutputStream");
+    }
+
+    @Benchmark
+    public void send() throws InterruptedException {
+        sendEvent();
+    }
+}
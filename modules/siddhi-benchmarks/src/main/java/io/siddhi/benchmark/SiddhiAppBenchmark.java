@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of the benchmarks which run a Siddhi app and measure the throughput of sending events to its StockStream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class SiddhiAppBenchmark {
+
+    protected SiddhiManager siddhiManager;
+    protected SiddhiAppRuntime siddhiAppRuntime;
+    protected InputHandler stockStreamHandler;
+    protected BenchmarkEvents events;
+    private volatile long outputCount;
+
+    /**
+     * Creates and starts the Siddhi app, and consumes the events of the given output streams.
+     *
+     * @param siddhiApp     Siddhi app containing the StockStream
+     * @param symbolCount   number of distinct symbols in the sent events
+     * @param outputStreams streams consumed by the benchmark
+     */
+    protected void start(String siddhiApp, int symbolCount, String... outputStreams) {
+        siddhiManager = new SiddhiManager();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        for (String outputStream : outputStreams) {
+            siddhiAppRuntime.addCallback(outputStream, new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    outputCount += events.length;
+                }
+            });
+        }
+        stockStreamHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        events = new BenchmarkEvents(symbolCount);
+        siddhiAppRuntime.start();
+    }
+
+    protected void sendEvent() throws InterruptedException {
+        stockStreamHandler.send(events.next());
+    }
+
+    public long getOutputCount() {
+        return outputCount;
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        if (siddhiAppRuntime != null) {
+            siddhiAppRuntime.shutdown();
+        }
+        if (siddhiManager != null) {
+            siddhiManager.shutdown();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures taking snapshots of, and restoring, the state of a Siddhi app through its snapshot service.
+ */
+public class SnapshotBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"1000", "100000"})
+    public int windowLength;
+
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        String siddhiApp = BenchmarkEvents.STOCK_STREAM +
+                "from StockStream#window.length(" + windowLength + ") " +
+                "select symbol, sum(price) as totalPrice, count() as eventCount " +
+                "group by symbol " +
+                "insert into OutputStream;" +
+                "" +
+                "from every e1=StockStream[price > 190] -> e2=StockStream[symbol == e1.symbol] " +
+                "select e1.symbol, e2.price " +
+                "insert into MatchStream;";
+        start(siddhiApp, 1000);
+        for (int i = 0; i < windowLength; i++) {
+            sendEvent();
+        }
+        snapshot = siddhiAppRuntime.snapshot();
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return siddhiAppRuntime.snapshot();
+    }
+
+    @Benchmark
+    public void restore() throws CannotRestoreSiddhiAppStateException {
+        siddhiAppRuntime.restore(snapshot);
+    }
+}
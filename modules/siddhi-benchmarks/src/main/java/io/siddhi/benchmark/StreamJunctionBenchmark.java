@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the dispatching of events from a stream junction to its receivers, when the stream is synchronous and
+ * when it's asynchronous (i.e. dispatched through the Disruptor).
+ */
+public class StreamJunctionBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"sync", "async"})
+    public String dispatch;
+
+    @Param({"1", "4"})
+    public int receiverCount;
+
+    @Setup
+    public void setup() {
+        StringBuilder siddhiApp = new StringBuilder();
+        if ("async".equals(dispatch)) {
+            siddhiApp.append("@async(buffer.size='1024') ");
+        }
+        siddhiApp.append(BenchmarkEvents.STOCK_STREAM);
+        for (int i = 0; i < receiverCount; i++) {
+            siddhiApp.append("from StockStream select symbol, price, volume insert into OutputStream;");
+        }
+        start(siddhiApp.toString(), 10, "OutputStream");
+    }
+
+    @Benchmark
+    public void send() throws InterruptedException {
+        sendEvent();
+    }
+}
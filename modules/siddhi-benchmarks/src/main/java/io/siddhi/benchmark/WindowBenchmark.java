@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the window processors, with an aggregation over the events in the window.
+ */
+public class WindowBenchmark extends SiddhiAppBenchmark {
+
+    @Param({"length(1000)", "time(1 sec)", "sort(1000, price)", "session(1 sec, symbol)"})
+    public String window;
+
+    @Setup
+    public void setup() {
+        String siddhiApp = BenchmarkEvents.STOCK_STREAM +
+                "from StockStream#window." + window + " " +
+                "select symbol, sum(price) as totalPrice, count() as eventCount " +
+                "insert all events into OutputStream;";
+        start(siddhiApp, 100, "OutputStream");
+    }
+
+    @Benchmark
+    public void send() throws InterruptedException {
+        sendEvent();
+    }
+}
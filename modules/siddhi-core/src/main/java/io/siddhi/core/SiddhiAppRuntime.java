@@ -23,6 +23,7 @@ import io.siddhi.core.aggregation.AggregationRuntime;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.debugger.SiddhiDebugger;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.StripedStreamEventPool;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.DefinitionNotExistException;
@@ -30,6 +31,7 @@ import io.siddhi.core.exception.QueryNotExistException;
 import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.exception.StoreQueryCreationException;
 import io.siddhi.core.partition.PartitionRuntime;
+import io.siddhi.core.partition.PartitionStreamReceiver;
 import io.siddhi.core.query.QueryRuntime;
 import io.siddhi.core.query.StoreQueryRuntime;
 import io.siddhi.core.query.input.stream.StreamRuntime;
@@ -57,7 +59,10 @@ import io.siddhi.core.util.parser.StoreQueryParser;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.persistence.util.PersistenceHelper;
 import io.siddhi.core.util.snapshot.PersistenceReference;
+import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.statistics.BufferedEventsTracker;
+import io.siddhi.core.util.statistics.HotKey;
+import io.siddhi.core.util.statistics.HotKeyTracker;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.window.Window;
@@ -85,6 +90,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -163,6 +169,7 @@ public class SiddhiAppRuntime {
         if (siddhiAppContext.getStatisticsManager() != null) {
             monitorQueryMemoryUsage();
             monitorBufferedEvents();
+            monitorRestores();
             storeQueryLatencyTracker = QueryParserHelper.createLatencyTracker(siddhiAppContext, "query",
                     SiddhiConstants.METRIC_INFIX_STORE_QUERIES, null);
         }
@@ -175,6 +182,7 @@ public class SiddhiAppRuntime {
             InputHandler inputHandler = getInputHandler(sourceEntries.getKey());
             for (Source source : sourceEntries.getValue()) {
                 source.getMapper().setInputHandler(inputHandler);
+                source.getMapper().setStreamJunction(streamJunctionMap.get(sourceEntries.getKey()));
             }
         }
     }
@@ -367,6 +375,69 @@ public class SiddhiAppRuntime {
         return tableMap.values();
     }
 
+    /**
+     * Reports the keys receiving the most events, per partition and per group by query, when enabled with the
+     * 'hot.key.sample.interval' element of the statistics annotation.
+     *
+     * @return the top keys with their estimated event rates, mapped by partition id or query name
+     */
+    public Map<String, List<HotKey>> getHotKeysByRate() {
+        Map<String, List<HotKey>> hotKeys = new LinkedHashMap<>();
+        for (PartitionRuntime partitionRuntime : partitionMap.values()) {
+            HotKeyTracker hotKeyTracker = partitionRuntime.getHotKeyTracker();
+            if (hotKeyTracker != null) {
+                hotKeys.put(partitionRuntime.getPartitionId(), hotKeyTracker.getTopKeysByRate());
+            }
+            for (QueryRuntime queryRuntime : partitionRuntime.getMetaQueryRuntimeMap().values()) {
+                addGroupByHotKeys(queryRuntime, hotKeys);
+            }
+        }
+        for (QueryRuntime queryRuntime : queryProcessorMap.values()) {
+            addGroupByHotKeys(queryRuntime, hotKeys);
+        }
+        return hotKeys;
+    }
+
+    private void addGroupByHotKeys(QueryRuntime queryRuntime, Map<String, List<HotKey>> hotKeys) {
+        HotKeyTracker groupByKeyTracker = queryRuntime.getSelector().getGroupByKeyTracker();
+        if (groupByKeyTracker != null) {
+            hotKeys.put(queryRuntime.getQueryId(), groupByKeyTracker.getTopKeysByRate());
+        }
+    }
+
+    /**
+     * Calculates the memory usage of the queries, tables, windows and aggregations by walking their object graphs,
+     * which also covers the state that is not part of the memory usage metrics. This takes time proportional to the
+     * size of the state, hence it is meant to be called on demand for diagnosis.
+     *
+     * @return the memory usage in bytes, mapped by the names of the memory usage metrics, or an empty map when
+     * statistics are not enabled
+     */
+    public Map<String, Long> calculateMemoryUsage() {
+        if (memoryUsageTracker == null) {
+            return Collections.emptyMap();
+        }
+        return memoryUsageTracker.calculateMemoryUsage();
+    }
+
+    /**
+     * Reports the partition keys holding the most state, when enabled with the 'hot.key.sample.interval' element of
+     * the statistics annotation. Group by queries are not reported here: their per key aggregator state is owned by
+     * the thread processing the query, and is mostly of the same size for every key, so their hot keys are only
+     * reported by {@link #getHotKeysByRate()}.
+     *
+     * @return the top keys with their estimated state sizes, mapped by partition id
+     */
+    public Map<String, List<HotKey>> getHotKeysByStateSize() {
+        Map<String, List<HotKey>> hotKeys = new LinkedHashMap<>();
+        for (PartitionRuntime partitionRuntime : partitionMap.values()) {
+            if (partitionRuntime.getHotKeyTracker() != null) {
+                hotKeys.put(partitionRuntime.getPartitionId(), partitionRuntime.getTopKeysByStateSize());
+            }
+        }
+        return hotKeys;
+    }
+
     public synchronized void start() {
         if (running) {
             log.warn("Error calling start() for Siddhi App '" + siddhiAppContext.getName() + "', " +
@@ -553,6 +624,9 @@ public class SiddhiAppRuntime {
                 }
                 siddhiAppContext.getScheduledExecutorService().shutdownNow();
                 siddhiAppContext.getExecutorService().shutdownNow();
+                if (siddhiAppContext.getStreamJunctionExecutorService() != siddhiAppContext.getExecutorService()) {
+                    siddhiAppContext.getStreamJunctionExecutorService().shutdownNow();
+                }
 
             }
         }, "Siddhi-SiddhiApp-" + siddhiAppContext.getName() + "-Shutdown-Cleaner");
@@ -714,9 +788,50 @@ public class SiddhiAppRuntime {
             for (Map.Entry<String, StreamJunction> streamJunctionEntry : streamJunctionMap.entrySet()) {
                 registerForBufferedEvents(streamJunctionEntry);
             }
+            for (PartitionStreamReceiver partitionStreamReceiver :
+                    ((PartitionRuntime) entry.getValue()).getPartitionStreamReceivers().values()) {
+                registerForEventPool(partitionStreamReceiver.getStreamId(),
+                        ((PartitionRuntime) entry.getValue()).getPartitionId(), partitionStreamReceiver.getEventPool());
+            }
         }
     }
 
+    private void monitorRestores() {
+        SnapshotService snapshotService = siddhiAppContext.getSnapshotService();
+        String metricName = siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
+                SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
+                SiddhiConstants.METRIC_DELIMITER + getName() + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_SNAPSHOTS + SiddhiConstants.METRIC_DELIMITER + "restore";
+        registerGauge(metricName + SiddhiConstants.METRIC_DELIMITER + "restored",
+                snapshotService::getRestoredSnapshotableCount);
+        registerGauge(metricName + SiddhiConstants.METRIC_DELIMITER + "total",
+                snapshotService::getRestoringSnapshotableCount);
+        registerGauge(metricName + SiddhiConstants.METRIC_DELIMITER + "duration",
+                snapshotService::getLastRestoreDuration);
+    }
+
+    private void registerGauge(String metricName, Supplier<? extends Number> value) {
+        for (String regex : siddhiAppContext.getIncludedMetrics()) {
+            if (metricName.matches(regex)) {
+                siddhiAppContext.getStatisticsManager().registerGauge(metricName, value);
+                return;
+            }
+        }
+    }
+
+    private void registerForEventPool(String streamId, String partitionId, StripedStreamEventPool eventPool) {
+        String metricName = siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
+                SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
+                SiddhiConstants.METRIC_DELIMITER + getName() + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_STREAMS + SiddhiConstants.METRIC_DELIMITER +
+                streamId + SiddhiConstants.METRIC_DELIMITER + partitionId + SiddhiConstants.METRIC_DELIMITER +
+                "pool";
+        registerGauge(metricName + SiddhiConstants.METRIC_DELIMITER + "hitRate", eventPool::getHitRate);
+        registerGauge(metricName + SiddhiConstants.METRIC_DELIMITER + "outstanding", eventPool::getOutstandingEvents);
+    }
+
     private void registerForBufferedEvents(Map.Entry<String, StreamJunction> entry) {
         if (entry.getValue().containsBufferedEvents()) {
             String metricName = siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
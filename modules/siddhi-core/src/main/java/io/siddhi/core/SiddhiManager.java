@@ -17,6 +17,7 @@
  */
 package io.siddhi.core;
 
+import io.siddhi.core.config.ExecutionConfiguration;
 import io.siddhi.core.config.SiddhiContext;
 import io.siddhi.core.config.StatisticsConfiguration;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
@@ -29,6 +30,7 @@ import io.siddhi.core.util.parser.SiddhiAppParser;
 import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.snapshot.compression.SnapshotCodec;
 import io.siddhi.query.api.SiddhiApp;
 import io.siddhi.query.compiler.SiddhiCompiler;
 import org.apache.log4j.Logger;
@@ -194,6 +196,37 @@ public class SiddhiManager {
         siddhiContext.setStatisticsConfiguration(statisticsConfiguration);
     }
 
+    /**
+     * Method to make the Siddhi Apps share manager level thread pools, instead of each Siddhi App creating its own
+     * executor and scheduler. Should be set before creating the Siddhi Apps.
+     *
+     * @param executionConfiguration execution configuration
+     */
+    public void setExecutionConfiguration(ExecutionConfiguration executionConfiguration) {
+        siddhiContext.setExecutionConfiguration(executionConfiguration);
+    }
+
+    /**
+     * Method to compress the snapshots of the Siddhi Apps with the given codec when persisting. Snapshots are
+     * restored with the codec recorded in them, hence the snapshots persisted with a different codec (or
+     * uncompressed) can still be restored.
+     *
+     * @param snapshotCodec codec, or null to persist the snapshots uncompressed
+     */
+    public void setSnapshotCodec(SnapshotCodec snapshotCodec) {
+        siddhiContext.setSnapshotCodec(snapshotCodec);
+    }
+
+    /**
+     * Method to set the maximum number of threads used to restore the state of a Siddhi App, where the state of
+     * different queries, tables, windows, etc. is restored concurrently. Defaults to the number of processors.
+     *
+     * @param restoreParallelism maximum number of threads, or 1 to restore the state sequentially
+     */
+    public void setRestoreParallelism(int restoreParallelism) {
+        siddhiContext.setRestoreParallelism(restoreParallelism);
+    }
+
     /**
      * Method used to get all SiddhiAppRuntimes
      *
@@ -211,6 +244,7 @@ public class SiddhiManager {
         for (String siddhiAppName : siddhiAppNames) {
             siddhiAppRuntimeMap.get(siddhiAppName).shutdown();
         }
+        siddhiContext.shutdownSharedThreadPools();
     }
 
     /**
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.aggregation;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.query.api.aggregation.TimePeriod;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Caches the aggregates persisted in the tables of an incremental aggregation, so that the aggregates of closed
+ * buckets are not read from the tables again when the same (or an overlapping) within duration is queried.
+ * For each duration, the cache holds all the persisted aggregates (of all the group by keys) of a continuous time
+ * range, which only contains buckets that have already been closed by the {@link IncrementalExecutor}s.
+ * The cached aggregates are invalidated when aggregates are written to the cached time range of a table (due to
+ * out of order events), when the tables are purged and when the in-memory data is recreated.
+ */
+public class AggregationResultCache {
+
+    public static final int DEFAULT_MAX_CACHED_EVENTS_PER_DURATION = 100000;
+
+    private final int timestampPosition;
+    private final int maxCachedEventsPerDuration;
+    private final Map<TimePeriod.Duration, DurationCache> durationCacheMap = new EnumMap<>(TimePeriod.Duration.class);
+    private long version = 0;
+
+    /**
+     * @param timestampPosition          position of the attribute, which the within condition is applied on, in
+     *                                   the output data of the persisted aggregates
+     * @param maxCachedEventsPerDuration maximum number of aggregates cached per duration, the aggregates of a
+     *                                   duration are dropped from the cache when it is exceeded
+     */
+    public AggregationResultCache(int timestampPosition, int maxCachedEventsPerDuration) {
+        this.timestampPosition = timestampPosition;
+        this.maxCachedEventsPerDuration = maxCachedEventsPerDuration;
+    }
+
+    public long getTimestamp(StreamEvent streamEvent) {
+        return (long) streamEvent.getOutputData()[timestampPosition];
+    }
+
+    /**
+     * @return a version, which changes whenever the cached aggregates are invalidated
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Notifies that all the aggregates of the given duration, which belong to buckets before the given time, have
+     * been persisted.
+     *
+     * @param duration   duration of the table
+     * @param closedTime start time of the bucket being currently aggregated in-memory
+     */
+    public synchronized void markClosed(TimePeriod.Duration duration, long closedTime) {
+        DurationCache durationCache = durationCacheMap.computeIfAbsent(duration, k -> new DurationCache());
+        if (closedTime > durationCache.closedTime) {
+            durationCache.closedTime = closedTime;
+        }
+    }
+
+    /**
+     * @param duration duration of the table
+     * @return the time before which the aggregates of the given duration can be cached, or -1 if none can be cached
+     */
+    public synchronized long getClosedTime(TimePeriod.Duration duration) {
+        DurationCache durationCache = durationCacheMap.get(duration);
+        return durationCache == null ? -1 : durationCache.closedTime;
+    }
+
+    /**
+     * Returns the cached aggregates of the given duration, starting from the given start time.
+     *
+     * @param duration  duration of the table
+     * @param startTime start time (inclusive) of the aggregates
+     * @param endTime   end time (exclusive) of the aggregates
+     * @return the cached aggregates up to the end time or up to the end of the cached time range, whichever is
+     * earlier, or null if the aggregates at the start time are not cached
+     */
+    public synchronized CachedEvents getEvents(TimePeriod.Duration duration, long startTime, long endTime) {
+        DurationCache durationCache = durationCacheMap.get(duration);
+        if (durationCache == null || durationCache.events == null || startTime < durationCache.startTime ||
+                startTime >= durationCache.endTime) {
+            return null;
+        }
+        long cachedEndTime = Math.min(endTime, durationCache.endTime);
+        List<StreamEvent> events = new ArrayList<>();
+        for (List<StreamEvent> bucketEvents : durationCache.events.subMap(startTime, cachedEndTime).values()) {
+            events.addAll(bucketEvents);
+        }
+        return new CachedEvents(events, cachedEndTime);
+    }
+
+    /**
+     * Adds the persisted aggregates of the given duration and time range to the cache. The aggregates are ignored
+     * if the cache got invalidated after the given version was retrieved.
+     *
+     * @param duration  duration of the table
+     * @param startTime start time (inclusive) of the time range
+     * @param endTime   end time (exclusive) of the time range, which must not be after the closed time
+     * @param events    all the persisted aggregates of the time range
+     * @param version   version of the cache retrieved before reading the aggregates from the table
+     */
+    public synchronized void addEvents(TimePeriod.Duration duration, long startTime, long endTime,
+                                       List<StreamEvent> events, long version) {
+        DurationCache durationCache = durationCacheMap.get(duration);
+        if (version != this.version || durationCache == null || startTime >= endTime ||
+                endTime > durationCache.closedTime) {
+            return;
+        }
+        if (durationCache.events == null || endTime < durationCache.startTime || startTime > durationCache.endTime) {
+            // Only a continuous time range is cached, hence the disjoint range replaces the cached one
+            durationCache.events = new TreeMap<>();
+            durationCache.eventCount = 0;
+            durationCache.startTime = startTime;
+            durationCache.endTime = endTime;
+        } else {
+            durationCache.events.subMap(startTime, endTime).values()
+                    .forEach(bucketEvents -> durationCache.eventCount -= bucketEvents.size());
+            durationCache.events.subMap(startTime, endTime).clear();
+            durationCache.startTime = Math.min(startTime, durationCache.startTime);
+            durationCache.endTime = Math.max(endTime, durationCache.endTime);
+        }
+        for (StreamEvent event : events) {
+            durationCache.events.computeIfAbsent(getTimestamp(event), k -> new ArrayList<>()).add(event);
+        }
+        durationCache.eventCount += events.size();
+        if (durationCache.eventCount > maxCachedEventsPerDuration) {
+            durationCache.clearEvents();
+        }
+    }
+
+    /**
+     * Invalidates the cached aggregates if any of the given aggregates, which are written to the table of the
+     * given duration, belong to the cached time range. Aggregates written before the closed time also invalidate
+     * the aggregates being read from the table, as they may belong to the time range being read, even when nothing
+     * is cached yet.
+     *
+     * @param duration          duration of the table
+     * @param writtenEventChunk aggregates written to the table
+     */
+    public synchronized void notifyWrite(TimePeriod.Duration duration,
+                                         ComplexEventChunk<StreamEvent> writtenEventChunk) {
+        DurationCache durationCache = durationCacheMap.get(duration);
+        if (durationCache == null) {
+            return;
+        }
+        long oldestTimestamp = Long.MAX_VALUE;
+        writtenEventChunk.reset();
+        while (writtenEventChunk.hasNext()) {
+            oldestTimestamp = Math.min(oldestTimestamp, getTimestamp(writtenEventChunk.next()));
+        }
+        writtenEventChunk.reset();
+        if (oldestTimestamp >= durationCache.closedTime) {
+            // Neither cached nor being read, as only the aggregates before the closed time are cached
+            return;
+        }
+        version++;
+        if (durationCache.events == null || oldestTimestamp >= durationCache.endTime) {
+            return;
+        }
+        if (oldestTimestamp <= durationCache.startTime) {
+            durationCache.clearEvents();
+        } else {
+            durationCache.events.tailMap(oldestTimestamp).values()
+                    .forEach(bucketEvents -> durationCache.eventCount -= bucketEvents.size());
+            durationCache.events.tailMap(oldestTimestamp).clear();
+            durationCache.endTime = oldestTimestamp;
+        }
+    }
+
+    /**
+     * Invalidates the cached aggregates of the given duration.
+     *
+     * @param duration duration of the table
+     */
+    public synchronized void invalidate(TimePeriod.Duration duration) {
+        DurationCache durationCache = durationCacheMap.get(duration);
+        if (durationCache != null) {
+            version++;
+            durationCache.clearEvents();
+        }
+    }
+
+    /**
+     * Invalidates all the cached aggregates, and the closed times of all durations.
+     */
+    public synchronized void clear() {
+        version++;
+        durationCacheMap.clear();
+    }
+
+    /**
+     * Aggregates retrieved from the cache.
+     */
+    public static class CachedEvents {
+        private final List<StreamEvent> events;
+        private final long endTime;
+
+        CachedEvents(List<StreamEvent> events, long endTime) {
+            this.events = events;
+            this.endTime = endTime;
+        }
+
+        public List<StreamEvent> getEvents() {
+            return events;
+        }
+
+        /**
+         * @return end time (exclusive) up to which the aggregates are retrieved from the cache
+         */
+        public long getEndTime() {
+            return endTime;
+        }
+    }
+
+    private static class DurationCache {
+        private long closedTime = -1;
+        private long startTime;
+        private long endTime;
+        private int eventCount;
+        private TreeMap<Long, List<StreamEvent>> events;
+
+        private void clearEvents() {
+            events = null;
+            eventCount = 0;
+        }
+    }
+}
@@ -42,6 +42,7 @@ import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryCalculable;
 import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import io.siddhi.query.api.aggregation.TimePeriod;
 import io.siddhi.query.api.aggregation.Within;
 import io.siddhi.query.api.definition.AbstractDefinition;
@@ -87,6 +88,7 @@ public class AggregationRuntime implements MemoryCalculable {
     private IncrementalDataPurging incrementalDataPurging;
     private ExpressionExecutor shouldUpdateExpressionExecutor;
     private String shardId;
+    private AggregationResultCache aggregationResultCache;
 
     public AggregationRuntime(AggregationDefinition aggregationDefinition,
                               Map<TimePeriod.Duration, IncrementalExecutor> incrementalExecutorMap,
@@ -102,7 +104,8 @@ public class AggregationRuntime implements MemoryCalculable {
                               List<GroupByKeyGenerator> groupByKeyGeneratorList,
                               IncrementalDataPurging incrementalDataPurging,
                               ExpressionExecutor shouldUpdateExpressionExecutor, String shardId,
-                              Map<TimePeriod.Duration, IncrementalExecutor> incrementalExecutorMapForPartitions) {
+                              Map<TimePeriod.Duration, IncrementalExecutor> incrementalExecutorMapForPartitions,
+                              AggregationResultCache aggregationResultCache) {
         this.aggregationDefinition = aggregationDefinition;
         this.incrementalExecutorMap = incrementalExecutorMap;
         this.aggregationTables = aggregationTables;
@@ -122,6 +125,7 @@ public class AggregationRuntime implements MemoryCalculable {
         this.shouldUpdateExpressionExecutor = shouldUpdateExpressionExecutor;
         this.shardId = shardId;
         this.incrementalExecutorMapForPartitions = incrementalExecutorMapForPartitions;
+        this.aggregationResultCache = aggregationResultCache;
         aggregateMetaSteamEvent = new MetaStreamEvent();
         aggregationDefinition.getAttributeList().forEach(aggregateMetaSteamEvent::addOutputData);
     }
@@ -354,7 +358,7 @@ public class AggregationRuntime implements MemoryCalculable {
         return new IncrementalAggregateCompileCondition(withinTableCompiledConditions, withinInMemoryCompileCondition,
                 onCompiledCondition, tableMetaStreamEvent, aggregateMetaSteamEvent, additionalAttributes,
                 alteredMatchingMetaInfoHolder, perExpressionExecutor, startTimeEndTimeExpressionExecutor,
-                processingOnExternalTime);
+                processingOnExternalTime, aggregationResultCache);
     }
 
     public void startPurging() {
@@ -369,10 +373,18 @@ public class AggregationRuntime implements MemoryCalculable {
                 durationIncrementalExecutorEntry.getValue().setProcessingExecutor(isEventArrived);
             }
         }
+        if (aggregationResultCache != null) {
+            aggregationResultCache.clear();
+        }
         recreateInMemoryData.recreateInMemoryData(refreshReadingExecutors);
     }
 
     public void processEvents(ComplexEventChunk<StreamEvent> streamEventComplexEventChunk) {
         incrementalExecutorMap.get(incrementalDurations.get(0)).execute(streamEventComplexEventChunk);
     }
+
+    @Override
+    public StateSizeTracker getStateSizeTracker() {
+        return null;
+    }
 }
@@ -79,6 +79,7 @@ public class IncrementalDataPurging implements Runnable {
             new EnumMap<>(TimePeriod.Duration.class);
     private Map<String, Table> tableMap = new HashMap<>();
     private AggregationDefinition aggregationDefinition;
+    private AggregationResultCache aggregationResultCache;
 
     public void init(AggregationDefinition aggregationDefinition, StreamEventPool streamEventPool,
                      Map<TimePeriod.Duration, Table> aggregationTables, Boolean isProcessingOnExternalTime,
@@ -181,6 +182,10 @@ public class IncrementalDataPurging implements Runnable {
         return purgingEnabled;
     }
 
+    public void setAggregationResultCache(AggregationResultCache aggregationResultCache) {
+        this.aggregationResultCache = aggregationResultCache;
+    }
+
     public void setPurgingEnabled(boolean purgingEnabled) {
         this.purgingEnabled = purgingEnabled;
     }
@@ -204,6 +209,9 @@ public class IncrementalDataPurging implements Runnable {
                                 " retention of timestamp : " + purgeTime);
                     }
                     table.deleteEvents(eventChunk, compiledConditionsHolder.get(entry.getKey()), 1);
+                    if (aggregationResultCache != null) {
+                        aggregationResultCache.invalidate(entry.getKey());
+                    }
                 } catch (RuntimeException e) {
                     LOG.error("Exception occurred while deleting events from " +
                             table.getTableDefinition().getId() + " table", e);
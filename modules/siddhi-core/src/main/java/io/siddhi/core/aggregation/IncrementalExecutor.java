@@ -62,6 +62,7 @@ public class IncrementalExecutor implements Executor, Snapshotable {
     private String elementId;
     private boolean isProcessingExecutor;
     private SiddhiAppContext siddhiAppContext;
+    private AggregationResultCache aggregationResultCache;
 
     private BaseIncrementalValueStore baseIncrementalValueStore = null;
     private Map<String, BaseIncrementalValueStore> baseIncrementalValueStoreGroupByMap = null;
@@ -106,6 +107,10 @@ public class IncrementalExecutor implements Executor, Snapshotable {
         this.scheduler = scheduler;
     }
 
+    public void setAggregationResultCache(AggregationResultCache aggregationResultCache) {
+        this.aggregationResultCache = aggregationResultCache;
+    }
+
     @Override
     public void execute(ComplexEventChunk streamEventChunk) {
         if (LOG.isDebugEnabled()) {
@@ -125,6 +130,9 @@ public class IncrementalExecutor implements Executor, Snapshotable {
                 nextEmitTime = IncrementalTimeConverterUtil.getNextEmitTime(timestamp, duration, null);
                 dispatchAggregateEvents(startTimeOfAggregates);
                 sendTimerEvent();
+                if (isProcessingExecutor && aggregationResultCache != null) {
+                    aggregationResultCache.markClosed(duration, startTimeOfAggregates);
+                }
             }
             if (streamEvent.getType() == ComplexEvent.Type.CURRENT) {
                 processAggregates(streamEvent);
@@ -231,6 +239,9 @@ public class IncrementalExecutor implements Executor, Snapshotable {
             }
             if (isProcessingExecutor) {
                 table.addEvents(eventChunk, 1);
+                if (aggregationResultCache != null) {
+                    aggregationResultCache.notifyWrite(duration, eventChunk);
+                }
             }
             if (getNextExecutor() != null) {
                 next.execute(eventChunk);
@@ -252,6 +263,9 @@ public class IncrementalExecutor implements Executor, Snapshotable {
             }
             if (isProcessingExecutor) {
                 table.addEvents(eventChunk, noOfEvents);
+                if (aggregationResultCache != null) {
+                    aggregationResultCache.notifyWrite(duration, eventChunk);
+                }
             }
             if (getNextExecutor() != null) {
                 next.execute(eventChunk);
@@ -325,6 +339,9 @@ public class IncrementalExecutor implements Executor, Snapshotable {
         nextEmitTime = (long) state.get("NextEmitTime");
         startTimeOfAggregates = (long) state.get("StartTimeOfAggregates");
         timerStarted = (boolean) state.get("TimerStarted");
+        if (aggregationResultCache != null) {
+            aggregationResultCache.clear();
+        }
     }
 
     @Override
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.config;
+
+/**
+ * Siddhi Manager level configuration of the threads used by the Siddhi Apps. When set, the Siddhi Apps of the
+ * Siddhi Manager share a bounded executor and a scheduler instead of creating their own thread pools, and the
+ * number of threads a single Siddhi App can occupy at a time in the shared pools is limited by the per app quotas.
+ */
+public class ExecutionConfiguration {
+
+    private int executorPoolSize = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private int schedulerPoolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private int appExecutorQuota = executorPoolSize;
+    private int appSchedulerQuota = 5;
+    private boolean virtualThreadsEnabled = false;
+
+    public int getExecutorPoolSize() {
+        return executorPoolSize;
+    }
+
+    /**
+     * @param executorPoolSize maximum number of threads of the executor shared by the Siddhi Apps
+     */
+    public void setExecutorPoolSize(int executorPoolSize) {
+        this.executorPoolSize = executorPoolSize;
+    }
+
+    public int getSchedulerPoolSize() {
+        return schedulerPoolSize;
+    }
+
+    /**
+     * @param schedulerPoolSize number of threads of the shared scheduler, which only hands over the due tasks to
+     *                          the shared executor
+     */
+    public void setSchedulerPoolSize(int schedulerPoolSize) {
+        this.schedulerPoolSize = schedulerPoolSize;
+    }
+
+    public int getAppExecutorQuota() {
+        return appExecutorQuota;
+    }
+
+    /**
+     * @param appExecutorQuota maximum number of tasks a Siddhi App can run in parallel on the shared executor
+     */
+    public void setAppExecutorQuota(int appExecutorQuota) {
+        this.appExecutorQuota = appExecutorQuota;
+    }
+
+    public int getAppSchedulerQuota() {
+        return appSchedulerQuota;
+    }
+
+    /**
+     * @param appSchedulerQuota maximum number of scheduled tasks of a Siddhi App that can run in parallel
+     */
+    public void setAppSchedulerQuota(int appSchedulerQuota) {
+        this.appSchedulerQuota = appSchedulerQuota;
+    }
+
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * @param virtualThreadsEnabled run the shared executor tasks, the scheduled tasks and the consumers of the async
+     *                              stream junctions on virtual threads, when the Java runtime supports them
+     */
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+}
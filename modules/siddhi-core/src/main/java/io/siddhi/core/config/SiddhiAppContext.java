@@ -53,6 +53,7 @@ public class SiddhiAppContext {
 
     private ExecutorService executorService;
     private ScheduledExecutorService scheduledExecutorService;
+    private ExecutorService streamJunctionExecutorService;
     private List<EternalReferencedHolder> eternalReferencedHolders;
     private SnapshotService snapshotService;
 
@@ -65,6 +66,9 @@ public class SiddhiAppContext {
     private int bufferSize;
     private String siddhiAppString;
     private List<String> includedMetrics;
+    private int traceSampleInterval = 0;
+    private int hotKeySampleInterval = 0;
+    private int hotKeyCount = 10;
     private boolean transportChannelCreationEnabled;
     private List<Scheduler> schedulerList;
 
@@ -154,6 +158,18 @@ public class SiddhiAppContext {
         this.executorService = executorService;
     }
 
+    /**
+     * @return executor service running the consumers of the async stream junctions, which run until the Siddhi
+     * App is shutdown
+     */
+    public ExecutorService getStreamJunctionExecutorService() {
+        return streamJunctionExecutorService;
+    }
+
+    public void setStreamJunctionExecutorService(ExecutorService streamJunctionExecutorService) {
+        this.streamJunctionExecutorService = streamJunctionExecutorService;
+    }
+
     public TimestampGenerator getTimestampGenerator() {
         return timestampGenerator;
     }
@@ -234,6 +250,55 @@ public class SiddhiAppContext {
         this.includedMetrics = includedMetrics;
     }
 
+    /**
+     * @return one in how many events received by the sources are traced till the sinks, or 0 if the events are not
+     * traced
+     */
+    public int getTraceSampleInterval() {
+        return traceSampleInterval;
+    }
+
+    public void setTraceSampleInterval(int traceSampleInterval) {
+        this.traceSampleInterval = traceSampleInterval;
+    }
+
+    /**
+     * @return whether the sampled events are traced from the sources to the sinks, to track their end to end latency
+     */
+    public boolean isEventTracingEnabled() {
+        return statisticsManager != null && traceSampleInterval > 0;
+    }
+
+    /**
+     * @return one in how many events is recorded to track the hot keys of partitions and group by queries, or 0 if the
+     * hot keys are not tracked
+     */
+    public int getHotKeySampleInterval() {
+        return hotKeySampleInterval;
+    }
+
+    public void setHotKeySampleInterval(int hotKeySampleInterval) {
+        this.hotKeySampleInterval = hotKeySampleInterval;
+    }
+
+    /**
+     * @return number of hot keys reported per partition or group by query
+     */
+    public int getHotKeyCount() {
+        return hotKeyCount;
+    }
+
+    public void setHotKeyCount(int hotKeyCount) {
+        this.hotKeyCount = hotKeyCount;
+    }
+
+    /**
+     * @return whether the hot keys of partitions and group by queries are tracked
+     */
+    public boolean isHotKeyTrackingEnabled() {
+        return statisticsManager != null && hotKeySampleInterval > 0;
+    }
+
     public boolean isTransportChannelCreationEnabled() {
         return transportChannelCreationEnabled;
     }
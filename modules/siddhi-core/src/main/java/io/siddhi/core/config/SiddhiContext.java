@@ -26,15 +26,20 @@ import io.siddhi.core.stream.output.sink.SinkHandlerManager;
 import io.siddhi.core.table.record.RecordTableHandlerManager;
 import io.siddhi.core.util.SiddhiExtensionLoader;
 import io.siddhi.core.util.config.ConfigManager;
+import io.siddhi.core.util.concurrent.SharedThreadPools;
 import io.siddhi.core.util.config.InMemoryConfigManager;
 import io.siddhi.core.util.extension.holder.AbstractExtensionHolder;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.snapshot.compression.DeflateSnapshotCodec;
+import io.siddhi.core.util.snapshot.compression.SnapshotCodec;
 import io.siddhi.core.util.statistics.metrics.SiddhiMetricsFactory;
 import org.apache.log4j.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.sql.DataSource;
 
@@ -49,8 +54,13 @@ public class SiddhiContext {
     private Map<String, Class> siddhiExtensions = new HashMap<>();
     private PersistenceStore persistenceStore = null;
     private IncrementalPersistenceStore incrementalPersistenceStore = null;
+    private SnapshotCodec snapshotCodec = null;
+    private ConcurrentHashMap<String, SnapshotCodec> snapshotCodecs = new ConcurrentHashMap<>();
+    private int restoreParallelism = Runtime.getRuntime().availableProcessors();
     private ConcurrentHashMap<String, DataSource> siddhiDataSources;
     private StatisticsConfiguration statisticsConfiguration;
+    private ExecutionConfiguration executionConfiguration = null;
+    private SharedThreadPools sharedThreadPools = null;
     private ConcurrentHashMap<Class, AbstractExtensionHolder> extensionHolderMap;
     private ConfigManager configManager = null;
     private SinkHandlerManager sinkHandlerManager = null;
@@ -63,6 +73,7 @@ public class SiddhiContext {
         statisticsConfiguration = new StatisticsConfiguration(new SiddhiMetricsFactory());
         extensionHolderMap = new ConcurrentHashMap<Class, AbstractExtensionHolder>();
         configManager = new InMemoryConfigManager();
+        loadSnapshotCodecs();
         defaultDisrupterExceptionHandler = new ExceptionHandler<Object>() {
             @Override
             public void handleEventException(Throwable throwable, long l, Object event) {
@@ -111,6 +122,54 @@ public class SiddhiContext {
         this.incrementalPersistenceStore = incrementalPersistenceStore;
     }
 
+    private void loadSnapshotCodecs() {
+        SnapshotCodec deflateSnapshotCodec = new DeflateSnapshotCodec();
+        snapshotCodecs.put(deflateSnapshotCodec.getName(), deflateSnapshotCodec);
+        try {
+            for (SnapshotCodec codec : ServiceLoader.load(SnapshotCodec.class, SiddhiContext.class.getClassLoader())) {
+                snapshotCodecs.putIfAbsent(codec.getName(), codec);
+            }
+        } catch (ServiceConfigurationError e) {
+            log.error("Error when loading the snapshot codecs, hence only the codecs shipped with Siddhi " +
+                    "are available.", e);
+        }
+    }
+
+    /**
+     * @return the codec used to compress the snapshots, or null if the snapshots are not compressed
+     */
+    public SnapshotCodec getSnapshotCodec() {
+        return snapshotCodec;
+    }
+
+    /**
+     * Sets the codec used to compress the snapshots, and makes it available to restore the snapshots.
+     *
+     * @param snapshotCodec codec, or null to persist the snapshots uncompressed
+     */
+    public void setSnapshotCodec(SnapshotCodec snapshotCodec) {
+        if (snapshotCodec != null) {
+            snapshotCodecs.put(snapshotCodec.getName(), snapshotCodec);
+        }
+        this.snapshotCodec = snapshotCodec;
+    }
+
+    /**
+     * @param name name of the codec recorded in the snapshot header
+     * @return the codec, or null if no codec is available with the given name
+     */
+    public SnapshotCodec getSnapshotCodec(String name) {
+        return snapshotCodecs.get(name);
+    }
+
+    public int getRestoreParallelism() {
+        return restoreParallelism;
+    }
+
+    public void setRestoreParallelism(int restoreParallelism) {
+        this.restoreParallelism = restoreParallelism;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -138,6 +197,36 @@ public class SiddhiContext {
         this.statisticsConfiguration = statisticsConfiguration;
     }
 
+    public ExecutionConfiguration getExecutionConfiguration() {
+        return executionConfiguration;
+    }
+
+    public synchronized void setExecutionConfiguration(ExecutionConfiguration executionConfiguration) {
+        if (sharedThreadPools != null) {
+            log.warn("Execution configuration is ignored, as the shared thread pools are already in use by the " +
+                    "Siddhi Apps.");
+            return;
+        }
+        this.executionConfiguration = executionConfiguration;
+    }
+
+    /**
+     * @return the thread pools shared by the Siddhi Apps, or null if the execution configuration is not set
+     */
+    public synchronized SharedThreadPools getSharedThreadPools() {
+        if (sharedThreadPools == null && executionConfiguration != null) {
+            sharedThreadPools = new SharedThreadPools(executionConfiguration);
+        }
+        return sharedThreadPools;
+    }
+
+    public synchronized void shutdownSharedThreadPools() {
+        if (sharedThreadPools != null) {
+            sharedThreadPools.shutdown();
+            sharedThreadPools = null;
+        }
+    }
+
     public ConcurrentHashMap<Class, AbstractExtensionHolder> getExtensionHolderMap() {
         return extensionHolderMap;
     }
@@ -19,6 +19,7 @@
 package io.siddhi.core.config;
 
 import io.siddhi.core.util.statistics.LatencyTracker;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import io.siddhi.query.api.SiddhiApp;
 import io.siddhi.query.api.execution.query.output.stream.OutputStream;
 
@@ -31,6 +32,7 @@ public class SiddhiQueryContext {
     private String name;
     private OutputStream.OutputEventType outputEventType;
     private LatencyTracker latencyTracker;
+    private final StateSizeTracker stateSizeTracker = new StateSizeTracker();
 
     public SiddhiQueryContext(SiddhiAppContext siddhiAppContext, String queryName) {
 
@@ -73,4 +75,8 @@ public class SiddhiQueryContext {
     public LatencyTracker getLatencyTracker() {
         return latencyTracker;
     }
+
+    public StateSizeTracker getStateSizeTracker() {
+        return stateSizeTracker;
+    }
 }
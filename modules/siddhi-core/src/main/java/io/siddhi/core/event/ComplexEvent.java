@@ -34,6 +34,14 @@ public interface ComplexEvent extends Serializable {
 
     long getTimestamp();
 
+    /**
+     * @return the time in nanoseconds at which the event, or the event that caused it, was received by a source, or
+     * -1 if the event is not sampled for tracing
+     */
+    default long getIngestTimestamp() {
+        return -1;
+    }
+
     Object getAttribute(int[] position);
 
     void setAttribute(Object object, int[] position);
@@ -29,6 +29,7 @@ public class Event {
     protected long timestamp = -1;
     protected Object[] data;
     protected boolean isExpired = false;
+    protected long ingestTimestamp = -1;
 
     public Event(long timestamp, Object[] data) {
         this.timestamp = timestamp;
@@ -51,6 +52,18 @@ public class Event {
         this.timestamp = timestamp;
     }
 
+    /**
+     * @return the time in nanoseconds at which the event was received by a source, or -1 if the event is not
+     * sampled for tracing
+     */
+    public long getIngestTimestamp() {
+        return ingestTimestamp;
+    }
+
+    public void setIngestTimestamp(long ingestTimestamp) {
+        this.ingestTimestamp = ingestTimestamp;
+    }
+
     public Object[] getData() {
         return data;
     }
@@ -84,6 +97,7 @@ public class Event {
         timestamp = event.timestamp;
         System.arraycopy(event.data, 0, data, 0, data.length);
         isExpired = event.isExpired;
+        ingestTimestamp = event.ingestTimestamp;
         return this;
     }
 
@@ -91,6 +105,7 @@ public class Event {
         timestamp = complexEvent.getTimestamp();
         System.arraycopy(complexEvent.getOutputData(), 0, data, 0, data.length);
         isExpired = complexEvent.getType() == StreamEvent.Type.EXPIRED;
+        ingestTimestamp = complexEvent.getIngestTimestamp();
         return this;
     }
 
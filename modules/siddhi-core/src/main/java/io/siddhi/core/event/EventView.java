@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable read-only cursor over the events delivered to a callback, which gives access to the event data without
+ * copying the events into {@link Event}s. The view is only valid for the duration of the callback invocation, hence
+ * the values should be read within the callback, or the events should be copied using {@link #toEvent()}.
+ * <pre>
+ * while (eventView.next()) {
+ *     String symbol = eventView.getString(0);
+ *     double price = eventView.getDouble(1);
+ * }
+ * </pre>
+ */
+public final class EventView {
+
+    private ComplexEvent firstEvent;
+    private ComplexEvent currentEvent;
+    private boolean dataEventsOnly;
+    private Event[] events;
+    private Event[] expiredEvents;
+    private int index;
+    private boolean started;
+    private boolean inUse;
+
+    /**
+     * Points the view to the given chain of events. Used by Siddhi when invoking the callbacks.
+     *
+     * @param firstEvent     first event of the chain
+     * @param dataEventsOnly whether to only expose the current and expired events of the chain
+     */
+    public void wrap(ComplexEvent firstEvent, boolean dataEventsOnly) {
+        this.firstEvent = firstEvent;
+        this.dataEventsOnly = dataEventsOnly;
+        this.events = null;
+        this.expiredEvents = null;
+        reset();
+    }
+
+    /**
+     * Points the view to the given events. Used by Siddhi when invoking the callbacks.
+     *
+     * @param events        events, can be null
+     * @param expiredEvents events exposed after the given events, can be null
+     */
+    public void wrap(Event[] events, Event[] expiredEvents) {
+        this.firstEvent = null;
+        this.events = events == null ? new Event[0] : events;
+        this.expiredEvents = expiredEvents;
+        reset();
+    }
+
+    /**
+     * Marks the view as in use by a callback invocation.
+     *
+     * @return false if the view is already in use by an outer invocation on the same thread
+     */
+    public boolean acquire() {
+        if (inUse) {
+            return false;
+        }
+        inUse = true;
+        return true;
+    }
+
+    /**
+     * Releases the view after the callback invocation, and drops the references to the events.
+     */
+    public void release() {
+        firstEvent = null;
+        currentEvent = null;
+        events = null;
+        expiredEvents = null;
+        inUse = false;
+    }
+
+    /**
+     * Moves the view back to the position before the first event.
+     */
+    public void reset() {
+        currentEvent = null;
+        index = -1;
+        started = false;
+    }
+
+    /**
+     * Moves the view to the next event.
+     *
+     * @return false if there are no more events
+     */
+    public boolean next() {
+        if (events != null) {
+            int size = events.length + (expiredEvents == null ? 0 : expiredEvents.length);
+            if (index < size) {
+                index++;
+            }
+            return index < size;
+        }
+        ComplexEvent event = started ? (currentEvent == null ? null : currentEvent.getNext()) : firstEvent;
+        started = true;
+        if (dataEventsOnly) {
+            while (event != null && event.getType() != ComplexEvent.Type.CURRENT &&
+                    event.getType() != ComplexEvent.Type.EXPIRED) {
+                event = event.getNext();
+            }
+        }
+        currentEvent = event;
+        return event != null;
+    }
+
+    /**
+     * @return the number of events in the view, which requires a pass over the events
+     */
+    public int size() {
+        if (events != null) {
+            return events.length + (expiredEvents == null ? 0 : expiredEvents.length);
+        }
+        int size = 0;
+        for (ComplexEvent event = firstEvent; event != null; event = event.getNext()) {
+            if (!dataEventsOnly || event.getType() == ComplexEvent.Type.CURRENT ||
+                    event.getType() == ComplexEvent.Type.EXPIRED) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private Event getArrayEvent() {
+        if (index < 0 || index >= size()) {
+            throw new IllegalStateException("Event view is not positioned on an event, call next() first");
+        }
+        return index < events.length ? events[index] : expiredEvents[index - events.length];
+    }
+
+    private ComplexEvent getCurrentEvent() {
+        if (currentEvent == null) {
+            throw new IllegalStateException("Event view is not positioned on an event, call next() first");
+        }
+        return currentEvent;
+    }
+
+    public long getTimestamp() {
+        return events != null ? getArrayEvent().getTimestamp() : getCurrentEvent().getTimestamp();
+    }
+
+    public boolean isExpired() {
+        return events != null ? getArrayEvent().isExpired() :
+                getCurrentEvent().getType() == ComplexEvent.Type.EXPIRED;
+    }
+
+    /**
+     * @return the data of the current event, which must not be modified or retained
+     */
+    public Object[] getData() {
+        return events != null ? getArrayEvent().getData() : getCurrentEvent().getOutputData();
+    }
+
+    public int getAttributeCount() {
+        return getData().length;
+    }
+
+    public Object get(int position) {
+        return getData()[position];
+    }
+
+    public boolean isNull(int position) {
+        return get(position) == null;
+    }
+
+    public String getString(int position) {
+        return (String) get(position);
+    }
+
+    public int getInt(int position) {
+        return (Integer) get(position);
+    }
+
+    public long getLong(int position) {
+        return (Long) get(position);
+    }
+
+    public float getFloat(int position) {
+        return (Float) get(position);
+    }
+
+    public double getDouble(int position) {
+        return (Double) get(position);
+    }
+
+    public boolean getBool(int position) {
+        return (Boolean) get(position);
+    }
+
+    /**
+     * @return a copy of the current event, which can be retained after the callback invocation
+     */
+    public Event toEvent() {
+        if (events != null) {
+            return new Event(getArrayEvent().getData().length).copyFrom(getArrayEvent());
+        }
+        return new Event(getCurrentEvent().getOutputData().length).copyFrom(getCurrentEvent());
+    }
+
+    /**
+     * Copies the current and expired events of the view, from the start.
+     *
+     * @param currentEvents list to add the copies of the current events to
+     * @param expiredEvents list to add the copies of the expired events to, or null to add them to the current
+     *                      events list
+     */
+    public void copyEvents(List<Event> currentEvents, List<Event> expiredEvents) {
+        reset();
+        while (next()) {
+            if (expiredEvents != null && isExpired()) {
+                expiredEvents.add(toEvent());
+            } else {
+                currentEvents.add(toEvent());
+            }
+        }
+        reset();
+    }
+
+    @Override
+    public String toString() {
+        List<Event> eventList = new ArrayList<>();
+        ComplexEvent currentEvent = this.currentEvent;
+        int index = this.index;
+        boolean started = this.started;
+        copyEvents(eventList, null);
+        this.currentEvent = currentEvent;
+        this.index = index;
+        this.started = started;
+        return "EventView{" +
+                "events=" + eventList +
+                '}';
+    }
+}
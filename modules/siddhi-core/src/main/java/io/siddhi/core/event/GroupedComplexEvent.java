@@ -58,6 +58,11 @@ public class GroupedComplexEvent implements ComplexEvent {
         return complexEvent.getTimestamp();
     }
 
+    @Override
+    public long getIngestTimestamp() {
+        return complexEvent.getIngestTimestamp();
+    }
+
     @Override
     public Object getAttribute(int[] position) {
         return complexEvent.getAttribute(position);
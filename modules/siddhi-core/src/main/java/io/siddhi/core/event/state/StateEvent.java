@@ -196,6 +196,22 @@ public class StateEvent implements ComplexEvent {
         this.timestamp = timestamp;
     }
 
+    /**
+     * @return the latest ingest timestamp of the matched stream events, as the latest event is the one that
+     * triggered the state event
+     */
+    @Override
+    public long getIngestTimestamp() {
+        long ingestTimestamp = -1;
+        for (StreamEvent streamEvent : streamEvents) {
+            if (streamEvent != null && streamEvent.getIngestTimestamp() != -1 &&
+                    (ingestTimestamp == -1 || streamEvent.getIngestTimestamp() - ingestTimestamp > 0)) {
+                ingestTimestamp = streamEvent.getIngestTimestamp();
+            }
+        }
+        return ingestTimestamp;
+    }
+
     @Override
     public Type getType() {
         return type;
@@ -84,6 +84,15 @@ public class StreamEvent implements ComplexEvent {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Sets the ingest timestamp of a traced event. Only {@link TracedStreamEvent}s, which are created when event
+     * tracing is enabled, keep it, such that other events do not carry the extra field.
+     *
+     * @param ingestTimestamp the time in nanoseconds at which the event was received by a source, or -1
+     */
+    public void setIngestTimestamp(long ingestTimestamp) {
+    }
+
     public Object[] getOutputData() {
         return outputData;
     }
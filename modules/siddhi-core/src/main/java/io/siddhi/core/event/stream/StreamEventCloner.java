@@ -60,6 +60,7 @@ public class StreamEventCloner {
         }
         borrowedEvent.setType(streamEvent.getType());
         borrowedEvent.setTimestamp(streamEvent.getTimestamp());
+        borrowedEvent.setIngestTimestamp(streamEvent.getIngestTimestamp());
         return borrowedEvent;
     }
 }
@@ -30,6 +30,7 @@ public class StreamEventFactory implements EventFactory<StreamEvent>, Serializab
     private int beforeWindowDataSize;
     private int onAfterWindowDataSize;
     private int outputDataSize;
+    private boolean traced;
 
     /**
      * Initialization of the factory with event data sizes
@@ -39,9 +40,23 @@ public class StreamEventFactory implements EventFactory<StreamEvent>, Serializab
      * @param outputDataSize        Output Size
      */
     public StreamEventFactory(int beforeWindowDataSize, int onAfterWindowDataSize, int outputDataSize) {
+        this(beforeWindowDataSize, onAfterWindowDataSize, outputDataSize, false);
+    }
+
+    /**
+     * Initialization of the factory with event data sizes
+     *
+     * @param beforeWindowDataSize  BeforeWindow size
+     * @param onAfterWindowDataSize OnAfterWindow size
+     * @param outputDataSize        Output Size
+     * @param traced                whether to create {@link TracedStreamEvent}s, which carry their ingest timestamp
+     */
+    public StreamEventFactory(int beforeWindowDataSize, int onAfterWindowDataSize, int outputDataSize,
+                              boolean traced) {
         this.beforeWindowDataSize = beforeWindowDataSize;
         this.onAfterWindowDataSize = onAfterWindowDataSize;
         this.outputDataSize = outputDataSize;
+        this.traced = traced;
     }
 
     /**
@@ -50,6 +65,9 @@ public class StreamEventFactory implements EventFactory<StreamEvent>, Serializab
      * @return StreamEvent
      */
     public StreamEvent newInstance() {
+        if (traced) {
+            return new TracedStreamEvent(beforeWindowDataSize, onAfterWindowDataSize, outputDataSize);
+        }
         return new StreamEvent(beforeWindowDataSize, onAfterWindowDataSize, outputDataSize);
     }
 
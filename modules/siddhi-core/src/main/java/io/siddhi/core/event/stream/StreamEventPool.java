@@ -26,15 +26,24 @@ import java.io.Serializable;
 public class StreamEventPool implements Serializable {
 
     private static final long serialVersionUID = -1743558131917334571L;
-    private StreamEventFactory eventFactory;
+    protected StreamEventFactory eventFactory;
     private int size;
     private int index = 0;
     private StreamEvent streamEventList;
 
     public StreamEventPool(MetaStreamEvent metaStreamEvent, int size) {
+        this(metaStreamEvent, size, false);
+    }
+
+    /**
+     * @param metaStreamEvent meta event of the pooled events
+     * @param size            number of events pooled
+     * @param traced          whether to pool {@link TracedStreamEvent}s, which carry their ingest timestamp
+     */
+    public StreamEventPool(MetaStreamEvent metaStreamEvent, int size, boolean traced) {
         eventFactory = new StreamEventFactory(metaStreamEvent.getBeforeWindowData().size(),
                 metaStreamEvent.getOnAfterWindowData().size(),
-                metaStreamEvent.getOutputData().size());
+                metaStreamEvent.getOutputData().size(), traced);
         this.size = size;
     }
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.siddhi.core.event.stream;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * Thread safe {@link StreamEventPool}, which can be used by concurrent threads without contending on a single lock.
+ * The pool is split into stripes, and each thread borrows and returns events to the stripe selected by its thread id.
+ * The capacity of each stripe adapts to the observed load. It grows when borrows miss the pool, and shrinks when
+ * pooled events stay unused. The pooled events are not serialized, and a deserialized pool starts with empty stripes.
+ */
+public class StripedStreamEventPool extends StreamEventPool {
+
+    private static final long serialVersionUID = 2381054163546377312L;
+    private static final int MAX_STRIPES = 64;
+    private static final int ADAPT_INTERVAL = 1024;
+
+    private transient Stripe[] stripes;
+    private transient int mask;
+    private final int minSize;
+    private final int maxSize;
+
+    public StripedStreamEventPool(MetaStreamEvent metaStreamEvent, int size) {
+        this(metaStreamEvent, size, size * 64, false);
+    }
+
+    public StripedStreamEventPool(MetaStreamEvent metaStreamEvent, int size, boolean traced) {
+        this(metaStreamEvent, size, size * 64, traced);
+    }
+
+    public StripedStreamEventPool(MetaStreamEvent metaStreamEvent, int minSize, int maxSize) {
+        this(metaStreamEvent, minSize, maxSize, false);
+    }
+
+    /**
+     * @param metaStreamEvent meta event of the pooled events
+     * @param minSize         initial and minimum number of events pooled per stripe
+     * @param maxSize         maximum number of events pooled per stripe
+     * @param traced          whether to pool {@link TracedStreamEvent}s, which carry their ingest timestamp
+     */
+    public StripedStreamEventPool(MetaStreamEvent metaStreamEvent, int minSize, int maxSize, boolean traced) {
+        super(metaStreamEvent, minSize, traced);
+        this.minSize = Math.max(minSize, 1);
+        this.maxSize = Math.max(maxSize, this.minSize);
+        initStripes();
+    }
+
+    private void initStripes() {
+        int stripeCount = 1;
+        while (stripeCount < Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES)) {
+            stripeCount <<= 1;
+        }
+        this.mask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(minSize);
+        }
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        initStripes();
+    }
+
+    private Stripe getStripe() {
+        return stripes[(int) Thread.currentThread().getId() & mask];
+    }
+
+    /**
+     * Borrowing an StreamEvent
+     *
+     * @return if StreamEvent exist in the stripe of the current thread an existing event if not a new StreamEvent
+     * will be returned
+     */
+    @Override
+    public StreamEvent borrowEvent() {
+        Stripe stripe = getStripe();
+        StreamEvent event;
+        synchronized (stripe) {
+            event = stripe.borrow();
+            if (stripe.intervalBorrows >= ADAPT_INTERVAL) {
+                stripe.adapt(minSize, maxSize);
+            }
+        }
+        if (event == null) {
+            return eventFactory.newInstance();
+        }
+        return event;
+    }
+
+    /**
+     * Collects the used InnerStreamEvents
+     * The returned events are added to the stripe of the current thread till it is full, and the rest are dropped
+     *
+     * @param streamEvent used event
+     */
+    @Override
+    public void returnEvents(StreamEvent streamEvent) {
+        if (streamEvent != null) {
+            Stripe stripe = getStripe();
+            synchronized (stripe) {
+                stripe.giveBack(streamEvent);
+            }
+        }
+    }
+
+    /**
+     * @return Occupied buffer size
+     */
+    @Override
+    public int getBufferedEventsSize() {
+        int bufferedEventsSize = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                bufferedEventsSize += stripe.count;
+            }
+        }
+        return bufferedEventsSize;
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.capacity;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return percentage of the borrows served from the pool, or 100 if no event is borrowed yet
+     */
+    public long getHitRate() {
+        long borrows = 0;
+        long hits = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                borrows += stripe.borrows;
+                hits += stripe.hits;
+            }
+        }
+        return borrows == 0 ? 100 : hits * 100 / borrows;
+    }
+
+    /**
+     * @return number of the borrowed events, which are not returned to the pool yet
+     */
+    public long getOutstandingEvents() {
+        long outstandingEvents = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                outstandingEvents += stripe.borrows - stripe.returns;
+            }
+        }
+        return Math.max(outstandingEvents, 0);
+    }
+
+    /**
+     * Free list of a single stripe, which should only be accessed while holding its lock.
+     */
+    private static class Stripe {
+        private StreamEvent head;
+        private int count;
+        private int capacity;
+        private long borrows;
+        private long hits;
+        private long returns;
+        private int intervalBorrows;
+        private int intervalMisses;
+        private int intervalMinCount;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private StreamEvent borrow() {
+            borrows++;
+            intervalBorrows++;
+            if (head == null) {
+                intervalMisses++;
+                intervalMinCount = 0;
+                return null;
+            }
+            StreamEvent event = head;
+            head = event.getNext();
+            event.setNext(null);
+            count--;
+            hits++;
+            if (count < intervalMinCount) {
+                intervalMinCount = count;
+            }
+            return event;
+        }
+
+        private void giveBack(StreamEvent streamEvent) {
+            while (streamEvent != null) {
+                StreamEvent next = streamEvent.getNext();
+                returns++;
+                if (count < capacity) {
+                    streamEvent.setNext(head);
+                    head = streamEvent;
+                    count++;
+                } else {
+                    streamEvent.setNext(null);
+                }
+                streamEvent = next;
+            }
+        }
+
+        private void adapt(int minSize, int maxSize) {
+            if (intervalMisses > intervalBorrows >> 3) {
+                // Frequent misses, hence the stripe is too small for the load
+                capacity = Math.min(capacity << 1, maxSize);
+            } else if (intervalMisses == 0 && intervalMinCount > capacity >> 1) {
+                // More than half of the pooled events were never used during the interval
+                capacity = Math.max(capacity >> 1, minSize);
+                while (count > capacity) {
+                    StreamEvent event = head;
+                    head = event.getNext();
+                    event.setNext(null);
+                    count--;
+                }
+            }
+            intervalBorrows = 0;
+            intervalMisses = 0;
+            intervalMinCount = count;
+        }
+    }
+}
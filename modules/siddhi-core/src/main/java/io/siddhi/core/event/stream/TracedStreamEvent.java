@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * {@link StreamEvent} which carries the ingest timestamp of the event it is converted from, such that the end to end
+ * latency of the sampled events can be tracked. These are only created when event tracing is enabled.
+ */
+public class TracedStreamEvent extends StreamEvent {
+
+    private static final long serialVersionUID = -3305836717240364652L;
+    private transient long ingestTimestamp = -1;
+
+    public TracedStreamEvent(int beforeWindowDataSize, int onAfterWindowDataSize, int outputDataSize) {
+        super(beforeWindowDataSize, onAfterWindowDataSize, outputDataSize);
+    }
+
+    @Override
+    public long getIngestTimestamp() {
+        return ingestTimestamp;
+    }
+
+    @Override
+    public void setIngestTimestamp(long ingestTimestamp) {
+        this.ingestTimestamp = ingestTimestamp;
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        ingestTimestamp = -1;
+    }
+}
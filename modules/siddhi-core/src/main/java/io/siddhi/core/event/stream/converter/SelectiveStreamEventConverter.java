@@ -57,6 +57,7 @@ public class SelectiveStreamEventConverter implements StreamEventConverter, Seri
 
         borrowedEvent.setType(type);
         borrowedEvent.setTimestamp(timestamp);
+        borrowedEvent.setIngestTimestamp(-1);
     }
 
 
@@ -64,11 +65,13 @@ public class SelectiveStreamEventConverter implements StreamEventConverter, Seri
         convertData(event.getTimestamp(), event.getData(), event.isExpired() ? StreamEvent.Type.EXPIRED : StreamEvent
                         .Type.CURRENT,
                 borrowedEvent);
+        borrowedEvent.setIngestTimestamp(event.getIngestTimestamp());
     }
 
     public void convertComplexEvent(ComplexEvent complexEvent, StreamEvent borrowedEvent) {
         convertData(complexEvent.getTimestamp(), complexEvent.getOutputData(), complexEvent.getType(),
                 borrowedEvent);
+        borrowedEvent.setIngestTimestamp(complexEvent.getIngestTimestamp());
     }
 
     @Override
@@ -41,17 +41,20 @@ public class SimpleStreamEventConverter implements StreamEventConverter, Seriali
         }
         borrowedEvent.setType(type);
         borrowedEvent.setTimestamp(timestamp);
+        borrowedEvent.setIngestTimestamp(-1);
     }
 
     public void convertEvent(Event event, StreamEvent borrowedEvent) {
         convertData(event.getTimestamp(), event.getData(), event.isExpired() ? StreamEvent.Type.EXPIRED : StreamEvent
                         .Type.CURRENT,
                 borrowedEvent);
+        borrowedEvent.setIngestTimestamp(event.getIngestTimestamp());
     }
 
     public void convertComplexEvent(ComplexEvent complexEvent, StreamEvent borrowedEvent) {
         convertData(complexEvent.getTimestamp(), complexEvent.getOutputData(), complexEvent.getType(),
                 borrowedEvent);
+        borrowedEvent.setIngestTimestamp(complexEvent.getIngestTimestamp());
     }
 
     @Override
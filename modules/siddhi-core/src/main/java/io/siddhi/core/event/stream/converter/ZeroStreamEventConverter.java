@@ -34,17 +34,20 @@ public class ZeroStreamEventConverter implements StreamEventConverter, Serializa
         System.arraycopy(data, 0, borrowedEvent.getOutputData(), 0, data.length);
         borrowedEvent.setType(type);
         borrowedEvent.setTimestamp(timestamp);
+        borrowedEvent.setIngestTimestamp(-1);
     }
 
     public void convertEvent(Event event, StreamEvent borrowedEvent) {
         convertData(event.getTimestamp(), event.getData(), event.isExpired() ? StreamEvent.Type.EXPIRED : StreamEvent
                         .Type.CURRENT,
                 borrowedEvent);
+        borrowedEvent.setIngestTimestamp(event.getIngestTimestamp());
     }
 
     public void convertComplexEvent(ComplexEvent complexEvent, StreamEvent borrowedEvent) {
         convertData(complexEvent.getTimestamp(), complexEvent.getOutputData(), complexEvent.getType(),
                 borrowedEvent);
+        borrowedEvent.setIngestTimestamp(complexEvent.getIngestTimestamp());
     }
 
     @Override
@@ -23,6 +23,8 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.util.snapshot.SnapshotRequest;
 import io.siddhi.core.util.snapshot.state.SnapshotState;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import io.siddhi.core.util.statistics.memory.EventSizeEstimator;
+import io.siddhi.core.util.statistics.memory.SizedEventHolder;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -32,9 +34,10 @@ import java.util.NoSuchElementException;
 import java.util.TreeMap;
 
 /**
- * The class to hold stream events in a queue and by managing its snapshots
+ * The class to hold stream events in a queue and by managing its snapshots. It keeps a running count of the events it
+ * holds so that its memory usage can be estimated without walking the queue.
  */
-public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Serializable {
+public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, SizedEventHolder, Serializable {
     private static final long serialVersionUID = 3185987841726255019L;
     protected StreamEvent first;
     protected StreamEvent previousToLastReturned;
@@ -47,6 +50,8 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
     private boolean forceFullSnapshot = true;
     private boolean isOperationLogEnabled = true;
     private int eventIndex = -1;
+    private long eventCount;
+    private EventSizeEstimator eventSizeEstimator = new EventSizeEstimator();
 
     public SnapshotableStreamEventQueue(StreamEventClonerHolder eventClonerHolder) {
         this(eventClonerHolder, Integer.MAX_VALUE);
@@ -75,7 +80,7 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         } else {
             last.setNext(events);
         }
-        last = getLastEvent(events);
+        last = countAndGetLastEvent(events);
     }
 
     /**
@@ -106,6 +111,7 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         }
         lastReturned.setNext(null);
         lastReturned = null;
+        eventCount--;
         if (!isFullSnapshot()) {
             if (isOperationLogEnabled) {
                 operationChangeLog.add(new Operation(Operator.DELETE_BY_INDEX, eventIndex));
@@ -119,9 +125,14 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         eventIndex--;
     }
 
-    private StreamEvent getLastEvent(StreamEvent complexEvents) {
+    private StreamEvent countAndGetLastEvent(StreamEvent complexEvents) {
         StreamEvent lastEvent = complexEvents;
-        while (lastEvent != null && lastEvent.getNext() != null) {
+        while (lastEvent != null) {
+            eventCount++;
+            eventSizeEstimator.sample(lastEvent);
+            if (lastEvent.getNext() == null) {
+                break;
+            }
             lastEvent = lastEvent.getNext();
         }
         return lastEvent;
@@ -178,6 +189,7 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         first = null;
         last = null;
         eventIndex = -1;
+        eventCount = 0;
     }
 
     public void reset() {
@@ -200,6 +212,7 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
             StreamEvent firstEvent = first;
             first = first.getNext();
             firstEvent.setNext(null);
+            eventCount--;
 
             if (!isFullSnapshot()) {
                 if (isOperationLogEnabled) {
@@ -217,6 +230,16 @@ public class SnapshotableStreamEventQueue implements Iterator<StreamEvent>, Seri
         }
     }
 
+    @Override
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        return eventSizeEstimator.estimateSize(eventCount);
+    }
+
     @Override
     public String toString() {
         return "EventQueue{" +
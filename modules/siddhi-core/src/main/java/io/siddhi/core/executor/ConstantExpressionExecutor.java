@@ -24,7 +24,7 @@ import io.siddhi.query.api.definition.Attribute;
 /**
  * Executor class for Constant Siddhi expressions. Function execution logic is implemented in execute method.
  */
-public class ConstantExpressionExecutor implements ExpressionExecutor {
+public class ConstantExpressionExecutor implements PrimitiveExpressionExecutor {
     private Object value;
     private Attribute.Type type;
 
@@ -38,6 +38,36 @@ public class ConstantExpressionExecutor implements ExpressionExecutor {
         return value;
     }
 
+    @Override
+    public boolean isPrimitiveExecutable() {
+        return value instanceof Number;
+    }
+
+    @Override
+    public boolean isNull(ComplexEvent event) {
+        return value == null;
+    }
+
+    @Override
+    public int executeInt(ComplexEvent event) {
+        return ((Number) value).intValue();
+    }
+
+    @Override
+    public long executeLong(ComplexEvent event) {
+        return ((Number) value).longValue();
+    }
+
+    @Override
+    public float executeFloat(ComplexEvent event) {
+        return ((Number) value).floatValue();
+    }
+
+    @Override
+    public double executeDouble(ComplexEvent event) {
+        return ((Number) value).doubleValue();
+    }
+
     public Attribute.Type getReturnType() {
         return type;
     }
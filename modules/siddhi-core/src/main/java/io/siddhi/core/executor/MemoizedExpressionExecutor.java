@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.executor;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Executor wrapping a deterministic sub expression that is used more than once within a query selector. The wrapped
+ * executor is evaluated once per event and the result is served to all the places the sub expression is used.
+ * The owner of the executor has to call {@link #reset()} before evaluating each event, as events are pooled and
+ * reused.
+ */
+public class MemoizedExpressionExecutor implements ExpressionExecutor {
+
+    private final ExpressionExecutor expressionExecutor;
+    private final Map<String, MemoizedExpressionExecutor> clonedExecutors = new HashMap<>();
+    private MemoizedExpressionExecutor parent;
+    private String key;
+    private ComplexEvent lastEvent;
+    private Object lastResult;
+    private boolean cleaned = false;
+
+    public MemoizedExpressionExecutor(ExpressionExecutor expressionExecutor) {
+        this.expressionExecutor = expressionExecutor;
+    }
+
+    @Override
+    public Object execute(ComplexEvent event) {
+        if (lastEvent != event || event == null) {
+            lastResult = expressionExecutor.execute(event);
+            lastEvent = event;
+        }
+        return lastResult;
+    }
+
+    public void reset() {
+        lastEvent = null;
+        lastResult = null;
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return expressionExecutor.getReturnType();
+    }
+
+    /**
+     * Clones the wrapped executor only once per key, such that the cloned executors are also shared among all the
+     * places the sub expression is used.
+     *
+     * @param key partition key
+     * @return the shared cloned executor
+     */
+    @Override
+    public synchronized MemoizedExpressionExecutor cloneExecutor(String key) {
+        MemoizedExpressionExecutor clonedExecutor = clonedExecutors.get(key);
+        if (clonedExecutor == null) {
+            clonedExecutor = new MemoizedExpressionExecutor(expressionExecutor.cloneExecutor(key));
+            clonedExecutor.parent = this;
+            clonedExecutor.key = key;
+            clonedExecutors.put(key, clonedExecutor);
+        }
+        return clonedExecutor;
+    }
+
+    public ExpressionExecutor getExpressionExecutor() {
+        return expressionExecutor;
+    }
+
+    @Override
+    public void clean() {
+        if (cleaned) {
+            return;
+        }
+        cleaned = true;
+        expressionExecutor.clean();
+        if (parent != null) {
+            synchronized (parent) {
+                parent.clonedExecutors.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.siddhi.core.executor;
+
+import io.siddhi.core.event.ComplexEvent;
+
+/**
+ * {@link ExpressionExecutor} of a numeric expression, which can also evaluate the expression into a primitive value.
+ * This lets the executors of the enclosing math and compare expressions evaluate it without boxing the intermediate
+ * results. The primitive methods return the same value as {@code ((Number) execute(event)).xxxValue()}, and should
+ * only be called for events for which {@link #isNull(ComplexEvent)} returns false.
+ */
+public interface PrimitiveExpressionExecutor extends ExpressionExecutor {
+
+    /**
+     * @return whether the primitive methods can be used. This requires the expression and all its sub expressions to
+     * be numeric and free of side effects, as they can be evaluated more than once for the same event.
+     */
+    boolean isPrimitiveExecutable();
+
+    /**
+     * @param event the event to evaluate
+     * @return whether the expression evaluates to null for the event. This is answered from the null checks of the
+     * attributes the expression reads, without evaluating any of its operations, such that an enclosing expression
+     * evaluates each of its operands only once. Expressions which can only tell whether they are null by evaluating
+     * an operand, such as a divide by zero, are therefore not primitive executable.
+     */
+    boolean isNull(ComplexEvent event);
+
+    int executeInt(ComplexEvent event);
+
+    long executeLong(ComplexEvent event);
+
+    float executeFloat(ComplexEvent event);
+
+    double executeDouble(ComplexEvent event);
+
+}
@@ -19,7 +19,10 @@ package io.siddhi.core.executor.condition.compare;
 
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.PrimitiveExpressionExecutor;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
+import io.siddhi.core.executor.math.MathExpressionExecutor;
+import io.siddhi.query.api.definition.Attribute;
 
 /**
  * Parent Executor class for Compare conditions. common evaluation logic is implemented within executor.
@@ -28,15 +31,48 @@ public abstract class CompareConditionExpressionExecutor extends ConditionExpres
 
     protected ExpressionExecutor leftExpressionExecutor;
     protected ExpressionExecutor rightExpressionExecutor;
+    // Type to which both the operands are promoted when they are compared as primitive values, which is only done
+    // when an operand is a math expression, as then comparing the boxed values would box the result of the math
+    protected Attribute.Type primitiveComparisonType;
+    protected PrimitiveExpressionExecutor leftPrimitiveExecutor;
+    protected PrimitiveExpressionExecutor rightPrimitiveExecutor;
 
     public CompareConditionExpressionExecutor(ExpressionExecutor leftExpressionExecutor,
                                               ExpressionExecutor rightExpressionExecutor) {
         this.leftExpressionExecutor = leftExpressionExecutor;
         this.rightExpressionExecutor = rightExpressionExecutor;
+        if ((leftExpressionExecutor instanceof MathExpressionExecutor ||
+                rightExpressionExecutor instanceof MathExpressionExecutor) &&
+                isPrimitiveExecutable(leftExpressionExecutor) && isPrimitiveExecutable(rightExpressionExecutor)) {
+            this.leftPrimitiveExecutor = (PrimitiveExpressionExecutor) leftExpressionExecutor;
+            this.rightPrimitiveExecutor = (PrimitiveExpressionExecutor) rightExpressionExecutor;
+            this.primitiveComparisonType = promote(leftExpressionExecutor.getReturnType(),
+                    rightExpressionExecutor.getReturnType());
+        }
     }
 
+    private static boolean isPrimitiveExecutable(ExpressionExecutor expressionExecutor) {
+        return expressionExecutor instanceof PrimitiveExpressionExecutor &&
+                ((PrimitiveExpressionExecutor) expressionExecutor).isPrimitiveExecutable();
+    }
+
+    private static Attribute.Type promote(Attribute.Type leftType, Attribute.Type rightType) {
+        if (leftType == Attribute.Type.DOUBLE || rightType == Attribute.Type.DOUBLE) {
+            return Attribute.Type.DOUBLE;
+        } else if (leftType == Attribute.Type.FLOAT || rightType == Attribute.Type.FLOAT) {
+            return Attribute.Type.FLOAT;
+        } else if (leftType == Attribute.Type.LONG || rightType == Attribute.Type.LONG) {
+            return Attribute.Type.LONG;
+        } else {
+            return Attribute.Type.INT;
+        }
+    }
 
     public Boolean execute(ComplexEvent event) {
+        if (primitiveComparisonType != null) {
+            return !(leftPrimitiveExecutor.isNull(event) || rightPrimitiveExecutor.isNull(event)) &&
+                    executePrimitive(event);
+        }
         Object left = leftExpressionExecutor.execute(event);
         Object right = rightExpressionExecutor.execute(event);
         return !(left == null || right == null) && execute(left, right);
@@ -44,6 +80,23 @@ public abstract class CompareConditionExpressionExecutor extends ConditionExpres
 
     protected abstract Boolean execute(Object left, Object right);
 
+    /**
+     * Compares the operands as primitive values of the {@link #primitiveComparisonType}. Called only when neither
+     * of the operands is null.
+     *
+     * @param event the event to evaluate
+     * @return the result of the comparison
+     */
+    protected abstract boolean executePrimitive(ComplexEvent event);
+
+    public ExpressionExecutor getLeftExpressionExecutor() {
+        return leftExpressionExecutor;
+    }
+
+    public ExpressionExecutor getRightExpressionExecutor() {
+        return rightExpressionExecutor;
+    }
+
     @Override
     public void clean() {
         leftExpressionExecutor.clean();
@@ -17,6 +17,7 @@
  */
 package io.siddhi.core.executor.condition.compare.lessthanequal;
 
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.condition.compare.CompareConditionExpressionExecutor;
 
@@ -29,4 +30,18 @@ public abstract class LessThanEqualCompareConditionExpressionExecutor extends Co
                                                            ExpressionExecutor rightExpressionExecutor) {
         super(leftExpressionExecutor, rightExpressionExecutor);
     }
+
+    @Override
+    protected boolean executePrimitive(ComplexEvent event) {
+        switch (primitiveComparisonType) {
+            case INT:
+                return leftPrimitiveExecutor.executeInt(event) <= rightPrimitiveExecutor.executeInt(event);
+            case LONG:
+                return leftPrimitiveExecutor.executeLong(event) <= rightPrimitiveExecutor.executeLong(event);
+            case FLOAT:
+                return leftPrimitiveExecutor.executeFloat(event) <= rightPrimitiveExecutor.executeFloat(event);
+            default:
+                return leftPrimitiveExecutor.executeDouble(event) <= rightPrimitiveExecutor.executeDouble(event);
+        }
+    }
 }
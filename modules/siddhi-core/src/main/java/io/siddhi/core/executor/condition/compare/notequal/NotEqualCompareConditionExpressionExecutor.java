@@ -32,8 +32,26 @@ public abstract class NotEqualCompareConditionExpressionExecutor extends Compare
     }
 
     public Boolean execute(ComplexEvent event) {
+        if (primitiveComparisonType != null) {
+            return leftPrimitiveExecutor.isNull(event) || rightPrimitiveExecutor.isNull(event) ||
+                    executePrimitive(event);
+        }
         Object left = leftExpressionExecutor.execute(event);
         Object right = rightExpressionExecutor.execute(event);
         return left == null || right == null || execute(left, right);
     }
+
+    @Override
+    protected boolean executePrimitive(ComplexEvent event) {
+        switch (primitiveComparisonType) {
+            case INT:
+                return leftPrimitiveExecutor.executeInt(event) != rightPrimitiveExecutor.executeInt(event);
+            case LONG:
+                return leftPrimitiveExecutor.executeLong(event) != rightPrimitiveExecutor.executeLong(event);
+            case FLOAT:
+                return leftPrimitiveExecutor.executeFloat(event) != rightPrimitiveExecutor.executeFloat(event);
+            default:
+                return leftPrimitiveExecutor.executeDouble(event) != rightPrimitiveExecutor.executeDouble(event);
+        }
+    }
 }
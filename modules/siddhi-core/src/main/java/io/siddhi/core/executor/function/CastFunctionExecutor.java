@@ -119,6 +119,11 @@ public class CastFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public Map<String, Object> currentState() {
         return null;    //No need to maintain a state.
@@ -137,6 +137,19 @@ public abstract class FunctionExecutor implements ExpressionExecutor, Snapshotab
      */
     protected abstract Object execute(Object data);
 
+    /**
+     * Whether the function always returns the same result for the same parameters without any side effects.
+     * Deterministic functions having only constant parameters are evaluated once when the query is created, and
+     * repeated calls to them within a query selector are evaluated once per event. Functions are treated as not
+     * deterministic unless they override this to return true, hence only pure functions, which do not return random
+     * values or time and do not keep state, should do so.
+     *
+     * @return true if the function is deterministic
+     */
+    public boolean isDeterministic() {
+        return false;
+    }
+
     @Override
     public String getElementId() {
         return elementId;
@@ -94,6 +94,11 @@ public class InstanceOfBooleanFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public Map<String, Object> currentState() {
         return null;
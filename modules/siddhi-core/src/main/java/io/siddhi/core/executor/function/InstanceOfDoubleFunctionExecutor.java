@@ -93,6 +93,11 @@ public class InstanceOfDoubleFunctionExecutor extends FunctionExecutor {
         return returnType;
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public Map<String, Object> currentState() {
         return null;
@@ -112,6 +112,11 @@ public class SizeOfSetFunctionExecutor extends FunctionExecutor {
         return Attribute.Type.INT;
     }
 
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
     @Override
     public Map<String, Object> currentState() {
         return null;    //no state is maintained.
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.siddhi.core.executor.math;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.PrimitiveExpressionExecutor;
+
+/**
+ * Parent executor class for math operations. When both operands can be evaluated into primitive values, the
+ * operands are evaluated without boxing, such that a nested math expression only boxes the result of the
+ * outermost operation. Data type specific sub classes will extend this.
+ */
+public abstract class MathExpressionExecutor implements PrimitiveExpressionExecutor {
+    protected ExpressionExecutor leftExpressionExecutor;
+    protected ExpressionExecutor rightExpressionExecutor;
+    // Not null only when both the operands can be evaluated into primitive values
+    protected PrimitiveExpressionExecutor leftPrimitiveExecutor;
+    protected PrimitiveExpressionExecutor rightPrimitiveExecutor;
+    // Whether execute() should evaluate the operands into primitive values, which avoids boxing only when an
+    // operand is a math expression itself
+    protected boolean primitiveExecution;
+
+    public MathExpressionExecutor(ExpressionExecutor leftExpressionExecutor,
+                                  ExpressionExecutor rightExpressionExecutor) {
+        this.leftExpressionExecutor = leftExpressionExecutor;
+        this.rightExpressionExecutor = rightExpressionExecutor;
+        if (isPrimitiveExecutable(leftExpressionExecutor) && isPrimitiveExecutable(rightExpressionExecutor)) {
+            this.leftPrimitiveExecutor = (PrimitiveExpressionExecutor) leftExpressionExecutor;
+            this.rightPrimitiveExecutor = (PrimitiveExpressionExecutor) rightExpressionExecutor;
+            this.primitiveExecution = leftExpressionExecutor instanceof MathExpressionExecutor ||
+                    rightExpressionExecutor instanceof MathExpressionExecutor;
+        }
+    }
+
+    private static boolean isPrimitiveExecutable(ExpressionExecutor expressionExecutor) {
+        return expressionExecutor instanceof PrimitiveExpressionExecutor &&
+                ((PrimitiveExpressionExecutor) expressionExecutor).isPrimitiveExecutable();
+    }
+
+    @Override
+    public boolean isPrimitiveExecutable() {
+        return leftPrimitiveExecutor != null;
+    }
+
+    @Override
+    public boolean isNull(ComplexEvent event) {
+        return leftPrimitiveExecutor.isNull(event) || rightPrimitiveExecutor.isNull(event);
+    }
+
+    /**
+     * Evaluates the expression into a primitive value. This is only supported by the executors which are primitive
+     * executable, which override it.
+     *
+     * @param event the event to evaluate
+     * @return the value of the expression
+     */
+    @Override
+    public int executeInt(ComplexEvent event) {
+        throw new UnsupportedOperationException(getClass().getName() + " is not primitive executable");
+    }
+
+    @Override
+    public long executeLong(ComplexEvent event) {
+        throw new UnsupportedOperationException(getClass().getName() + " is not primitive executable");
+    }
+
+    @Override
+    public float executeFloat(ComplexEvent event) {
+        throw new UnsupportedOperationException(getClass().getName() + " is not primitive executable");
+    }
+
+    @Override
+    public double executeDouble(ComplexEvent event) {
+        throw new UnsupportedOperationException(getClass().getName() + " is not primitive executable");
+    }
+
+    @Override
+    public void clean() {
+        leftExpressionExecutor.clean();
+        rightExpressionExecutor.clean();
+    }
+
+}
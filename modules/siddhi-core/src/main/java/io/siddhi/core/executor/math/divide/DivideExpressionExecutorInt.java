@@ -19,24 +19,31 @@ package io.siddhi.core.executor.math.divide;
 
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.math.MathExpressionExecutor;
 import io.siddhi.query.api.definition.Attribute;
 
 /**
  * Executor class for Integer Divide function. Function execution logic is implemented in execute here.
  */
-public class DivideExpressionExecutorInt implements ExpressionExecutor {
-    private ExpressionExecutor leftExpressionExecutor;
-    private ExpressionExecutor rightExpressionExecutor;
-
+public class DivideExpressionExecutorInt extends MathExpressionExecutor {
 
     public DivideExpressionExecutorInt(ExpressionExecutor leftExpressionExecutor,
                                        ExpressionExecutor rightExpressionExecutor) {
-        this.leftExpressionExecutor = leftExpressionExecutor;
-        this.rightExpressionExecutor = rightExpressionExecutor;
+        super(leftExpressionExecutor, rightExpressionExecutor);
     }
 
     @Override
     public Object execute(ComplexEvent event) {
+        if (primitiveExecution) {
+            if (leftPrimitiveExecutor.isNull(event) || rightPrimitiveExecutor.isNull(event)) {
+                return null;
+            }
+            int right = rightPrimitiveExecutor.executeInt(event);
+            if (right == 0) {
+                return null;
+            }
+            return leftPrimitiveExecutor.executeInt(event) / right;
+        }
         Object leftObject = leftExpressionExecutor.execute(event);
         Object rightObject = rightExpressionExecutor.execute(event);
         if (leftObject == null || rightObject == null) {
@@ -49,6 +56,12 @@ public class DivideExpressionExecutorInt implements ExpressionExecutor {
         return ((Number) leftObject).intValue() / right;
     }
 
+    @Override
+    public boolean isPrimitiveExecutable() {
+        // A zero divisor makes the result null, which is only known once the divisor is evaluated
+        return false;
+    }
+
     public Attribute.Type getReturnType() {
         return Attribute.Type.INT;
     }
@@ -58,12 +71,4 @@ public class DivideExpressionExecutorInt implements ExpressionExecutor {
         return new DivideExpressionExecutorInt(leftExpressionExecutor.cloneExecutor(key), rightExpressionExecutor
                 .cloneExecutor(key));
     }
-
-    @Override
-    public void clean() {
-        leftExpressionExecutor.clean();
-        rightExpressionExecutor.clean();
-    }
-
-
 }
@@ -19,24 +19,24 @@ package io.siddhi.core.executor.math.subtract;
 
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.math.MathExpressionExecutor;
 import io.siddhi.query.api.definition.Attribute;
 
 /**
  * Executor class for Double subtract function. Function execution logic is implemented in execute here.
  */
-public class SubtractExpressionExecutorDouble implements ExpressionExecutor {
-    private ExpressionExecutor leftExpressionExecutor;
-    private ExpressionExecutor rightExpressionExecutor;
-
+public class SubtractExpressionExecutorDouble extends MathExpressionExecutor {
 
     public SubtractExpressionExecutorDouble(ExpressionExecutor leftExpressionExecutor,
                                             ExpressionExecutor rightExpressionExecutor) {
-        this.leftExpressionExecutor = leftExpressionExecutor;
-        this.rightExpressionExecutor = rightExpressionExecutor;
+        super(leftExpressionExecutor, rightExpressionExecutor);
     }
 
     @Override
     public Object execute(ComplexEvent event) {
+        if (primitiveExecution) {
+            return isNull(event) ? null : executeDouble(event);
+        }
         Object leftObject = leftExpressionExecutor.execute(event);
         Object rightObject = rightExpressionExecutor.execute(event);
         if (leftObject == null || rightObject == null) {
@@ -46,21 +46,33 @@ public class SubtractExpressionExecutorDouble implements ExpressionExecutor {
 
     }
 
-    public Attribute.Type getReturnType() {
-        return Attribute.Type.DOUBLE;
+    @Override
+    public int executeInt(ComplexEvent event) {
+        return (int) executeDouble(event);
     }
 
     @Override
-    public ExpressionExecutor cloneExecutor(String key) {
-        return new SubtractExpressionExecutorDouble(leftExpressionExecutor.cloneExecutor(key),
-                rightExpressionExecutor.cloneExecutor(key));
+    public long executeLong(ComplexEvent event) {
+        return (long) executeDouble(event);
     }
 
     @Override
-    public void clean() {
-        leftExpressionExecutor.clean();
-        rightExpressionExecutor.clean();
+    public float executeFloat(ComplexEvent event) {
+        return (float) executeDouble(event);
     }
 
+    @Override
+    public double executeDouble(ComplexEvent event) {
+        return leftPrimitiveExecutor.executeDouble(event) - rightPrimitiveExecutor.executeDouble(event);
+    }
 
+    public Attribute.Type getReturnType() {
+        return Attribute.Type.DOUBLE;
+    }
+
+    @Override
+    public ExpressionExecutor cloneExecutor(String key) {
+        return new SubtractExpressionExecutorDouble(leftExpressionExecutor.cloneExecutor(key),
+                rightExpressionExecutor.cloneExecutor(key));
+    }
 }
@@ -18,6 +18,7 @@
 package io.siddhi.core.partition;
 
 import io.siddhi.core.query.QueryRuntime;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 
 import java.util.List;
 
@@ -28,10 +29,13 @@ import java.util.List;
 public class PartitionInstanceRuntime {
     private String key;
     private List<QueryRuntime> queryRuntimeList;
+    private StateSizeTracker stateSizeTracker;
 
-    public PartitionInstanceRuntime(String key, List<QueryRuntime> queryRuntimeList) {
+    public PartitionInstanceRuntime(String key, List<QueryRuntime> queryRuntimeList,
+                                    StateSizeTracker stateSizeTracker) {
         this.key = key;
         this.queryRuntimeList = queryRuntimeList;
+        this.stateSizeTracker = stateSizeTracker;
     }
 
     public List<QueryRuntime> getQueryRuntimeList() {
@@ -42,6 +46,14 @@ public class PartitionInstanceRuntime {
         return key;
     }
 
+    /**
+     * @return tracker of the size of the state held by the queries of this partition instance, or null when the hot
+     * keys of the partition are not tracked
+     */
+    public StateSizeTracker getStateSizeTracker() {
+        return stateSizeTracker;
+    }
+
 }
 
 
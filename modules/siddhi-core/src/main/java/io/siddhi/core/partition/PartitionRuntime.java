@@ -34,7 +34,10 @@ import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.parser.helper.DefinitionParserHelper;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.snapshot.Snapshotable;
+import io.siddhi.core.util.statistics.HotKey;
+import io.siddhi.core.util.statistics.HotKeyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import io.siddhi.query.api.annotation.Element;
 import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.definition.StreamDefinition;
@@ -54,9 +57,12 @@ import io.siddhi.query.api.execution.query.output.stream.InsertIntoStream;
 import io.siddhi.query.api.util.AnnotationHelper;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -85,6 +91,7 @@ public class PartitionRuntime implements Snapshotable {
             PartitionStreamReceiver>();
     private SiddhiAppContext siddhiAppContext;
     private MemoryUsageTracker memoryUsageTracker;
+    private HotKeyTracker hotKeyTracker;
 
     public PartitionRuntime(ConcurrentMap<String, AbstractDefinition> streamDefinitionMap,
                             ConcurrentMap<String, AbstractDefinition> windowDefinitionMap,
@@ -108,6 +115,8 @@ public class PartitionRuntime implements Snapshotable {
         if (partitionId == null) {
             this.partitionId = UUID.randomUUID().toString();
         }
+        this.hotKeyTracker = QueryParserHelper.createHotKeyTracker(siddhiAppContext, partitionId,
+                SiddhiConstants.METRIC_INFIX_PARTITIONS);
         elementId = "PartitionRuntime-" + siddhiAppContext.getElementIdGenerator().createNewId();
         siddhiAppContext.getSnapshotService().addSnapshotable("partition", this);
         this.partition = partition;
@@ -135,7 +144,7 @@ public class PartitionRuntime implements Snapshotable {
 
                 if (outputStreamJunction == null) {
                     outputStreamJunction = new StreamJunction(streamDefinition,
-                            siddhiAppContext.getExecutorService(),
+                            siddhiAppContext.getStreamJunctionExecutorService(),
                             siddhiAppContext.getBufferSize(),
                             null, siddhiAppContext);
                     localStreamJunctionMap.putIfAbsent(id, outputStreamJunction);
@@ -148,7 +157,7 @@ public class PartitionRuntime implements Snapshotable {
 
                 if (outputStreamJunction == null) {
                     outputStreamJunction = new StreamJunction(streamDefinition,
-                            siddhiAppContext.getExecutorService(),
+                            siddhiAppContext.getStreamJunctionExecutorService(),
                             siddhiAppContext.getBufferSize(),
                             null, siddhiAppContext);
                     streamJunctionMap.putIfAbsent(id, outputStreamJunction);
@@ -166,7 +175,7 @@ public class PartitionRuntime implements Snapshotable {
 
             if (outputStreamJunction == null) {
                 outputStreamJunction = new StreamJunction(streamDefinition,
-                        siddhiAppContext.getExecutorService(),
+                        siddhiAppContext.getStreamJunctionExecutorService(),
                         siddhiAppContext.getBufferSize(),
                         null, siddhiAppContext);
                 streamJunctionMap.putIfAbsent(id, outputStreamJunction);
@@ -264,10 +273,21 @@ public class PartitionRuntime implements Snapshotable {
         if (partitionInstance == null) {
             List<QueryRuntime> queryRuntimeList = new ArrayList<QueryRuntime>();
             List<QueryRuntime> partitionedQueryRuntimeList = new ArrayList<QueryRuntime>();
+            StateSizeTracker instanceStateSizeTracker = null;
+            if (hotKeyTracker != null) {
+                instanceStateSizeTracker = new StateSizeTracker();
+            }
 
             for (QueryRuntime queryRuntime : metaQueryRuntimeMap.values()) {
 
-                QueryRuntime clonedQueryRuntime = queryRuntime.clone(key, localStreamJunctionMap);
+                StateSizeTracker queryStateSizeTracker = queryRuntime.getStateSizeTracker();
+                queryStateSizeTracker.setScopeTracker(instanceStateSizeTracker);
+                QueryRuntime clonedQueryRuntime;
+                try {
+                    clonedQueryRuntime = queryRuntime.clone(key, localStreamJunctionMap);
+                } finally {
+                    queryStateSizeTracker.setScopeTracker(null);
+                }
                 queryRuntimeList.add(clonedQueryRuntime);
 
                 QueryParserHelper.registerMemoryUsageTracking(clonedQueryRuntime.getQueryId(), queryRuntime,
@@ -289,7 +309,7 @@ public class PartitionRuntime implements Snapshotable {
                         StreamJunction streamJunction = localStreamJunctionMap.get(streamId + key);
                         if (streamJunction == null) {
                             streamJunction = new StreamJunction(streamDefinition, siddhiAppContext
-                                    .getExecutorService(),
+                                    .getStreamJunctionExecutorService(),
                                     siddhiAppContext.getBufferSize(),
                                     null, siddhiAppContext);
                             localStreamJunctionMap.put(streamId + key, streamJunction);
@@ -301,7 +321,8 @@ public class PartitionRuntime implements Snapshotable {
                     partitionedQueryRuntimeList.add(clonedQueryRuntime);
                 }
             }
-            partitionInstanceRuntimeMap.putIfAbsent(key, new PartitionInstanceRuntime(key, queryRuntimeList));
+            partitionInstanceRuntimeMap.putIfAbsent(key, new PartitionInstanceRuntime(key, queryRuntimeList,
+                    instanceStateSizeTracker));
             updatePartitionStreamReceivers(key, partitionedQueryRuntimeList);
         }
 
@@ -335,6 +356,10 @@ public class PartitionRuntime implements Snapshotable {
         return localStreamDefinitionMap;
     }
 
+    public ConcurrentMap<String, PartitionStreamReceiver> getPartitionStreamReceivers() {
+        return partitionStreamReceivers;
+    }
+
     public ConcurrentMap<String, StreamJunction> getLocalStreamJunctionMap() {
         return localStreamJunctionMap;
     }
@@ -360,6 +385,44 @@ public class PartitionRuntime implements Snapshotable {
         return elementId;
     }
 
+    /**
+     * @return tracker of the partition keys receiving the most events, or null when hot keys are not tracked
+     */
+    public HotKeyTracker getHotKeyTracker() {
+        return hotKeyTracker;
+    }
+
+    /**
+     * Reports the partition keys whose queries hold the most state. The partition instances are iterated, but only
+     * the top keys are kept while doing so.
+     *
+     * @return the keys with the highest estimated state size, in bytes, in descending order, or an empty list when
+     * hot keys are not tracked
+     */
+    public List<HotKey> getTopKeysByStateSize() {
+        if (hotKeyTracker == null) {
+            return Collections.emptyList();
+        }
+        int topKeyCount = siddhiAppContext.getHotKeyCount();
+        PriorityQueue<HotKey> topKeys = new PriorityQueue<>(topKeyCount, Comparator.comparingDouble(HotKey::getValue));
+        for (PartitionInstanceRuntime partitionInstance : partitionInstanceRuntimeMap.values()) {
+            StateSizeTracker stateSizeTracker = partitionInstance.getStateSizeTracker();
+            if (stateSizeTracker == null) {
+                continue;
+            }
+            long estimatedSize = stateSizeTracker.getEstimatedSize();
+            if (topKeys.size() < topKeyCount) {
+                topKeys.add(new HotKey(partitionInstance.getKey(), estimatedSize));
+            } else if (estimatedSize > topKeys.peek().getValue()) {
+                topKeys.poll();
+                topKeys.add(new HotKey(partitionInstance.getKey(), estimatedSize));
+            }
+        }
+        List<HotKey> hotKeys = new ArrayList<>(topKeys);
+        hotKeys.sort((hotKey1, hotKey2) -> Double.compare(hotKey2.getValue(), hotKey1.getValue()));
+        return hotKeys;
+    }
+
     public void setMemoryUsageTracker(MemoryUsageTracker memoryUsageTracker) {
         this.memoryUsageTracker = memoryUsageTracker;
     }
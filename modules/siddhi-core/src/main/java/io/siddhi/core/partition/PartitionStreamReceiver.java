@@ -23,13 +23,14 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
-import io.siddhi.core.event.stream.StreamEventPool;
+import io.siddhi.core.event.stream.StripedStreamEventPool;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
 import io.siddhi.core.event.stream.converter.StreamEventConverterFactory;
 import io.siddhi.core.partition.executor.PartitionExecutor;
 import io.siddhi.core.query.QueryRuntime;
 import io.siddhi.core.query.input.stream.StreamRuntime;
 import io.siddhi.core.stream.StreamJunction;
+import io.siddhi.core.util.statistics.HotKeyTracker;
 import io.siddhi.query.api.definition.StreamDefinition;
 
 import java.util.List;
@@ -42,7 +43,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class PartitionStreamReceiver implements StreamJunction.Receiver {
 
-    private final StreamEventPool eventPool;
+    private final StripedStreamEventPool eventPool;
     private StreamEventConverter streamEventConverter;
     private String streamId;
     private MetaStreamEvent metaStreamEvent;
@@ -63,7 +64,7 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         this.partitionExecutors = partitionExecutors;
         this.siddhiAppContext = siddhiAppContext;
         this.streamId = streamDefinition.getId();
-        this.eventPool = new StreamEventPool(metaStreamEvent, 5);
+        this.eventPool = new StripedStreamEventPool(metaStreamEvent, 5, siddhiAppContext.isEventTracingEnabled());
 
     }
 
@@ -269,6 +270,14 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
 
     private void send(String key, ComplexEvent event) {
         if (key != null) {
+            HotKeyTracker hotKeyTracker = partitionRuntime.getHotKeyTracker();
+            if (hotKeyTracker != null && hotKeyTracker.sample()) {
+                int eventCount = 0;
+                for (ComplexEvent aEvent = event; aEvent != null; aEvent = aEvent.getNext()) {
+                    eventCount++;
+                }
+                hotKeyTracker.eventsIn(key, eventCount);
+            }
             partitionRuntime.cloneIfNotExist(key);
             cachedStreamJunctionMap.get(streamId + key).sendEvent(event);
         }
@@ -310,15 +319,19 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
     }
 
     private StreamJunction createStreamJunction() {
-        return new StreamJunction(streamDefinition, siddhiAppContext.getExecutorService(),
+        return new StreamJunction(streamDefinition, siddhiAppContext.getStreamJunctionExecutorService(),
                 siddhiAppContext.getBufferSize(), null, siddhiAppContext);
     }
 
-    private synchronized StreamEvent borrowEvent() {
+    private StreamEvent borrowEvent() {
         return eventPool.borrowEvent();
     }
 
-    private synchronized void returnEvents(StreamEvent events) {
+    private void returnEvents(StreamEvent events) {
         eventPool.returnEvents(events);
     }
+
+    public StripedStreamEventPool getEventPool() {
+        return eventPool;
+    }
 }
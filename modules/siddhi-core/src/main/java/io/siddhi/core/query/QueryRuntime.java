@@ -31,6 +31,7 @@ import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.parser.OutputParser;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.MemoryCalculable;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import io.siddhi.query.api.definition.StreamDefinition;
 import io.siddhi.query.api.execution.query.Query;
 import io.siddhi.query.api.execution.query.input.stream.JoinInputStream;
@@ -196,4 +197,9 @@ public class QueryRuntime implements MemoryCalculable {
         return selector;
     }
 
+    @Override
+    public StateSizeTracker getStateSizeTracker() {
+        return siddhiQueryContext.getStateSizeTracker();
+    }
+
 }
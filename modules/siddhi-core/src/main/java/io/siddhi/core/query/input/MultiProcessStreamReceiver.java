@@ -31,6 +31,7 @@ import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.util.statistics.LatencyTracker;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -338,6 +339,11 @@ public class MultiProcessStreamReceiver extends ProcessStreamReceiver {
         }
     }
 
+    @Override
+    public List<MetaStreamEvent> getMetaStreamEvents() {
+        return Arrays.asList(metaStreamEvents);
+    }
+
     @Override
     public boolean toStream() {
         return metaStreamEvents[0].getEventType() == MetaStreamEvent.EventType.DEFAULT ||
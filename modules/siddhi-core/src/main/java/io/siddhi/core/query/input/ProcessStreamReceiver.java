@@ -34,6 +34,7 @@ import io.siddhi.core.util.lock.LockWrapper;
 import io.siddhi.core.util.statistics.LatencyTracker;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -53,6 +54,7 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     private MetaStreamEvent metaStreamEvent;
     private StreamEventPool streamEventPool;
     private SiddhiDebugger siddhiDebugger;
+    private volatile boolean filterIndexed = false;
 
     public ProcessStreamReceiver(String streamId,
                                  SiddhiQueryContext siddhiQueryContext) {
@@ -72,10 +74,18 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         return processStreamReceiver;
     }
 
+    public SiddhiQueryContext getSiddhiQueryContext() {
+        return siddhiQueryContext;
+    }
+
     public void setSiddhiDebugger(SiddhiDebugger siddhiDebugger) {
         this.siddhiDebugger = siddhiDebugger;
     }
 
+    public SiddhiDebugger getSiddhiDebugger() {
+        return siddhiDebugger;
+    }
+
     private void process(ComplexEventChunk<StreamEvent> streamEventChunk) {
         if (lockWrapper != null) {
             lockWrapper.lock();
@@ -183,7 +193,11 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     }
 
     protected void processAndClear(ComplexEventChunk<StreamEvent> streamEventChunk) {
-        next.process(streamEventChunk);
+        if (filterIndexed) {
+            next.getNextProcessor().process(streamEventChunk);
+        } else {
+            next.process(streamEventChunk);
+        }
         streamEventChunk.clear();
     }
 
@@ -191,6 +205,10 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         this.metaStreamEvent = metaStreamEvent;
     }
 
+    public List<MetaStreamEvent> getMetaStreamEvents() {
+        return Collections.singletonList(metaStreamEvent);
+    }
+
     public boolean toStream() {
         return metaStreamEvent.getEventType() == MetaStreamEvent.EventType.DEFAULT ||
                 metaStreamEvent.getEventType() == MetaStreamEvent.EventType.WINDOW;
@@ -204,6 +222,25 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         this.next = next;
     }
 
+    public Processor getNext() {
+        return next;
+    }
+
+    /**
+     * Sets whether the filter at the head of the processor chain is evaluated by the predicate index of the stream
+     * junction, in which case the events are passed directly to the processor following the filter. The processor
+     * chain itself is not changed, hence the filter is evaluated again as soon as this is unset.
+     *
+     * @param filterIndexed whether the filter is evaluated by the stream junction
+     */
+    public void setFilterIndexed(boolean filterIndexed) {
+        this.filterIndexed = filterIndexed;
+    }
+
+    public boolean isFilterIndexed() {
+        return filterIndexed;
+    }
+
     public void setStreamEventPool(StreamEventPool streamEventPool) {
         this.streamEventPool = streamEventPool;
     }
@@ -24,9 +24,12 @@ import io.siddhi.core.event.state.StateEventPool;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.processor.stream.window.FindableProcessor;
+import io.siddhi.core.query.processor.stream.window.TableWindowProcessor;
 import io.siddhi.core.query.selector.QuerySelector;
+import io.siddhi.core.table.record.AbstractRecordTable;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -42,6 +45,7 @@ public class JoinProcessor implements Processor {
     private StateEventPool stateEventPool;
     private CompiledCondition compiledCondition;
     private FindableProcessor findableProcessor;
+    private TableWindowProcessor recordTableWindowProcessor;
     private Processor nextProcessor;
     private QuerySelector selector;
 
@@ -65,6 +69,11 @@ public class JoinProcessor implements Processor {
             StateEvent joinStateEvent = new StateEvent(2, 0);
             StreamEvent nextEvent = (StreamEvent) complexEventChunk.getFirst();
             complexEventChunk.clear();
+            StreamEvent[] foundStreamEvents = null;
+            int foundStreamEventsIndex = 0;
+            if (recordTableWindowProcessor != null && nextEvent != null && nextEvent.getNext() != null) {
+                foundStreamEvents = findBatch(nextEvent);
+            }
             while (nextEvent != null) {
                 StreamEvent streamEvent = nextEvent;
                 nextEvent = streamEvent.getNext();
@@ -83,9 +92,14 @@ public class JoinProcessor implements Processor {
                                 outputStateEvent, outputStateEvent, true));
                     }
                 } else {
-                    joinStateEvent.setEvent(matchingStreamIndex, streamEvent);
-                    StreamEvent foundStreamEvent = findableProcessor.find(joinStateEvent, compiledCondition);
-                    joinStateEvent.setEvent(matchingStreamIndex, null);
+                    StreamEvent foundStreamEvent;
+                    if (foundStreamEvents != null) {
+                        foundStreamEvent = foundStreamEvents[foundStreamEventsIndex++];
+                    } else {
+                        joinStateEvent.setEvent(matchingStreamIndex, streamEvent);
+                        foundStreamEvent = findableProcessor.find(joinStateEvent, compiledCondition);
+                        joinStateEvent.setEvent(matchingStreamIndex, null);
+                    }
                     if (foundStreamEvent == null) {
                         if (outerJoinProcessor && !leftJoinProcessor) {
                             StateEvent outputStateEvent = joinEventBuilder(null, streamEvent, eventType);
@@ -125,6 +139,30 @@ public class JoinProcessor implements Processor {
         }
     }
 
+    /**
+     * Find the matching events of all the events in the chain with a single call to the record table, so that the
+     * store can resolve them in one round trip.
+     *
+     * @param firstEvent first event of the chain to be joined
+     * @return the matched events of each event that is neither a timer nor a reset event, in the order of the chain
+     */
+    private StreamEvent[] findBatch(StreamEvent firstEvent) {
+        List<StateEvent> matchingEvents = new ArrayList<>();
+        for (StreamEvent streamEvent = firstEvent; streamEvent != null; streamEvent = streamEvent.getNext()) {
+            ComplexEvent.Type eventType = streamEvent.getType();
+            if (eventType != ComplexEvent.Type.TIMER && eventType != ComplexEvent.Type.RESET) {
+                StateEvent matchingEvent = new StateEvent(2, 0);
+                matchingEvent.setEvent(matchingStreamIndex, streamEvent);
+                matchingEvent.setTimestamp(streamEvent.getTimestamp());
+                matchingEvents.add(matchingEvent);
+            }
+        }
+        if (matchingEvents.size() < 2) {
+            return null;
+        }
+        return recordTableWindowProcessor.findEvents(matchingEvents, compiledCondition);
+    }
+
     /**
      * Get next processor element in the processor chain. Processed event should be sent to next processor
      *
@@ -186,6 +224,12 @@ public class JoinProcessor implements Processor {
 
     public void setFindableProcessor(FindableProcessor findableProcessor) {
         this.findableProcessor = findableProcessor;
+        if (findableProcessor instanceof TableWindowProcessor &&
+                ((TableWindowProcessor) findableProcessor).getTable() instanceof AbstractRecordTable) {
+            this.recordTableWindowProcessor = (TableWindowProcessor) findableProcessor;
+        } else {
+            this.recordTableWindowProcessor = null;
+        }
     }
 
     public CompiledCondition getCompiledCondition() {
@@ -25,14 +25,20 @@ import io.siddhi.core.event.state.StateEventPool;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventPool;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.query.input.stream.single.EntryValveProcessor;
 import io.siddhi.core.query.processor.Processor;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
+import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.parser.SchedulerParser;
 import io.siddhi.core.util.snapshot.Snapshotable;
 import io.siddhi.query.api.execution.query.input.stream.StateInputStream;
 
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -64,6 +70,13 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
     protected StateEventCloner stateEventCloner;
     protected StreamEventPool streamEventPool;
     protected SiddhiQueryContext siddhiQueryContext;
+    protected ExpressionExecutor stateCorrelationKeyExecutor;
+    protected ExpressionExecutor eventCorrelationKeyExecutor;
+    protected Map<Object, LinkedList<StateEvent>> pendingStateEventIndex;
+    private StateEvent correlationStateEvent;
+    private Scheduler expiryScheduler;
+    private long scheduledExpiryTime = -1;
+    private long maxStartTimestamp = Long.MIN_VALUE;
     private boolean initialized;
 
     public StreamPreStateProcessor(StateInputStream.Type stateType) {
@@ -95,8 +108,20 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
      */
     @Override
     public void process(ComplexEventChunk complexEventChunk) {
-        throw new IllegalStateException("process method of StreamPreStateProcessor should not be called. " +
-                "processAndReturn method is used for handling event chunks.");
+        if (expiryScheduler == null) {
+            throw new IllegalStateException("process method of StreamPreStateProcessor should not be called. " +
+                    "processAndReturn method is used for handling event chunks.");
+        }
+        // Only the TIMER events of the expiry scheduler are sent here, and the states added since the last event
+        // are made pending as done before processing the next event
+        lock.lock();
+        try {
+            updateState();
+            expireStateEvents(complexEventChunk.getFirst().getTimestamp());
+            scheduleExpiry();
+        } finally {
+            lock.unlock();
+        }
     }
 
     protected boolean isExpired(StateEvent pendingStateEvent, long currentTimestamp) {
@@ -184,6 +209,9 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
         StreamPreStateProcessor streamPreStateProcessor = new StreamPreStateProcessor(stateType);
         cloneProperties(streamPreStateProcessor, key);
         streamPreStateProcessor.init(siddhiQueryContext);
+        if (expiryScheduler != null) {
+            streamPreStateProcessor.initExpiryScheduler();
+        }
         return streamPreStateProcessor;
     }
 
@@ -197,6 +225,10 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
         streamPreStateProcessor.streamEventPool = this.streamEventPool;
         streamPreStateProcessor.withinTime = this.withinTime;
         streamPreStateProcessor.startStateIds = this.startStateIds;
+        if (this.stateCorrelationKeyExecutor != null) {
+            streamPreStateProcessor.setCorrelationKeyExecutors(this.stateCorrelationKeyExecutor.cloneExecutor(key),
+                    this.eventCorrelationKeyExecutor.cloneExecutor(key));
+        }
     }
 
     @Override
@@ -210,6 +242,9 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
             } else {
                 newAndEveryStateEventList.add(stateEvent);
             }
+            if (expiryScheduler != null) {
+                scheduleExpiry(stateEvent);
+            }
         } finally {
             lock.unlock();
         }
@@ -221,6 +256,9 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
         try {
             StateEvent clonedEvent = stateEventCloner.copyStateEvent(stateEvent);
             newAndEveryStateEventList.add(clonedEvent);
+            if (expiryScheduler != null) {
+                scheduleExpiry(clonedEvent);
+            }
         } finally {
             lock.unlock();
         }
@@ -264,6 +302,10 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
         lock.lock();
         try {
             pendingStateEventList.clear();
+            maxStartTimestamp = Long.MIN_VALUE;
+            if (pendingStateEventIndex != null) {
+                pendingStateEventIndex.clear();
+            }
             if (isStartState && newAndEveryStateEventList.isEmpty()) {
                 if (stateType == StateInputStream.Type.SEQUENCE && thisStatePostProcessor.nextEveryStatePreProcessor ==
                         null && !((StreamPreStateProcessor) thisStatePostProcessor.nextStatePreProcessor)
@@ -281,7 +323,19 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
     public void updateState() {
         lock.lock();
         try {
-            pendingStateEventList.addAll(newAndEveryStateEventList);
+            if (pendingStateEventIndex != null) {
+                for (StateEvent stateEvent : newAndEveryStateEventList) {
+                    pendingStateEventIndex.computeIfAbsent(stateCorrelationKeyExecutor.execute(stateEvent),
+                            k -> new LinkedList<>()).add(stateEvent);
+                }
+            } else if (expiryScheduler != null) {
+                for (StateEvent stateEvent : newAndEveryStateEventList) {
+                    addInStartTimeOrder(stateEvent);
+                }
+                scheduleExpiry();
+            } else {
+                pendingStateEventList.addAll(newAndEveryStateEventList);
+            }
             newAndEveryStateEventList.clear();
         } finally {
             lock.unlock();
@@ -295,9 +349,28 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
         StreamEvent streamEvent = (StreamEvent) complexEventChunk.next(); //Sure only one will be sent
         lock.lock();
         try {
-            for (Iterator<StateEvent> iterator = pendingStateEventList.iterator(); iterator.hasNext(); ) {
+            LinkedList<StateEvent> candidateStateEventList = pendingStateEventList;
+            Object correlationKey = null;
+            boolean checkExpiry = true;
+            if (expiryScheduler != null) {
+                expireStateEvents(streamEvent.getTimestamp());
+                // The rest of the pending states can only be expired for an event that is older than them
+                checkExpiry = streamEvent.getTimestamp() + withinTime < maxStartTimestamp;
+            }
+            if (pendingStateEventIndex != null) {
+                correlationKey = getEventCorrelationKey(streamEvent);
+                candidateStateEventList = pendingStateEventIndex.get(correlationKey);
+                if (candidateStateEventList == null) {
+                    return returnEventChunk;
+                }
+            }
+            // The copy of the event is only kept by the states it matches, hence when only filters are applied on
+            // the event, the same copy is used to match the pending states until a state keeps it
+            boolean reuseEventCopy = isFilteredOnly();
+            StreamEvent streamEventCopy = null;
+            for (Iterator<StateEvent> iterator = candidateStateEventList.iterator(); iterator.hasNext(); ) {
                 StateEvent stateEvent = iterator.next();
-                if (isExpired(stateEvent, streamEvent.getTimestamp())) {
+                if (checkExpiry && isExpired(stateEvent, streamEvent.getTimestamp())) {
                     iterator.remove();
                     if (withinEveryPreStateProcessor != null) {
                         withinEveryPreStateProcessor.addEveryState(stateEvent);
@@ -305,11 +378,19 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
                     }
                     continue;
                 }
-                stateEvent.setEvent(stateId, streamEventCloner.copyStreamEvent(streamEvent));
+                if (streamEventCopy == null) {
+                    streamEventCopy = streamEventCloner.copyStreamEvent(streamEvent);
+                }
+                stateEvent.setEvent(stateId, streamEventCopy);
                 process(stateEvent);
+                boolean eventCopyKept = stateChanged || !reuseEventCopy;
                 if (this.thisLastProcessor.isEventReturned()) {
                     this.thisLastProcessor.clearProcessedEvent();
                     returnEventChunk.add(stateEvent);
+                    eventCopyKept = true;
+                }
+                if (eventCopyKept) {
+                    streamEventCopy = null;
                 }
                 if (stateChanged) {
                     iterator.remove();
@@ -330,12 +411,120 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
                     }
                 }
             }
+            if (streamEventCopy != null) {
+                streamEventPool.returnEvents(streamEventCopy);
+            }
+            if (pendingStateEventIndex != null && candidateStateEventList.isEmpty()) {
+                pendingStateEventIndex.remove(correlationKey);
+            }
+            if (expiryScheduler != null && pendingStateEventList.isEmpty()) {
+                maxStartTimestamp = Long.MIN_VALUE;
+            }
         } finally {
             lock.unlock();
         }
         return returnEventChunk;
     }
 
+    /**
+     * @return whether only filters are applied on the events of this state before they reach its post processor
+     */
+    private boolean isFilteredOnly() {
+        Processor processor = nextProcessor;
+        while (processor instanceof FilterProcessor) {
+            processor = processor.getNextProcessor();
+        }
+        return processor == thisStatePostProcessor;
+    }
+
+    private Object getEventCorrelationKey(StreamEvent streamEvent) {
+        if (correlationStateEvent == null) {
+            correlationStateEvent = stateEventPool.borrowEvent();
+        }
+        StreamEvent nextStreamEvent = streamEvent.getNext();
+        streamEvent.setNext(null);
+        correlationStateEvent.setEvent(stateId, streamEvent);
+        Object correlationKey = eventCorrelationKeyExecutor.execute(correlationStateEvent);
+        correlationStateEvent.setEvent(stateId, null);
+        streamEvent.setNext(nextStreamEvent);
+        return correlationKey;
+    }
+
+    /**
+     * Adds the pending state such that the pending states are ordered by the timestamps of their start events, hence
+     * the states expiring first due to the within time are always at the head of the list.
+     */
+    private void addInStartTimeOrder(StateEvent stateEvent) {
+        long startTimestamp = getStartTimestamp(stateEvent);
+        ListIterator<StateEvent> iterator = pendingStateEventList.listIterator(pendingStateEventList.size());
+        while (iterator.hasPrevious()) {
+            if (getStartTimestamp(iterator.previous()) <= startTimestamp) {
+                iterator.next();
+                break;
+            }
+        }
+        iterator.add(stateEvent);
+        updateMaxStartTimestamp(stateEvent);
+    }
+
+    private long getStartTimestamp(StateEvent stateEvent) {
+        long startTimestamp = Long.MAX_VALUE;
+        for (int startStateId : startStateIds) {
+            StreamEvent streamEvent = stateEvent.getStreamEvent(startStateId);
+            if (streamEvent != null && streamEvent.getTimestamp() < startTimestamp) {
+                startTimestamp = streamEvent.getTimestamp();
+            }
+        }
+        return startTimestamp;
+    }
+
+    private void updateMaxStartTimestamp(StateEvent stateEvent) {
+        for (int startStateId : startStateIds) {
+            StreamEvent streamEvent = stateEvent.getStreamEvent(startStateId);
+            if (streamEvent != null && streamEvent.getTimestamp() > maxStartTimestamp) {
+                maxStartTimestamp = streamEvent.getTimestamp();
+            }
+        }
+    }
+
+    /**
+     * Removes the pending states that started more than the within time before the given timestamp, from the head
+     * of the start time ordered pending states.
+     */
+    private void expireStateEvents(long currentTimestamp) {
+        LinkedList<StateEvent> expiredStateEventList = null;
+        while (!pendingStateEventList.isEmpty() &&
+                currentTimestamp - getStartTimestamp(pendingStateEventList.getFirst()) > withinTime) {
+            if (expiredStateEventList == null) {
+                expiredStateEventList = new LinkedList<>();
+            }
+            expiredStateEventList.add(pendingStateEventList.removeFirst());
+        }
+        if (pendingStateEventList.isEmpty()) {
+            maxStartTimestamp = Long.MIN_VALUE;
+        }
+        if (expiredStateEventList != null && withinEveryPreStateProcessor != null) {
+            for (StateEvent stateEvent : expiredStateEventList) {
+                withinEveryPreStateProcessor.addEveryState(stateEvent);
+            }
+            withinEveryPreStateProcessor.updateState();
+        }
+    }
+
+    private void scheduleExpiry() {
+        if (!pendingStateEventList.isEmpty()) {
+            scheduleExpiry(pendingStateEventList.getFirst());
+        }
+    }
+
+    private void scheduleExpiry(StateEvent stateEvent) {
+        long startTimestamp = getStartTimestamp(stateEvent);
+        if (startTimestamp != Long.MAX_VALUE && startTimestamp + withinTime + 1 > scheduledExpiryTime) {
+            scheduledExpiryTime = startTimestamp + withinTime + 1;
+            expiryScheduler.notifyAt(scheduledExpiryTime);
+        }
+    }
+
     protected boolean removeOnNoStateChange(StateInputStream.Type stateType) {
         return stateType == StateInputStream.Type.SEQUENCE;
     }
@@ -353,7 +542,15 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
     public Map<String, Object> currentState() {
         Map<String, Object> state = new HashMap<>();
         state.put("FirstEvent", currentStateEventChunk.getFirst());
-        state.put("PendingStateEventList", pendingStateEventList);
+        if (pendingStateEventIndex != null) {
+            LinkedList<StateEvent> indexedStateEventList = new LinkedList<>();
+            for (LinkedList<StateEvent> stateEventList : pendingStateEventIndex.values()) {
+                indexedStateEventList.addAll(stateEventList);
+            }
+            state.put("PendingStateEventList", indexedStateEventList);
+        } else {
+            state.put("PendingStateEventList", pendingStateEventList);
+        }
         state.put("NewAndEveryStateEventList", newAndEveryStateEventList);
         return state;
     }
@@ -364,6 +561,22 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
         currentStateEventChunk.add((StateEvent) state.get("FirstEvent"));
         pendingStateEventList = (LinkedList<StateEvent>) state.get("PendingStateEventList");
         newAndEveryStateEventList = (LinkedList<StateEvent>) state.get("NewAndEveryStateEventList");
+        if (pendingStateEventIndex != null) {
+            pendingStateEventIndex.clear();
+            for (StateEvent stateEvent : pendingStateEventList) {
+                pendingStateEventIndex.computeIfAbsent(stateCorrelationKeyExecutor.execute(stateEvent),
+                        k -> new LinkedList<>()).add(stateEvent);
+            }
+            pendingStateEventList = new LinkedList<>();
+        }
+        if (expiryScheduler != null) {
+            maxStartTimestamp = Long.MIN_VALUE;
+            for (StateEvent stateEvent : pendingStateEventList) {
+                updateMaxStartTimestamp(stateEvent);
+            }
+            scheduledExpiryTime = -1;
+            scheduleExpiry();
+        }
     }
 
     @Override
@@ -382,6 +595,40 @@ public class StreamPreStateProcessor implements PreStateProcessor, Snapshotable
 
     public void setWithinTime(long withinTime) {
         this.withinTime = withinTime;
+        // Expired pending states are only detected when they are visited, hence all of them need to be visited
+        this.stateCorrelationKeyExecutor = null;
+        this.eventCorrelationKeyExecutor = null;
+        this.pendingStateEventIndex = null;
+    }
+
+    /**
+     * Keeps the pending states of a non start state ordered by the timestamps of their start events, and removes
+     * the expired ones through a scheduler, such that they do not need to be checked for each arriving event and
+     * do not linger when no events arrive. Has to be called after the within time and the start state ids are set.
+     */
+    public void initExpiryScheduler() {
+        EntryValveProcessor entryValveProcessor = new EntryValveProcessor(siddhiQueryContext.getSiddhiAppContext());
+        entryValveProcessor.setToLast(this);
+        expiryScheduler = SchedulerParser.parse(entryValveProcessor, siddhiQueryContext.getSiddhiAppContext());
+    }
+
+    public Scheduler getExpiryScheduler() {
+        return expiryScheduler;
+    }
+
+    /**
+     * Indexes the pending states by the value they are correlated with the arriving events, such that an arriving
+     * event is only matched against the pending states having the same value.
+     *
+     * @param stateCorrelationKeyExecutor executor returning the correlated value of a pending state
+     * @param eventCorrelationKeyExecutor executor returning the correlated value of an arriving event, which has to
+     *                                    be equal to the correlated value of a pending state for them to match
+     */
+    public void setCorrelationKeyExecutors(ExpressionExecutor stateCorrelationKeyExecutor,
+                                           ExpressionExecutor eventCorrelationKeyExecutor) {
+        this.stateCorrelationKeyExecutor = stateCorrelationKeyExecutor;
+        this.eventCorrelationKeyExecutor = eventCorrelationKeyExecutor;
+        this.pendingStateEventIndex = new HashMap<>();
     }
 
     public void setStartStateIds(int[] stateIds) {
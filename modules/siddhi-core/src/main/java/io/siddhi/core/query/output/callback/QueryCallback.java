@@ -22,7 +22,7 @@ import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
-import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.EventView;
 import io.siddhi.query.api.execution.query.Query;
 import org.apache.log4j.Logger;
 
@@ -32,7 +32,8 @@ import java.util.List;
 
 /**
  * Query Callback is used to get resulting output events from a Siddhi query. Users can create and register a callback
- * to a specific query and onEvent() of callback will be called upon query emitting results.
+ * to a specific query and onEvent() of callback will be called upon query emitting results. Extend
+ * {@link QueryViewCallback} instead to read the output events without copying them into {@link Event}s.
  */
 public abstract class QueryCallback {
 
@@ -40,6 +41,7 @@ public abstract class QueryCallback {
 
     private SiddhiAppContext siddhiAppContext;
     private Query query;
+    private final ThreadLocal<EventView> eventViewThreadLocal = ThreadLocal.withInitial(EventView::new);
 
     public void setQuery(Query query) {
         this.query = query;
@@ -50,23 +52,41 @@ public abstract class QueryCallback {
     }
 
     public void receiveStreamEvent(ComplexEventChunk complexEventChunk) {
+        long timestamp = -1;
+        for (ComplexEvent event = complexEventChunk.getFirst(); event != null; event = event.getNext()) {
+            timestamp = event.getTimestamp();
+        }
+
+        EventView eventView = eventViewThreadLocal.get();
+        if (!eventView.acquire()) {
+            // The callback is invoked again while processing an outer invocation on the same thread
+            eventView = new EventView();
+            eventView.acquire();
+        }
+        try {
+            eventView.wrap(complexEventChunk.getFirst(), true);
+            receive(timestamp, eventView);
+        } catch (RuntimeException e) {
+            log.error("Error on sending events " + eventView, e);
+        } finally {
+            eventView.release();
+        }
+    }
 
+    /**
+     * Receives the output events through a view, which is only valid during this invocation. By default the events
+     * are copied into {@link Event}s and passed to {@link #receive(long, Event[], Event[])}.
+     *
+     * @param timestamp timestamp of the last output event
+     * @param eventView view of the current and expired output events
+     */
+    public void receive(long timestamp, EventView eventView) {
         Event[] currentEvents = null;
         Event[] expiredEvents = null;
-        long timestamp = -1;
         List<Event> currentEventBuffer = new ArrayList<Event>();
         List<Event> expiredEventBuffer = new ArrayList<Event>();
 
-        complexEventChunk.reset();
-        while (complexEventChunk.hasNext()) {
-            ComplexEvent streamEvent = complexEventChunk.next();
-            if (streamEvent.getType() == StreamEvent.Type.EXPIRED) {
-                bufferEvent(streamEvent, expiredEventBuffer);
-            } else if (streamEvent.getType() == StreamEvent.Type.CURRENT) {
-                bufferEvent(streamEvent, currentEventBuffer);
-            }
-            timestamp = streamEvent.getTimestamp();
-        }
+        eventView.copyEvents(currentEventBuffer, expiredEventBuffer);
 
         if (!currentEventBuffer.isEmpty()) {
             currentEvents = currentEventBuffer.toArray(new Event[currentEventBuffer.size()]);
@@ -90,10 +110,6 @@ public abstract class QueryCallback {
         }
     }
 
-    private void bufferEvent(ComplexEvent complexEvent, List<Event> eventBuffer) {
-        eventBuffer.add(new Event(complexEvent.getOutputData().length).copyFrom(complexEvent));
-    }
-
     public synchronized void startProcessing() {
 
     }
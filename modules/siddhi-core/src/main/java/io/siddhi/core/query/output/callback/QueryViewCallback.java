@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.output.callback;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventView;
+
+/**
+ * QueryCallback that receives the output events of a Siddhi query through a reusable {@link EventView}, without the
+ * events being copied into {@link Event}s. The current and the expired events are exposed by the same view, and can
+ * be distinguished using {@link EventView#isExpired()}. The view is only valid during the
+ * {@link #receive(long, EventView)} invocation.
+ */
+public abstract class QueryViewCallback extends QueryCallback {
+
+    @Override
+    public abstract void receive(long timestamp, EventView eventView);
+
+    @Override
+    public final void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+        EventView eventView = new EventView();
+        eventView.acquire();
+        eventView.wrap(inEvents, removeEvents);
+        receive(timestamp, eventView);
+    }
+}
@@ -96,8 +96,10 @@ public class BatchWindowProcessor extends BatchingWindowProcessor implements Fin
         this.outputExpectsExpiredEvents = outputExpectsExpiredEvents;
         this.siddhiQueryContext = siddhiQueryContext;
         currentEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+        siddhiQueryContext.getStateSizeTracker().register(currentEventQueue);
         if (outputExpectsExpiredEvents) {
             expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            siddhiQueryContext.getStateSizeTracker().register(expiredEventQueue);
         }
         if (attributeExpressionExecutors.length == 1) {
             length = (Integer) (((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue());
@@ -225,6 +227,7 @@ public class BatchWindowProcessor extends BatchingWindowProcessor implements Fin
                                               Map<String, Table> tableMap, SiddhiQueryContext siddhiQueryContext) {
         if (expiredEventQueue == null) {
             expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            this.siddhiQueryContext.getStateSizeTracker().register(expiredEventQueue);
         }
         return OperatorParser.constructOperator(expiredEventQueue, condition, matchingMetaInfoHolder,
                 variableExpressionExecutors, tableMap,
@@ -99,6 +99,7 @@ public class DelayWindowProcessor extends TimeWindowProcessor {
                         SiddhiQueryContext siddhiQueryContext) {
         this.siddhiQueryContext = siddhiQueryContext;
         this.delayedEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+        siddhiQueryContext.getStateSizeTracker().register(this.delayedEventQueue);
         if (attributeExpressionExecutors.length == 1) {
             if (attributeExpressionExecutors[0] instanceof ConstantExpressionExecutor) {
                 if (attributeExpressionExecutors[0].getReturnType() == Attribute.Type.INT ||
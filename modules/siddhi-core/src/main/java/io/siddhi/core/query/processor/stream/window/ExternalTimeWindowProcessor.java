@@ -91,6 +91,7 @@ public class ExternalTimeWindowProcessor extends SlidingWindowProcessor implemen
     protected void init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader,
                         SiddhiQueryContext siddhiQueryContext) {
         this.expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+        siddhiQueryContext.getStateSizeTracker().register(this.expiredEventQueue);
         if (attributeExpressionExecutors.length == 2) {
             if (attributeExpressionExecutors[1].getReturnType() == Attribute.Type.INT) {
                 timeToKeep = Integer.parseInt(String.valueOf(((ConstantExpressionExecutor)
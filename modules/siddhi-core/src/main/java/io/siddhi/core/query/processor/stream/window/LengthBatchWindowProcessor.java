@@ -109,7 +109,6 @@ public class LengthBatchWindowProcessor extends BatchingWindowProcessor implemen
     private SnapshotableStreamEventQueue currentEventQueue = null;
     private SnapshotableStreamEventQueue expiredEventQueue = null;
     private boolean outputExpectsExpiredEvents;
-    private SiddhiQueryContext siddhiQueryContext;
     private boolean isStreamCurrentEvents = false;
     private StreamEvent resetEvent = null;
 
@@ -117,7 +116,6 @@ public class LengthBatchWindowProcessor extends BatchingWindowProcessor implemen
     protected void init(ExpressionExecutor[] attributeExpressionExecutors, ConfigReader configReader,
                         boolean outputExpectsExpiredEvents, SiddhiQueryContext siddhiQueryContext) {
         this.outputExpectsExpiredEvents = outputExpectsExpiredEvents;
-        this.siddhiQueryContext = siddhiQueryContext;
         if (attributeExpressionExecutors.length >= 1) {
             if (!(attributeExpressionExecutors[0] instanceof ConstantExpressionExecutor)) {
                 throw new SiddhiAppValidationException("TimeBatch window's window.time (1st) parameter " +
@@ -142,9 +140,11 @@ public class LengthBatchWindowProcessor extends BatchingWindowProcessor implemen
         }
         if (!isStreamCurrentEvents) {
             currentEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            siddhiQueryContext.getStateSizeTracker().register(currentEventQueue);
         }
         if (outputExpectsExpiredEvents) {
             expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            siddhiQueryContext.getStateSizeTracker().register(expiredEventQueue);
         }
     }
 
@@ -182,9 +182,9 @@ public class LengthBatchWindowProcessor extends BatchingWindowProcessor implemen
         }
     }
 
-    private void processLengthZeroBatch(StreamEvent streamEvent,
-                                        ComplexEventChunk<StreamEvent> outputStreamEventChunk,
-                                        long currentTime) {
+    protected void processLengthZeroBatch(StreamEvent streamEvent,
+                                          ComplexEventChunk<StreamEvent> outputStreamEventChunk,
+                                          long currentTime) {
 
         outputStreamEventChunk.add(streamEvent);
         if (outputExpectsExpiredEvents) {
@@ -317,6 +317,7 @@ public class LengthBatchWindowProcessor extends BatchingWindowProcessor implemen
                                               Map<String, Table> tableMap, SiddhiQueryContext siddhiQueryContext) {
         if (expiredEventQueue == null) {
             expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            this.siddhiQueryContext.getStateSizeTracker().register(expiredEventQueue);
         }
         return OperatorParser.constructOperator(expiredEventQueue, condition, matchingMetaInfoHolder,
                 variableExpressionExecutors, tableMap, siddhiQueryContext);
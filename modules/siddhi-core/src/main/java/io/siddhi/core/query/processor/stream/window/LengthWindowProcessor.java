@@ -96,6 +96,7 @@ public class LengthWindowProcessor extends SlidingWindowProcessor implements Fin
                     "window.length), but found " + attributeExpressionExecutors.length + " input parameters.");
         }
         expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder, length);
+        siddhiQueryContext.getStateSizeTracker().register(expiredEventQueue);
     }
 
     @Override
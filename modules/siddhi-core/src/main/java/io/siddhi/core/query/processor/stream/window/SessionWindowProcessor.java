@@ -45,15 +45,12 @@ import io.siddhi.query.api.exception.SiddhiAppValidationException;
 import io.siddhi.query.api.expression.Expression;
 import org.apache.log4j.Logger;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static java.util.stream.Collectors.toMap;
-
 /**
  * Implementation of {@link WindowProcessor} which represent a Window operating based on a session.
  */
@@ -111,7 +108,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
     private VariableExpressionExecutor sessionKeyExecutor;
     private Scheduler scheduler;
     private Map<String, SessionContainer> sessionMap;
-    private Map<String, Long> sessionKeyEndTimeMap;
+    private SessionExpiryQueue currentSessionExpiryQueue;
+    private SessionExpiryQueue previousSessionExpiryQueue;
     private SessionContainer sessionContainer;
     private SessionComplexEventChunk<StreamEvent> expiredEventChunk;
 
@@ -130,7 +128,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
                         ConfigReader configReader, boolean outputExpectsExpiredEvents,
                         SiddhiQueryContext siddhiQueryContext) {
         this.sessionMap = new ConcurrentHashMap<>();
-        this.sessionKeyEndTimeMap = new HashMap<>();
+        this.currentSessionExpiryQueue = new SessionExpiryQueue();
+        this.previousSessionExpiryQueue = new SessionExpiryQueue();
         this.sessionContainer = new SessionContainer();
         this.expiredEventChunk = new SessionComplexEventChunk<>();
 
@@ -285,6 +284,7 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
                             addLateEvent(streamEventChunk, eventTimestamp, clonedStreamEvent);
                         }
                     }
+                    updateSessionExpiry(sessionContainer);
                 } else {
                     currentSessionTimeout(eventTimestamp);
                     if (allowedLatency > 0) {
@@ -415,129 +415,69 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
     }
 
     /**
-     * Checks all the sessions and get the expired session.
+     * Updates the positions of the current and previous sessions of the given session key in the expiry queues,
+     * after the sessions got changed.
      */
-    private void currentSessionTimeout(long eventTimestamp) {
-        Map<String, Long> currentEndTimestamps = findAllCurrentEndTimestamps(sessionMap);
-
-        //sort on endTimestamps
-        if (currentEndTimestamps.size() > 1) {
-            currentEndTimestamps = currentEndTimestamps.entrySet().stream().sorted(Map.Entry.comparingByValue())
-                    .collect(toMap(e -> e.getKey(), e -> e.getValue(), (e1, e2) -> e1,
-                            LinkedHashMap::new));
+    private void updateSessionExpiry(SessionContainer sessionContainer) {
+        SessionComplexEventChunk<StreamEvent> currentSession = sessionContainer.getCurrentSession();
+        if (currentSession.getFirst() != null) {
+            currentSessionExpiryQueue.update(currentSession, currentSession.getEndTimestamp());
+        } else {
+            currentSessionExpiryQueue.remove(currentSession);
         }
-
-        for (Map.Entry<String, Long> entry : currentEndTimestamps.entrySet()) {
-            long sessionEndTime = entry.getValue();
-            SessionComplexEventChunk<StreamEvent> currentSession = sessionMap.get(entry.getKey())
-                    .getCurrentSession();
-            SessionComplexEventChunk<StreamEvent> previousSession = sessionMap.get(entry.getKey())
-                    .getPreviousSession();
-            if (currentSession.getFirst() != null && eventTimestamp >= sessionEndTime) {
-
-                if (allowedLatency > 0) {
-                    //move current session to previous session
-                    previousSession.add(currentSession.getFirst());
-                    previousSession.setTimestamps(currentSession.getStartTimestamp(),
-                            currentSession.getEndTimestamp(),
-                            currentSession.getAliveTimestamp());
-                    scheduler.notifyAt(currentSession.getAliveTimestamp());
-                    currentSession.clear();
-                } else {
-                    expiredEventChunk.setKey(currentSession.getKey());
-                    expiredEventChunk.setTimestamps(currentSession.getStartTimestamp(),
-                            currentSession.getEndTimestamp(),
-                            currentSession.getAliveTimestamp());
-                    expiredEventChunk.add(currentSession.getFirst());
-                    currentSession.clear();
-                }
-
-            } else {
-                break;
-            }
+        SessionComplexEventChunk<StreamEvent> previousSession = sessionContainer.getPreviousSession();
+        if (previousSession.getFirst() != null) {
+            previousSessionExpiryQueue.update(previousSession, previousSession.getAliveTimestamp());
+        } else {
+            previousSessionExpiryQueue.remove(previousSession);
         }
     }
 
     /**
-     * Checks all the previous sessions and get the expired sessions.
+     * Gets the expired current sessions in the order of their end timestamps.
      */
-    private void previousSessionTimeout(long eventTimestamp) {
-
-        Map<String, Long> previousEndTimestamps = findAllPreviousEndTimestamps(sessionMap);
-        SessionComplexEventChunk<StreamEvent> previousSession;
-
-        //sort on endTimestamps
-        if (previousEndTimestamps.size() > 1) {
-            previousEndTimestamps = previousEndTimestamps.entrySet().stream().sorted(Map.Entry.comparingByValue())
-                    .collect(toMap(e -> e.getKey(), e -> e.getValue(), (e1, e2) -> e1,
-                            LinkedHashMap::new));
-        }
-
-        for (Map.Entry<String, Long> entry : previousEndTimestamps.entrySet()) {
-            previousSession = sessionMap.get(entry.getKey()).getPreviousSession();
-
-            if (previousSession != null && previousSession.getFirst() != null &&
-                    eventTimestamp >= previousSession.getAliveTimestamp()) {
-
-                expiredEventChunk.setKey(previousSession.getKey());
-                expiredEventChunk.setTimestamps(previousSession.getStartTimestamp(),
-                        previousSession.getEndTimestamp(), previousSession.getAliveTimestamp());
-
-                expiredEventChunk.add(previousSession.getFirst());
-                previousSession.clear();
+    private void currentSessionTimeout(long eventTimestamp) {
+        SessionComplexEventChunk<StreamEvent> currentSession;
+        while ((currentSession = currentSessionExpiryQueue.peek()) != null &&
+                eventTimestamp >= currentSession.getEndTimestamp()) {
+            SessionContainer expiredSessionContainer = sessionMap.get(currentSession.getKey());
+            SessionComplexEventChunk<StreamEvent> previousSession = expiredSessionContainer.getPreviousSession();
+
+            if (allowedLatency > 0) {
+                //move current session to previous session
+                previousSession.add(currentSession.getFirst());
+                previousSession.setTimestamps(currentSession.getStartTimestamp(),
+                        currentSession.getEndTimestamp(),
+                        currentSession.getAliveTimestamp());
+                scheduler.notifyAt(currentSession.getAliveTimestamp());
+                currentSession.clear();
             } else {
-                break;
-            }
-
-        }
-
-    }
-
-    /**
-     * Gets all end timestamps of current sessions.
-     *
-     * @param sessionMap holds all the sessions with the session key
-     * @return map with the values of each current session's end timestamp and with the key as the session key
-     */
-    private Map<String, Long> findAllCurrentEndTimestamps(Map<String, SessionContainer> sessionMap) {
-
-        Collection<SessionContainer> sessionContainerList = sessionMap.values();
-
-        if (!sessionKeyEndTimeMap.isEmpty()) {
-            sessionKeyEndTimeMap.clear();
-        }
-
-        for (SessionContainer sessionContainer : sessionContainerList) {
-            //not getting empty session details
-            if (sessionContainer.getCurrentSessionEndTimestamp() != -1) {
-                sessionKeyEndTimeMap.put(sessionContainer.getKey(), sessionContainer.getCurrentSessionEndTimestamp());
+                expiredEventChunk.setKey(currentSession.getKey());
+                expiredEventChunk.setTimestamps(currentSession.getStartTimestamp(),
+                        currentSession.getEndTimestamp(),
+                        currentSession.getAliveTimestamp());
+                expiredEventChunk.add(currentSession.getFirst());
+                currentSession.clear();
             }
+            updateSessionExpiry(expiredSessionContainer);
         }
-
-        return sessionKeyEndTimeMap;
     }
 
     /**
-     * Gets all the end timestamps of previous sessions.
-     *
-     * @return map with the values of each previous session's end timestamp and with the key as the sesssio key
+     * Gets the expired previous sessions in the order of their alive timestamps.
      */
-    private Map<String, Long> findAllPreviousEndTimestamps(Map<String, SessionContainer> sessionMap) {
-
-        Collection<SessionContainer> sessionContainerList = sessionMap.values();
-
-        if (!sessionKeyEndTimeMap.isEmpty()) {
-            sessionKeyEndTimeMap.clear();
-        }
+    private void previousSessionTimeout(long eventTimestamp) {
+        SessionComplexEventChunk<StreamEvent> previousSession;
+        while ((previousSession = previousSessionExpiryQueue.peek()) != null &&
+                eventTimestamp >= previousSession.getAliveTimestamp()) {
+            expiredEventChunk.setKey(previousSession.getKey());
+            expiredEventChunk.setTimestamps(previousSession.getStartTimestamp(),
+                    previousSession.getEndTimestamp(), previousSession.getAliveTimestamp());
 
-        for (SessionContainer sessionContainer : sessionContainerList) {
-            //not getting empty session details
-            if (sessionContainer.getPreviousSessionEndTimestamp() != -1) {
-                sessionKeyEndTimeMap.put(sessionContainer.getKey(), sessionContainer.getPreviousSessionEndTimestamp());
-            }
+            expiredEventChunk.add(previousSession.getFirst());
+            previousSession.clear();
+            previousSessionExpiryQueue.remove(previousSession);
         }
-
-        return sessionKeyEndTimeMap;
     }
 
     @Override
@@ -564,6 +504,13 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
         sessionMap = (ConcurrentHashMap<String, SessionContainer>) state.get("sessionMap");
         sessionContainer = (SessionContainer) state.get("sessionContainer");
         expiredEventChunk = (SessionComplexEventChunk<StreamEvent>) state.get("expiredEventChunk");
+        currentSessionExpiryQueue.clear();
+        previousSessionExpiryQueue.clear();
+        for (SessionContainer restoredSessionContainer : sessionMap.values()) {
+            restoredSessionContainer.getCurrentSession().expiryQueueIndex = -1;
+            restoredSessionContainer.getPreviousSession().expiryQueueIndex = -1;
+            updateSessionExpiry(restoredSessionContainer);
+        }
     }
 
     @Override
@@ -591,6 +538,8 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
         private long startTimestamp;
         private long endTimestamp;
         private long aliveTimestamp;
+        private transient int expiryQueueIndex = -1;
+        private transient long expiryTimestamp;
 
         public SessionComplexEventChunk(String key) {
             super(false);
@@ -639,4 +588,102 @@ public class SessionWindowProcessor extends GroupingWindowProcessor implements S
             this.aliveTimestamp = aliveTimestamp;
         }
     }
+
+    /**
+     * Indexed min-heap of sessions ordered by their expiry timestamps. Each session keeps its position in the heap,
+     * hence the expiry timestamp of a session can be updated in O(log n) when the session gets extended.
+     */
+    private static class SessionExpiryQueue {
+
+        private SessionComplexEventChunk<StreamEvent>[] sessions = new SessionComplexEventChunk[16];
+        private int size = 0;
+
+        /**
+         * @return the session that expires first, or null if the queue is empty
+         */
+        private SessionComplexEventChunk<StreamEvent> peek() {
+            return size == 0 ? null : sessions[0];
+        }
+
+        /**
+         * Adds the session to the queue, or moves it to the position of its new expiry timestamp.
+         */
+        private void update(SessionComplexEventChunk<StreamEvent> session, long expiryTimestamp) {
+            if (session.expiryQueueIndex == -1) {
+                if (size == sessions.length) {
+                    sessions = Arrays.copyOf(sessions, size << 1);
+                }
+                session.expiryTimestamp = expiryTimestamp;
+                sessions[size] = session;
+                siftUp(size++);
+            } else if (expiryTimestamp < session.expiryTimestamp) {
+                session.expiryTimestamp = expiryTimestamp;
+                siftUp(session.expiryQueueIndex);
+            } else if (expiryTimestamp > session.expiryTimestamp) {
+                session.expiryTimestamp = expiryTimestamp;
+                siftDown(session.expiryQueueIndex);
+            }
+        }
+
+        private void remove(SessionComplexEventChunk<StreamEvent> session) {
+            int index = session.expiryQueueIndex;
+            if (index == -1) {
+                return;
+            }
+            session.expiryQueueIndex = -1;
+            SessionComplexEventChunk<StreamEvent> lastSession = sessions[--size];
+            sessions[size] = null;
+            if (index != size) {
+                sessions[index] = lastSession;
+                siftDown(index);
+                siftUp(lastSession.expiryQueueIndex);
+            }
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++) {
+                sessions[i].expiryQueueIndex = -1;
+                sessions[i] = null;
+            }
+            size = 0;
+        }
+
+        private void siftUp(int index) {
+            SessionComplexEventChunk<StreamEvent> session = sessions[index];
+            while (index > 0) {
+                int parentIndex = (index - 1) >>> 1;
+                SessionComplexEventChunk<StreamEvent> parentSession = sessions[parentIndex];
+                if (parentSession.expiryTimestamp <= session.expiryTimestamp) {
+                    break;
+                }
+                sessions[index] = parentSession;
+                parentSession.expiryQueueIndex = index;
+                index = parentIndex;
+            }
+            sessions[index] = session;
+            session.expiryQueueIndex = index;
+        }
+
+        private void siftDown(int index) {
+            SessionComplexEventChunk<StreamEvent> session = sessions[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int childIndex = (index << 1) + 1;
+                SessionComplexEventChunk<StreamEvent> childSession = sessions[childIndex];
+                int rightIndex = childIndex + 1;
+                if (rightIndex < size && sessions[rightIndex].expiryTimestamp < childSession.expiryTimestamp) {
+                    childIndex = rightIndex;
+                    childSession = sessions[childIndex];
+                }
+                if (session.expiryTimestamp <= childSession.expiryTimestamp) {
+                    break;
+                }
+                sessions[index] = childSession;
+                childSession.expiryQueueIndex = index;
+                index = childIndex;
+            }
+            sessions[index] = session;
+            session.expiryQueueIndex = index;
+        }
+    }
 }
@@ -67,6 +67,21 @@ public class TableWindowProcessor extends BatchingWindowProcessor implements Fin
         return table.find(matchingEvent, compiledCondition);
     }
 
+    /**
+     * Find the matching events of several events with a single call to the table.
+     *
+     * @param matchingEvents    the events to be matched with the events at the table
+     * @param compiledCondition the compiled condition based on which the events are matched
+     * @return the matched events of each matching event, in the order of the matching events
+     */
+    public StreamEvent[] findEvents(List<StateEvent> matchingEvents, CompiledCondition compiledCondition) {
+        return table.findEvents(matchingEvents, compiledCondition);
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
     @Override
     public CompiledCondition compileCondition(Expression condition, MatchingMetaInfoHolder matchingMetaInfoHolder,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
@@ -146,9 +146,11 @@ public class TimeBatchWindowProcessor extends BatchingWindowProcessor
         this.siddhiQueryContext = siddhiQueryContext;
         if (!isStreamCurrentEvents) {
             this.currentEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            siddhiQueryContext.getStateSizeTracker().register(this.currentEventQueue);
         }
         if (outputExpectsExpiredEvents) {
             this.expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            siddhiQueryContext.getStateSizeTracker().register(this.expiredEventQueue);
         }
         if (attributeExpressionExecutors.length == 1) {
             initTimeParameter(attributeExpressionExecutors[0]);
@@ -377,6 +379,7 @@ public class TimeBatchWindowProcessor extends BatchingWindowProcessor
                                               Map<String, Table> tableMap, SiddhiQueryContext siddhiQueryContext) {
         if (expiredEventQueue == null) {
             expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            this.siddhiQueryContext.getStateSizeTracker().register(expiredEventQueue);
         }
         return OperatorParser.constructOperator(expiredEventQueue, condition, matchingMetaInfoHolder,
                 variableExpressionExecutors, tableMap,
@@ -103,6 +103,7 @@ public class TimeWindowProcessor extends SlidingWindowProcessor implements Sched
                         SiddhiQueryContext siddhiQueryContext) {
         this.siddhiQueryContext = siddhiQueryContext;
         this.expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+        siddhiQueryContext.getStateSizeTracker().register(this.expiredEventQueue);
         if (attributeExpressionExecutors.length == 1) {
             if (attributeExpressionExecutors[0] instanceof ConstantExpressionExecutor) {
                 if (attributeExpressionExecutors[0].getReturnType() == Attribute.Type.INT) {
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.processor.stream.window;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.query.processor.Processor;
+
+/**
+ * Zero length batch window, which a join adds to a joining stream that has no window. Unlike lengthBatch(0), which
+ * passes on each event as a separate chunk, it passes on each incoming chunk as a single chunk, in which every event
+ * is followed by its expired and reset events. The join processes the events of a chunk one by one, hence its output
+ * is unchanged, while a join with a record table can look up the events of the whole chunk at once.
+ */
+public class ZeroLengthBatchWindowProcessor extends LengthBatchWindowProcessor {
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner) {
+        ComplexEventChunk<StreamEvent> outputStreamEventChunk = new ComplexEventChunk<StreamEvent>(true);
+        long currentTime = siddhiQueryContext.getSiddhiAppContext().getTimestampGenerator().currentTime();
+        while (streamEventChunk.hasNext()) {
+            StreamEvent streamEvent = streamEventChunk.next();
+            streamEventChunk.remove();
+            processLengthZeroBatch(streamEvent, outputStreamEventChunk, currentTime);
+        }
+        if (outputStreamEventChunk.getFirst() != null) {
+            nextProcessor.process(outputStreamEventChunk);
+        }
+    }
+}
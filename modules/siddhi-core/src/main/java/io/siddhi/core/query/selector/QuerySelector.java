@@ -24,12 +24,14 @@ import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.state.populater.StateEventPopulator;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.executor.MemoizedExpressionExecutor;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.selector.attribute.processor.AttributeProcessor;
 import io.siddhi.core.query.selector.attribute.processor.executor.GroupByAggregationAttributeExecutor;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.statistics.HotKeyTracker;
 import io.siddhi.query.api.execution.query.selection.Selector;
 import org.apache.log4j.Logger;
 
@@ -52,9 +54,11 @@ public class QuerySelector implements Processor {
     private boolean containsAggregator = false;
     private OutputRateLimiter outputRateLimiter;
     private List<AttributeProcessor> attributeProcessorList;
+    private MemoizedExpressionExecutor[] memoizedExpressionExecutors = new MemoizedExpressionExecutor[0];
     private ConditionExpressionExecutor havingConditionExecutor = null;
     private boolean isGroupBy = false;
     private GroupByKeyGenerator groupByKeyGenerator;
+    private HotKeyTracker groupByKeyTracker;
     private boolean isOrderBy = false;
     private OrderByEventComparator orderByEventComparator;
     private String id;
@@ -132,6 +136,7 @@ public class QuerySelector implements Processor {
                     case CURRENT:
                     case EXPIRED:
                         eventPopulator.populateStateEvent(event);
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -142,6 +147,7 @@ public class QuerySelector implements Processor {
                         }
                         break;
                     case RESET:
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -184,7 +190,11 @@ public class QuerySelector implements Processor {
                         eventPopulator.populateStateEvent(event);
                         String groupedByKey = groupByKeyGenerator.constructEventKey(event);
                         GroupByAggregationAttributeExecutor.getKeyThreadLocal().set(groupedByKey);
+                        if (groupByKeyTracker != null && groupByKeyTracker.sample()) {
+                            groupByKeyTracker.eventsIn(groupedByKey, 1);
+                        }
 
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -207,6 +217,7 @@ public class QuerySelector implements Processor {
                     case TIMER:
                         break;
                     case RESET:
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -241,6 +252,7 @@ public class QuerySelector implements Processor {
                     case CURRENT:
                     case EXPIRED:
                         eventPopulator.populateStateEvent(event);
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -255,6 +267,7 @@ public class QuerySelector implements Processor {
                     case TIMER:
                         break;
                     case RESET:
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -288,7 +301,11 @@ public class QuerySelector implements Processor {
                         eventPopulator.populateStateEvent(event);
                         String groupByKey = groupByKeyGenerator.constructEventKey(event);
                         GroupByAggregationAttributeExecutor.getKeyThreadLocal().set(groupByKey);
+                        if (groupByKeyTracker != null && groupByKeyTracker.sample()) {
+                            groupByKeyTracker.eventsIn(groupByKey, 1);
+                        }
 
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -305,6 +322,7 @@ public class QuerySelector implements Processor {
                     case TIMER:
                         break;
                     case RESET:
+                        resetMemoizedExpressionExecutors();
                         for (AttributeProcessor attributeProcessor : attributeProcessorList) {
                             attributeProcessor.process(event);
                         }
@@ -371,6 +389,9 @@ public class QuerySelector implements Processor {
         for (AttributeProcessor processor : attributeProcessorList) {
             processor.clean();
         }
+        for (MemoizedExpressionExecutor memoizedExpressionExecutor : memoizedExpressionExecutors) {
+            memoizedExpressionExecutor.clean();
+        }
         if (havingConditionExecutor != null) {
             havingConditionExecutor.clean();
         }
@@ -389,11 +410,29 @@ public class QuerySelector implements Processor {
         this.containsAggregator = this.containsAggregator || containsAggregator;
     }
 
+    public void setMemoizedExpressionExecutors(List<MemoizedExpressionExecutor> memoizedExpressionExecutors) {
+        this.memoizedExpressionExecutors = memoizedExpressionExecutors.toArray(new MemoizedExpressionExecutor[0]);
+    }
+
+    private void resetMemoizedExpressionExecutors() {
+        for (MemoizedExpressionExecutor memoizedExpressionExecutor : memoizedExpressionExecutors) {
+            memoizedExpressionExecutor.reset();
+        }
+    }
+
     public void setGroupByKeyGenerator(GroupByKeyGenerator groupByKeyGenerator) {
         isGroupBy = true;
         this.groupByKeyGenerator = groupByKeyGenerator;
     }
 
+    public void setGroupByKeyTracker(HotKeyTracker groupByKeyTracker) {
+        this.groupByKeyTracker = groupByKeyTracker;
+    }
+
+    public HotKeyTracker getGroupByKeyTracker() {
+        return groupByKeyTracker;
+    }
+
     public void setOrderByEventComparator(OrderByEventComparator orderByEventComparator) {
         isOrderBy = true;
         this.orderByEventComparator = orderByEventComparator;
@@ -413,9 +452,16 @@ public class QuerySelector implements Processor {
             clonedAttributeProcessorList.add(attributeProcessor.cloneProcessor(key));
         }
         clonedQuerySelector.attributeProcessorList = clonedAttributeProcessorList;
+        MemoizedExpressionExecutor[] clonedMemoizedExpressionExecutors =
+                new MemoizedExpressionExecutor[memoizedExpressionExecutors.length];
+        for (int i = 0; i < memoizedExpressionExecutors.length; i++) {
+            clonedMemoizedExpressionExecutors[i] = memoizedExpressionExecutors[i].cloneExecutor(key);
+        }
+        clonedQuerySelector.memoizedExpressionExecutors = clonedMemoizedExpressionExecutors;
         clonedQuerySelector.isGroupBy = isGroupBy;
         clonedQuerySelector.containsAggregator = containsAggregator;
         clonedQuerySelector.groupByKeyGenerator = groupByKeyGenerator;
+        clonedQuerySelector.groupByKeyTracker = groupByKeyTracker;
         clonedQuerySelector.havingConditionExecutor = havingConditionExecutor;
         clonedQuerySelector.eventPopulator = eventPopulator;
         clonedQuerySelector.batchingEnabled = batchingEnabled;
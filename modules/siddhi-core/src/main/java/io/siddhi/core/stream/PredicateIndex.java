@@ -0,0 +1,739 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.core.executor.condition.AndConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.CompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.equal.EqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.greaterthan.GreaterThanCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.greaterthanequal.GreaterThanEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.lessthan.LessThanCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.lessthanequal.LessThanEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.notequal.NotEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.query.input.ProcessStreamReceiver;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Index of the filter conditions of the queries consuming a {@link StreamJunction}. Filters that are conjunctions of
+ * equality and range conditions between a stream attribute and a constant are compiled into a structure shared by
+ * all those queries, such that each distinct condition is evaluated only once per event and events are only
+ * dispatched to the queries whose filters match. While the index is in use, the indexed queries skip their
+ * {@link FilterProcessor}s, which are kept in their processor chains such that they are evaluated again once the
+ * index is released.
+ */
+public class PredicateIndex {
+
+    private final List<Attribute> attributeList;
+    private final Map<StreamJunction.Receiver, Integer> receiverSlots = new IdentityHashMap<>();
+    private final List<ProcessStreamReceiver> indexedReceivers = new ArrayList<>();
+    private final Map<Predicate, Integer> predicateIds = new LinkedHashMap<>();
+    private final List<int[]> slotPredicateList = new ArrayList<>();
+    private int[][] slotPredicates;
+    private EqualityIndex[] equalityIndexes;
+    private RangeIndex[] rangeIndexes;
+    private Predicate[] notEqualPredicates;
+    private int[] notEqualPredicateIds;
+    private ThreadLocal<Matches> matchesThreadLocal;
+    private int[] attributePositions;
+
+    private PredicateIndex(StreamDefinition streamDefinition) {
+        this.attributeList = streamDefinition.getAttributeList();
+    }
+
+    /**
+     * Builds the predicate index for the given receivers of a stream junction.
+     *
+     * @param streamDefinition definition of the stream
+     * @param receivers        receivers subscribed to the stream junction
+     * @return the predicate index, or null if less than two receivers can be indexed
+     */
+    public static PredicateIndex build(StreamDefinition streamDefinition, List<StreamJunction.Receiver> receivers) {
+        PredicateIndex predicateIndex = new PredicateIndex(streamDefinition);
+        Map<ProcessStreamReceiver, List<Predicate>> indexableReceivers = new LinkedHashMap<>();
+        for (StreamJunction.Receiver receiver : receivers) {
+            // Stateful receivers (patterns, sequences and partitions) and debugged queries are not indexed
+            if (receiver.getClass() != ProcessStreamReceiver.class) {
+                continue;
+            }
+            ProcessStreamReceiver processStreamReceiver = (ProcessStreamReceiver) receiver;
+            if (processStreamReceiver.getSiddhiDebugger() != null || processStreamReceiver.getNext() == null ||
+                    processStreamReceiver.getNext().getClass() != FilterProcessor.class) {
+                continue;
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (predicateIndex.collectPredicates(((FilterProcessor) processStreamReceiver.getNext())
+                    .getConditionExecutor(), predicates)) {
+                indexableReceivers.put(processStreamReceiver, predicates);
+            }
+        }
+        if (indexableReceivers.size() < 2) {
+            return null;
+        }
+        for (Map.Entry<ProcessStreamReceiver, List<Predicate>> entry : indexableReceivers.entrySet()) {
+            predicateIndex.addReceiver(entry.getKey(), entry.getValue());
+        }
+        predicateIndex.compile();
+        return predicateIndex;
+    }
+
+    private boolean collectPredicates(ExpressionExecutor conditionExecutor, List<Predicate> predicates) {
+        if (conditionExecutor instanceof AndConditionExpressionExecutor) {
+            return collectPredicates(((AndConditionExpressionExecutor) conditionExecutor).getLeftConditionExecutor(),
+                    predicates) && collectPredicates(((AndConditionExpressionExecutor) conditionExecutor)
+                    .getRightConditionExecutor(), predicates);
+        } else if (conditionExecutor instanceof CompareConditionExpressionExecutor) {
+            Predicate predicate = toPredicate((CompareConditionExpressionExecutor) conditionExecutor);
+            if (predicate == null) {
+                return false;
+            }
+            predicates.add(predicate);
+            return true;
+        }
+        return false;
+    }
+
+    private Predicate toPredicate(CompareConditionExpressionExecutor compareExecutor) {
+        Operator operator = Operator.of(compareExecutor);
+        if (operator == null) {
+            return null;
+        }
+        ExpressionExecutor left = compareExecutor.getLeftExpressionExecutor();
+        ExpressionExecutor right = compareExecutor.getRightExpressionExecutor();
+        VariableExpressionExecutor variableExecutor;
+        ConstantExpressionExecutor constantExecutor;
+        if (left instanceof VariableExpressionExecutor && right instanceof ConstantExpressionExecutor) {
+            variableExecutor = (VariableExpressionExecutor) left;
+            constantExecutor = (ConstantExpressionExecutor) right;
+        } else if (left instanceof ConstantExpressionExecutor && right instanceof VariableExpressionExecutor) {
+            variableExecutor = (VariableExpressionExecutor) right;
+            constantExecutor = (ConstantExpressionExecutor) left;
+            operator = operator.swap();
+        } else {
+            return null;
+        }
+        Object value = constantExecutor.getValue();
+        if (value == null) {
+            return null;
+        }
+        int position = -1;
+        for (int i = 0; i < attributeList.size(); i++) {
+            Attribute attribute = attributeList.get(i);
+            if (attribute.getName().equals(variableExecutor.getAttribute().getName()) &&
+                    attribute.getType() == variableExecutor.getReturnType()) {
+                position = i;
+                break;
+            }
+        }
+        if (position == -1) {
+            return null;
+        }
+        Attribute.Type attributeType = variableExecutor.getReturnType();
+        Attribute.Type valueType = constantExecutor.getReturnType();
+        switch (operator) {
+            case EQUAL:
+            case NOT_EQUAL:
+                if (attributeType != valueType || attributeType == Attribute.Type.FLOAT ||
+                        attributeType == Attribute.Type.DOUBLE || attributeType == Attribute.Type.OBJECT) {
+                    return null;
+                }
+                return new Predicate(position, operator, value);
+            default:
+                if (isIntegral(attributeType) && isIntegral(valueType)) {
+                    return new Predicate(position, operator, ((Number) value).longValue());
+                } else if (attributeType == Attribute.Type.FLOAT && isIntegral(valueType)) {
+                    // Compare executors widen both operands to float
+                    return new Predicate(position, operator, (double) ((Number) value).floatValue());
+                } else if ((isFloatingPoint(attributeType) || valueType == Attribute.Type.DOUBLE) &&
+                        isNumeric(attributeType) && isNumeric(valueType) &&
+                        !Double.isNaN(((Number) value).doubleValue())) {
+                    return new Predicate(position, operator, ((Number) value).doubleValue());
+                }
+                return null;
+        }
+    }
+
+    private static boolean isIntegral(Attribute.Type type) {
+        return type == Attribute.Type.INT || type == Attribute.Type.LONG;
+    }
+
+    private static boolean isFloatingPoint(Attribute.Type type) {
+        return type == Attribute.Type.FLOAT || type == Attribute.Type.DOUBLE;
+    }
+
+    private static boolean isNumeric(Attribute.Type type) {
+        return isIntegral(type) || isFloatingPoint(type);
+    }
+
+    private void addReceiver(ProcessStreamReceiver processStreamReceiver, List<Predicate> predicates) {
+        int[] ids = new int[predicates.size()];
+        for (int i = 0; i < predicates.size(); i++) {
+            Integer id = predicateIds.get(predicates.get(i));
+            if (id == null) {
+                id = predicateIds.size();
+                predicateIds.put(predicates.get(i), id);
+            }
+            ids[i] = id;
+        }
+        receiverSlots.put(processStreamReceiver, slotPredicateList.size());
+        slotPredicateList.add(ids);
+        indexedReceivers.add(processStreamReceiver);
+    }
+
+    /**
+     * Makes the indexed receivers skip their filters, as the events dispatched to them are already filtered by the
+     * index.
+     */
+    public void bypassFilters() {
+        for (ProcessStreamReceiver processStreamReceiver : indexedReceivers) {
+            processStreamReceiver.setFilterIndexed(true);
+        }
+    }
+
+    /**
+     * Makes the indexed receivers evaluate their own filters again, such that the index can be released.
+     */
+    public void restoreFilters() {
+        for (ProcessStreamReceiver processStreamReceiver : indexedReceivers) {
+            processStreamReceiver.setFilterIndexed(false);
+        }
+    }
+
+    private void compile() {
+        slotPredicates = slotPredicateList.toArray(new int[slotPredicateList.size()][]);
+        Map<Integer, EqualityIndex> equalityIndexMap = new LinkedHashMap<>();
+        Map<RangeKey, List<Predicate>> rangePredicateMap = new LinkedHashMap<>();
+        List<Predicate> notEqualPredicateList = new ArrayList<>();
+        for (Predicate predicate : predicateIds.keySet()) {
+            switch (predicate.operator) {
+                case EQUAL:
+                    EqualityIndex equalityIndex = equalityIndexMap.get(predicate.position);
+                    if (equalityIndex == null) {
+                        equalityIndex = new EqualityIndex(predicate.position);
+                        equalityIndexMap.put(predicate.position, equalityIndex);
+                    }
+                    equalityIndex.predicateIds.put(predicate.value, predicateIds.get(predicate));
+                    break;
+                case NOT_EQUAL:
+                    notEqualPredicateList.add(predicate);
+                    break;
+                default:
+                    RangeKey rangeKey = new RangeKey(predicate.position, predicate.operator,
+                            predicate.value instanceof Double);
+                    List<Predicate> rangePredicates = rangePredicateMap.get(rangeKey);
+                    if (rangePredicates == null) {
+                        rangePredicates = new ArrayList<>();
+                        rangePredicateMap.put(rangeKey, rangePredicates);
+                    }
+                    rangePredicates.add(predicate);
+            }
+        }
+        equalityIndexes = equalityIndexMap.values().toArray(new EqualityIndex[equalityIndexMap.size()]);
+        rangeIndexes = new RangeIndex[rangePredicateMap.size()];
+        int i = 0;
+        for (Map.Entry<RangeKey, List<Predicate>> entry : rangePredicateMap.entrySet()) {
+            rangeIndexes[i++] = new RangeIndex(entry.getKey(), entry.getValue());
+        }
+        notEqualPredicates = notEqualPredicateList.toArray(new Predicate[notEqualPredicateList.size()]);
+        notEqualPredicateIds = new int[notEqualPredicates.length];
+        for (int j = 0; j < notEqualPredicates.length; j++) {
+            notEqualPredicateIds[j] = predicateIds.get(notEqualPredicates[j]);
+        }
+        attributePositions = predicateIds.keySet().stream().mapToInt(predicate -> predicate.position).distinct()
+                .sorted().toArray();
+        matchesThreadLocal = ThreadLocal.withInitial(this::newMatches);
+    }
+
+    private Matches newMatches() {
+        return new Matches(predicateIds.size(), slotPredicates.length);
+    }
+
+    private Matches acquireMatches(int eventCount) {
+        Matches matches = matchesThreadLocal.get();
+        if (matches.inUse) {
+            // A receiver sends events back to the same stream while the outer events are being dispatched
+            matches = newMatches();
+        }
+        matches.inUse = true;
+        matches.ensureCapacity(eventCount);
+        matches.eventCount = eventCount;
+        return matches;
+    }
+
+    /**
+     * Releases the matches returned by this index, once the events are dispatched, such that the thread can reuse
+     * them for the next events.
+     *
+     * @param matches matches returned by this index
+     */
+    public void release(Matches matches) {
+        matches.inUse = false;
+    }
+
+    /**
+     * Returns the slot of the given receiver within the results of {@link #match(Object[])}.
+     *
+     * @param receiver stream junction receiver
+     * @return the slot of the receiver, or -1 if the receiver is not indexed
+     */
+    public int getSlot(StreamJunction.Receiver receiver) {
+        Integer slot = receiverSlots.get(receiver);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Evaluates the indexed filters against the given event data. The returned matches have to be released through
+     * {@link #release(Matches)} once the event is dispatched.
+     *
+     * @param data event data
+     * @return whether the filter of each indexed receiver matches the event
+     */
+    public Matches match(Object[] data) {
+        Matches matches = acquireMatches(1);
+        evaluate(data, matches, 0);
+        return matches;
+    }
+
+    /**
+     * Evaluates the indexed filters against the given events. The returned matches have to be released through
+     * {@link #release(Matches)} once the events are dispatched.
+     *
+     * @param events events
+     * @return whether the filter of each indexed receiver matches each of the events
+     */
+    public Matches match(Event[] events) {
+        Matches matches = acquireMatches(events.length);
+        for (int i = 0; i < events.length; i++) {
+            evaluate(events[i].getData(), matches, i);
+        }
+        return matches;
+    }
+
+    /**
+     * Evaluates the indexed filters against the given chain of events. The returned matches have to be released
+     * through {@link #release(Matches)} once the events are dispatched.
+     *
+     * @param complexEvent first event of the chain
+     * @return whether the filter of each indexed receiver matches each of the events
+     */
+    public Matches match(ComplexEvent complexEvent) {
+        int eventCount = 0;
+        for (ComplexEvent event = complexEvent; event != null; event = event.getNext()) {
+            eventCount++;
+        }
+        Matches matches = acquireMatches(eventCount);
+        int index = 0;
+        for (ComplexEvent event = complexEvent; event != null; event = event.getNext()) {
+            evaluate(event.getOutputData(), matches, index++);
+        }
+        return matches;
+    }
+
+    private void evaluate(Object[] data, Matches matches, int eventIndex) {
+        boolean[] results = matches.predicateResults;
+        Arrays.fill(results, false);
+        for (EqualityIndex equalityIndex : equalityIndexes) {
+            equalityIndex.evaluate(data, results);
+        }
+        for (RangeIndex rangeIndex : rangeIndexes) {
+            rangeIndex.evaluate(data, results);
+        }
+        for (int i = 0; i < notEqualPredicates.length; i++) {
+            Object value = data[notEqualPredicates[i].position];
+            results[notEqualPredicateIds[i]] = value != null && !value.equals(notEqualPredicates[i].value);
+        }
+        boolean[] slotMatches = matches.eventMatches[eventIndex];
+        for (int slot = 0; slot < slotPredicates.length; slot++) {
+            boolean matched = true;
+            for (int id : slotPredicates[slot]) {
+                if (!results[id]) {
+                    matched = false;
+                    break;
+                }
+            }
+            slotMatches[slot] = matched;
+        }
+    }
+
+    /**
+     * Checks whether the filter of any indexed receiver matches the given event data.
+     *
+     * @param data event data
+     * @return true if at least one of the indexed filters matches
+     */
+    public boolean matchesAny(Object[] data) {
+        Matches matches = match(data);
+        try {
+            for (boolean matched : matches.eventMatches[0]) {
+                if (matched) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            release(matches);
+        }
+    }
+
+    /**
+     * Checks whether all the given receivers are indexed, such that events not matching any of the indexed filters
+     * are not consumed by any of them.
+     *
+     * @param receivers stream junction receivers
+     * @return true if all the receivers are indexed
+     */
+    public boolean isCovering(List<StreamJunction.Receiver> receivers) {
+        for (StreamJunction.Receiver receiver : receivers) {
+            if (!receiverSlots.containsKey(receiver)) {
+                return false;
+            }
+        }
+        return !receivers.isEmpty();
+    }
+
+    /**
+     * @return positions of the stream attributes referred by the indexed filters, in ascending order
+     */
+    public int[] getAttributePositions() {
+        return attributePositions;
+    }
+
+    /**
+     * Results of evaluating the indexed filters against a chunk of events, per event and receiver slot. Each thread
+     * reuses the same instance for consecutive chunks.
+     */
+    public static class Matches {
+
+        private final boolean[] predicateResults;
+        private final int slotCount;
+        private boolean[][] eventMatches = new boolean[0][];
+        private int eventCount;
+        private boolean inUse = false;
+
+        private Matches(int predicateCount, int slotCount) {
+            this.predicateResults = new boolean[predicateCount];
+            this.slotCount = slotCount;
+        }
+
+        private void ensureCapacity(int eventCount) {
+            if (eventMatches.length < eventCount) {
+                boolean[][] newEventMatches = Arrays.copyOf(eventMatches, eventCount);
+                for (int i = eventMatches.length; i < eventCount; i++) {
+                    newEventMatches[i] = new boolean[slotCount];
+                }
+                eventMatches = newEventMatches;
+            }
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+
+        public boolean isMatched(int eventIndex, int slot) {
+            return eventMatches[eventIndex][slot];
+        }
+
+        public int countMatches(int slot) {
+            int matchCount = 0;
+            for (int i = 0; i < eventCount; i++) {
+                if (eventMatches[i][slot]) {
+                    matchCount++;
+                }
+            }
+            return matchCount;
+        }
+
+        /**
+         * Selects the events matching the filter of the receiver in the given slot.
+         *
+         * @param events events the matches are evaluated for
+         * @param slot   slot of the receiver
+         * @return the given events if all of them match, null if none of them match, or otherwise the matching events
+         */
+        public Event[] select(Event[] events, int slot) {
+            int matchCount = countMatches(slot);
+            if (matchCount == eventCount) {
+                return events;
+            } else if (matchCount == 0) {
+                return null;
+            }
+            Event[] selectedEvents = new Event[matchCount];
+            int index = 0;
+            for (int i = 0; i < eventCount; i++) {
+                if (eventMatches[i][slot]) {
+                    selectedEvents[index++] = events[i];
+                }
+            }
+            return selectedEvents;
+        }
+    }
+
+    /**
+     * Compare operators supported by the index.
+     */
+    private enum Operator {
+        EQUAL, NOT_EQUAL, GREATER_THAN, GREATER_THAN_EQUAL, LESS_THAN, LESS_THAN_EQUAL;
+
+        private static Operator of(CompareConditionExpressionExecutor compareExecutor) {
+            if (compareExecutor instanceof EqualCompareConditionExpressionExecutor) {
+                return EQUAL;
+            } else if (compareExecutor instanceof NotEqualCompareConditionExpressionExecutor) {
+                return NOT_EQUAL;
+            } else if (compareExecutor instanceof GreaterThanCompareConditionExpressionExecutor) {
+                return GREATER_THAN;
+            } else if (compareExecutor instanceof GreaterThanEqualCompareConditionExpressionExecutor) {
+                return GREATER_THAN_EQUAL;
+            } else if (compareExecutor instanceof LessThanCompareConditionExpressionExecutor) {
+                return LESS_THAN;
+            } else if (compareExecutor instanceof LessThanEqualCompareConditionExpressionExecutor) {
+                return LESS_THAN_EQUAL;
+            }
+            return null;
+        }
+
+        private Operator swap() {
+            switch (this) {
+                case GREATER_THAN:
+                    return LESS_THAN;
+                case GREATER_THAN_EQUAL:
+                    return LESS_THAN_EQUAL;
+                case LESS_THAN:
+                    return GREATER_THAN;
+                case LESS_THAN_EQUAL:
+                    return GREATER_THAN_EQUAL;
+                default:
+                    return this;
+            }
+        }
+    }
+
+    /**
+     * Atomic condition between the attribute at a position and a constant value.
+     */
+    private static class Predicate {
+
+        private final int position;
+        private final Operator operator;
+        private final Object value;
+
+        private Predicate(int position, Operator operator, Object value) {
+            this.position = position;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Predicate predicate = (Predicate) o;
+            return position == predicate.position && operator == predicate.operator &&
+                    value.equals(predicate.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(position, operator, value);
+        }
+    }
+
+    /**
+     * Hash index of the equality conditions on an attribute.
+     */
+    private static class EqualityIndex {
+
+        private final int position;
+        private final Map<Object, Integer> predicateIds = new HashMap<>();
+
+        private EqualityIndex(int position) {
+            this.position = position;
+        }
+
+        private void evaluate(Object[] data, boolean[] results) {
+            Object value = data[position];
+            if (value != null) {
+                Integer id = predicateIds.get(value);
+                if (id != null) {
+                    results[id] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Identifies the range conditions on an attribute that share an operator and a numeric domain.
+     */
+    private static class RangeKey {
+
+        private final int position;
+        private final Operator operator;
+        private final boolean floatingPoint;
+
+        private RangeKey(int position, Operator operator, boolean floatingPoint) {
+            this.position = position;
+            this.operator = operator;
+            this.floatingPoint = floatingPoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            RangeKey rangeKey = (RangeKey) o;
+            return position == rangeKey.position && operator == rangeKey.operator &&
+                    floatingPoint == rangeKey.floatingPoint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(position, operator, floatingPoint);
+        }
+    }
+
+    /**
+     * Range conditions on an attribute sharing the same operator, kept sorted by their thresholds. As the
+     * conditions hold for a contiguous run of the sorted thresholds, all of them are resolved with a binary search.
+     */
+    private class RangeIndex {
+
+        private final int position;
+        private final Operator operator;
+        private final boolean floatingPoint;
+        private final long[] longThresholds;
+        private final double[] doubleThresholds;
+        private final int[] ids;
+
+        private RangeIndex(RangeKey rangeKey, List<Predicate> predicates) {
+            this.position = rangeKey.position;
+            this.operator = rangeKey.operator;
+            this.floatingPoint = rangeKey.floatingPoint;
+            predicates.sort((p1, p2) -> floatingPoint ?
+                    Double.compare((Double) p1.value, (Double) p2.value) :
+                    Long.compare((Long) p1.value, (Long) p2.value));
+            int size = predicates.size();
+            ids = new int[size];
+            longThresholds = floatingPoint ? null : new long[size];
+            doubleThresholds = floatingPoint ? new double[size] : null;
+            for (int i = 0; i < size; i++) {
+                Predicate predicate = predicates.get(i);
+                ids[i] = predicateIds.get(predicate);
+                if (floatingPoint) {
+                    doubleThresholds[i] = (Double) predicate.value;
+                } else {
+                    longThresholds[i] = (Long) predicate.value;
+                }
+            }
+        }
+
+        private void evaluate(Object[] data, boolean[] results) {
+            Object value = data[position];
+            if (value == null) {
+                return;
+            }
+            // number of thresholds strictly below, and below or equal to, the value
+            int below;
+            int belowOrEqual;
+            if (floatingPoint) {
+                double doubleValue = ((Number) value).doubleValue();
+                if (Double.isNaN(doubleValue)) {
+                    return;
+                }
+                below = lowerBound(doubleValue, false);
+                belowOrEqual = lowerBound(doubleValue, true);
+            } else {
+                long longValue = ((Number) value).longValue();
+                below = lowerBound(longValue, false);
+                belowOrEqual = lowerBound(longValue, true);
+            }
+            int from;
+            int to;
+            switch (operator) {
+                case GREATER_THAN:
+                    from = 0;
+                    to = below;
+                    break;
+                case GREATER_THAN_EQUAL:
+                    from = 0;
+                    to = belowOrEqual;
+                    break;
+                case LESS_THAN:
+                    from = belowOrEqual;
+                    to = ids.length;
+                    break;
+                default:
+                    from = below;
+                    to = ids.length;
+            }
+            for (int i = from; i < to; i++) {
+                results[ids[i]] = true;
+            }
+        }
+
+        private int lowerBound(long value, boolean inclusive) {
+            int low = 0;
+            int high = longThresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (longThresholds[mid] < value || (inclusive && longThresholds[mid] == value)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int lowerBound(double value, boolean inclusive) {
+            int low = 0;
+            int high = doubleThresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (doubleThresholds[mid] < value || (inclusive && doubleThresholds[mid] == value)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -25,11 +25,14 @@ import com.lmax.disruptor.dsl.ProducerType;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.event.stream.converter.FaultStreamEventConverter;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.stream.input.InputProcessor;
+import io.siddhi.core.stream.input.source.AttributeProjection;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.event.handler.EventExchangeHolder;
@@ -37,8 +40,10 @@ import io.siddhi.core.util.event.handler.EventExchangeHolderFactory;
 import io.siddhi.core.util.event.handler.StreamHandler;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.EventBufferHolder;
+import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.ThroughputTracker;
 import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.StreamDefinition;
 import io.siddhi.query.api.exception.DuplicateAnnotationException;
 import io.siddhi.query.api.util.AnnotationHelper;
@@ -73,11 +78,15 @@ public class StreamJunction implements EventBufferHolder {
     private Disruptor<EventExchangeHolder> disruptor;
     private RingBuffer<EventExchangeHolder> ringBuffer;
     private ThroughputTracker throughputTracker = null;
+    private LatencyTracker queueLatencyTracker = null;
     private boolean isTraceEnabled;
     private StreamJunction faultStreamJunction = null;
     private FaultStreamEventConverter faultStreamEventChunk = null;
     private OnErrorAction onErrorAction = OnErrorAction.LOG;
     private ExceptionListener exceptionListener;
+    private volatile PredicateIndex predicateIndex;
+    private volatile boolean filterPushDownAllowed = false;
+    private AttributeProjection attributeProjection;
 
     public StreamJunction(StreamDefinition streamDefinition, ExecutorService executorService, int bufferSize,
                           StreamJunction faultStreamJunction, SiddhiAppContext siddhiAppContext) {
@@ -144,7 +153,14 @@ public class StreamJunction implements EventBufferHolder {
                     streamDefinition.getId(), e, e.getQueryContextStartIndex(), e.getQueryContextEndIndex(),
                     siddhiAppContext.getName(), siddhiAppContext.getSiddhiAppString());
         }
+        if (async && siddhiAppContext.isEventTracingEnabled()) {
+            this.queueLatencyTracker = QueryParserHelper.createLatencyTracker(siddhiAppContext,
+                    streamDefinition.getId(), SiddhiConstants.METRIC_INFIX_STREAMS,
+                    SiddhiConstants.METRIC_TYPE_QUEUE_WAIT);
+        }
         isTraceEnabled = log.isTraceEnabled();
+        this.attributeProjection = new AttributeProjection(streamDefinition.getAttributeList().size());
+        updateAttributeProjection();
     }
 
     public void sendEvent(ComplexEvent complexEvent) {
@@ -161,6 +177,7 @@ public class StreamJunction implements EventBufferHolder {
                 try {
                     EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                     eventExchangeHolder.getEvent().copyFrom(complexEventList);
+                    markPublished(eventExchangeHolder);
                     eventExchangeHolder.getAndSetIsProcessed(false);
                 } finally {
                     ringBuffer.publish(sequenceNo);
@@ -176,8 +193,13 @@ public class StreamJunction implements EventBufferHolder {
                 }
                 throughputTracker.eventsIn(messageCount);
             }
-            for (Receiver receiver : receivers) {
-                receiver.receive(complexEvent);
+            PredicateIndex predicateIndex = this.predicateIndex;
+            if (predicateIndex != null) {
+                dispatchToIndexedReceivers(predicateIndex, complexEvent);
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(complexEvent);
+                }
             }
         }
     }
@@ -194,13 +216,19 @@ public class StreamJunction implements EventBufferHolder {
             try {
                 EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                 eventExchangeHolder.getEvent().copyFrom(event);
+                markPublished(eventExchangeHolder);
                 eventExchangeHolder.getAndSetIsProcessed(false);
             } finally {
                 ringBuffer.publish(sequenceNo);
             }
         } else {
-            for (Receiver receiver : receivers) {
-                receiver.receive(event);
+            PredicateIndex predicateIndex = this.predicateIndex;
+            if (predicateIndex != null) {
+                dispatchToIndexedReceivers(predicateIndex, event);
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(event);
+                }
             }
         }
     }
@@ -218,14 +246,20 @@ public class StreamJunction implements EventBufferHolder {
                 try {
                     EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                     eventExchangeHolder.getEvent().copyFrom(event);
+                    markPublished(eventExchangeHolder);
                     eventExchangeHolder.getAndSetIsProcessed(false);
                 } finally {
                     ringBuffer.publish(sequenceNo);
                 }
             }
         } else {
-            for (Receiver receiver : receivers) {
-                receiver.receive(events);
+            PredicateIndex predicateIndex = this.predicateIndex;
+            if (predicateIndex != null) {
+                dispatchToIndexedReceivers(predicateIndex, events);
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(events);
+                }
             }
         }
     }
@@ -240,14 +274,20 @@ public class StreamJunction implements EventBufferHolder {
                 try {
                     EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                     eventExchangeHolder.getEvent().copyFrom(event);
+                    markPublished(eventExchangeHolder);
                     eventExchangeHolder.getAndSetIsProcessed(false);
                 } finally {
                     ringBuffer.publish(sequenceNo);
                 }
             }
         } else {
-            for (Receiver receiver : receivers) {
-                receiver.receive(events.toArray(new Event[events.size()]));
+            PredicateIndex predicateIndex = this.predicateIndex;
+            if (predicateIndex != null) {
+                dispatchToIndexedReceivers(predicateIndex, events.toArray(new Event[events.size()]));
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(events.toArray(new Event[events.size()]));
+                }
             }
         }
     }
@@ -263,14 +303,105 @@ public class StreamJunction implements EventBufferHolder {
                 eventExchangeHolder.getAndSetIsProcessed(false);
                 eventExchangeHolder.getEvent().setTimestamp(timeStamp);
                 eventExchangeHolder.getEvent().setIsExpired(false);
+                eventExchangeHolder.getEvent().setIngestTimestamp(-1);
+                eventExchangeHolder.setPublishTimestamp(-1);
                 System.arraycopy(data, 0, eventExchangeHolder.getEvent().getData(), 0, data.length);
             } finally {
                 ringBuffer.publish(sequenceNo);
             }
         } else {
+            PredicateIndex predicateIndex = this.predicateIndex;
+            if (predicateIndex != null) {
+                dispatchToIndexedReceivers(predicateIndex, timeStamp, data);
+            } else {
+                for (Receiver receiver : receivers) {
+                    receiver.receive(timeStamp, data);
+                }
+            }
+        }
+    }
+
+    private void markPublished(EventExchangeHolder eventExchangeHolder) {
+        if (queueLatencyTracker != null) {
+            eventExchangeHolder.setPublishTimestamp(eventExchangeHolder.getEvent().getIngestTimestamp() != -1 ?
+                    System.nanoTime() : -1);
+        }
+    }
+
+    private void dispatchToIndexedReceivers(PredicateIndex predicateIndex, Event event) {
+        PredicateIndex.Matches matches = predicateIndex.match(event.getData());
+        try {
             for (Receiver receiver : receivers) {
-                receiver.receive(timeStamp, data);
+                int slot = predicateIndex.getSlot(receiver);
+                if (slot == -1 || matches.isMatched(0, slot)) {
+                    receiver.receive(event);
+                }
             }
+        } finally {
+            predicateIndex.release(matches);
+        }
+    }
+
+    private void dispatchToIndexedReceivers(PredicateIndex predicateIndex, long timeStamp, Object[] data) {
+        PredicateIndex.Matches matches = predicateIndex.match(data);
+        try {
+            for (Receiver receiver : receivers) {
+                int slot = predicateIndex.getSlot(receiver);
+                if (slot == -1 || matches.isMatched(0, slot)) {
+                    receiver.receive(timeStamp, data);
+                }
+            }
+        } finally {
+            predicateIndex.release(matches);
+        }
+    }
+
+    private void dispatchToIndexedReceivers(PredicateIndex predicateIndex, Event[] events) {
+        PredicateIndex.Matches matches = predicateIndex.match(events);
+        try {
+            for (Receiver receiver : receivers) {
+                int slot = predicateIndex.getSlot(receiver);
+                if (slot == -1) {
+                    receiver.receive(events);
+                } else {
+                    Event[] selectedEvents = matches.select(events, slot);
+                    if (selectedEvents != null) {
+                        receiver.receive(selectedEvents);
+                    }
+                }
+            }
+        } finally {
+            predicateIndex.release(matches);
+        }
+    }
+
+    private void dispatchToIndexedReceivers(PredicateIndex predicateIndex, ComplexEvent complexEvent) {
+        PredicateIndex.Matches matches = predicateIndex.match(complexEvent);
+        try {
+            Event[] events = null;
+            for (Receiver receiver : receivers) {
+                int slot = predicateIndex.getSlot(receiver);
+                if (slot == -1) {
+                    receiver.receive(complexEvent);
+                    continue;
+                }
+                int matchCount = matches.countMatches(slot);
+                if (matchCount == matches.getEventCount()) {
+                    receiver.receive(complexEvent);
+                } else if (matchCount > 0) {
+                    if (events == null) {
+                        events = new Event[matches.getEventCount()];
+                        ComplexEvent currentEvent = complexEvent;
+                        for (int i = 0; i < events.length; i++) {
+                            events[i] = new Event(currentEvent.getOutputData().length).copyFrom(currentEvent);
+                            currentEvent = currentEvent.getNext();
+                        }
+                    }
+                    receiver.receive(matches.select(events, slot));
+                }
+            }
+        } finally {
+            predicateIndex.release(matches);
         }
     }
 
@@ -278,6 +409,13 @@ public class StreamJunction implements EventBufferHolder {
      * Create and start disruptor based on annotations given in the streamDefinition.
      */
     public synchronized void startProcessing() {
+        releasePredicateIndex();
+        PredicateIndex predicateIndex = PredicateIndex.build(streamDefinition, receivers);
+        if (predicateIndex != null) {
+            this.predicateIndex = predicateIndex;
+            predicateIndex.bypassFilters();
+        }
+        filterPushDownAllowed = predicateIndex != null && predicateIndex.isCovering(receivers);
         if (!receivers.isEmpty() && async) {
             for (Constructor constructor : Disruptor.class.getConstructors()) {
                 if (constructor.getParameterTypes().length == 5) {      // If new disruptor classes available
@@ -299,11 +437,13 @@ public class StreamJunction implements EventBufferHolder {
             if (workers > 0) {
                 for (int i = 0; i < workers; i++) {
                     disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener,
+                            predicateIndex, queueLatencyTracker));
                 }
             } else {
                 disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                        siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                        siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener,
+                        predicateIndex, queueLatencyTracker));
             }
             ringBuffer = disruptor.start();
         } else {
@@ -325,6 +465,29 @@ public class StreamJunction implements EventBufferHolder {
                 }
             }
         }
+        releasePredicateIndex();
+    }
+
+    /**
+     * Makes the queries evaluate their own filters again and stops dispatching the events through the predicate
+     * index. The filters are restored before the index is dropped, such that the events dispatched in between are
+     * filtered twice rather than not at all.
+     */
+    private void releasePredicateIndex() {
+        PredicateIndex predicateIndex = this.predicateIndex;
+        if (predicateIndex != null) {
+            filterPushDownAllowed = false;
+            predicateIndex.restoreFilters();
+            this.predicateIndex = null;
+        }
+    }
+
+    /**
+     * @return the predicate index the events are dispatched through, or null if the events are dispatched to all the
+     * receivers
+     */
+    public PredicateIndex getPredicateIndex() {
+        return predicateIndex;
     }
 
     public synchronized Publisher constructPublisher() {
@@ -338,7 +501,81 @@ public class StreamJunction implements EventBufferHolder {
         // To have reverse order at the sequence/pattern processors.
         if (!receivers.contains(receiver)) {
             receivers.add(receiver);
+            filterPushDownAllowed = predicateIndex != null && predicateIndex.isCovering(receivers);
+            updateAttributeProjection();
+        }
+    }
+
+    /**
+     * Recomputes the attributes used by the receivers, from the attributes the queries convert into their stream
+     * events. Receivers other than queries, such as callbacks, sinks and partitions, need the full event.
+     */
+    private void updateAttributeProjection() {
+        if (onErrorAction == OnErrorAction.STREAM) {
+            // Failed events are sent to the fault stream as they are
+            attributeProjection.setRequiredAttributes(null);
+            return;
         }
+        boolean[] requiredAttributes = new boolean[attributeProjection.getAttributeCount()];
+        for (Receiver receiver : receivers) {
+            if (!(receiver instanceof ProcessStreamReceiver)) {
+                attributeProjection.setRequiredAttributes(null);
+                return;
+            }
+            for (MetaStreamEvent metaStreamEvent : ((ProcessStreamReceiver) receiver).getMetaStreamEvents()) {
+                if (metaStreamEvent == null) {
+                    attributeProjection.setRequiredAttributes(null);
+                    return;
+                }
+                markRequiredAttributes(metaStreamEvent.getBeforeWindowData(), requiredAttributes);
+                markRequiredAttributes(metaStreamEvent.getOnAfterWindowData(), requiredAttributes);
+                markRequiredAttributes(metaStreamEvent.getOutputData(), requiredAttributes);
+            }
+        }
+        attributeProjection.setRequiredAttributes(requiredAttributes);
+    }
+
+    private void markRequiredAttributes(List<Attribute> attributes, boolean[] requiredAttributes) {
+        if (attributes == null) {
+            return;
+        }
+        List<Attribute> attributeList = streamDefinition.getAttributeList();
+        for (Attribute attribute : attributes) {
+            if (attribute != null) {
+                for (int i = 0; i < attributeList.size(); i++) {
+                    if (attributeList.get(i).getName().equals(attribute.getName())) {
+                        requiredAttributes[i] = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    public AttributeProjection getAttributeProjection() {
+        return attributeProjection;
+    }
+
+    /**
+     * Checks whether an event with the given data would be consumed by any of the receivers. Events can only be
+     * rejected when all the receivers are filter queries covered by the predicate index, such that the disjunction of
+     * their filters can be pushed down to the sources of the stream.
+     *
+     * @param data event data
+     * @return false if none of the receivers consume the event
+     */
+    public boolean isConsumed(Object[] data) {
+        PredicateIndex predicateIndex = this.predicateIndex;
+        return !filterPushDownAllowed || predicateIndex == null || predicateIndex.matchesAny(data);
+    }
+
+    /**
+     * @return positions of the attributes {@link #isConsumed(Object[])} depends on, or null if all the events are
+     * consumed
+     */
+    public int[] getFilteredAttributePositions() {
+        PredicateIndex predicateIndex = this.predicateIndex;
+        return filterPushDownAllowed && predicateIndex != null ? predicateIndex.getAttributePositions() : null;
     }
 
     public String getStreamId() {
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.input.source;
+
+/**
+ * Holds the attributes of a stream that are used by its consumers. {@link SourceMapper}s can skip decoding the
+ * attributes that are not required, and leave them as null in the mapped events. The required attributes are
+ * updated whenever a consumer subscribes to the stream, hence mappers should check them for each event they map.
+ */
+public class AttributeProjection {
+
+    private final int attributeCount;
+    private volatile boolean[] requiredAttributes;
+
+    public AttributeProjection(int attributeCount) {
+        this.attributeCount = attributeCount;
+    }
+
+    /**
+     * @param position position of the attribute in the stream definition
+     * @return whether the attribute has to be decoded
+     */
+    public boolean isRequired(int position) {
+        boolean[] requiredAttributes = this.requiredAttributes;
+        return requiredAttributes == null || requiredAttributes[position];
+    }
+
+    /**
+     * @return true if some attributes of the stream are not required by its consumers
+     */
+    public boolean isProjected() {
+        return requiredAttributes != null;
+    }
+
+    public int getAttributeCount() {
+        return attributeCount;
+    }
+
+    /**
+     * Sets the attributes required by the consumers.
+     *
+     * @param requiredAttributes whether each attribute is required, or null if the full event is required
+     */
+    public void setRequiredAttributes(boolean[] requiredAttributes) {
+        if (requiredAttributes != null) {
+            for (boolean required : requiredAttributes) {
+                if (!required) {
+                    this.requiredAttributes = requiredAttributes;
+                    return;
+                }
+            }
+        }
+        this.requiredAttributes = null;
+    }
+}
@@ -38,6 +38,7 @@ public class InputEventHandler {
     private final ThreadLocal<String[]> trpProperties;
     private final TimestampGenerator timestampGenerator;
     private ThreadLocal<String[]> trpSyncProperties;
+    private ThreadLocal<Long> ingestTimestamp;
     private String sourceType;
     private LatencyTracker latencyTracker;
     private SiddhiAppContext siddhiAppContext;
@@ -46,13 +47,14 @@ public class InputEventHandler {
     private InputEventHandlerCallback inputEventHandlerCallback;
 
     InputEventHandler(InputHandler inputHandler, List<AttributeMapping> transportMapping,
-                      ThreadLocal<String[]> trpProperties, ThreadLocal<String[]> trpSyncProperties, String sourceType,
-                      LatencyTracker latencyTracker, SiddhiAppContext siddhiAppContext,
-                      InputEventHandlerCallback inputEventHandlerCallback) {
+                      ThreadLocal<String[]> trpProperties, ThreadLocal<String[]> trpSyncProperties,
+                      ThreadLocal<Long> ingestTimestamp, String sourceType, LatencyTracker latencyTracker,
+                      SiddhiAppContext siddhiAppContext, InputEventHandlerCallback inputEventHandlerCallback) {
         this.inputHandler = inputHandler;
         this.transportMapping = transportMapping;
         this.trpProperties = trpProperties;
         this.trpSyncProperties = trpSyncProperties;
+        this.ingestTimestamp = ingestTimestamp;
         this.sourceType = sourceType;
         this.latencyTracker = latencyTracker;
         this.siddhiAppContext = siddhiAppContext;
@@ -77,6 +79,12 @@ public class InputEventHandler {
                 AttributeMapping attributeMapping = transportMapping.get(i);
                 event.getData()[attributeMapping.getPosition()] = transportProperties[i];
             }
+            if (ingestTimestamp != null) {
+                Long timestamp = ingestTimestamp.get();
+                if (timestamp != null) {
+                    event.setIngestTimestamp(timestamp);
+                }
+            }
             inputEventHandlerCallback.sendEvent(event, transportSyncProperties);
         } catch (RuntimeException e) {
             LOG.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
@@ -98,6 +106,7 @@ public class InputEventHandler {
             String[] transportSyncProperties = trpSyncProperties.get();
             trpSyncProperties.remove();
             long currentTimestamp = timestampGenerator.currentTime();
+            Long timestamp = ingestTimestamp != null ? ingestTimestamp.get() : null;
             for (Event event : events) {
                 if (event.getTimestamp() == -1) {
                     event.setTimestamp(currentTimestamp);
@@ -106,6 +115,9 @@ public class InputEventHandler {
                     AttributeMapping attributeMapping = transportMapping.get(i);
                     event.getData()[attributeMapping.getPosition()] = transportProperties[i];
                 }
+                if (timestamp != null) {
+                    event.setIngestTimestamp(timestamp);
+                }
             }
             inputEventHandlerCallback.sendEvents(events, transportSyncProperties);
         } catch (RuntimeException e) {
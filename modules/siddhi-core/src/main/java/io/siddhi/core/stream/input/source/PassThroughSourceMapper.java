@@ -22,12 +22,15 @@ import io.siddhi.annotation.Example;
 import io.siddhi.annotation.Extension;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.core.util.transport.OptionHolder;
 import io.siddhi.query.api.definition.StreamDefinition;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,20 +39,56 @@ import java.util.List;
 @Extension(
         name = "passThrough",
         namespace = "sourceMapper",
-        description = "Pass-through mapper passed events (Event[]) through without any mapping or modifications.",
-        examples = @Example(
-                syntax = "@source(type='tcp', @map(type='passThrough'))\n" +
-                        "define stream BarStream (symbol string, price float, volume long);",
-                description = "In this example BarStream uses passThrough inputmapper which passes the " +
-                        "received Siddhi event directly without any transformation into source."
-        )
+        description = "Pass-through mapper passed events (Event[]) through without any mapping or modifications. " +
+                "When all the attributes in @attributes are mapped to zero based indexes of the received event " +
+                "data, the attributes are copied from those positions instead. Then only the attributes used by " +
+                "the consumers of the stream are copied, and the others are left null. Events with fewer data " +
+                "elements than a used index are dropped with an error. If any attribute is mapped by name, the " +
+                "received events are passed through unchanged.",
+        examples = {
+                @Example(
+                        syntax = "@source(type='tcp', @map(type='passThrough'))\n" +
+                                "define stream BarStream (symbol string, price float, volume long);",
+                        description = "In this example BarStream uses passThrough inputmapper which passes the " +
+                                "received Siddhi event directly without any transformation into source."
+                ),
+                @Example(
+                        syntax = "@source(type='tcp', @map(type='passThrough', @attributes(symbol='0', " +
+                                "volume='3')))\n" +
+                                "define stream BarStream (symbol string, volume long);",
+                        description = "In this example BarStream takes the symbol and the volume from the first " +
+                                "and the fourth elements of the received event data."
+                )
+        }
 )
 public class PassThroughSourceMapper extends SourceMapper {
     private static final Logger LOG = Logger.getLogger(PassThroughSourceMapper.class);
+    private int[] payloadPositions;
 
     @Override
     public void init(StreamDefinition streamDefinition, OptionHolder optionHolder, List<AttributeMapping>
             attributeMappingList, ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
+        if (attributeMappingList == null || attributeMappingList.isEmpty()) {
+            return;
+        }
+        int[] positions = new int[streamDefinition.getAttributeList().size()];
+        Arrays.fill(positions, -1);
+        for (AttributeMapping attributeMapping : attributeMappingList) {
+            int position;
+            try {
+                position = Integer.parseInt(attributeMapping.getMapping());
+            } catch (NumberFormatException e) {
+                // Attributes mapped by name are passed through as they are
+                return;
+            }
+            if (position < 0) {
+                throw new SiddhiAppCreationException("Attribute '" + attributeMapping.getName() + "' of stream '" +
+                        streamDefinition.getId() + "' is mapped to index " + position + ", but the indexes of " +
+                        "the passThrough mapper should not be negative");
+            }
+            positions[attributeMapping.getPosition()] = position;
+        }
+        this.payloadPositions = positions;
     }
 
     @Override
@@ -61,12 +100,21 @@ public class PassThroughSourceMapper extends SourceMapper {
     protected void mapAndProcess(Object eventObject, InputEventHandler inputEventHandler) throws InterruptedException {
         if (eventObject != null) {
             if (eventObject instanceof Event[]) {
-                inputEventHandler.sendEvents((Event[]) eventObject);
+                Event[] events = filterEvents(mapEvents((Event[]) eventObject));
+                if (events.length > 0) {
+                    inputEventHandler.sendEvents(events);
+                }
             } else if (eventObject instanceof Event) {
-                inputEventHandler.sendEvent((Event) eventObject);
+                Event event = mapEvent((Event) eventObject);
+                if (isEventConsumed(event.getData())) {
+                    inputEventHandler.sendEvent(event);
+                }
             } else if (eventObject instanceof Object[]) {
-                Event event = new Event(-1, (Object[]) eventObject);
-                inputEventHandler.sendEvent(event);
+                Object[] data = mapData((Object[]) eventObject);
+                if (isEventConsumed(data)) {
+                    Event event = new Event(-1, data);
+                    inputEventHandler.sendEvent(event);
+                }
             } else {
                 throw new SiddhiAppRuntimeException("Event object must be either Event[], Event or Object[] " +
                         "but found " + eventObject.getClass().getCanonicalName());
@@ -74,6 +122,63 @@ public class PassThroughSourceMapper extends SourceMapper {
         }
     }
 
+    private Event[] mapEvents(Event[] events) {
+        if (payloadPositions == null) {
+            return events;
+        }
+        Event[] mappedEvents = new Event[events.length];
+        for (int i = 0; i < events.length; i++) {
+            mappedEvents[i] = mapEvent(events[i]);
+        }
+        return mappedEvents;
+    }
+
+    private Event mapEvent(Event event) {
+        if (payloadPositions == null) {
+            return event;
+        }
+        return new Event(event.getTimestamp(), mapData(event.getData()));
+    }
+
+    /**
+     * Copies the mapped attributes from the received data, skipping the attributes no consumer of the stream uses.
+     */
+    private Object[] mapData(Object[] data) {
+        if (payloadPositions == null) {
+            return data;
+        }
+        AttributeProjection attributeProjection = getAttributeProjection();
+        Object[] mappedData = new Object[payloadPositions.length];
+        for (int i = 0; i < payloadPositions.length; i++) {
+            int position = payloadPositions[i];
+            if (position != -1 && attributeProjection.isRequired(i)) {
+                if (position >= data.length) {
+                    throw new SiddhiAppRuntimeException("Attribute '" + getStreamDefinition().getAttributeList()
+                            .get(i).getName() + "' is mapped to index " + position + ", but the received " +
+                            "event data only has " + data.length + " elements");
+                }
+                mappedData[i] = data[position];
+            }
+        }
+        return mappedData;
+    }
+
+    private Event[] filterEvents(Event[] events) {
+        if (getFilteredAttributePositions() == null) {
+            return events;
+        }
+        List<Event> consumedEvents = new ArrayList<>(events.length);
+        for (Event event : events) {
+            if (isEventConsumed(event.getData())) {
+                consumedEvents.add(event);
+            }
+        }
+        if (consumedEvents.size() == events.length) {
+            return events;
+        }
+        return consumedEvents.toArray(new Event[consumedEvents.size()]);
+    }
+
     @Override
     protected boolean allowNullInTransportProperties() {
         return false;
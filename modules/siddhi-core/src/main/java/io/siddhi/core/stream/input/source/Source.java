@@ -59,11 +59,23 @@ public abstract class Source implements Snapshotable {
                            List<AttributeMapping> transportMappings, ConfigReader mapperConfigReader,
                            SourceHandler sourceHandler, StreamDefinition streamDefinition,
                            SiddhiAppContext siddhiAppContext) {
+        init(sourceType, transportOptionHolder, sourceMapper, transportPropertyNames, configReader, mapType,
+                mapOptionHolder, attributeMappings, transportMappings, mapperConfigReader, sourceHandler,
+                streamDefinition, new AttributeProjection(streamDefinition.getAttributeList().size()),
+                siddhiAppContext);
+    }
+
+    public final void init(String sourceType, OptionHolder transportOptionHolder, SourceMapper sourceMapper,
+                           String[] transportPropertyNames, ConfigReader configReader, String mapType,
+                           OptionHolder mapOptionHolder, List<AttributeMapping> attributeMappings,
+                           List<AttributeMapping> transportMappings, ConfigReader mapperConfigReader,
+                           SourceHandler sourceHandler, StreamDefinition streamDefinition,
+                           AttributeProjection attributeProjection, SiddhiAppContext siddhiAppContext) {
         this.type = sourceType;
 
         sourceMapper.init(streamDefinition, mapType, mapOptionHolder, attributeMappings, sourceType,
                 (this instanceof SourceSyncCallback) ? (SourceSyncCallback) this : null, transportMappings,
-                sourceHandler, mapperConfigReader, siddhiAppContext);
+                sourceHandler, mapperConfigReader, attributeProjection, siddhiAppContext);
         this.mapper = sourceMapper;
         this.streamDefinition = streamDefinition;
         this.elementId = siddhiAppContext.getElementIdGenerator().createNewId();
@@ -20,6 +20,7 @@ package io.siddhi.core.stream.input.source;
 
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.stream.StreamJunction;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.config.ConfigReader;
@@ -30,7 +31,9 @@ import io.siddhi.core.util.transport.OptionHolder;
 import io.siddhi.query.api.definition.StreamDefinition;
 import org.apache.log4j.Logger;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Convert custom input from {@link Source} to {@link ComplexEventChunk}.
@@ -49,13 +52,28 @@ public abstract class SourceMapper implements SourceEventListener {
     private SiddhiAppContext siddhiAppContext;
     private ThroughputTracker throughputTracker;
     private LatencyTracker mapperLatencyTracker;
+    private StreamJunction streamJunction;
+    private AttributeProjection attributeProjection;
+    private ThreadLocal<Long> ingestTimestamp;
+    private int traceSampleInterval;
 
     public final void init(StreamDefinition streamDefinition, String mapType, OptionHolder mapOptionHolder,
                            List<AttributeMapping> attributeMappings, String sourceType,
                            SourceSyncCallback sourceSyncCallback, List<AttributeMapping> transportMappings,
                            SourceHandler sourceHandler, ConfigReader configReader, SiddhiAppContext siddhiAppContext) {
+        init(streamDefinition, mapType, mapOptionHolder, attributeMappings, sourceType, sourceSyncCallback,
+                transportMappings, sourceHandler, configReader,
+                new AttributeProjection(streamDefinition.getAttributeList().size()), siddhiAppContext);
+    }
+
+    public final void init(StreamDefinition streamDefinition, String mapType, OptionHolder mapOptionHolder,
+                           List<AttributeMapping> attributeMappings, String sourceType,
+                           SourceSyncCallback sourceSyncCallback, List<AttributeMapping> transportMappings,
+                           SourceHandler sourceHandler, ConfigReader configReader,
+                           AttributeProjection attributeProjection, SiddhiAppContext siddhiAppContext) {
 
         this.streamDefinition = streamDefinition;
+        this.attributeProjection = attributeProjection;
         this.mapType = mapType;
         this.sourceType = sourceType;
         this.transportMappings = transportMappings;
@@ -74,6 +92,10 @@ public abstract class SourceMapper implements SourceEventListener {
                     SiddhiConstants.METRIC_INFIX_SOURCE_MAPPERS,
                     sourceType + SiddhiConstants.METRIC_DELIMITER + mapType);
         }
+        if (siddhiAppContext.isEventTracingEnabled()) {
+            this.ingestTimestamp = new ThreadLocal<>();
+            this.traceSampleInterval = siddhiAppContext.getTraceSampleInterval();
+        }
         init(streamDefinition, mapOptionHolder, attributeMappings, configReader, siddhiAppContext);
     }
 
@@ -107,8 +129,64 @@ public abstract class SourceMapper implements SourceEventListener {
         }
         LatencyTracker mapperLatencyTracker = null;
         this.inputEventHandler = new InputEventHandler(inputHandler, transportMappings,
-                trpProperties, trpSyncProperties, sourceType, mapperLatencyTracker, siddhiAppContext,
-                inputEventHandlerCallback);
+                trpProperties, trpSyncProperties, ingestTimestamp, sourceType, mapperLatencyTracker,
+                siddhiAppContext, inputEventHandlerCallback);
+    }
+
+    /**
+     * Returns the attributes of the stream used by its consumers. Mappers can skip decoding the attributes that are
+     * not required and leave them as null. The projection falls back to all the attributes whenever a consumer that
+     * needs the full event, such as a callback or a sink, is attached to the stream, hence it should be checked for
+     * each mapped event.
+     *
+     * @return the attribute projection of the stream
+     */
+    public final AttributeProjection getAttributeProjection() {
+        return attributeProjection;
+    }
+
+    public final void setStreamJunction(StreamJunction streamJunction) {
+        this.streamJunction = streamJunction;
+    }
+
+    /**
+     * Checks whether an event with the given data will be consumed by the queries of the stream, by evaluating the
+     * disjunction of their filters pushed down from the stream junction. Mappers can use this on the decoded data to
+     * drop irrelevant payloads before constructing and publishing events. Only the attributes returned by
+     * {@link #getFilteredAttributePositions()} have to be decoded for the check.
+     *
+     * @param data decoded event data
+     * @return false if the event can be dropped
+     */
+    protected final boolean isEventConsumed(Object[] data) {
+        if (streamJunction == null || siddhiAppContext.isPlayback()) {
+            // In playback mode all the events are needed to advance the time
+            return true;
+        }
+        int[] filteredAttributePositions = streamJunction.getFilteredAttributePositions();
+        if (filteredAttributePositions == null) {
+            return true;
+        }
+        if (transportMappings != null) {
+            // Transport properties are only mapped to the event after the mapper
+            for (AttributeMapping transportMapping : transportMappings) {
+                if (Arrays.binarySearch(filteredAttributePositions, transportMapping.getPosition()) >= 0) {
+                    return true;
+                }
+            }
+        }
+        return streamJunction.isConsumed(data);
+    }
+
+    /**
+     * @return positions of the attributes that need to be decoded for {@link #isEventConsumed(Object[])}, or null if
+     * no filters are pushed down and all events have to be mapped
+     */
+    protected final int[] getFilteredAttributePositions() {
+        if (streamJunction == null || siddhiAppContext.isPlayback()) {
+            return null;
+        }
+        return streamJunction.getFilteredAttributePositions();
     }
 
     public final void onEvent(Object eventObject, String[] transportProperties) {
@@ -137,6 +215,11 @@ public abstract class SourceMapper implements SourceEventListener {
                 if (transportSyncProperties != null) {
                     trpSyncProperties.set(transportSyncProperties);
                 }
+                if (ingestTimestamp != null && siddhiAppContext.isStatsEnabled() &&
+                        ThreadLocalRandom.current().nextInt(traceSampleInterval) == 0) {
+                    // The mapped events are traced till the sinks to track their end to end latency
+                    ingestTimestamp.set(System.nanoTime());
+                }
                 try {
                     if (throughputTracker != null && siddhiAppContext.isStatsEnabled()) {
                         throughputTracker.eventIn();
@@ -157,6 +240,9 @@ public abstract class SourceMapper implements SourceEventListener {
             if (transportSyncProperties != null) {
                 trpSyncProperties.remove();
             }
+            if (ingestTimestamp != null) {
+                ingestTimestamp.remove();
+            }
         }
     }
 
@@ -20,6 +20,7 @@ package io.siddhi.core.stream.output;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventView;
 import io.siddhi.core.stream.StreamJunction;
 import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.definition.Attribute;
@@ -33,7 +34,8 @@ import java.util.Map;
 
 /**
  * StreamCallback is used to receive events from {@link StreamJunction}. This class should be extended if one intends
- * to get events from a Siddhi Stream.
+ * to get events from a Siddhi Stream. Extend {@link StreamViewCallback} instead to read the events without copying
+ * them into {@link Event}s.
  */
 public abstract class StreamCallback implements StreamJunction.Receiver {
 
@@ -42,6 +44,7 @@ public abstract class StreamCallback implements StreamJunction.Receiver {
     private String streamId;
     private AbstractDefinition streamDefinition;
     private SiddhiAppContext siddhiAppContext;
+    private final ThreadLocal<EventView> eventViewThreadLocal = ThreadLocal.withInitial(EventView::new);
 
     @Override
     public String getStreamId() {
@@ -91,11 +94,32 @@ public abstract class StreamCallback implements StreamJunction.Receiver {
 
     @Override
     public void receive(ComplexEvent complexEvent) {
-        List<Event> eventBuffer = new ArrayList<Event>();
-        while (complexEvent != null) {
-            eventBuffer.add(new Event(complexEvent.getOutputData().length).copyFrom(complexEvent));
-            complexEvent = complexEvent.getNext();
+        EventView eventView = eventViewThreadLocal.get();
+        if (!eventView.acquire()) {
+            // The callback is invoked again while processing an outer invocation on the same thread
+            eventView = new EventView();
+            eventView.acquire();
+        }
+        try {
+            eventView.wrap(complexEvent, false);
+            receive(eventView);
+        } catch (RuntimeException e) {
+            log.error("Error on sending events " + eventView +
+                    " in the SiddhiApp '" + siddhiAppContext.getName() + "'", e);
+        } finally {
+            eventView.release();
         }
+    }
+
+    /**
+     * Receives the events through a view, which is only valid during this invocation. By default the events are
+     * copied into {@link Event}s and passed to {@link #receive(Event[])}.
+     *
+     * @param eventView view of the received events
+     */
+    public void receive(EventView eventView) {
+        List<Event> eventBuffer = new ArrayList<Event>();
+        eventView.copyEvents(eventBuffer, null);
         if (eventBuffer.size() == 1) {
             receive(eventBuffer.get(0));
         } else {
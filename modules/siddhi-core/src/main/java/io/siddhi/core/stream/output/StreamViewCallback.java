@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.output;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventView;
+
+/**
+ * StreamCallback that receives the events of a Siddhi Stream through a reusable {@link EventView}, without the events
+ * being copied into {@link Event}s. Suits callbacks which only forward the attribute values to another system. The
+ * view is only valid during the {@link #receive(EventView)} invocation.
+ */
+public abstract class StreamViewCallback extends StreamCallback {
+
+    @Override
+    public abstract void receive(EventView eventView);
+
+    @Override
+    public final void receive(Event[] events) {
+        EventView eventView = new EventView();
+        eventView.acquire();
+        eventView.wrap(events, null);
+        receive(eventView);
+    }
+}
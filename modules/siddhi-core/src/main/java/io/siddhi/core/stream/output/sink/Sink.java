@@ -65,6 +65,7 @@ public abstract class Sink implements SinkListener, Snapshotable {
     private ScheduledExecutorService scheduledExecutorService;
     private ThroughputTracker throughputTracker;
     private LatencyTracker mapperLatencyTracker;
+    private LatencyTracker endToEndLatencyTracker;
 
     public final void init(StreamDefinition streamDefinition, String type, OptionHolder transportOptionHolder,
                            ConfigReader sinkConfigReader, SinkMapper sinkMapper, String mapType,
@@ -86,10 +87,16 @@ public abstract class Sink implements SinkListener, Snapshotable {
                     SiddhiConstants.METRIC_INFIX_SINK_MAPPERS,
                     type + SiddhiConstants.METRIC_DELIMITER + mapType);
         }
+        if (siddhiAppContext.isEventTracingEnabled()) {
+            this.endToEndLatencyTracker = QueryParserHelper.createLatencyTracker(siddhiAppContext,
+                    streamDefinition.getId(),
+                    SiddhiConstants.METRIC_INFIX_SINKS,
+                    type + SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_TYPE_END_TO_END);
+        }
         init(streamDefinition, transportOptionHolder, sinkConfigReader, siddhiAppContext);
         if (sinkMapper != null) {
             sinkMapper.init(streamDefinition, mapType, mapOptionHolder, payloadElementList, this,
-                    mapperConfigReader, mapperLatencyTracker, siddhiAppContext);
+                    mapperConfigReader, mapperLatencyTracker, endToEndLatencyTracker, siddhiAppContext);
             this.mapper = sinkMapper;
         }
         if (sinkHandler != null) {
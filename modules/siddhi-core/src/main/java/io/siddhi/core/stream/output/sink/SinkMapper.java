@@ -49,6 +49,7 @@ public abstract class SinkMapper {
     private OutputGroupDeterminer groupDeterminer = null;
     private ThreadLocal<DynamicOptions> trpDynamicOptions = new ThreadLocal<>();
     private LatencyTracker mapperLatencyTracker;
+    private LatencyTracker endToEndLatencyTracker;
     private SiddhiAppContext siddhiAppContext;
 
     public final void init(StreamDefinition streamDefinition,
@@ -58,7 +59,20 @@ public abstract class SinkMapper {
                            Sink sink, ConfigReader mapperConfigReader,
                            LatencyTracker mapperLatencyTracker,
                            SiddhiAppContext siddhiAppContext) {
+        init(streamDefinition, type, mapOptionHolder, unmappedPayloadList, sink, mapperConfigReader,
+                mapperLatencyTracker, null, siddhiAppContext);
+    }
+
+    public final void init(StreamDefinition streamDefinition,
+                           String type,
+                           OptionHolder mapOptionHolder,
+                           List<Element> unmappedPayloadList,
+                           Sink sink, ConfigReader mapperConfigReader,
+                           LatencyTracker mapperLatencyTracker,
+                           LatencyTracker endToEndLatencyTracker,
+                           SiddhiAppContext siddhiAppContext) {
         this.mapperLatencyTracker = mapperLatencyTracker;
+        this.endToEndLatencyTracker = endToEndLatencyTracker;
         this.siddhiAppContext = siddhiAppContext;
         sink.setTrpDynamicOptions(trpDynamicOptions);
         this.sinkListener = sink;
@@ -151,6 +165,11 @@ public abstract class SinkMapper {
                 }
             }
         }
+        if (endToEndLatencyTracker != null) {
+            for (Event event : events) {
+                recordEndToEndLatency(event);
+            }
+        }
     }
 
 
@@ -166,6 +185,15 @@ public abstract class SinkMapper {
         } finally {
             trpDynamicOptions.remove();
         }
+        if (endToEndLatencyTracker != null) {
+            recordEndToEndLatency(event);
+        }
+    }
+
+    private void recordEndToEndLatency(Event event) {
+        if (event.getIngestTimestamp() != -1) {
+            endToEndLatencyTracker.record(System.nanoTime() - event.getIngestTimestamp());
+        }
     }
 
     /**
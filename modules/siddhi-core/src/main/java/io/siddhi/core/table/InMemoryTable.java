@@ -41,6 +41,8 @@ import io.siddhi.core.util.parser.ExpressionParser;
 import io.siddhi.core.util.parser.OperatorParser;
 import io.siddhi.core.util.snapshot.Snapshotable;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import io.siddhi.core.util.statistics.memory.SizedEventHolder;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import io.siddhi.query.api.definition.TableDefinition;
 import io.siddhi.query.api.execution.query.output.stream.UpdateSet;
 import io.siddhi.query.api.expression.Expression;
@@ -62,6 +64,7 @@ public class InMemoryTable extends Table implements Snapshotable {
     private EventHolder eventHolder;
     private String elementId;
     private SiddhiAppContext siddhiAppContext;
+    private StateSizeTracker stateSizeTracker;
 
     @Override
     public void init(TableDefinition tableDefinition, StreamEventPool storeEventPool,
@@ -72,6 +75,10 @@ public class InMemoryTable extends Table implements Snapshotable {
         this.siddhiAppContext = siddhiAppContext;
 
         eventHolder = EventHolderPasser.parse(tableDefinition, storeEventPool, siddhiAppContext);
+        if (eventHolder instanceof SizedEventHolder) {
+            stateSizeTracker = new StateSizeTracker();
+            stateSizeTracker.register((SizedEventHolder) eventHolder);
+        }
 
         if (elementId == null) {
             elementId = "InMemoryTable-" + siddhiAppContext.getElementIdGenerator().createNewId();
@@ -84,6 +91,11 @@ public class InMemoryTable extends Table implements Snapshotable {
         return tableDefinition;
     }
 
+    @Override
+    public StateSizeTracker getStateSizeTracker() {
+        return stateSizeTracker;
+    }
+
     @Override
     public void add(ComplexEventChunk<StreamEvent> addingEventChunk) {
         try {
@@ -40,6 +40,7 @@ import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryCalculable;
 import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import io.siddhi.core.util.transport.BackoffRetryCounter;
 import io.siddhi.query.api.definition.TableDefinition;
 import io.siddhi.query.api.execution.query.output.stream.UpdateSet;
@@ -209,6 +210,69 @@ public abstract class Table implements FindableProcessor, MemoryCalculable {
     protected abstract StreamEvent find(CompiledCondition compiledCondition, StateEvent matchingEvent)
             throws ConnectionUnavailableException;
 
+    /**
+     * Find the matching events for each of the given matching events at once.
+     *
+     * @param matchingEvents    the events to be matched with the events at the table
+     * @param compiledCondition the compiled condition based on which the events are matched
+     * @return the matched events of each matching event, in the order of the matching events
+     */
+    public StreamEvent[] findEvents(List<StateEvent> matchingEvents, CompiledCondition compiledCondition) {
+        if (isConnected.get()) {
+            try {
+                if (latencyTrackerFind != null && siddhiAppContext.isStatsEnabled()) {
+                    latencyTrackerFind.markIn();
+                }
+                StreamEvent[] results = find(compiledCondition, matchingEvents);
+                if (throughputTrackerFind != null && siddhiAppContext.isStatsEnabled()) {
+                    throughputTrackerFind.eventsIn(matchingEvents.size());
+                }
+                return results;
+            } catch (ConnectionUnavailableException e) {
+                isConnected.set(false);
+                LOG.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
+                        " Connection unavailable at Table '" + tableDefinition.getId() +
+                        "', will retry connection immediately.", e);
+                connectWithRetry();
+                return findEvents(matchingEvents, compiledCondition);
+            } finally {
+                if (latencyTrackerFind != null && siddhiAppContext.isStatsEnabled()) {
+                    latencyTrackerFind.markOut();
+                }
+            }
+        } else if (isTryingToConnect.get()) {
+            LOG.warn("Error on '" + siddhiAppContext.getName() + "' while performing find for events '" +
+                    matchingEvents + "', operation busy waiting at Table '" + tableDefinition.getId() +
+                    "' as its trying to reconnect!");
+            waitWhileConnect();
+            LOG.info("SiddhiApp '" + siddhiAppContext.getName() + "' table '" + tableDefinition.getId() +
+                    "' has become available for find operation for events '" + matchingEvents + "'");
+            return findEvents(matchingEvents, compiledCondition);
+        } else {
+            connectWithRetry();
+            return findEvents(matchingEvents, compiledCondition);
+        }
+    }
+
+    /**
+     * Find the matching events for each of the given matching events. Tables that can resolve several lookups
+     * with a single call to their store should override this, by default each event is looked up on its own.
+     *
+     * @param compiledCondition the compiled condition based on which the events are matched
+     * @param matchingEvents    the events to be matched with the events at the table
+     * @return the matched events of each matching event, in the order of the matching events
+     * @throws ConnectionUnavailableException
+     */
+    protected StreamEvent[] find(CompiledCondition compiledCondition, List<StateEvent> matchingEvents)
+            throws ConnectionUnavailableException {
+        StreamEvent[] results = new StreamEvent[matchingEvents.size()];
+        int i = 0;
+        for (StateEvent matchingEvent : matchingEvents) {
+            results[i++] = find(compiledCondition, matchingEvent);
+        }
+        return results;
+    }
+
     public void deleteEvents(ComplexEventChunk<StateEvent> deletingEventChunk, CompiledCondition compiledCondition,
                              int noOfEvents) {
         if (isConnected.get()) {
@@ -461,6 +525,11 @@ public abstract class Table implements FindableProcessor, MemoryCalculable {
         return recordTableHandler;
     }
 
+    @Override
+    public StateSizeTracker getStateSizeTracker() {
+        return null;
+    }
+
     public void shutdown() {
         disconnect();
         destroy();
@@ -30,6 +30,8 @@ import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.snapshot.SnapshotRequest;
 import io.siddhi.core.util.snapshot.state.SnapshotState;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import io.siddhi.core.util.statistics.memory.EventSizeEstimator;
+import io.siddhi.core.util.statistics.memory.SizedEventHolder;
 import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.expression.condition.Compare;
 import org.apache.log4j.Logger;
@@ -56,7 +58,7 @@ import static io.siddhi.core.event.stream.Operation.Operator.REMOVE;
  * EventHolder implementation where events will be indexed and stored. This will offer faster access compared to
  * other EventHolder implementations. User can only add unique events based on a given primary key.
  */
-public class IndexEventHolder implements IndexedEventHolder, Serializable {
+public class IndexEventHolder implements IndexedEventHolder, SizedEventHolder, Serializable {
 
     private static final Logger log = Logger.getLogger(IndexEventHolder.class);
     private static final long serialVersionUID = 1272291743721603253L;
@@ -74,6 +76,8 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     private Map<String, Integer> allIndexMetaData = new HashMap<>();
     private ArrayList<Operation> operationChangeLog = new ArrayList<>();
     private long eventsCount;
+    private long heldEventsCount;
+    private EventSizeEstimator eventSizeEstimator = new EventSizeEstimator();
     private boolean forceFullSnapshot = true;
     private boolean isOperationLogEnabled = true;
 
@@ -184,6 +188,10 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                         streamEvent + ", as there is already an event stored with primary key '" + primaryKey + "'");
             }
         }
+        if (existingValue == null) {
+            heldEventsCount++;
+            eventSizeEstimator.sample(streamEvent);
+        }
 
         if (indexData != null) {
             for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
@@ -233,6 +241,10 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             deletedEvent = primaryKeyData.put(primaryKey, streamEvent);
         }
+        if (deletedEvent == null) {
+            heldEventsCount++;
+        }
+        eventSizeEstimator.sample(streamEvent);
 
         if (indexData != null) {
             for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
@@ -382,6 +394,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 aIndexedData.clear();
             }
         }
+        heldEventsCount = 0;
     }
 
     @Override
@@ -406,10 +419,14 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null) {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             StreamEvent deletedEvent = primaryKeyData.remove(primaryKey);
+            if (deletedEvent != null) {
+                heldEventsCount--;
+            }
             if (indexData != null) {
                 deleteFromIndexes(deletedEvent);
             }
         } else if (indexData != null) {
+            heldEventsCount--;
             deleteFromIndexes(streamEvent);
         }
     }
@@ -435,6 +452,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        heldEventsCount--;
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
@@ -444,6 +462,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        heldEventsCount--;
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
@@ -453,6 +472,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        heldEventsCount--;
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
@@ -462,12 +482,14 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                          iterator.hasNext(); ) {
                         StreamEvent toDeleteEvent = iterator.next();
                         iterator.remove();
+                        heldEventsCount--;
                         deleteFromIndexes(toDeleteEvent);
                     }
                     return;
                 case EQUAL:
                     StreamEvent deletedEvent = primaryKeyData.remove(value);
                     if (deletedEvent != null) {
+                        heldEventsCount--;
                         deleteFromIndexes(deletedEvent);
                     }
                     return;
@@ -578,6 +600,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     }
 
     private void deleteFromIndexesAndPrimaryKey(String currentAttribute, Set<StreamEvent> deletedEventSet) {
+        heldEventsCount -= deletedEventSet.size();
         for (StreamEvent deletedEvent : deletedEventSet) {
             if (primaryKeyData != null) {
                 Object primaryKey = constructPrimaryKey(deletedEvent, primaryKeyReferenceHolders);
@@ -611,6 +634,16 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
     }
 
+    @Override
+    public long getEventCount() {
+        return heldEventsCount;
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        return eventSizeEstimator.estimateSize(heldEventsCount);
+    }
+
     private boolean isFullSnapshot() {
         return operationChangeLog.size() > (eventsCount * FULL_SNAPSHOT_THRESHOLD)
                 || forceFullSnapshot
@@ -645,6 +678,11 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     indexData.clear();
                     indexData.putAll(snapshotEventHolder.indexData);
                 }
+                Collection<StreamEvent> restoredEvents = getAllEvents();
+                heldEventsCount = restoredEvents.size();
+                for (StreamEvent streamEvent : restoredEvents) {
+                    eventSizeEstimator.sample(streamEvent);
+                }
                 forceFullSnapshot = false;
             } else {
                 ArrayList<Operation> operations = (ArrayList<Operation>) snapshotEntry.getValue().getState();
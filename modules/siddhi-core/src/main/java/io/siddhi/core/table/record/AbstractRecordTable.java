@@ -26,25 +26,35 @@ import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventPool;
 import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.table.CompiledUpdateSet;
 import io.siddhi.core.table.Table;
+import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.AddingStreamEventExtractor;
 import io.siddhi.core.util.collection.operator.CompiledCondition;
 import io.siddhi.core.util.collection.operator.CompiledExpression;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.definition.TableDefinition;
 import io.siddhi.query.api.execution.query.output.stream.UpdateSet;
 import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.util.AnnotationHelper;
+import io.siddhi.query.compiler.SiddhiCompiler;
+import io.siddhi.query.compiler.exception.SiddhiParserException;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * An abstract implementation of table. Abstract implementation will handle {@link ComplexEventChunk} so that
@@ -56,6 +66,8 @@ public abstract class AbstractRecordTable extends Table {
 
     protected StreamEventPool storeEventPool;
     protected RecordTableHandler recordTableHandler;
+    private RecordTableWriteBuffer writeBuffer;
+    private int maxInFlight = 1;
 
     @Override
     public void init(TableDefinition tableDefinition, StreamEventPool storeEventPool,
@@ -68,6 +80,88 @@ public abstract class AbstractRecordTable extends Table {
         this.recordTableHandler = recordTableHandler;
         this.storeEventPool = storeEventPool;
         init(tableDefinition, configReader);
+        Annotation storeAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_STORE,
+                tableDefinition.getAnnotations());
+        if (storeAnnotation != null) {
+            Annotation asyncAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_ASYNC,
+                    storeAnnotation.getAnnotations());
+            if (asyncAnnotation != null) {
+                maxInFlight = 8;
+                String maxInFlightString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_MAX_IN_FLIGHT);
+                if (maxInFlightString != null) {
+                    maxInFlight = parseIntegerElement(asyncAnnotation, SiddhiConstants.ANNOTATION_ASYNC,
+                            SiddhiConstants.ANNOTATION_ELEMENT_MAX_IN_FLIGHT, maxInFlightString, siddhiAppContext);
+                    if (maxInFlight <= 0) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_MAX_IN_FLIGHT + "' of @" +
+                                SiddhiConstants.ANNOTATION_ASYNC + " cannot be negative or zero, but found, '" +
+                                maxInFlight + "'.", asyncAnnotation, siddhiAppContext);
+                    }
+                }
+            }
+        }
+        Annotation writeBatchAnnotation = RecordTableWriteBuffer.getWriteBatchAnnotation(tableDefinition);
+        if (writeBatchAnnotation != null) {
+            initWriteBuffer(writeBatchAnnotation, siddhiAppContext);
+        }
+    }
+
+    private void initWriteBuffer(Annotation writeBatchAnnotation, SiddhiAppContext siddhiAppContext) {
+        int batchSize = 1000;
+        long flushInterval = 1000;
+        String batchSizeString = writeBatchAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SIZE);
+        if (batchSizeString != null) {
+            batchSize = parseIntegerElement(writeBatchAnnotation, SiddhiConstants.ANNOTATION_WRITE_BATCH,
+                    SiddhiConstants.ANNOTATION_ELEMENT_SIZE, batchSizeString, siddhiAppContext);
+            if (batchSize <= 0) {
+                throw new SiddhiAppCreationException("Annotation element '" + SiddhiConstants.ANNOTATION_ELEMENT_SIZE +
+                        "' of @" + SiddhiConstants.ANNOTATION_WRITE_BATCH + " cannot be negative or zero, but " +
+                        "found, '" + batchSize + "'.", writeBatchAnnotation, siddhiAppContext);
+            }
+        }
+        String flushIntervalString = writeBatchAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_INTERVAL);
+        if (flushIntervalString != null) {
+            try {
+                flushInterval = SiddhiCompiler.parseTimeConstantDefinition(flushIntervalString).value();
+            } catch (SiddhiParserException e) {
+                throw new SiddhiAppCreationException("Invalid " + SiddhiConstants.ANNOTATION_ELEMENT_INTERVAL +
+                        " constant '" + flushIntervalString + "' in @" + SiddhiConstants.ANNOTATION_WRITE_BATCH +
+                        " annotation", e);
+            }
+            if (flushInterval <= 0) {
+                throw new SiddhiAppCreationException("Annotation element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_INTERVAL + "' of @" +
+                        SiddhiConstants.ANNOTATION_WRITE_BATCH + " cannot be negative or zero, but found, '" +
+                        flushIntervalString + "'.", writeBatchAnnotation, siddhiAppContext);
+            }
+        }
+        int maxPending = batchSize * 10;
+        String maxPendingString = writeBatchAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_MAX_PENDING);
+        if (maxPendingString != null) {
+            maxPending = parseIntegerElement(writeBatchAnnotation, SiddhiConstants.ANNOTATION_WRITE_BATCH,
+                    SiddhiConstants.ANNOTATION_ELEMENT_MAX_PENDING, maxPendingString, siddhiAppContext);
+            if (maxPending < batchSize) {
+                throw new SiddhiAppCreationException("Annotation element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_MAX_PENDING + "' of @" +
+                        SiddhiConstants.ANNOTATION_WRITE_BATCH + " cannot be less than its '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_SIZE + "', but found, '" + maxPending + "'.",
+                        writeBatchAnnotation, siddhiAppContext);
+            }
+        }
+        writeBuffer = new RecordTableWriteBuffer(this, batchSize, flushInterval, maxPending, maxInFlight,
+                siddhiAppContext);
+        writeBuffer.start();
+    }
+
+    private static int parseIntegerElement(Annotation annotation, String annotationName, String elementName,
+                                           String value, SiddhiAppContext siddhiAppContext) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Annotation element '" + elementName + "' of @" + annotationName +
+                    " should be an integer, but found, '" + value + "'.", annotation, siddhiAppContext);
+        }
     }
 
     /**
@@ -90,9 +184,21 @@ public abstract class AbstractRecordTable extends Table {
         long timestamp = 0L;
         while (addingEventChunk.hasNext()) {
             StreamEvent event = addingEventChunk.next();
-            records.add(event.getOutputData());
+            if (writeBuffer != null) {
+                records.add(event.getOutputData().clone());
+            } else {
+                records.add(event.getOutputData());
+            }
             timestamp = event.getTimestamp();
         }
+        if (writeBuffer != null) {
+            writeBuffer.add(timestamp, records);
+        } else {
+            addRecords(timestamp, records);
+        }
+    }
+
+    private void addRecords(long timestamp, List<Object[]> records) throws ConnectionUnavailableException {
         if (recordTableHandler != null) {
             recordTableHandler.add(timestamp, records);
         } else {
@@ -109,9 +215,37 @@ public abstract class AbstractRecordTable extends Table {
      */
     protected abstract void add(List<Object[]> records) throws ConnectionUnavailableException;
 
+    CompletableFuture<Void> addRecordsAsync(long timestamp, List<Object[]> records) {
+        if (recordTableHandler != null) {
+            return completedStoreCall(() -> {
+                recordTableHandler.add(timestamp, records);
+                return null;
+            });
+        } else {
+            return addAsync(records);
+        }
+    }
+
+    /**
+     * Add records to the Table without waiting for the store. Stores with a non-blocking client should override this,
+     * by default the records are added with {@link #add(List)} before returning.
+     *
+     * @param records records that need to be added to the table, each Object[] represent a record and it will match
+     *                the attributes of the Table Definition.
+     * @return future completed when the records are added, or exceptionally with a
+     * {@link ConnectionUnavailableException} if the store is unavailable
+     */
+    protected CompletableFuture<Void> addAsync(List<Object[]> records) {
+        return completedStoreCall(() -> {
+            add(records);
+            return null;
+        });
+    }
+
     @Override
     public StreamEvent find(CompiledCondition compiledCondition, StateEvent matchingEvent)
             throws ConnectionUnavailableException {
+        flushPendingWrites();
         RecordStoreCompiledCondition recordStoreCompiledCondition =
                 ((RecordStoreCompiledCondition) compiledCondition);
 
@@ -128,6 +262,10 @@ public abstract class AbstractRecordTable extends Table {
         } else {
             records = find(findConditionParameterMap, recordStoreCompiledCondition.compiledCondition);
         }
+        return toStreamEvents(records);
+    }
+
+    private StreamEvent toStreamEvents(Iterator<Object[]> records) {
         ComplexEventChunk<StreamEvent> streamEventComplexEventChunk = new ComplexEventChunk<>(true);
         if (records != null) {
             while (records.hasNext()) {
@@ -153,9 +291,89 @@ public abstract class AbstractRecordTable extends Table {
                                                      CompiledCondition compiledCondition)
             throws ConnectionUnavailableException;
 
+    /**
+     * Find records matching the compiled condition without waiting for the store. Stores with a non-blocking client
+     * should override this, by default the records are found with {@link #find(Map, CompiledCondition)} before
+     * returning.
+     *
+     * @param findConditionParameterMap map of matching StreamVariable Ids and their values
+     *                                  corresponding to the compiled condition
+     * @param compiledCondition         the compiledCondition against which records should be matched
+     * @return future of the RecordIterator of matching records, completed exceptionally with a
+     * {@link ConnectionUnavailableException} if the store is unavailable
+     */
+    protected CompletableFuture<RecordIterator<Object[]>> findAsync(Map<String, Object> findConditionParameterMap,
+                                                                    CompiledCondition compiledCondition) {
+        return completedStoreCall(() -> find(findConditionParameterMap, compiledCondition));
+    }
+
+    @Override
+    protected StreamEvent[] find(CompiledCondition compiledCondition, List<StateEvent> matchingEvents)
+            throws ConnectionUnavailableException {
+        flushPendingWrites();
+        RecordStoreCompiledCondition recordStoreCompiledCondition =
+                ((RecordStoreCompiledCondition) compiledCondition);
+        List<Map<String, Object>> findConditionParameterMaps = new ArrayList<>(matchingEvents.size());
+        long timestamp = 0L;
+        for (StateEvent matchingEvent : matchingEvents) {
+            Map<String, Object> findConditionParameterMap = new HashMap<>();
+            for (Map.Entry<String, ExpressionExecutor> entry :
+                    recordStoreCompiledCondition.variableExpressionExecutorMap.entrySet()) {
+                findConditionParameterMap.put(entry.getKey(), entry.getValue().execute(matchingEvent));
+            }
+            findConditionParameterMaps.add(findConditionParameterMap);
+            timestamp = matchingEvent.getTimestamp();
+        }
+
+        List<? extends Iterator<Object[]>> recordsList;
+        if (recordTableHandler != null) {
+            recordsList = recordTableHandler.findBatch(timestamp, findConditionParameterMaps,
+                    recordStoreCompiledCondition.compiledCondition);
+        } else {
+            recordsList = findBatch(findConditionParameterMaps, recordStoreCompiledCondition.compiledCondition);
+        }
+        StreamEvent[] results = new StreamEvent[matchingEvents.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = toStreamEvents(recordsList.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Find records matching the compiled condition for each of the given parameter maps. Stores that can look up
+     * several parameter maps in one round trip, such as with a single IN query, should override this and map the
+     * fetched records back to the parameter maps they match. By default each parameter map is looked up with
+     * {@link #findAsync(Map, CompiledCondition)}, keeping up to the max.in.flight of the @Async annotation of the
+     * store in flight at once, and the results are returned in the order of the parameter maps.
+     *
+     * @param findConditionParameterMaps maps of matching StreamVariable Ids and their values
+     *                                   corresponding to the compiled condition
+     * @param compiledCondition          the compiledCondition against which records should be matched
+     * @return RecordIterators of matching records, one for each parameter map and in the same order
+     * @throws ConnectionUnavailableException
+     */
+    protected List<RecordIterator<Object[]>> findBatch(List<Map<String, Object>> findConditionParameterMaps,
+                                                       CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        List<CompletableFuture<RecordIterator<Object[]>>> futures =
+                new ArrayList<>(findConditionParameterMaps.size());
+        for (int i = 0; i < findConditionParameterMaps.size(); i++) {
+            if (i >= maxInFlight) {
+                awaitResult(futures.get(i - maxInFlight));
+            }
+            futures.add(findAsync(findConditionParameterMaps.get(i), compiledCondition));
+        }
+        List<RecordIterator<Object[]>> recordsList = new ArrayList<>(futures.size());
+        for (CompletableFuture<RecordIterator<Object[]>> future : futures) {
+            recordsList.add(awaitResult(future));
+        }
+        return recordsList;
+    }
+
     @Override
     public boolean contains(StateEvent matchingEvent, CompiledCondition compiledCondition)
             throws ConnectionUnavailableException {
+        flushPendingWrites();
         RecordStoreCompiledCondition recordStoreCompiledCondition =
                 ((RecordStoreCompiledCondition) compiledCondition);
         Map<String, Object> containsConditionParameterMap = new HashMap<>();
@@ -204,11 +422,19 @@ public abstract class AbstractRecordTable extends Table {
             deleteConditionParameterMaps.add(variableMap);
             timestamp = stateEvent.getTimestamp();
         }
+        if (writeBuffer != null) {
+            writeBuffer.delete(timestamp, deleteConditionParameterMaps, recordStoreCompiledCondition.compiledCondition);
+        } else {
+            deleteRecords(timestamp, deleteConditionParameterMaps, recordStoreCompiledCondition.compiledCondition);
+        }
+    }
+
+    private void deleteRecords(long timestamp, List<Map<String, Object>> deleteConditionParameterMaps,
+                               CompiledCondition compiledCondition) throws ConnectionUnavailableException {
         if (recordTableHandler != null) {
-            recordTableHandler.delete(timestamp, deleteConditionParameterMaps, recordStoreCompiledCondition.
-                    compiledCondition);
+            recordTableHandler.delete(timestamp, deleteConditionParameterMaps, compiledCondition);
         } else {
-            delete(deleteConditionParameterMaps, recordStoreCompiledCondition.compiledCondition);
+            delete(deleteConditionParameterMaps, compiledCondition);
         }
     }
 
@@ -224,6 +450,36 @@ public abstract class AbstractRecordTable extends Table {
                                    CompiledCondition compiledCondition)
             throws ConnectionUnavailableException;
 
+    CompletableFuture<Void> deleteRecordsAsync(long timestamp, List<Map<String, Object>> deleteConditionParameterMaps,
+                                               CompiledCondition compiledCondition) {
+        if (recordTableHandler != null) {
+            return completedStoreCall(() -> {
+                recordTableHandler.delete(timestamp, deleteConditionParameterMaps, compiledCondition);
+                return null;
+            });
+        } else {
+            return deleteAsync(deleteConditionParameterMaps, compiledCondition);
+        }
+    }
+
+    /**
+     * Delete all matching records without waiting for the store. Stores with a non-blocking client should override
+     * this, by default the records are deleted with {@link #delete(List, CompiledCondition)} before returning.
+     *
+     * @param deleteConditionParameterMaps map of matching StreamVariable Ids and their values corresponding to the
+     *                                     compiled condition
+     * @param compiledCondition            the compiledCondition against which records should be matched for deletion
+     * @return future completed when the records are deleted, or exceptionally with a
+     * {@link ConnectionUnavailableException} if the store is unavailable
+     */
+    protected CompletableFuture<Void> deleteAsync(List<Map<String, Object>> deleteConditionParameterMaps,
+                                                  CompiledCondition compiledCondition) {
+        return completedStoreCall(() -> {
+            delete(deleteConditionParameterMaps, compiledCondition);
+            return null;
+        });
+    }
+
     @Override
     public void update(ComplexEventChunk<StateEvent> updatingEventChunk, CompiledCondition compiledCondition,
                        CompiledUpdateSet compiledUpdateSet) throws ConnectionUnavailableException {
@@ -252,16 +508,30 @@ public abstract class AbstractRecordTable extends Table {
             updateSetParameterMaps.add(variableMapForUpdateSet);
             timestamp = stateEvent.getTimestamp();
         }
-        if (recordTableHandler != null) {
-            recordTableHandler.update(timestamp, recordStoreCompiledCondition.compiledCondition,
+        if (writeBuffer != null) {
+            writeBuffer.update(timestamp, recordStoreCompiledCondition.compiledCondition,
                     updateConditionParameterMaps, recordTableCompiledUpdateSet.getUpdateSetMap(),
-                    updateSetParameterMaps);
+                    updateSetParameterMaps, RecordTableWriteBuffer.isCollapsible(
+                            recordStoreCompiledCondition.primaryKeyExpressions,
+                            recordTableCompiledUpdateSet.getSetExpressionMap(), tableDefinition, false));
         } else {
-            update(recordStoreCompiledCondition.compiledCondition, updateConditionParameterMaps,
+            updateRecords(timestamp, recordStoreCompiledCondition.compiledCondition, updateConditionParameterMaps,
                     recordTableCompiledUpdateSet.getUpdateSetMap(), updateSetParameterMaps);
         }
     }
 
+    private void updateRecords(long timestamp, CompiledCondition updateCondition,
+                               List<Map<String, Object>> updateConditionParameterMaps,
+                               LinkedHashMap<String, CompiledExpression> updateSetExpressions,
+                               List<Map<String, Object>> updateSetParameterMaps) throws ConnectionUnavailableException {
+        if (recordTableHandler != null) {
+            recordTableHandler.update(timestamp, updateCondition, updateConditionParameterMaps,
+                    updateSetExpressions, updateSetParameterMaps);
+        } else {
+            update(updateCondition, updateConditionParameterMaps, updateSetExpressions, updateSetParameterMaps);
+        }
+    }
+
 
     /**
      * Update all matching records
@@ -279,6 +549,46 @@ public abstract class AbstractRecordTable extends Table {
                                    List<Map<String, Object>> updateSetParameterMaps)
             throws ConnectionUnavailableException;
 
+    CompletableFuture<Void> updateRecordsAsync(long timestamp, CompiledCondition updateCondition,
+                                               List<Map<String, Object>> updateConditionParameterMaps,
+                                               LinkedHashMap<String, CompiledExpression> updateSetExpressions,
+                                               List<Map<String, Object>> updateSetParameterMaps) {
+        if (recordTableHandler != null) {
+            return completedStoreCall(() -> {
+                recordTableHandler.update(timestamp, updateCondition, updateConditionParameterMaps,
+                        updateSetExpressions, updateSetParameterMaps);
+                return null;
+            });
+        } else {
+            return updateAsync(updateCondition, updateConditionParameterMaps, updateSetExpressions,
+                    updateSetParameterMaps);
+        }
+    }
+
+    /**
+     * Update all matching records without waiting for the store. Stores with a non-blocking client should override
+     * this, by default the records are updated with {@link #update(CompiledCondition, List, Map, List)} before
+     * returning.
+     *
+     * @param updateCondition              the compiledCondition against which records should be matched for update
+     * @param updateConditionParameterMaps map of matching StreamVariable Ids and their values corresponding to the
+     *                                     compiled condition based on which the records will be updated
+     * @param updateSetExpressions         the set of updates mappings and related complied expressions
+     * @param updateSetParameterMaps       map of matching StreamVariable Ids and their values corresponding to the
+     *                                     update set
+     * @return future completed when the records are updated, or exceptionally with a
+     * {@link ConnectionUnavailableException} if the store is unavailable
+     */
+    protected CompletableFuture<Void> updateAsync(CompiledCondition updateCondition,
+                                                  List<Map<String, Object>> updateConditionParameterMaps,
+                                                  Map<String, CompiledExpression> updateSetExpressions,
+                                                  List<Map<String, Object>> updateSetParameterMaps) {
+        return completedStoreCall(() -> {
+            update(updateCondition, updateConditionParameterMaps, updateSetExpressions, updateSetParameterMaps);
+            return null;
+        });
+    }
+
     @Override
     public void updateOrAdd(ComplexEventChunk<StateEvent> updateOrAddingEventChunk,
                             CompiledCondition compiledCondition, CompiledUpdateSet compiledUpdateSet,
@@ -308,18 +618,38 @@ public abstract class AbstractRecordTable extends Table {
                 variableMapForUpdateSet.put(entry.getKey(), entry.getValue().execute(stateEvent));
             }
             updateSetParameterMaps.add(variableMapForUpdateSet);
-            addingRecords.add(stateEvent.getStreamEvent(0).getOutputData());
+            if (writeBuffer != null) {
+                addingRecords.add(stateEvent.getStreamEvent(0).getOutputData().clone());
+            } else {
+                addingRecords.add(stateEvent.getStreamEvent(0).getOutputData());
+            }
             timestamp = stateEvent.getTimestamp();
         }
-        if (recordTableHandler != null) {
-            recordTableHandler.updateOrAdd(timestamp, recordStoreCompiledCondition.compiledCondition,
+        if (writeBuffer != null) {
+            writeBuffer.updateOrAdd(timestamp, recordStoreCompiledCondition.compiledCondition,
                     updateConditionParameterMaps, recordTableCompiledUpdateSet.getUpdateSetMap(),
-                    updateSetParameterMaps, addingRecords);
+                    updateSetParameterMaps, addingRecords, RecordTableWriteBuffer.isCollapsible(
+                            recordStoreCompiledCondition.primaryKeyExpressions,
+                            recordTableCompiledUpdateSet.getSetExpressionMap(), tableDefinition, true));
         } else {
-            updateOrAdd(recordStoreCompiledCondition.compiledCondition, updateConditionParameterMaps,
-                    recordTableCompiledUpdateSet.getUpdateSetMap(), updateSetParameterMaps, addingRecords);
+            updateOrAddRecords(timestamp, recordStoreCompiledCondition.compiledCondition,
+                    updateConditionParameterMaps, recordTableCompiledUpdateSet.getUpdateSetMap(),
+                    updateSetParameterMaps, addingRecords);
         }
+    }
 
+    private void updateOrAddRecords(long timestamp, CompiledCondition updateCondition,
+                                    List<Map<String, Object>> updateConditionParameterMaps,
+                                    LinkedHashMap<String, CompiledExpression> updateSetExpressions,
+                                    List<Map<String, Object>> updateSetParameterMaps, List<Object[]> addingRecords)
+            throws ConnectionUnavailableException {
+        if (recordTableHandler != null) {
+            recordTableHandler.updateOrAdd(timestamp, updateCondition, updateConditionParameterMaps,
+                    updateSetExpressions, updateSetParameterMaps, addingRecords);
+        } else {
+            updateOrAdd(updateCondition, updateConditionParameterMaps, updateSetExpressions,
+                    updateSetParameterMaps, addingRecords);
+        }
     }
 
     /**
@@ -341,6 +671,110 @@ public abstract class AbstractRecordTable extends Table {
                                         List<Object[]> addingRecords)
             throws ConnectionUnavailableException;
 
+    CompletableFuture<Void> updateOrAddRecordsAsync(long timestamp, CompiledCondition updateCondition,
+                                                    List<Map<String, Object>> updateConditionParameterMaps,
+                                                    LinkedHashMap<String, CompiledExpression> updateSetExpressions,
+                                                    List<Map<String, Object>> updateSetParameterMaps,
+                                                    List<Object[]> addingRecords) {
+        if (recordTableHandler != null) {
+            return completedStoreCall(() -> {
+                recordTableHandler.updateOrAdd(timestamp, updateCondition, updateConditionParameterMaps,
+                        updateSetExpressions, updateSetParameterMaps, addingRecords);
+                return null;
+            });
+        } else {
+            return updateOrAddAsync(updateCondition, updateConditionParameterMaps, updateSetExpressions,
+                    updateSetParameterMaps, addingRecords);
+        }
+    }
+
+    /**
+     * Try updating the records if they exist else add the records, without waiting for the store. Stores with a
+     * non-blocking client should override this, by default the records are written with
+     * {@link #updateOrAdd(CompiledCondition, List, Map, List, List)} before returning.
+     *
+     * @param updateCondition              the compiledCondition against which records should be matched for update
+     * @param updateConditionParameterMaps map of matching StreamVariable Ids and their values corresponding to the
+     *                                     compiled condition based on which the records will be updated
+     * @param updateSetExpressions         the set of updates mappings and related complied expressions
+     * @param updateSetParameterMaps       map of matching StreamVariable Ids and their values corresponding to the
+     *                                     update set
+     * @param addingRecords                the values for adding new records if the update condition did not match
+     * @return future completed when the records are written, or exceptionally with a
+     * {@link ConnectionUnavailableException} if the store is unavailable
+     */
+    protected CompletableFuture<Void> updateOrAddAsync(CompiledCondition updateCondition,
+                                                       List<Map<String, Object>> updateConditionParameterMaps,
+                                                       Map<String, CompiledExpression> updateSetExpressions,
+                                                       List<Map<String, Object>> updateSetParameterMaps,
+                                                       List<Object[]> addingRecords) {
+        return completedStoreCall(() -> {
+            updateOrAdd(updateCondition, updateConditionParameterMaps, updateSetExpressions, updateSetParameterMaps,
+                    addingRecords);
+            return null;
+        });
+    }
+
+    /**
+     * A synchronous call to the store
+     *
+     * @param <T> type of the result
+     */
+    private interface StoreCall<T> {
+        T call() throws ConnectionUnavailableException;
+    }
+
+    private static <T> CompletableFuture<T> completedStoreCall(StoreCall<T> storeCall) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(storeCall.call());
+        } catch (ConnectionUnavailableException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Waits for a store call to complete.
+     *
+     * @param future future of the store call
+     * @param <T>    type of the result
+     * @return result of the store call
+     * @throws ConnectionUnavailableException if the store call failed as the store is unavailable
+     */
+    static <T> T awaitResult(CompletableFuture<T> future) throws ConnectionUnavailableException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConnectionUnavailableException) {
+                throw (ConnectionUnavailableException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SiddhiAppRuntimeException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Sends the buffered writes to the store, so that they are visible to the reads that follow
+     *
+     * @throws ConnectionUnavailableException
+     */
+    void flushPendingWrites() throws ConnectionUnavailableException {
+        if (writeBuffer != null) {
+            writeBuffer.flush();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (writeBuffer != null) {
+            writeBuffer.stop();
+        }
+        super.shutdown();
+    }
+
     @Override
     public CompiledCondition compileCondition(Expression condition, MatchingMetaInfoHolder matchingMetaInfoHolder,
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
@@ -349,7 +783,13 @@ public abstract class AbstractRecordTable extends Table {
                 variableExpressionExecutors, tableMap, siddhiQueryContext);
         CompiledCondition compileCondition = compileCondition(expressionBuilder);
         Map<String, ExpressionExecutor> expressionExecutorMap = expressionBuilder.getVariableExpressionExecutorMap();
-        return new RecordStoreCompiledCondition(expressionExecutorMap, compileCondition);
+        RecordStoreCompiledCondition recordStoreCompiledCondition =
+                new RecordStoreCompiledCondition(expressionExecutorMap, compileCondition);
+        if (writeBuffer != null) {
+            recordStoreCompiledCondition.primaryKeyExpressions = RecordTableWriteBuffer.getPrimaryKeyExpressions(
+                    condition, tableDefinition, matchingMetaInfoHolder.getMatchingStreamDefinition());
+        }
+        return recordStoreCompiledCondition;
     }
 
     public CompiledUpdateSet compileUpdateSet(UpdateSet updateSet,
@@ -368,6 +808,17 @@ public abstract class AbstractRecordTable extends Table {
             parentExecutorMap.putAll(expressionExecutorMap);
         }
         recordTableCompiledUpdateSet.setExpressionExecutorMap(parentExecutorMap);
+        if (writeBuffer != null) {
+            Map<String, Expression> setExpressionMap = new HashMap<>();
+            for (UpdateSet.SetAttribute setAttribute : updateSet.getSetAttributeList()) {
+                setExpressionMap.put(setAttribute.getTableVariable().getAttributeName(),
+                        setAttribute.getAssignmentExpression());
+            }
+            if (RecordTableWriteBuffer.isStreamSet(setExpressionMap,
+                    matchingMetaInfoHolder.getMatchingStreamDefinition())) {
+                recordTableCompiledUpdateSet.setSetExpressionMap(setExpressionMap);
+            }
+        }
         return recordTableCompiledUpdateSet;
     }
 
@@ -395,6 +846,7 @@ public abstract class AbstractRecordTable extends Table {
     protected class RecordStoreCompiledCondition implements CompiledCondition {
         protected Map<String, ExpressionExecutor> variableExpressionExecutorMap;
         protected CompiledCondition compiledCondition;
+        private Map<String, Expression> primaryKeyExpressions;
 
         RecordStoreCompiledCondition(Map<String, ExpressionExecutor> variableExpressionExecutorMap,
                                      CompiledCondition compiledCondition) {
@@ -408,7 +860,10 @@ public abstract class AbstractRecordTable extends Table {
             for (Map.Entry<String, ExpressionExecutor> entry : variableExpressionExecutorMap.entrySet()) {
                 newVariableExpressionExecutorMap.put(entry.getKey(), entry.getValue().cloneExecutor(key));
             }
-            return new RecordStoreCompiledCondition(newVariableExpressionExecutorMap, compiledCondition);
+            RecordStoreCompiledCondition recordStoreCompiledCondition =
+                    new RecordStoreCompiledCondition(newVariableExpressionExecutorMap, compiledCondition);
+            recordStoreCompiledCondition.primaryKeyExpressions = primaryKeyExpressions;
+            return recordStoreCompiledCondition;
         }
     }
 
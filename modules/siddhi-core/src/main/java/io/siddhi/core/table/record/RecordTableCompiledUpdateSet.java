@@ -21,6 +21,7 @@ package io.siddhi.core.table.record;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.table.CompiledUpdateSet;
 import io.siddhi.core.util.collection.operator.CompiledExpression;
+import io.siddhi.query.api.expression.Expression;
 
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -32,6 +33,7 @@ import java.util.Map;
 public class RecordTableCompiledUpdateSet implements CompiledUpdateSet {
     private LinkedHashMap<String, CompiledExpression> updateSetMap = new LinkedHashMap<>();
     private Map<String, ExpressionExecutor> expressionExecutorMap = new HashMap<>();
+    private Map<String, Expression> setExpressionMap;
 
     public LinkedHashMap<String, CompiledExpression> getUpdateSetMap() {
         return updateSetMap;
@@ -48,4 +50,15 @@ public class RecordTableCompiledUpdateSet implements CompiledUpdateSet {
     public void setExpressionExecutorMap(Map<String, ExpressionExecutor> expressionExecutorMap) {
         this.expressionExecutorMap = expressionExecutorMap;
     }
+
+    /**
+     * @return the expression assigned to each attribute, when none of them reads the table
+     */
+    public Map<String, Expression> getSetExpressionMap() {
+        return setExpressionMap;
+    }
+
+    public void setSetExpressionMap(Map<String, Expression> setExpressionMap) {
+        this.setExpressionMap = setExpressionMap;
+    }
 }
@@ -23,6 +23,7 @@ import io.siddhi.core.util.collection.operator.CompiledSelection;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.TableDefinition;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -162,6 +163,39 @@ public abstract class RecordTableHandler {
                                             RecordTableHandlerCallback recordTableHandlerCallback)
             throws ConnectionUnavailableException;
 
+    public List<? extends Iterator<Object[]>> findBatch(long timestamp,
+                                                        List<Map<String, Object>> findConditionParameterMaps,
+                                                        CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        return findBatch(timestamp, findConditionParameterMaps, compiledCondition, recordTableHandlerCallback);
+    }
+
+    /**
+     * Find records for several parameter maps at once. Handlers that can pass the lookups on to
+     * {@link RecordTableHandlerCallback#findBatch(List, CompiledCondition)} should override this, by default each
+     * parameter map is looked up with {@link #find(long, Map, CompiledCondition, RecordTableHandlerCallback)}.
+     *
+     * @param timestamp                  the timestamp of the last event used to match from record table
+     * @param findConditionParameterMaps maps of matching StreamVariable Ids and their values
+     *                                   corresponding to the compiled condition
+     * @param compiledCondition          the compiledCondition against which records should be matched
+     * @param recordTableHandlerCallback call back to do operations on the record table
+     * @return iterators of matching records, one for each parameter map and in the same order
+     * @throws ConnectionUnavailableException
+     */
+    public List<? extends Iterator<Object[]>> findBatch(long timestamp,
+                                                        List<Map<String, Object>> findConditionParameterMaps,
+                                                        CompiledCondition compiledCondition,
+                                                        RecordTableHandlerCallback recordTableHandlerCallback)
+            throws ConnectionUnavailableException {
+        List<Iterator<Object[]>> recordsList = new ArrayList<>(findConditionParameterMaps.size());
+        for (Map<String, Object> findConditionParameterMap : findConditionParameterMaps) {
+            recordsList.add(find(timestamp, findConditionParameterMap, compiledCondition,
+                    recordTableHandlerCallback));
+        }
+        return recordsList;
+    }
+
     public boolean contains(long timestamp, Map<String, Object> containsConditionParameterMap,
                             CompiledCondition compiledCondition) throws ConnectionUnavailableException {
         return contains(timestamp, containsConditionParameterMap, compiledCondition, recordTableHandlerCallback);
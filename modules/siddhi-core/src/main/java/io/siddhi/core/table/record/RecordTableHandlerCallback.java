@@ -50,6 +50,12 @@ public class RecordTableHandlerCallback {
         return abstractRecordTable.find(findConditionParameterMap, compiledCondition);
     }
 
+    public List<RecordIterator<Object[]>> findBatch(List<Map<String, Object>> findConditionParameterMaps,
+                                                    CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        return abstractRecordTable.findBatch(findConditionParameterMaps, compiledCondition);
+    }
+
     public boolean contains(Map<String, Object> containsConditionParameterMap, CompiledCondition compiledCondition)
             throws ConnectionUnavailableException {
         return abstractRecordTable.contains(containsConditionParameterMap, compiledCondition);
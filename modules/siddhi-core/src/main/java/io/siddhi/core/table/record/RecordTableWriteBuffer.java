@@ -0,0 +1,638 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.siddhi.core.table.record;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+import io.siddhi.core.util.collection.operator.CompiledExpression;
+import io.siddhi.core.util.snapshot.Snapshotable;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.annotation.Element;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.TableDefinition;
+import io.siddhi.query.api.expression.AttributeFunction;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
+import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.constant.Constant;
+import io.siddhi.query.api.expression.math.Add;
+import io.siddhi.query.api.expression.math.Divide;
+import io.siddhi.query.api.expression.math.Mod;
+import io.siddhi.query.api.expression.math.Multiply;
+import io.siddhi.query.api.expression.math.Subtract;
+import io.siddhi.query.api.util.AnnotationHelper;
+import org.apache.log4j.Logger;
+
+import java.beans.ExceptionListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers the writes of an {@link AbstractRecordTable} so that they reach the store as bulk operations. Writes are
+ * kept in their arrival order, consecutive writes of the same query are sent to the store in one call, and a write
+ * that fully overrides an earlier pending write of the same primary key replaces it. Pending writes are flushed on a
+ * background thread once the batch size is reached or the flush interval elapses, and synchronously before the table
+ * is read, before a snapshot is taken and when the table is shut down. When the store allows several calls in flight,
+ * consecutive adds or deletes are sent as concurrent calls of up to the batch size, while updates are only sent once
+ * all earlier writes are done, so that the writes of a key are applied in their arrival order.
+ */
+class RecordTableWriteBuffer implements Snapshotable {
+
+    private static final Logger log = Logger.getLogger(RecordTableWriteBuffer.class);
+
+    private final AbstractRecordTable recordTable;
+    private final int batchSize;
+    private final long flushInterval;
+    private final int maxPending;
+    private final int maxInFlight;
+    private final SiddhiAppContext siddhiAppContext;
+    private final String elementId;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (RecordTableWriteBuffer.this) {
+                flushScheduled = false;
+            }
+            flushPendingWrites();
+        }
+    };
+    private LinkedList<WriteOperation> pendingOperations = new LinkedList<>();
+    private int pendingWriteCount = 0;
+    private boolean flushScheduled = false;
+    private ScheduledFuture scheduledFuture;
+
+    RecordTableWriteBuffer(AbstractRecordTable recordTable, int batchSize, long flushInterval, int maxPending,
+                           int maxInFlight, SiddhiAppContext siddhiAppContext) {
+        this.recordTable = recordTable;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+        this.maxInFlight = maxInFlight;
+        this.siddhiAppContext = siddhiAppContext;
+        this.elementId = "RecordTableWriteBuffer-" + siddhiAppContext.getElementIdGenerator().createNewId();
+        siddhiAppContext.getSnapshotService().addSnapshotable(recordTable.getTableDefinition().getId(), this);
+    }
+
+    void start() {
+        if (scheduledFuture == null) {
+            ExecutorService executorService = siddhiAppContext.getExecutorService();
+            scheduledFuture = siddhiAppContext.getScheduledExecutorService().scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    executorService.execute(flushTask);
+                }
+            }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void stop() {
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduledFuture = null;
+        }
+        flushPendingWrites();
+        siddhiAppContext.getSnapshotService().removeSnapshotable(recordTable.getTableDefinition().getId(), this);
+    }
+
+    void add(long timestamp, List<Object[]> records) throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(WriteOperation.Type.ADD, null, null, false);
+        for (Object[] record : records) {
+            writeOperation.addWrite(null, null, record);
+        }
+        write(writeOperation, timestamp);
+    }
+
+    void delete(long timestamp, List<Map<String, Object>> deleteConditionParameterMaps,
+                CompiledCondition compiledCondition) throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(WriteOperation.Type.DELETE, compiledCondition, null,
+                false);
+        for (Map<String, Object> deleteConditionParameterMap : deleteConditionParameterMaps) {
+            writeOperation.addWrite(deleteConditionParameterMap, null, null);
+        }
+        write(writeOperation, timestamp);
+    }
+
+    void update(long timestamp, CompiledCondition compiledCondition,
+                List<Map<String, Object>> updateConditionParameterMaps,
+                LinkedHashMap<String, CompiledExpression> updateSetMap,
+                List<Map<String, Object>> updateSetParameterMaps, boolean collapsible)
+            throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(WriteOperation.Type.UPDATE, compiledCondition,
+                updateSetMap, collapsible);
+        for (int i = 0; i < updateConditionParameterMaps.size(); i++) {
+            writeOperation.addWrite(updateConditionParameterMaps.get(i), updateSetParameterMaps.get(i), null);
+        }
+        write(writeOperation, timestamp);
+    }
+
+    void updateOrAdd(long timestamp, CompiledCondition compiledCondition,
+                     List<Map<String, Object>> updateConditionParameterMaps,
+                     LinkedHashMap<String, CompiledExpression> updateSetMap,
+                     List<Map<String, Object>> updateSetParameterMaps, List<Object[]> addingRecords,
+                     boolean collapsible) throws ConnectionUnavailableException {
+        WriteOperation writeOperation = new WriteOperation(WriteOperation.Type.UPDATE_OR_ADD, compiledCondition,
+                updateSetMap, collapsible);
+        for (int i = 0; i < updateConditionParameterMaps.size(); i++) {
+            writeOperation.addWrite(updateConditionParameterMaps.get(i), updateSetParameterMaps.get(i),
+                    addingRecords.get(i));
+        }
+        write(writeOperation, timestamp);
+    }
+
+    private void write(WriteOperation writeOperation, long timestamp) throws ConnectionUnavailableException {
+        boolean flushNow;
+        synchronized (this) {
+            flushNow = pendingWriteCount >= maxPending;
+        }
+        if (flushNow) {
+            // Flushing before buffering the new writes, so that a retry after a connection failure does not
+            // buffer them twice
+            flush();
+        }
+        writeOperation.timestamp = timestamp;
+        boolean scheduleFlush = false;
+        synchronized (this) {
+            WriteOperation lastOperation = pendingOperations.peekLast();
+            if (lastOperation != null && lastOperation.canMerge(writeOperation)) {
+                pendingWriteCount += lastOperation.merge(writeOperation);
+            } else {
+                pendingOperations.add(writeOperation);
+                pendingWriteCount += writeOperation.size();
+            }
+            if (pendingWriteCount >= batchSize && !flushScheduled) {
+                flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+        if (scheduleFlush) {
+            siddhiAppContext.getExecutorService().execute(flushTask);
+        }
+    }
+
+    /**
+     * Sends all the pending writes to the store in their arrival order. Writes that could not be sent due to the
+     * store connection being unavailable stay pending.
+     *
+     * @throws ConnectionUnavailableException if the store connection is unavailable
+     */
+    void flush() throws ConnectionUnavailableException {
+        flushLock.lock();
+        try {
+            LinkedList<WriteOperation> writeOperations;
+            synchronized (this) {
+                if (pendingOperations.isEmpty()) {
+                    return;
+                }
+                writeOperations = pendingOperations;
+                pendingOperations = new LinkedList<>();
+                pendingWriteCount = 0;
+            }
+            while (!writeOperations.isEmpty()) {
+                List<WriteOperation> concurrentOperations = pollConcurrentOperations(writeOperations);
+                List<CompletableFuture<Void>> futures = new ArrayList<>(concurrentOperations.size());
+                for (int i = 0; i < concurrentOperations.size(); i++) {
+                    if (i >= maxInFlight) {
+                        futures.get(i - maxInFlight).handle((result, throwable) -> null).join();
+                    }
+                    futures.add(concurrentOperations.get(i).executeAsync(recordTable));
+                }
+                LinkedList<WriteOperation> failedOperations = new LinkedList<>();
+                ConnectionUnavailableException connectionUnavailableException = null;
+                for (int i = 0; i < futures.size(); i++) {
+                    WriteOperation writeOperation = concurrentOperations.get(i);
+                    try {
+                        AbstractRecordTable.awaitResult(futures.get(i));
+                    } catch (ConnectionUnavailableException e) {
+                        failedOperations.add(writeOperation);
+                        if (connectionUnavailableException == null) {
+                            connectionUnavailableException = e;
+                        }
+                    } catch (RuntimeException e) {
+                        onError(writeOperation, e);
+                    }
+                }
+                if (connectionUnavailableException != null) {
+                    failedOperations.addAll(writeOperations);
+                    synchronized (this) {
+                        failedOperations.addAll(pendingOperations);
+                        pendingOperations = failedOperations;
+                        pendingWriteCount = 0;
+                        for (WriteOperation pendingOperation : pendingOperations) {
+                            pendingWriteCount += pendingOperation.size();
+                        }
+                    }
+                    throw connectionUnavailableException;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next writes that can be sent to the store at the same time. These are the consecutive adds, or the
+     * consecutive deletes, split into calls of up to the batch size. Any other write is sent on its own.
+     */
+    private List<WriteOperation> pollConcurrentOperations(LinkedList<WriteOperation> writeOperations) {
+        WriteOperation writeOperation = writeOperations.removeFirst();
+        if (maxInFlight == 1 || !writeOperation.isCommutative()) {
+            return Collections.singletonList(writeOperation);
+        }
+        List<WriteOperation> concurrentOperations = new ArrayList<>(writeOperation.split(batchSize));
+        while (!writeOperations.isEmpty() && writeOperations.getFirst().type == writeOperation.type) {
+            concurrentOperations.addAll(writeOperations.removeFirst().split(batchSize));
+        }
+        return concurrentOperations;
+    }
+
+    /**
+     * Handles a write the store failed with an error other than the connection being unavailable. As there is no
+     * event of the caller to fail, the error is passed to the runtime exception listener of the Siddhi app, if any,
+     * and the write is dropped.
+     */
+    private void onError(WriteOperation writeOperation, RuntimeException e) {
+        ExceptionListener exceptionListener = siddhiAppContext.getRuntimeExceptionListener();
+        if (exceptionListener != null) {
+            exceptionListener.exceptionThrown(e);
+        }
+        log.error("Error on '" + siddhiAppContext.getName() + "' while writing " + writeOperation.size() +
+                " buffered " + writeOperation.type + " events to Table '" + recordTable.getTableDefinition().getId() +
+                "', " + e.getMessage() + ". Hence, dropping them.", e);
+    }
+
+    private void flushPendingWrites() {
+        try {
+            flush();
+        } catch (ConnectionUnavailableException e) {
+            log.error("Connection unavailable at Table '" + recordTable.getTableDefinition().getId() +
+                    "' of '" + siddhiAppContext.getName() + "' while writing buffered events, they will be " +
+                    "retried on the next flush.", e);
+        }
+    }
+
+    /**
+     * Flushes the pending writes so that the store is consistent with the snapshot being taken.
+     *
+     * @return null as there is no state to be persisted
+     */
+    @Override
+    public Map<String, Object> currentState() {
+        flushPendingWrites();
+        return null;
+    }
+
+    @Override
+    public void restoreState(Map<String, Object> state) {
+        //Nothing to be done
+    }
+
+    @Override
+    public String getElementId() {
+        return elementId;
+    }
+
+    @Override
+    public void clean() {
+        //Nothing to be done
+    }
+
+    /**
+     * @param tableDefinition definition of the table
+     * @return the @WriteBatch annotation nested in the @Store annotation of the table, or null if there is none
+     */
+    static Annotation getWriteBatchAnnotation(TableDefinition tableDefinition) {
+        Annotation storeAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_STORE,
+                tableDefinition.getAnnotations());
+        if (storeAnnotation == null) {
+            return null;
+        }
+        return AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_WRITE_BATCH,
+                storeAnnotation.getAnnotations());
+    }
+
+    /**
+     * Finds the expressions the primary key attributes of the table are matched with, when the condition matches rows
+     * by their complete primary key and with values that only depend on the matching event.
+     *
+     * @param condition                the update condition
+     * @param tableDefinition          definition of the table
+     * @param matchingStreamDefinition definition of the matching event
+     * @return the expression of each primary key attribute, or null if the condition is not a primary key match
+     */
+    static Map<String, Expression> getPrimaryKeyExpressions(Expression condition, TableDefinition tableDefinition,
+                                                           AbstractDefinition matchingStreamDefinition) {
+        Annotation primaryKeyAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PRIMARY_KEY,
+                tableDefinition.getAnnotations());
+        if (primaryKeyAnnotation == null || condition == null) {
+            return null;
+        }
+        List<Expression> conjunctions = new ArrayList<>();
+        collectConjunctions(condition, conjunctions);
+        Map<String, Expression> primaryKeyExpressions = new HashMap<>();
+        for (Expression conjunction : conjunctions) {
+            if (!(conjunction instanceof Compare) ||
+                    ((Compare) conjunction).getOperator() != Compare.Operator.EQUAL) {
+                return null;
+            }
+            Compare compare = (Compare) conjunction;
+            Variable tableVariable;
+            Expression valueExpression;
+            if (isTableVariable(compare.getLeftExpression(), tableDefinition)) {
+                tableVariable = (Variable) compare.getLeftExpression();
+                valueExpression = compare.getRightExpression();
+            } else if (isTableVariable(compare.getRightExpression(), tableDefinition)) {
+                tableVariable = (Variable) compare.getRightExpression();
+                valueExpression = compare.getLeftExpression();
+            } else {
+                return null;
+            }
+            if (!isStreamExpression(valueExpression, matchingStreamDefinition) ||
+                    primaryKeyExpressions.put(tableVariable.getAttributeName(), valueExpression) != null) {
+                return null;
+            }
+        }
+        if (primaryKeyExpressions.size() != primaryKeyAnnotation.getElements().size()) {
+            return null;
+        }
+        for (Element element : primaryKeyAnnotation.getElements()) {
+            if (!primaryKeyExpressions.containsKey(element.getValue().trim())) {
+                return null;
+            }
+        }
+        return primaryKeyExpressions;
+    }
+
+    /**
+     * Checks whether the set expressions of an update only depend on the matching event.
+     *
+     * @param setExpressions           expressions assigned to each updated attribute
+     * @param matchingStreamDefinition definition of the matching event
+     * @return true if none of the expressions reads the table
+     */
+    static boolean isStreamSet(Map<String, Expression> setExpressions, AbstractDefinition matchingStreamDefinition) {
+        for (Expression setExpression : setExpressions.values()) {
+            if (!isStreamExpression(setExpression, matchingStreamDefinition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a pending update can be replaced by a later update of the same query with the same condition
+     * parameters. This holds when both match the same row by its complete primary key, the update does not change
+     * that key and the updated values do not depend on the row. An update or add should also assign every attribute
+     * from the same attribute of the event, so that adding the event and updating the row to it end up alike.
+     *
+     * @param primaryKeyExpressions the primary key expressions of the condition, null if not a primary key match
+     * @param setExpressions        the set expressions, null if they read the table
+     * @param tableDefinition       definition of the table
+     * @param updateOrAdd           whether the update adds the event when no row matches
+     * @return true if the later update fully overrides the earlier one
+     */
+    static boolean isCollapsible(Map<String, Expression> primaryKeyExpressions,
+                                 Map<String, Expression> setExpressions, TableDefinition tableDefinition,
+                                 boolean updateOrAdd) {
+        if (primaryKeyExpressions == null || setExpressions == null) {
+            return false;
+        }
+        for (Map.Entry<String, Expression> entry : setExpressions.entrySet()) {
+            Expression primaryKeyExpression = primaryKeyExpressions.get(entry.getKey());
+            if (primaryKeyExpression != null && !primaryKeyExpression.equals(entry.getValue())) {
+                return false;
+            }
+        }
+        if (updateOrAdd) {
+            for (Attribute attribute : tableDefinition.getAttributeList()) {
+                Expression setExpression = setExpressions.get(attribute.getName());
+                if (!(setExpression instanceof Variable) ||
+                        !attribute.getName().equals(((Variable) setExpression).getAttributeName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void collectConjunctions(Expression expression, List<Expression> conjunctions) {
+        if (expression instanceof And) {
+            collectConjunctions(((And) expression).getLeftExpression(), conjunctions);
+            collectConjunctions(((And) expression).getRightExpression(), conjunctions);
+        } else {
+            conjunctions.add(expression);
+        }
+    }
+
+    private static boolean isTableVariable(Expression expression, TableDefinition tableDefinition) {
+        if (!(expression instanceof Variable)) {
+            return false;
+        }
+        Variable variable = (Variable) expression;
+        return tableDefinition.getId().equals(variable.getStreamId()) && isPlainVariable(variable) &&
+                hasAttribute(tableDefinition, variable.getAttributeName());
+    }
+
+    private static boolean isStreamExpression(Expression expression, AbstractDefinition matchingStreamDefinition) {
+        if (expression instanceof Constant) {
+            return true;
+        } else if (expression instanceof Variable) {
+            Variable variable = (Variable) expression;
+            return variable.getStreamId() == null && isPlainVariable(variable) &&
+                    hasAttribute(matchingStreamDefinition, variable.getAttributeName());
+        } else if (expression instanceof Add) {
+            return isStreamExpression(((Add) expression).getLeftValue(), matchingStreamDefinition) &&
+                    isStreamExpression(((Add) expression).getRightValue(), matchingStreamDefinition);
+        } else if (expression instanceof Subtract) {
+            return isStreamExpression(((Subtract) expression).getLeftValue(), matchingStreamDefinition) &&
+                    isStreamExpression(((Subtract) expression).getRightValue(), matchingStreamDefinition);
+        } else if (expression instanceof Multiply) {
+            return isStreamExpression(((Multiply) expression).getLeftValue(), matchingStreamDefinition) &&
+                    isStreamExpression(((Multiply) expression).getRightValue(), matchingStreamDefinition);
+        } else if (expression instanceof Divide) {
+            return isStreamExpression(((Divide) expression).getLeftValue(), matchingStreamDefinition) &&
+                    isStreamExpression(((Divide) expression).getRightValue(), matchingStreamDefinition);
+        } else if (expression instanceof Mod) {
+            return isStreamExpression(((Mod) expression).getLeftValue(), matchingStreamDefinition) &&
+                    isStreamExpression(((Mod) expression).getRightValue(), matchingStreamDefinition);
+        } else if (expression instanceof AttributeFunction) {
+            Expression[] parameters = ((AttributeFunction) expression).getParameters();
+            if (parameters != null) {
+                for (Expression parameter : parameters) {
+                    if (!isStreamExpression(parameter, matchingStreamDefinition)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isPlainVariable(Variable variable) {
+        return !variable.isInnerStream() && variable.getStreamIndex() == null && variable.getFunctionId() == null;
+    }
+
+    private static boolean hasAttribute(AbstractDefinition definition, String attributeName) {
+        for (Attribute attribute : definition.getAttributeList()) {
+            if (attribute.getName().equals(attributeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes of one kind issued by the same query, that are sent to the store in one call.
+     */
+    private static class WriteOperation {
+
+        private final Type type;
+        private final CompiledCondition compiledCondition;
+        private final LinkedHashMap<String, CompiledExpression> updateSetMap;
+        private final Map<Map<String, Object>, Integer> conditionParameterMapPositions;
+        private final List<Map<String, Object>> conditionParameterMaps = new ArrayList<>();
+        private final List<Map<String, Object>> updateSetParameterMaps = new ArrayList<>();
+        private final List<Object[]> records = new ArrayList<>();
+        private long timestamp;
+        private int size = 0;
+
+        WriteOperation(Type type, CompiledCondition compiledCondition,
+                       LinkedHashMap<String, CompiledExpression> updateSetMap, boolean collapsible) {
+            this.type = type;
+            this.compiledCondition = compiledCondition;
+            this.updateSetMap = updateSetMap;
+            this.conditionParameterMapPositions = collapsible ? new HashMap<>() : null;
+        }
+
+        /**
+         * @return 1 if the write is added, 0 if it replaced a pending write of the same condition parameters
+         */
+        int addWrite(Map<String, Object> conditionParameterMap, Map<String, Object> updateSetParameterMap,
+                     Object[] record) {
+            if (conditionParameterMapPositions != null && !conditionParameterMap.containsValue(null)) {
+                Integer position = conditionParameterMapPositions.putIfAbsent(conditionParameterMap, size);
+                if (position != null) {
+                    updateSetParameterMaps.set(position, updateSetParameterMap);
+                    records.set(position, record);
+                    return 0;
+                }
+            }
+            conditionParameterMaps.add(conditionParameterMap);
+            updateSetParameterMaps.add(updateSetParameterMap);
+            records.add(record);
+            size++;
+            return 1;
+        }
+
+        boolean canMerge(WriteOperation writeOperation) {
+            return type == writeOperation.type && compiledCondition == writeOperation.compiledCondition &&
+                    updateSetMap == writeOperation.updateSetMap &&
+                    (conditionParameterMapPositions == null) == (writeOperation.conditionParameterMapPositions == null);
+        }
+
+        int merge(WriteOperation writeOperation) {
+            int added = 0;
+            for (int i = 0; i < writeOperation.size; i++) {
+                added += addWrite(writeOperation.conditionParameterMaps.get(i),
+                        writeOperation.updateSetParameterMaps.get(i), writeOperation.records.get(i));
+            }
+            timestamp = writeOperation.timestamp;
+            return added;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return true if the writes give the same result when sent in any order, as with adds or deletes
+         */
+        boolean isCommutative() {
+            return type == Type.ADD || type == Type.DELETE;
+        }
+
+        /**
+         * @return write operations of up to the given size, that together perform the same writes
+         */
+        List<WriteOperation> split(int maxSize) {
+            if (size <= maxSize) {
+                return Collections.singletonList(this);
+            }
+            List<WriteOperation> writeOperations = new ArrayList<>();
+            for (int from = 0; from < size; from += maxSize) {
+                WriteOperation writeOperation = new WriteOperation(type, compiledCondition, updateSetMap, false);
+                int to = Math.min(from + maxSize, size);
+                writeOperation.conditionParameterMaps.addAll(conditionParameterMaps.subList(from, to));
+                writeOperation.updateSetParameterMaps.addAll(updateSetParameterMaps.subList(from, to));
+                writeOperation.records.addAll(records.subList(from, to));
+                writeOperation.size = to - from;
+                writeOperation.timestamp = timestamp;
+                writeOperations.add(writeOperation);
+            }
+            return writeOperations;
+        }
+
+        CompletableFuture<Void> executeAsync(AbstractRecordTable recordTable) {
+            try {
+                switch (type) {
+                    case ADD:
+                        return recordTable.addRecordsAsync(timestamp, records);
+                    case DELETE:
+                        return recordTable.deleteRecordsAsync(timestamp, conditionParameterMaps, compiledCondition);
+                    case UPDATE:
+                        return recordTable.updateRecordsAsync(timestamp, compiledCondition, conditionParameterMaps,
+                                updateSetMap, updateSetParameterMaps);
+                    case UPDATE_OR_ADD:
+                        return recordTable.updateOrAddRecordsAsync(timestamp, compiledCondition,
+                                conditionParameterMaps, updateSetMap, updateSetParameterMaps, records);
+                    default:
+                        throw new IllegalStateException("Unknown write type " + type);
+                }
+            } catch (RuntimeException e) {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+                return future;
+            }
+        }
+
+        /**
+         * Kinds of writes
+         */
+        enum Type {
+            ADD, DELETE, UPDATE, UPDATE_OR_ADD
+        }
+    }
+}
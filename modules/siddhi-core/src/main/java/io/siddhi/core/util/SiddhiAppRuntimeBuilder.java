@@ -111,7 +111,8 @@ public class SiddhiAppRuntimeBuilder {
             ExceptionUtil.populateQueryContext(t, streamDefinition, siddhiAppContext);
             throw t;
         }
-        DefinitionParserHelper.addEventSource(streamDefinition, sourceMap, siddhiAppContext);
+        DefinitionParserHelper.addEventSource(streamDefinition, streamJunctionMap.get(streamDefinition.getId()),
+                sourceMap, siddhiAppContext);
         DefinitionParserHelper.addEventSink(streamDefinition, sinkMap, siddhiAppContext);
     }
 
@@ -201,7 +202,7 @@ public class SiddhiAppRuntimeBuilder {
 
             if (outputStreamJunction == null) {
                 outputStreamJunction = new StreamJunction(streamDefinition,
-                        siddhiAppContext.getExecutorService(),
+                        siddhiAppContext.getStreamJunctionExecutorService(),
                         siddhiAppContext.getBufferSize(), null, siddhiAppContext);
                 streamJunctionMap.putIfAbsent(streamDefinition.getId(), outputStreamJunction);
             }
@@ -217,7 +218,7 @@ public class SiddhiAppRuntimeBuilder {
 
             if (outputStreamJunction == null) {
                 outputStreamJunction = new StreamJunction(streamDefinition,
-                        siddhiAppContext.getExecutorService(),
+                        siddhiAppContext.getStreamJunctionExecutorService(),
                         siddhiAppContext.getBufferSize(), null, siddhiAppContext);
                 streamJunctionMap.putIfAbsent(streamDefinition.getId(), outputStreamJunction);
             }
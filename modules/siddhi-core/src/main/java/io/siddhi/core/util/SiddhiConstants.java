@@ -59,6 +59,7 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_INDEX = "Index";
     public static final String ANNOTATION_PRIMARY_KEY = "PrimaryKey";
     public static final String ANNOTATION_STORE = "Store";
+    public static final String ANNOTATION_WRITE_BATCH = "WriteBatch";
     public static final String ANNOTATION_SOURCE = "Source";
     public static final String ANNOTATION_SINK = "Sink";
     public static final String ANNOTATION_MAP = "Map";
@@ -72,13 +73,21 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_MAX_BATCH_SIZE = "batch.size.max";
     public static final String ANNOTATION_ELEMENT_IDLE_TIME = "idle.time";
     public static final String ANNOTATION_ELEMENT_INCREMENT = "increment";
+    public static final String ANNOTATION_ELEMENT_SIZE = "size";
+    public static final String ANNOTATION_ELEMENT_INTERVAL = "interval";
+    public static final String ANNOTATION_ELEMENT_MAX_PENDING = "max.pending";
+    public static final String ANNOTATION_ELEMENT_MAX_IN_FLIGHT = "max.in.flight";
     public static final String ANNOTATION_ELEMENT_TYPE = "type";
     public static final String ANNOTATION_BUFFER_SIZE = "BufferSize";
     public static final String ANNOTATION_IGNORE_EVENTS_OLDER_THAN_BUFFER = "IgnoreEventsOlderThanBuffer";
     public static final String ANNOTATION_ELEMENT_REF = "ref";
     public static final String ANNOTATION_ELEMENT_ENABLE = "enable";
     public static final String ANNOTATION_ELEMENT_INCLUDE = "include";
+    public static final String ANNOTATION_ELEMENT_TRACE_SAMPLE_INTERVAL = "trace.sample.interval";
+    public static final String ANNOTATION_ELEMENT_HOT_KEY_SAMPLE_INTERVAL = "hot.key.sample.interval";
+    public static final String ANNOTATION_ELEMENT_HOT_KEYS = "hot.keys";
     public static final String ANNOTATION_PARTITION_BY_ID = "PartitionById";
+    public static final String ANNOTATION_RESULT_CACHE = "ResultCache";
 
     public static final String TRUE = "true";
     public static final String TRIGGER_START = "start";
@@ -99,18 +108,22 @@ public final class SiddhiConstants {
     public static final String METRIC_INFIX_TRIGGERS = "Trigger";
     public static final String METRIC_INFIX_SIDDHI = "Siddhi";
     public static final String METRIC_INFIX_QUERIES = "Queries";
+    public static final String METRIC_INFIX_PARTITIONS = "Partitions";
     public static final String METRIC_INFIX_AGGREGATIONS = "Aggregations";
     public static final String METRIC_INFIX_WINDOWS = "Windows";
     public static final String METRIC_INFIX_SOURCES = "Sources";
     public static final String METRIC_INFIX_SOURCE_MAPPERS = "SourceMappers";
     public static final String METRIC_INFIX_SINKS = "Sinks";
     public static final String METRIC_INFIX_SINK_MAPPERS = "SinkMappers";
+    public static final String METRIC_INFIX_SNAPSHOTS = "Snapshots";
     public static final String METRIC_TYPE_FIND = "find";
     public static final String METRIC_TYPE_INSERT = "insert";
     public static final String METRIC_TYPE_UPDATE = "update";
     public static final String METRIC_TYPE_DELETE = "delete";
     public static final String METRIC_TYPE_UPDATE_OR_INSERT = "updateOrInsert";
     public static final String METRIC_TYPE_CONTAINS = "contains";
+    public static final String METRIC_TYPE_END_TO_END = "endToEnd";
+    public static final String METRIC_TYPE_QUEUE_WAIT = "queueWait";
     public static final String METRIC_DELIMITER = ".";
     public static final String METRIC_AGGREGATE_ANNOTATION = "[+]";
     public static final String EXTENSION_SEPARATOR = ":";
@@ -18,6 +18,7 @@
 
 package io.siddhi.core.util.collection.operator;
 
+import io.siddhi.core.aggregation.AggregationResultCache;
 import io.siddhi.core.aggregation.IncrementalDataAggregator;
 import io.siddhi.core.aggregation.IncrementalExecutor;
 import io.siddhi.core.aggregation.IncrementalExternalTimestampDataAggregator;
@@ -39,6 +40,7 @@ import io.siddhi.query.api.definition.AggregationDefinition;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.exception.SiddhiAppValidationException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +68,7 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
     private ExpressionExecutor perExpressionExecutor;
     private ExpressionExecutor startTimeEndTimeExpressionExecutor;
     private boolean isProcessingOnExternalTime;
+    private AggregationResultCache aggregationResultCache;
 
     public IncrementalAggregateCompileCondition(
             Map<TimePeriod.Duration, CompiledCondition> withinTableCompiledConditions,
@@ -73,7 +76,7 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
             MetaStreamEvent tableMetaStreamEvent, MetaStreamEvent aggregateMetaSteamEvent,
             List<Attribute> additionalAttributes, MatchingMetaInfoHolder alteredMatchingMetaInfoHolder,
             ExpressionExecutor perExpressionExecutor, ExpressionExecutor startTimeEndTimeExpressionExecutor,
-            boolean isProcessingOnExternalTime) {
+            boolean isProcessingOnExternalTime, AggregationResultCache aggregationResultCache) {
         this.withinTableCompiledConditions = withinTableCompiledConditions;
         this.inMemoryStoreCompileCondition = inMemoryStoreCompileCondition;
         this.onCompiledCondition = onCompiledCondition;
@@ -90,6 +93,7 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
         this.perExpressionExecutor = perExpressionExecutor;
         this.startTimeEndTimeExpressionExecutor = startTimeEndTimeExpressionExecutor;
         this.isProcessingOnExternalTime = isProcessingOnExternalTime;
+        this.aggregationResultCache = aggregationResultCache;
     }
 
     @Override
@@ -102,7 +106,7 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
                 inMemoryStoreCompileCondition.cloneCompilation(key),
                 onCompiledCondition.cloneCompilation(key), tableMetaStreamEvent, aggregateMetaStreamEvent,
                 additionalAttributes, alteredMatchingMetaInfoHolder, perExpressionExecutor,
-                startTimeEndTimeExpressionExecutor, isProcessingOnExternalTime);
+                startTimeEndTimeExpressionExecutor, isProcessingOnExternalTime, aggregationResultCache);
     }
 
     public StreamEvent find(StateEvent matchingEvent, AggregationDefinition aggregationDefinition,
@@ -148,9 +152,14 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
         complexEventPopulater.populateComplexEvent(matchingEvent.getStreamEvent(0), startTimeEndTime);
 
         // Get all the aggregates within the given duration, from table corresponding to "per" duration
-        StreamEvent withinMatchFromPersistedEvents = tableForPerDuration.find(matchingEvent,
-                withinTableCompiledConditions.get(perValue));
-        complexEventChunkToHoldWithinMatches.add(withinMatchFromPersistedEvents);
+        if (aggregationResultCache != null) {
+            findPersistedEvents(matchingEvent, tableForPerDuration, perValue, startTimeEndTime,
+                    complexEventChunkToHoldWithinMatches);
+        } else {
+            StreamEvent withinMatchFromPersistedEvents = tableForPerDuration.find(matchingEvent,
+                    withinTableCompiledConditions.get(perValue));
+            complexEventChunkToHoldWithinMatches.add(withinMatchFromPersistedEvents);
+        }
 
         // Optimization step.
         long oldestInMemoryEventTimestamp = getOldestInMemoryEventTimestamp(incrementalExecutorMap,
@@ -211,6 +220,56 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
                 aggregateEventCloner);
     }
 
+    private void findPersistedEvents(StateEvent matchingEvent, Table tableForPerDuration,
+                                     TimePeriod.Duration perValue, Long[] startTimeEndTime,
+                                     ComplexEventChunk<StreamEvent> complexEventChunkToHoldWithinMatches) {
+        long startTime = startTimeEndTime[0];
+        long endTime = startTimeEndTime[1];
+        // Only the aggregates of the closed buckets are cached, the rest are always read from the table
+        long cacheableEndTime = Math.min(endTime, aggregationResultCache.getClosedTime(perValue));
+        if (cacheableEndTime <= startTime) {
+            complexEventChunkToHoldWithinMatches.add(tableForPerDuration.find(matchingEvent,
+                    withinTableCompiledConditions.get(perValue)));
+            return;
+        }
+        long version = aggregationResultCache.getVersion();
+
+        // Serve the cached part of the duration from the cache, and read only the rest from the table
+        long readStartTime = startTime;
+        AggregationResultCache.CachedEvents cachedEvents = aggregationResultCache.getEvents(perValue, startTime,
+                cacheableEndTime);
+        if (cachedEvents != null) {
+            for (StreamEvent cachedEvent : cachedEvents.getEvents()) {
+                complexEventChunkToHoldWithinMatches.add(tableEventCloner.copyStreamEvent(cachedEvent));
+            }
+            readStartTime = cachedEvents.getEndTime();
+        }
+        if (readStartTime >= endTime) {
+            return;
+        }
+
+        complexEventPopulater.populateComplexEvent(matchingEvent.getStreamEvent(0),
+                new Long[]{readStartTime, endTime});
+        StreamEvent withinMatchFromPersistedEvents = tableForPerDuration.find(matchingEvent,
+                withinTableCompiledConditions.get(perValue));
+        complexEventPopulater.populateComplexEvent(matchingEvent.getStreamEvent(0), startTimeEndTime);
+
+        List<StreamEvent> eventsToCache = new ArrayList<>();
+        for (StreamEvent streamEvent = withinMatchFromPersistedEvents; streamEvent != null;
+             streamEvent = streamEvent.getNext()) {
+            if (readStartTime < cacheableEndTime &&
+                    aggregationResultCache.getTimestamp(streamEvent) < cacheableEndTime) {
+                eventsToCache.add(tableEventCloner.copyStreamEvent(streamEvent));
+            }
+        }
+        if (withinMatchFromPersistedEvents != null) {
+            complexEventChunkToHoldWithinMatches.add(withinMatchFromPersistedEvents);
+        }
+        if (readStartTime < cacheableEndTime) {
+            aggregationResultCache.addEvents(perValue, readStartTime, cacheableEndTime, eventsToCache, version);
+        }
+    }
+
     private ComplexEventChunk<StreamEvent> createAggregateSelectionEventChunk(
             ComplexEventChunk<StreamEvent> complexEventChunkToHoldMatches,
             List<ExpressionExecutor> outputExpressionExecutors) {
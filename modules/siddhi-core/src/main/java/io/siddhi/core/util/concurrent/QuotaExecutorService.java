@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.concurrent;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor service of a Siddhi App, which runs the tasks on an executor shared by the Siddhi Apps, while limiting
+ * the number of tasks of the Siddhi App running in parallel to the given quota. The remaining tasks wait in a queue
+ * of the Siddhi App, hence a Siddhi App cannot occupy all the threads of the shared executor. Shutting down the
+ * executor service only affects the tasks of the Siddhi App.
+ */
+public class QuotaExecutorService extends AbstractExecutorService {
+
+    private static final Logger log = Logger.getLogger(QuotaExecutorService.class);
+
+    private final Executor sharedExecutor;
+    private final int quota;
+    private final Queue<Runnable> taskQueue = new ArrayDeque<>();
+    private final Set<ActiveTask> activeTasks = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+    private int runningTasks = 0;
+    private volatile boolean shutdown = false;
+
+    public QuotaExecutorService(Executor sharedExecutor, int quota) {
+        this.sharedExecutor = sharedExecutor;
+        this.quota = Math.max(1, quota);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor service is shutdown, hence cannot execute " +
+                        command);
+            }
+            if (runningTasks >= quota) {
+                taskQueue.add(command);
+                return;
+            }
+            runningTasks++;
+        }
+        dispatch(command);
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            sharedExecutor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            synchronized (lock) {
+                runningTasks--;
+                lock.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        ActiveTask activeTask = new ActiveTask(Thread.currentThread());
+        activeTasks.add(activeTask);
+        try {
+            task.run();
+        } catch (Throwable t) {
+            log.error("Error occurred while executing " + task + ", " + t.getMessage(), t);
+        } finally {
+            activeTask.finish();
+            activeTasks.remove(activeTask);
+            // Clear the interrupt raised by shutdownNow, as the shared thread is reused by other Siddhi Apps
+            Thread.interrupted();
+        }
+        Runnable nextTask;
+        synchronized (lock) {
+            nextTask = taskQueue.poll();
+            if (nextTask == null) {
+                runningTasks--;
+                lock.notifyAll();
+                return;
+            }
+        }
+        // The next task is dispatched instead of being run on this thread, so that the tasks of the other Siddhi
+        // Apps waiting in the shared executor get their turn
+        try {
+            dispatch(nextTask);
+        } catch (RejectedExecutionException e) {
+            log.error("Error occurred while executing " + nextTask + ", as the shared executor is shutdown", e);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pendingTasks;
+        synchronized (lock) {
+            shutdown = true;
+            pendingTasks = new ArrayList<>(taskQueue);
+            taskQueue.clear();
+            lock.notifyAll();
+        }
+        for (ActiveTask activeTask : activeTasks) {
+            activeTask.interrupt();
+        }
+        return pendingTasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return shutdown && runningTasks == 0;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            while (!(shutdown && runningTasks == 0)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A task of the Siddhi App running on a thread of the shared executor. The thread is only interrupted while it
+     * runs the task, so that shutting down the executor service never interrupts the tasks of other Siddhi Apps that
+     * later run on the same thread.
+     */
+    private static class ActiveTask {
+
+        private final Thread thread;
+        private boolean running = true;
+
+        ActiveTask(Thread thread) {
+            this.thread = thread;
+        }
+
+        synchronized void interrupt() {
+            if (running) {
+                thread.interrupt();
+            }
+        }
+
+        synchronized void finish() {
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled executor service of a Siddhi App, which uses a scheduler shared by the Siddhi Apps only to wait for
+ * the due time of the tasks, and runs the due tasks on the shared executor within the quota of the Siddhi App.
+ * Periodic tasks are rescheduled only after the previous run completes, hence the runs of a task never overlap.
+ * Shutting down the scheduled executor service cancels the scheduled tasks of the Siddhi App.
+ */
+public class QuotaScheduledExecutorService extends QuotaExecutorService implements ScheduledExecutorService {
+
+    private final ScheduledExecutorService sharedScheduler;
+    private final Set<ScheduledTask<?>> scheduledTasks = ConcurrentHashMap.newKeySet();
+
+    public QuotaScheduledExecutorService(ScheduledExecutorService sharedScheduler, Executor sharedExecutor,
+                                         int quota) {
+        super(sharedExecutor, quota);
+        this.sharedScheduler = sharedScheduler;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(new ScheduledTask<>(Executors.callable(command, null), 0), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(new ScheduledTask<>(callable, 0), delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+                                                  TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period should be positive, but found " + period);
+        }
+        return schedule(new ScheduledTask<>(Executors.callable(command, null), unit.toNanos(period)),
+                initialDelay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                                                     TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay should be positive, but found " + delay);
+        }
+        return schedule(new ScheduledTask<>(Executors.callable(command, null), -unit.toNanos(delay)),
+                initialDelay, unit);
+    }
+
+    private <V> ScheduledTask<V> schedule(ScheduledTask<V> task, long delay, TimeUnit unit) {
+        if (isShutdown()) {
+            throw new RejectedExecutionException("Scheduled executor service is shutdown, hence cannot schedule " +
+                    "new tasks");
+        }
+        scheduledTasks.add(task);
+        task.scheduleAt(System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        return task;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> pendingTasks = super.shutdownNow();
+        for (ScheduledTask<?> task : new ArrayList<>(scheduledTasks)) {
+            task.cancel(false);
+        }
+        return pendingTasks;
+    }
+
+    /**
+     * Task scheduled on the shared scheduler, which runs on the shared executor within the quota.
+     *
+     * @param <V> type of the result of the task
+     */
+    private class ScheduledTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        /**
+         * Positive for fixed rate, negative for fixed delay and zero for one-shot tasks, in nanoseconds.
+         */
+        private final long period;
+        private volatile long time;
+        private volatile ScheduledFuture<?> trigger;
+
+        ScheduledTask(Callable<V> callable, long period) {
+            super(callable);
+            this.period = period;
+        }
+
+        private void scheduleAt(long time) {
+            this.time = time;
+            trigger = sharedScheduler.schedule(this::submit, time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private void submit() {
+            try {
+                execute(this);
+            } catch (RejectedExecutionException e) {
+                cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (period == 0) {
+                super.run();
+            } else if (runAndReset() && !isShutdown()) {
+                try {
+                    scheduleAt(period > 0 ? time + period : System.nanoTime() - period);
+                } catch (RejectedExecutionException e) {
+                    cancel(false);
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            scheduledTasks.remove(this);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            ScheduledFuture<?> trigger = this.trigger;
+            if (trigger != null) {
+                trigger.cancel(false);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
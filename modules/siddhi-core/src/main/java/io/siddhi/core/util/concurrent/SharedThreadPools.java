@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.siddhi.core.config.ExecutionConfiguration;
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread pools shared by the Siddhi Apps of a Siddhi Manager, as configured by the {@link ExecutionConfiguration}.
+ * Each Siddhi App gets its own executor services on top of the shared pools, which limit the threads the Siddhi App
+ * can occupy to its quota, and which can be shutdown without affecting the other Siddhi Apps.
+ */
+public class SharedThreadPools {
+
+    private static final Logger log = Logger.getLogger(SharedThreadPools.class);
+
+    private final ExecutionConfiguration executionConfiguration;
+    private final ExecutorService executor;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public SharedThreadPools(ExecutionConfiguration executionConfiguration) {
+        this.executionConfiguration = executionConfiguration;
+        ThreadFactory virtualThreadFactory = null;
+        if (executionConfiguration.isVirtualThreadsEnabled()) {
+            virtualThreadFactory = createVirtualThreadFactory("Siddhi-executor-virtual-thread-");
+        }
+        if (virtualThreadFactory != null) {
+            executor = new ThreadPerTaskExecutorService(virtualThreadFactory);
+        } else {
+            ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+                    executionConfiguration.getExecutorPoolSize(), executionConfiguration.getExecutorPoolSize(),
+                    60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new ThreadFactoryBuilder().setNameFormat("Siddhi-executor-thread-%d").build());
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executor = threadPoolExecutor;
+        }
+        scheduler = new ScheduledThreadPoolExecutor(executionConfiguration.getSchedulerPoolSize(),
+                new ThreadFactoryBuilder().setNameFormat("Siddhi-scheduler-thread-%d").build());
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public ExecutorService createExecutorService() {
+        return createExecutorService(executionConfiguration.getAppExecutorQuota());
+    }
+
+    /**
+     * Creates an executor service running at most the given number of tasks in parallel on the shared executor.
+     *
+     * @param quota maximum number of tasks run in parallel
+     * @return the executor service
+     */
+    public ExecutorService createExecutorService(int quota) {
+        return new QuotaExecutorService(executor, quota);
+    }
+
+    public ScheduledExecutorService createScheduledExecutorService() {
+        return new QuotaScheduledExecutorService(scheduler, executor, executionConfiguration.getAppSchedulerQuota());
+    }
+
+    /**
+     * Creates the executor service used to run the consumers of the async stream junctions of a Siddhi App. As the
+     * consumers run until the Siddhi App is shutdown, each of them gets a dedicated (virtual, when enabled) thread.
+     *
+     * @param siddhiAppName name of the Siddhi App
+     * @return executor service for the stream junction consumers
+     */
+    public ExecutorService createStreamJunctionExecutorService(String siddhiAppName) {
+        ThreadFactory threadFactory = null;
+        if (executionConfiguration.isVirtualThreadsEnabled()) {
+            threadFactory = createVirtualThreadFactory("Siddhi-" + siddhiAppName + "-junction-virtual-thread-");
+        }
+        if (threadFactory == null) {
+            threadFactory = new ThreadFactoryBuilder().setNameFormat("Siddhi-" + siddhiAppName +
+                    "-junction-thread-%d").build();
+        }
+        return new ThreadPerTaskExecutorService(threadFactory);
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    /**
+     * Creates a factory of named virtual threads through reflection, as virtual threads are only available from
+     * Java 21 onwards.
+     *
+     * @param namePrefix prefix of the thread names
+     * @return the thread factory, or null if the Java runtime does not support virtual threads
+     */
+    private static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            Method factoryMethod = builderClass.getMethod("factory");
+            return (ThreadFactory) factoryMethod.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Virtual threads are not supported by the Java runtime '" +
+                    System.getProperty("java.version") + "', hence using platform threads.");
+            return null;
+        }
+    }
+}
@@ -29,6 +29,7 @@ public class EventExchangeHolder {
 
     private AtomicBoolean processed = new AtomicBoolean(false);
     private Event event;
+    private long publishTimestamp = -1;
 
     public EventExchangeHolder(int dataSize) {
         this.event = new Event(dataSize);
@@ -38,6 +39,18 @@ public class EventExchangeHolder {
         return event;
     }
 
+    /**
+     * @return the time in nanoseconds at which the traced event was published to the junction, or -1 if the event
+     * is not traced
+     */
+    public long getPublishTimestamp() {
+        return publishTimestamp;
+    }
+
+    public void setPublishTimestamp(long publishTimestamp) {
+        this.publishTimestamp = publishTimestamp;
+    }
+
     public boolean getAndSetIsProcessed(boolean isProcessed) {
         return processed.getAndSet(isProcessed);
     }
@@ -20,7 +20,9 @@ package io.siddhi.core.util.event.handler;
 
 import com.lmax.disruptor.EventHandler;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.PredicateIndex;
 import io.siddhi.core.stream.StreamJunction;
+import io.siddhi.core.util.statistics.LatencyTracker;
 import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
@@ -38,13 +40,16 @@ public class StreamHandler implements EventHandler<EventExchangeHolder> {
     private final StreamJunction faultStreamJunction;
     private final StreamJunction.OnErrorAction onErrorAction;
     private final ExceptionListener exceptionListener;
+    private final PredicateIndex predicateIndex;
+    private final LatencyTracker queueLatencyTracker;
     private List<StreamJunction.Receiver> receivers;
     private int batchSize;
     private List<Event> eventBuffer = new LinkedList<>();
 
     public StreamHandler(List<StreamJunction.Receiver> receivers, int batchSize,
                          String streamName, String siddhiAppName, StreamJunction faultStreamJunction,
-                         StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener) {
+                         StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener,
+                         PredicateIndex predicateIndex, LatencyTracker queueLatencyTracker) {
         this.receivers = receivers;
         this.batchSize = batchSize;
         this.streamName = streamName;
@@ -52,35 +57,62 @@ public class StreamHandler implements EventHandler<EventExchangeHolder> {
         this.faultStreamJunction = faultStreamJunction;
         this.onErrorAction = onErrorAction;
         this.exceptionListener = exceptionListener;
+        this.predicateIndex = predicateIndex;
+        this.queueLatencyTracker = queueLatencyTracker;
     }
 
     public void onEvent(EventExchangeHolder eventExchangeHolder, long sequence, boolean endOfBatch) {
         boolean isProcessed = eventExchangeHolder.getAndSetIsProcessed(true);
         if (!isProcessed) {
+            if (queueLatencyTracker != null && eventExchangeHolder.getPublishTimestamp() != -1) {
+                queueLatencyTracker.record(System.nanoTime() - eventExchangeHolder.getPublishTimestamp());
+            }
             eventBuffer.add(eventExchangeHolder.getEvent());
             if (eventBuffer.size() == batchSize || endOfBatch) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
-                        receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
-                    }
-                }
+                dispatch();
                 eventBuffer.clear();
             }
         } else if (endOfBatch) {
             if (eventBuffer.size() != 0) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
+                dispatch();
+                eventBuffer.clear();
+            }
+        }
+
+    }
+
+    private void dispatch() {
+        if (predicateIndex == null) {
+            for (StreamJunction.Receiver receiver : receivers) {
+                try {
+                    receiver.receive(eventBuffer);
+                } catch (Exception e) {
+                    onError(eventBuffer, e);
+                }
+            }
+            return;
+        }
+        Event[] events = eventBuffer.toArray(new Event[eventBuffer.size()]);
+        PredicateIndex.Matches matches = predicateIndex.match(events);
+        try {
+            for (StreamJunction.Receiver receiver : receivers) {
+                int slot = predicateIndex.getSlot(receiver);
+                try {
+                    if (slot == -1) {
                         receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
+                    } else {
+                        Event[] selectedEvents = matches.select(events, slot);
+                        if (selectedEvents != null) {
+                            receiver.receive(selectedEvents);
+                        }
                     }
+                } catch (Exception e) {
+                    onError(eventBuffer, e);
                 }
-                eventBuffer.clear();
             }
+        } finally {
+            predicateIndex.release(matches);
         }
-
     }
 
     private void onError(List<Event> eventBuffer, Exception e) {
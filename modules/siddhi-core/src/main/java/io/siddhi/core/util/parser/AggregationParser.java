@@ -20,6 +20,7 @@ package io.siddhi.core.util.parser;
 
 import io.siddhi.core.aggregation.AggregationRuntime;
 import io.siddhi.core.aggregation.IncrementalAggregationProcessor;
+import io.siddhi.core.aggregation.AggregationResultCache;
 import io.siddhi.core.aggregation.IncrementalDataPurging;
 import io.siddhi.core.aggregation.IncrementalExecutor;
 import io.siddhi.core.aggregation.RecreateInMemoryData;
@@ -319,6 +320,19 @@ public class AggregationParser {
                     aggregationTables, incrementalExecutorMap, siddhiAppContext, processedMetaStreamEvent, tableMap,
                     windowMap, aggregationMap, shardId, incrementalExecutorMapForPartitions);
 
+            // Cache the persisted aggregates read by the find queries, unless the tables are shared among nodes
+            AggregationResultCache aggregationResultCache = null;
+            int maxCachedEventsPerDuration = getMaxCachedEventsPerDuration(aggregationDefinition, siddhiAppContext);
+            if (shardId == null && maxCachedEventsPerDuration > 0) {
+                aggregationResultCache = new AggregationResultCache(processedMetaStreamEvent
+                        .getOutputStreamDefinition().getAttributePosition(isProcessingOnExternalTime ?
+                                AGG_EXTERNAL_TIMESTAMP_COL : AGG_START_TIMESTAMP_COL), maxCachedEventsPerDuration);
+                for (IncrementalExecutor incrementalExecutor : incrementalExecutorMap.values()) {
+                    incrementalExecutor.setAggregationResultCache(aggregationResultCache);
+                }
+                incrementalDataPurging.setAggregationResultCache(aggregationResultCache);
+            }
+
             IncrementalExecutor rootIncrementalExecutor = incrementalExecutorMap.get(incrementalDurations.get(0));
             rootIncrementalExecutor.setScheduler(scheduler);
             // Connect entry valve to root incremental executor
@@ -357,7 +371,7 @@ public class AggregationParser {
                     outputExpressionExecutors, latencyTrackerFind, throughputTrackerFind, recreateInMemoryData,
                     isProcessingOnExternalTime, processExpressionExecutorsList, groupByKeyGeneratorList,
                     incrementalDataPurging, shouldUpdateExpressionExecutor, shardId,
-                    incrementalExecutorMapForPartitions);
+                    incrementalExecutorMapForPartitions, aggregationResultCache);
 
             streamRuntime.setCommonProcessor(new IncrementalAggregationProcessor(aggregationRuntime,
                     incomingExpressionExecutors, processedMetaStreamEvent, latencyTrackerInsert,
@@ -371,6 +385,48 @@ public class AggregationParser {
         }
     }
 
+    /**
+     * Reads the maximum number of persisted aggregates cached per duration, from the @ResultCache annotation of the
+     * aggregation, e.g. @ResultCache(size='10000'), or else from the 'aggregationResultCacheSize' configuration.
+     *
+     * @return the cache size, or 0 if the cache is disabled
+     */
+    private static int getMaxCachedEventsPerDuration(AggregationDefinition aggregationDefinition,
+                                                     SiddhiAppContext siddhiAppContext) {
+        Annotation resultCacheAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_RESULT_CACHE,
+                aggregationDefinition.getAnnotations());
+        String sizeString = null;
+        if (resultCacheAnnotation != null) {
+            String enableString = resultCacheAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_ENABLE);
+            if (enableString != null && !Boolean.parseBoolean(enableString)) {
+                return 0;
+            }
+            sizeString = resultCacheAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_SIZE);
+        }
+        if (sizeString == null) {
+            sizeString = siddhiAppContext.getSiddhiContext().getConfigManager()
+                    .extractProperty("aggregationResultCacheSize");
+        }
+        if (sizeString == null) {
+            return AggregationResultCache.DEFAULT_MAX_CACHED_EVENTS_PER_DURATION;
+        }
+        try {
+            int size = Integer.parseInt(sizeString.trim());
+            if (size < 0) {
+                throw new SiddhiAppCreationException("Result cache size of aggregation '" +
+                        aggregationDefinition.getId() + "' cannot be negative, but found '" + size + "'.",
+                        aggregationDefinition.getQueryContextStartIndex(),
+                        aggregationDefinition.getQueryContextEndIndex());
+            }
+            return size;
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Result cache size of aggregation '" +
+                    aggregationDefinition.getId() + "' should be an integer, but found '" + sizeString + "'.", e,
+                    aggregationDefinition.getQueryContextStartIndex(),
+                    aggregationDefinition.getQueryContextEndIndex());
+        }
+    }
+
     private static Map<TimePeriod.Duration, IncrementalExecutor> buildIncrementalExecutors(
             MetaStreamEvent processedMetaStreamEvent,
             List<List<ExpressionExecutor>> processExpressionExecutorsList,
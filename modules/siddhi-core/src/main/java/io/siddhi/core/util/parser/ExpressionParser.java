@@ -26,6 +26,7 @@ import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.MemoizedExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.executor.condition.AndConditionExpressionExecutor;
 import io.siddhi.core.executor.condition.BoolConditionExpressionExecutor;
@@ -171,6 +172,7 @@ import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
 import io.siddhi.core.util.config.ConfigReader;
 import io.siddhi.core.util.extension.holder.AttributeAggregatorExtensionHolder;
 import io.siddhi.core.util.extension.holder.FunctionExecutorExtensionHolder;
+import io.siddhi.core.util.parser.helper.SharedExpressionScope;
 import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.exception.AttributeNotExistException;
@@ -197,6 +199,7 @@ import io.siddhi.query.api.expression.math.Divide;
 import io.siddhi.query.api.expression.math.Mod;
 import io.siddhi.query.api.expression.math.Multiply;
 import io.siddhi.query.api.expression.math.Subtract;
+import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -207,6 +210,10 @@ import java.util.Map;
  */
 public class ExpressionParser {
 
+    private static final Logger log = Logger.getLogger(ExpressionParser.class);
+    private static final ThreadLocal<SharedExpressionScope> sharedExpressionScopeThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> nonDeterministicThreadLocal = new ThreadLocal<>();
+
     /**
      * Parse the given expression and create the appropriate Executor by recursively traversing the expression
      *
@@ -229,6 +236,171 @@ public class ExpressionParser {
                                                      int defaultStreamEventIndex,
                                                      ProcessingMode processingMode,
                                                      boolean outputExpectsExpiredEvents, SiddhiQueryContext siddhiQueryContext) {
+        if (expression instanceof Constant || expression instanceof Variable) {
+            return buildExpressionExecutor(expression, metaEvent, currentState, tableMap, executorList, groupBy,
+                    defaultStreamEventIndex, processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+        }
+        SharedExpressionScope sharedExpressionScope = sharedExpressionScopeThreadLocal.get();
+        SharedExpressionScope.Key sharedExpressionKey = null;
+        if (sharedExpressionScope != null && sharedExpressionScope.isRepeated(expression)) {
+            sharedExpressionKey = new SharedExpressionScope.Key(expression, metaEvent, currentState,
+                    defaultStreamEventIndex, groupBy);
+            MemoizedExpressionExecutor sharedExecutor = sharedExpressionScope.getSharedExecutor(sharedExpressionKey);
+            if (sharedExecutor != null) {
+                return sharedExecutor;
+            }
+        }
+
+        Boolean enclosingNonDeterministic = nonDeterministicThreadLocal.get();
+        nonDeterministicThreadLocal.set(Boolean.FALSE);
+        ExpressionExecutor expressionExecutor;
+        boolean nonDeterministic;
+        try {
+            expressionExecutor = buildExpressionExecutor(expression, metaEvent, currentState, tableMap,
+                    executorList, groupBy, defaultStreamEventIndex, processingMode, outputExpectsExpiredEvents,
+                    siddhiQueryContext);
+        } finally {
+            nonDeterministic = Boolean.TRUE.equals(nonDeterministicThreadLocal.get());
+            if (enclosingNonDeterministic == null) {
+                nonDeterministicThreadLocal.remove();
+            } else {
+                nonDeterministicThreadLocal.set(enclosingNonDeterministic || nonDeterministic);
+            }
+        }
+        if (nonDeterministic) {
+            return expressionExecutor;
+        }
+        if (isConstantExpression(expression)) {
+            return foldConstantExpression(expressionExecutor);
+        }
+        if (sharedExpressionKey != null) {
+            MemoizedExpressionExecutor memoizedExpressionExecutor = new MemoizedExpressionExecutor(expressionExecutor);
+            sharedExpressionScope.addSharedExecutor(sharedExpressionKey, memoizedExpressionExecutor);
+            return memoizedExpressionExecutor;
+        }
+        return expressionExecutor;
+    }
+
+    /**
+     * Start sharing the evaluation of the deterministic sub expressions repeated within the given expressions,
+     * for all the expressions parsed by the current thread until {@link #endSharedExpressionScope()} is called.
+     * The caller has to {@link MemoizedExpressionExecutor#reset()} the returned shared executors before evaluating
+     * each event.
+     *
+     * @param expressions the expressions that will be parsed within the scope
+     */
+    public static void startSharedExpressionScope(List<Expression> expressions) {
+        sharedExpressionScopeThreadLocal.set(new SharedExpressionScope(expressions));
+    }
+
+    /**
+     * End the shared expression scope started by {@link #startSharedExpressionScope(List)}.
+     *
+     * @return the executors shared within the scope
+     */
+    public static List<MemoizedExpressionExecutor> endSharedExpressionScope() {
+        SharedExpressionScope sharedExpressionScope = sharedExpressionScopeThreadLocal.get();
+        sharedExpressionScopeThreadLocal.remove();
+        if (sharedExpressionScope == null) {
+            return new ArrayList<>();
+        }
+        return sharedExpressionScope.getMemoizedExecutors();
+    }
+
+    /**
+     * Check whether the expression can be evaluated at query creation time, i.e. it does not refer any attributes,
+     * tables or functions without parameters.
+     *
+     * @param expression the expression
+     * @return true if all the leaves of the expression are constants
+     */
+    private static boolean isConstantExpression(Expression expression) {
+        if (expression instanceof Constant) {
+            return true;
+        } else if (expression instanceof And) {
+            return isConstantExpression(((And) expression).getLeftExpression())
+                    && isConstantExpression(((And) expression).getRightExpression());
+        } else if (expression instanceof Or) {
+            return isConstantExpression(((Or) expression).getLeftExpression())
+                    && isConstantExpression(((Or) expression).getRightExpression());
+        } else if (expression instanceof Not) {
+            return isConstantExpression(((Not) expression).getExpression());
+        } else if (expression instanceof Compare) {
+            return isConstantExpression(((Compare) expression).getLeftExpression())
+                    && isConstantExpression(((Compare) expression).getRightExpression());
+        } else if (expression instanceof Add) {
+            return isConstantExpression(((Add) expression).getLeftValue())
+                    && isConstantExpression(((Add) expression).getRightValue());
+        } else if (expression instanceof Subtract) {
+            return isConstantExpression(((Subtract) expression).getLeftValue())
+                    && isConstantExpression(((Subtract) expression).getRightValue());
+        } else if (expression instanceof Multiply) {
+            return isConstantExpression(((Multiply) expression).getLeftValue())
+                    && isConstantExpression(((Multiply) expression).getRightValue());
+        } else if (expression instanceof Divide) {
+            return isConstantExpression(((Divide) expression).getLeftValue())
+                    && isConstantExpression(((Divide) expression).getRightValue());
+        } else if (expression instanceof Mod) {
+            return isConstantExpression(((Mod) expression).getLeftValue())
+                    && isConstantExpression(((Mod) expression).getRightValue());
+        } else if (expression instanceof AttributeFunction) {
+            Expression[] parameters = ((AttributeFunction) expression).getParameters();
+            if (parameters == null || parameters.length == 0) {
+                return false;
+            }
+            for (Expression parameter : parameters) {
+                if (!isConstantExpression(parameter)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (expression instanceof IsNull) {
+            return ((IsNull) expression).getExpression() != null
+                    && isConstantExpression(((IsNull) expression).getExpression());
+        }
+        return false;
+    }
+
+    /**
+     * Evaluate an executor having only constant inputs and replace it with a {@link ConstantExpressionExecutor}.
+     * Conditions are kept as they are, as their callers expect {@link ConditionExpressionExecutor}s, and so are the
+     * executors failing or returning null, such that the behaviour stays the same at runtime.
+     *
+     * @param expressionExecutor executor with constant inputs
+     * @return the folded executor
+     */
+    private static ExpressionExecutor foldConstantExpression(ExpressionExecutor expressionExecutor) {
+        if (expressionExecutor instanceof ConstantExpressionExecutor
+                || expressionExecutor instanceof ConditionExpressionExecutor) {
+            return expressionExecutor;
+        }
+        Object value;
+        try {
+            value = expressionExecutor.execute(null);
+        } catch (Throwable t) {
+            if (log.isDebugEnabled()) {
+                log.debug("Skipping the constant folding of '" + expressionExecutor.getClass().getName() +
+                        "', as it failed when evaluated at query creation. " + t.getMessage());
+            }
+            return expressionExecutor;
+        }
+        if (value == null) {
+            return expressionExecutor;
+        }
+        ConstantExpressionExecutor constantExpressionExecutor = new ConstantExpressionExecutor(value,
+                expressionExecutor.getReturnType());
+        expressionExecutor.clean();
+        return constantExpressionExecutor;
+    }
+
+    private static ExpressionExecutor buildExpressionExecutor(Expression expression, MetaComplexEvent metaEvent,
+                                                              int currentState, Map<String, Table> tableMap,
+                                                              List<VariableExpressionExecutor> executorList,
+                                                              boolean groupBy,
+                                                              int defaultStreamEventIndex,
+                                                              ProcessingMode processingMode,
+                                                              boolean outputExpectsExpiredEvents,
+                                                              SiddhiQueryContext siddhiQueryContext) {
         try {
             if (expression instanceof And) {
                 return new AndConditionExpressionExecutor(
@@ -450,6 +622,9 @@ public class ExpressionParser {
 
                     expressionExecutor.initExecutor(innerExpressionExecutors,
                             processingMode, configReader, siddhiQueryContext);
+                    if (!expressionExecutor.isDeterministic()) {
+                        nonDeterministicThreadLocal.set(Boolean.TRUE);
+                    }
                     if (expressionExecutor.getReturnType() == Attribute.Type.BOOL) {
                         return new BoolConditionExpressionExecutor(expressionExecutor);
                     }
@@ -471,6 +646,7 @@ public class ExpressionParser {
                                 innerExpressionExecutors, siddhiQueryContext);
                     }
                     SelectorParser.getContainsAggregatorThreadLocal().set("true");
+                    nonDeterministicThreadLocal.set(Boolean.TRUE);
                     return aggregationAttributeProcessor;
                 }
             } else if (expression instanceof In) {
@@ -35,10 +35,10 @@ import io.siddhi.core.query.input.stream.single.SingleStreamRuntime;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.processor.stream.window.AggregateWindowProcessor;
 import io.siddhi.core.query.processor.stream.window.FindableProcessor;
-import io.siddhi.core.query.processor.stream.window.LengthBatchWindowProcessor;
 import io.siddhi.core.query.processor.stream.window.TableWindowProcessor;
 import io.siddhi.core.query.processor.stream.window.WindowProcessor;
 import io.siddhi.core.query.processor.stream.window.WindowWindowProcessor;
+import io.siddhi.core.query.processor.stream.window.ZeroLengthBatchWindowProcessor;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.ExceptionUtil;
 import io.siddhi.core.util.SiddhiConstants;
@@ -343,7 +343,7 @@ public class JoinInputStreamParser {
 
         if (lastProcessor == null) {
             try {
-                WindowProcessor windowProcessor = new LengthBatchWindowProcessor();
+                WindowProcessor windowProcessor = new ZeroLengthBatchWindowProcessor();
                 ExpressionExecutor[] expressionExecutors = new ExpressionExecutor[1];
                 expressionExecutors[0] = new ConstantExpressionExecutor(0, Attribute.Type.INT);
                 ConfigReader configReader = siddhiQueryContext.getSiddhiContext()
@@ -252,7 +252,7 @@ public class OutputParser {
             StreamJunction outputStreamJunction = streamJunctionMap.get(id + key);
             if (outputStreamJunction == null) {
                 outputStreamJunction = new StreamJunction(outputStreamDefinition,
-                        siddhiQueryContext.getSiddhiAppContext().getExecutorService(),
+                        siddhiQueryContext.getSiddhiAppContext().getStreamJunctionExecutorService(),
                         siddhiQueryContext.getSiddhiAppContext().getBufferSize(), null,
                         siddhiQueryContext.getSiddhiAppContext());
                 streamJunctionMap.putIfAbsent(id + key, outputStreamJunction);
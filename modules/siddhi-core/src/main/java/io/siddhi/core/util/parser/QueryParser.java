@@ -133,6 +133,10 @@ public class QueryParser {
                     streamRuntime.getMetaComplexEvent(), tableMap, executors,
                     SiddhiConstants.UNKNOWN_STATE, streamRuntime.getProcessingMode(), outputExpectsExpiredEvents,
                     siddhiQueryContext);
+            if (!query.getSelector().getGroupByList().isEmpty()) {
+                selector.setGroupByKeyTracker(QueryParserHelper.createHotKeyTracker(siddhiAppContext,
+                        siddhiQueryContext.getName(), SiddhiConstants.METRIC_INFIX_QUERIES));
+            }
             boolean isWindow = query.getInputStream() instanceof JoinInputStream;
             if (!isWindow && query.getInputStream() instanceof SingleInputStream) {
                 for (StreamHandler streamHandler : ((SingleInputStream) query.getInputStream()).getStreamHandlers()) {
@@ -89,9 +89,17 @@ public class SelectorParser {
         id = outputStream.getId();
         containsAggregatorThreadLocal.remove();
         QuerySelector querySelector = new QuerySelector(id, selector, currentOn, expiredOn, siddhiQueryContext);
-        List<AttributeProcessor> attributeProcessors = getAttributeProcessors(selector, id,
-                metaComplexEvent, tableMap, variableExpressionExecutors, outputStream, metaPosition,
-                processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+        List<AttributeProcessor> attributeProcessors;
+        ExpressionParser.startSharedExpressionScope(selector.getSelectionList().stream()
+                .map(OutputAttribute::getExpression)
+                .collect(Collectors.toList()));
+        try {
+            attributeProcessors = getAttributeProcessors(selector, id,
+                    metaComplexEvent, tableMap, variableExpressionExecutors, outputStream, metaPosition,
+                    processingMode, outputExpectsExpiredEvents, siddhiQueryContext);
+        } finally {
+            querySelector.setMemoizedExpressionExecutors(ExpressionParser.endSharedExpressionScope());
+        }
         querySelector.setAttributeProcessorList(attributeProcessors,
                 "true".equals(containsAggregatorThreadLocal.get()));
         containsAggregatorThreadLocal.remove();
@@ -29,6 +29,7 @@ import io.siddhi.core.util.ExceptionUtil;
 import io.siddhi.core.util.SiddhiAppRuntimeBuilder;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.ThreadBarrier;
+import io.siddhi.core.util.concurrent.SharedThreadPools;
 import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.timestamp.TimestampGenerator;
 import io.siddhi.core.util.timestamp.TimestampGeneratorImpl;
@@ -140,6 +141,27 @@ public class SiddhiAppParser {
                     SiddhiConstants.ANNOTATION_STATISTICS,
                     SiddhiConstants.ANNOTATION_ELEMENT_INCLUDE, siddhiApp.getAnnotations());
             siddhiAppContext.setIncludedMetrics(io.siddhi.core.util.parser.helper.AnnotationHelper.generateIncludedMetrics(statStateIncludElement));
+            Element traceSampleIntervalElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_STATISTICS,
+                    SiddhiConstants.ANNOTATION_ELEMENT_TRACE_SAMPLE_INTERVAL, siddhiApp.getAnnotations());
+            if (traceSampleIntervalElement != null) {
+                siddhiAppContext.setTraceSampleInterval(parsePositiveIntegerElement(traceSampleIntervalElement,
+                        SiddhiConstants.ANNOTATION_ELEMENT_TRACE_SAMPLE_INTERVAL));
+            }
+            Element hotKeySampleIntervalElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_STATISTICS,
+                    SiddhiConstants.ANNOTATION_ELEMENT_HOT_KEY_SAMPLE_INTERVAL, siddhiApp.getAnnotations());
+            if (hotKeySampleIntervalElement != null) {
+                siddhiAppContext.setHotKeySampleInterval(parsePositiveIntegerElement(hotKeySampleIntervalElement,
+                        SiddhiConstants.ANNOTATION_ELEMENT_HOT_KEY_SAMPLE_INTERVAL));
+            }
+            Element hotKeysElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_STATISTICS,
+                    SiddhiConstants.ANNOTATION_ELEMENT_HOT_KEYS, siddhiApp.getAnnotations());
+            if (hotKeysElement != null) {
+                siddhiAppContext.setHotKeyCount(parsePositiveIntegerElement(hotKeysElement,
+                        SiddhiConstants.ANNOTATION_ELEMENT_HOT_KEYS));
+            }
 
             Element transportCreationEnabledElement = AnnotationHelper.getAnnotationElement(
                     SiddhiConstants.TRANSPORT_CHANNEL_CREATION_IDENTIFIER, null, siddhiApp.getAnnotations());
@@ -153,13 +175,22 @@ public class SiddhiAppParser {
 
             siddhiAppContext.setThreadBarrier(new ThreadBarrier());
 
-            siddhiAppContext.setExecutorService(Executors.newCachedThreadPool(
-                    new ThreadFactoryBuilder().setNameFormat("Siddhi-" + siddhiAppContext.getName() +
-                            "-executor-thread-%d").build()));
-
-            siddhiAppContext.setScheduledExecutorService(Executors.newScheduledThreadPool(5,
-                    new ThreadFactoryBuilder().setNameFormat("Siddhi-" +
-                            siddhiAppContext.getName() + "-scheduler-thread-%d").build()));
+            SharedThreadPools sharedThreadPools = siddhiContext.getSharedThreadPools();
+            if (sharedThreadPools != null) {
+                siddhiAppContext.setExecutorService(sharedThreadPools.createExecutorService());
+                siddhiAppContext.setScheduledExecutorService(sharedThreadPools.createScheduledExecutorService());
+                siddhiAppContext.setStreamJunctionExecutorService(
+                        sharedThreadPools.createStreamJunctionExecutorService(siddhiAppContext.getName()));
+            } else {
+                siddhiAppContext.setExecutorService(Executors.newCachedThreadPool(
+                        new ThreadFactoryBuilder().setNameFormat("Siddhi-" + siddhiAppContext.getName() +
+                                "-executor-thread-%d").build()));
+
+                siddhiAppContext.setScheduledExecutorService(Executors.newScheduledThreadPool(5,
+                        new ThreadFactoryBuilder().setNameFormat("Siddhi-" +
+                                siddhiAppContext.getName() + "-scheduler-thread-%d").build()));
+                siddhiAppContext.setStreamJunctionExecutorService(siddhiAppContext.getExecutorService());
+            }
 
             // Select the TimestampGenerator based on playback mode on/off
             annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PLAYBACK,
@@ -272,6 +303,23 @@ public class SiddhiAppParser {
         return siddhiAppRuntimeBuilder;
     }
 
+    private static int parsePositiveIntegerElement(Element element, String elementName) {
+        int value;
+        try {
+            value = Integer.parseInt(element.getValue().trim());
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Annotation element '" + elementName + "' of @app:statistics " +
+                    "should be an integer, but found, '" + element.getValue() + "'.",
+                    element.getQueryContextStartIndex(), element.getQueryContextEndIndex());
+        }
+        if (value <= 0) {
+            throw new SiddhiAppCreationException("Annotation element '" + elementName + "' of @app:statistics " +
+                    "should be greater than zero, but found, '" + value + "'.",
+                    element.getQueryContextStartIndex(), element.getQueryContextEndIndex());
+        }
+        return value;
+    }
+
     private static void defineTriggerDefinitions(SiddhiAppRuntimeBuilder siddhiAppRuntimeBuilder,
                                                  Map<String, TriggerDefinition> triggerDefinitionMap,
                                                  SiddhiAppContext siddhiAppContext) {
@@ -21,6 +21,7 @@ import com.google.common.primitives.Ints;
 import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.state.MetaStateEvent;
 import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.query.input.stream.single.EntryValveProcessor;
@@ -47,11 +48,15 @@ import io.siddhi.core.query.input.stream.state.runtime.InnerStateRuntime;
 import io.siddhi.core.query.input.stream.state.runtime.LogicalInnerStateRuntime;
 import io.siddhi.core.query.input.stream.state.runtime.NextInnerStateRuntime;
 import io.siddhi.core.query.input.stream.state.runtime.StreamInnerStateRuntime;
+import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.query.processor.SchedulingProcessor;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.execution.query.input.handler.Filter;
+import io.siddhi.query.api.execution.query.input.handler.StreamHandler;
 import io.siddhi.query.api.execution.query.input.state.AbsentStreamStateElement;
 import io.siddhi.query.api.execution.query.input.state.CountStateElement;
 import io.siddhi.query.api.execution.query.input.state.EveryStateElement;
@@ -61,6 +66,10 @@ import io.siddhi.query.api.execution.query.input.state.StateElement;
 import io.siddhi.query.api.execution.query.input.state.StreamStateElement;
 import io.siddhi.query.api.execution.query.input.stream.BasicSingleInputStream;
 import io.siddhi.query.api.execution.query.input.stream.StateInputStream;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
+import io.siddhi.query.api.expression.condition.Compare;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -132,6 +141,11 @@ public class StateInputStreamParser {
             for (PreStateProcessor preStateProcessor : preStateProcessors) {
                 preStateProcessor.setStartStateIds(startStateIds);
                 preStateProcessor.setWithinTime(stateInputStream.getWithinTime().value());
+                if (stateInputStream.getStateType() == StateInputStream.Type.PATTERN &&
+                        !preStateProcessor.isStartState() &&
+                        preStateProcessor.getClass() == StreamPreStateProcessor.class) {
+                    ((StreamPreStateProcessor) preStateProcessor).initExpiryScheduler();
+                }
             }
         }
         ((StreamPreStateProcessor) innerStateRuntime.getFirstProcessor()).setThisLastProcessor(
@@ -193,6 +207,11 @@ public class StateInputStreamParser {
             }
             streamPreStateProcessor.setStateId(stateIndex);
             streamPreStateProcessor.setStartState(isStartState);
+            if (stateType == StateInputStream.Type.PATTERN && !isStartState &&
+                    streamPreStateProcessor.getClass() == StreamPreStateProcessor.class) {
+                parseCorrelation(basicSingleInputStream, stateIndex, streamPreStateProcessor, preStateProcessors,
+                        metaStateEvent, tableMap, variableExpressionExecutors, siddhiQueryContext);
+            }
             streamPreStateProcessor.setNextProcessor(singleStreamRuntime.getProcessorChain());
             singleStreamRuntime.setProcessorChain(streamPreStateProcessor);
             if (streamPostStateProcessor == null) {
@@ -403,4 +422,90 @@ public class StateInputStreamParser {
 
     }
 
+    /**
+     * Detects an equality condition between an attribute of the arriving event and an attribute of an earlier
+     * state in the filter of a pattern state, such as e2=Purchase[e2.user == e1.user], and, if found, indexes the
+     * pending states of the pattern state by the correlated attribute.
+     */
+    private static void parseCorrelation(BasicSingleInputStream basicSingleInputStream, int stateIndex,
+                                         StreamPreStateProcessor streamPreStateProcessor,
+                                         List<PreStateProcessor> preStateProcessors, MetaStateEvent metaStateEvent,
+                                         Map<String, Table> tableMap,
+                                         List<VariableExpressionExecutor> variableExpressionExecutors,
+                                         SiddhiQueryContext siddhiQueryContext) {
+        List<StreamHandler> streamHandlers = basicSingleInputStream.getStreamHandlers();
+        if (streamHandlers.isEmpty() || !(streamHandlers.get(0) instanceof Filter)) {
+            return;
+        }
+        List<Expression> conditions = new ArrayList<>();
+        collectConjunctions(streamHandlers.get(0).getParameters()[0], conditions);
+        for (Expression condition : conditions) {
+            if (!(condition instanceof Compare) || ((Compare) condition).getOperator() != Compare.Operator.EQUAL ||
+                    !isCorrelationVariable(((Compare) condition).getLeftExpression()) ||
+                    !isCorrelationVariable(((Compare) condition).getRightExpression())) {
+                continue;
+            }
+            ExpressionExecutor leftExecutor = ExpressionParser.parseExpression(
+                    ((Compare) condition).getLeftExpression(), metaStateEvent, stateIndex, tableMap,
+                    variableExpressionExecutors, false, SiddhiConstants.CURRENT, ProcessingMode.BATCH, false,
+                    siddhiQueryContext);
+            ExpressionExecutor rightExecutor = ExpressionParser.parseExpression(
+                    ((Compare) condition).getRightExpression(), metaStateEvent, stateIndex, tableMap,
+                    variableExpressionExecutors, false, SiddhiConstants.CURRENT, ProcessingMode.BATCH, false,
+                    siddhiQueryContext);
+            if (!(leftExecutor instanceof VariableExpressionExecutor) ||
+                    !(rightExecutor instanceof VariableExpressionExecutor)) {
+                continue;
+            }
+            VariableExpressionExecutor eventKeyExecutor;
+            VariableExpressionExecutor stateKeyExecutor;
+            if (getStateIndex(leftExecutor) == stateIndex) {
+                eventKeyExecutor = (VariableExpressionExecutor) leftExecutor;
+                stateKeyExecutor = (VariableExpressionExecutor) rightExecutor;
+            } else if (getStateIndex(rightExecutor) == stateIndex) {
+                eventKeyExecutor = (VariableExpressionExecutor) rightExecutor;
+                stateKeyExecutor = (VariableExpressionExecutor) leftExecutor;
+            } else {
+                continue;
+            }
+            // Values are compared through their hash codes, hence both need to be of the same hashable type, and
+            // the correlated state must not get changed while its pending states are waiting
+            Attribute.Type type = eventKeyExecutor.getReturnType();
+            if (type != stateKeyExecutor.getReturnType() || (type != Attribute.Type.STRING &&
+                    type != Attribute.Type.INT && type != Attribute.Type.LONG && type != Attribute.Type.BOOL) ||
+                    !isStreamState(getStateIndex(stateKeyExecutor), preStateProcessors)) {
+                continue;
+            }
+            streamPreStateProcessor.setCorrelationKeyExecutors(stateKeyExecutor, eventKeyExecutor);
+            return;
+        }
+    }
+
+    private static void collectConjunctions(Expression expression, List<Expression> conditions) {
+        if (expression instanceof And) {
+            collectConjunctions(((And) expression).getLeftExpression(), conditions);
+            collectConjunctions(((And) expression).getRightExpression(), conditions);
+        } else {
+            conditions.add(expression);
+        }
+    }
+
+    private static boolean isCorrelationVariable(Expression expression) {
+        return expression instanceof Variable && ((Variable) expression).getStreamIndex() == null &&
+                ((Variable) expression).getFunctionId() == null && !((Variable) expression).isInnerStream();
+    }
+
+    private static int getStateIndex(ExpressionExecutor variableExpressionExecutor) {
+        return ((VariableExpressionExecutor) variableExpressionExecutor).getPosition()
+                [SiddhiConstants.STREAM_EVENT_CHAIN_INDEX];
+    }
+
+    private static boolean isStreamState(int stateIndex, List<PreStateProcessor> preStateProcessors) {
+        for (PreStateProcessor preStateProcessor : preStateProcessors) {
+            if (preStateProcessor.getStateId() == stateIndex) {
+                return preStateProcessor.getClass() == StreamPreStateProcessor.class;
+            }
+        }
+        return false;
+    }
 }
@@ -141,7 +141,7 @@ public class DefinitionParserHelper {
             StreamJunction faultStreamJunction = streamJunctionMap.get(SiddhiConstants.FAULT_STREAM_PREFIX.
                     concat(streamDefinition.getId()));
             StreamJunction streamJunction = new StreamJunction(streamDefinition,
-                    siddhiAppContext.getExecutorService(),
+                    siddhiAppContext.getStreamJunctionExecutorService(),
                     siddhiAppContext.getBufferSize(), faultStreamJunction, siddhiAppContext);
             streamJunctionMap.putIfAbsent(streamDefinition.getId(), streamJunction);
         }
@@ -306,7 +306,7 @@ public class DefinitionParserHelper {
         }
     }
 
-    public static void addEventSource(StreamDefinition streamDefinition,
+    public static void addEventSource(StreamDefinition streamDefinition, StreamJunction streamJunction,
                                       ConcurrentMap<String, List<Source>> eventSourceMap,
                                       SiddhiAppContext siddhiAppContext) {
         for (Annotation sourceAnnotation : streamDefinition.getAnnotations()) {
@@ -367,7 +367,7 @@ public class DefinitionParserHelper {
                     source.init(sourceType, sourceOptionHolder, sourceMapper, transportPropertyNames,
                             configReader, mapType, mapOptionHolder, attributesHolder.payloadMappings,
                             attributesHolder.transportMappings, mapperConfigReader, sourceHandler, streamDefinition,
-                            siddhiAppContext);
+                            streamJunction.getAttributeProjection(), siddhiAppContext);
                 } catch (Throwable t) {
                     ExceptionUtil.populateQueryContext(t, sourceAnnotation, siddhiAppContext);
                     throw t;
@@ -38,9 +38,11 @@ import io.siddhi.core.query.input.stream.state.StreamPreStateProcessor;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.processor.SchedulingProcessor;
 import io.siddhi.core.query.processor.stream.AbstractStreamProcessor;
+import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.operator.IncrementalAggregateCompileCondition;
 import io.siddhi.core.util.lock.LockWrapper;
+import io.siddhi.core.util.statistics.HotKeyTracker;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.ThroughputTracker;
@@ -178,8 +180,9 @@ public class QueryParserHelper {
         } else {
             metaStreamEvent = (MetaStreamEvent) metaComplexEvent;
         }
-        StreamEventPool streamEventPool = new StreamEventPool(metaStreamEvent, 5);
         ProcessStreamReceiver processStreamReceiver = singleStreamRuntime.getProcessStreamReceiver();
+        StreamEventPool streamEventPool = new StreamEventPool(metaStreamEvent, 5, processStreamReceiver
+                .getSiddhiQueryContext().getSiddhiAppContext().isEventTracingEnabled());
         processStreamReceiver.setMetaStreamEvent(metaStreamEvent);
         processStreamReceiver.setStreamEventPool(streamEventPool);
         processStreamReceiver.setLockWrapper(lockWrapper);
@@ -217,6 +220,11 @@ public class QueryParserHelper {
                     ((StreamPreStateProcessor) processor).setStateEventCloner(
                             new StateEventCloner(((MetaStateEvent) metaComplexEvent), stateEventPool));
                 }
+                Scheduler expiryScheduler = ((StreamPreStateProcessor) processor).getExpiryScheduler();
+                if (expiryScheduler != null) {
+                    expiryScheduler.setStreamEventPool(streamEventPool);
+                    expiryScheduler.init(lockWrapper, queryName);
+                }
             }
 
             processor = processor.getNextProcessor();
@@ -255,6 +263,36 @@ public class QueryParserHelper {
         return latencyTracker;
     }
 
+    public static HotKeyTracker createHotKeyTracker(SiddhiAppContext siddhiAppContext, String name, String type) {
+        HotKeyTracker hotKeyTracker = null;
+        if (siddhiAppContext.isHotKeyTrackingEnabled()) {
+            String metricName =
+                    siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
+                            SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
+                            SiddhiConstants.METRIC_DELIMITER + siddhiAppContext.getName() +
+                            SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI +
+                            SiddhiConstants.METRIC_DELIMITER + type +
+                            SiddhiConstants.METRIC_DELIMITER + name +
+                            SiddhiConstants.METRIC_DELIMITER + "hotKeys";
+            boolean matchExist = false;
+            for (String regex : siddhiAppContext.getIncludedMetrics()) {
+                if (metricName.matches(regex)) {
+                    matchExist = true;
+                    break;
+                }
+            }
+            if (matchExist) {
+                hotKeyTracker = siddhiAppContext
+                        .getSiddhiContext()
+                        .getStatisticsConfiguration()
+                        .getFactory()
+                        .createHotKeyTracker(metricName, siddhiAppContext.getHotKeyCount(),
+                                siddhiAppContext.getHotKeySampleInterval(), siddhiAppContext.getStatisticsManager());
+            }
+        }
+        return hotKeyTracker;
+    }
+
     public static ThroughputTracker createThroughputTracker(SiddhiAppContext siddhiAppContext, String name,
                                                             String type, String function) {
         ThroughputTracker throughputTracker = null;
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.parser.helper;
+
+import io.siddhi.core.event.MetaComplexEvent;
+import io.siddhi.core.executor.MemoizedExpressionExecutor;
+import io.siddhi.query.api.expression.AttributeFunction;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.condition.And;
+import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.condition.IsNull;
+import io.siddhi.query.api.expression.condition.Not;
+import io.siddhi.query.api.expression.condition.Or;
+import io.siddhi.query.api.expression.math.Add;
+import io.siddhi.query.api.expression.math.Divide;
+import io.siddhi.query.api.expression.math.Mod;
+import io.siddhi.query.api.expression.math.Multiply;
+import io.siddhi.query.api.expression.math.Subtract;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps track of the sub expressions that are used more than once within a set of expressions parsed together,
+ * and of the {@link MemoizedExpressionExecutor}s created to share their evaluation.
+ */
+public class SharedExpressionScope {
+
+    private final Map<Expression, Integer> occurrences = new HashMap<>();
+    private final Map<Key, MemoizedExpressionExecutor> sharedExecutors = new HashMap<>();
+    private final List<MemoizedExpressionExecutor> memoizedExecutors = new ArrayList<>();
+
+    public SharedExpressionScope(List<Expression> expressions) {
+        for (Expression expression : expressions) {
+            countOccurrences(expression);
+        }
+    }
+
+    private void countOccurrences(Expression expression) {
+        if (expression == null) {
+            return;
+        }
+        Integer count = occurrences.get(expression);
+        if (count != null) {
+            // Sub expressions of a repeated expression are parsed only once, hence they are not counted again.
+            occurrences.put(expression, count + 1);
+            return;
+        }
+        if (expression instanceof And) {
+            countOccurrences(((And) expression).getLeftExpression());
+            countOccurrences(((And) expression).getRightExpression());
+        } else if (expression instanceof Or) {
+            countOccurrences(((Or) expression).getLeftExpression());
+            countOccurrences(((Or) expression).getRightExpression());
+        } else if (expression instanceof Not) {
+            countOccurrences(((Not) expression).getExpression());
+        } else if (expression instanceof Compare) {
+            countOccurrences(((Compare) expression).getLeftExpression());
+            countOccurrences(((Compare) expression).getRightExpression());
+        } else if (expression instanceof Add) {
+            countOccurrences(((Add) expression).getLeftValue());
+            countOccurrences(((Add) expression).getRightValue());
+        } else if (expression instanceof Subtract) {
+            countOccurrences(((Subtract) expression).getLeftValue());
+            countOccurrences(((Subtract) expression).getRightValue());
+        } else if (expression instanceof Multiply) {
+            countOccurrences(((Multiply) expression).getLeftValue());
+            countOccurrences(((Multiply) expression).getRightValue());
+        } else if (expression instanceof Divide) {
+            countOccurrences(((Divide) expression).getLeftValue());
+            countOccurrences(((Divide) expression).getRightValue());
+        } else if (expression instanceof Mod) {
+            countOccurrences(((Mod) expression).getLeftValue());
+            countOccurrences(((Mod) expression).getRightValue());
+        } else if (expression instanceof AttributeFunction) {
+            for (Expression parameter : ((AttributeFunction) expression).getParameters()) {
+                countOccurrences(parameter);
+            }
+        } else if (expression instanceof IsNull) {
+            countOccurrences(((IsNull) expression).getExpression());
+        } else {
+            // Constants, variables and table lookups are not shared
+            return;
+        }
+        occurrences.put(expression, 1);
+    }
+
+    public boolean isRepeated(Expression expression) {
+        Integer count = occurrences.get(expression);
+        return count != null && count > 1;
+    }
+
+    public MemoizedExpressionExecutor getSharedExecutor(Key key) {
+        return sharedExecutors.get(key);
+    }
+
+    public void addSharedExecutor(Key key, MemoizedExpressionExecutor memoizedExpressionExecutor) {
+        sharedExecutors.put(key, memoizedExpressionExecutor);
+        memoizedExecutors.add(memoizedExpressionExecutor);
+    }
+
+    public List<MemoizedExpressionExecutor> getMemoizedExecutors() {
+        return memoizedExecutors;
+    }
+
+    /**
+     * Identifies a sub expression together with the parsing context it was parsed in.
+     */
+    public static class Key {
+
+        private final Expression expression;
+        private final MetaComplexEvent metaEvent;
+        private final int currentState;
+        private final int defaultStreamEventIndex;
+        private final boolean groupBy;
+
+        public Key(Expression expression, MetaComplexEvent metaEvent, int currentState, int defaultStreamEventIndex,
+                   boolean groupBy) {
+            this.expression = expression;
+            this.metaEvent = metaEvent;
+            this.currentState = currentState;
+            this.defaultStreamEventIndex = defaultStreamEventIndex;
+            this.groupBy = groupBy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return metaEvent == key.metaEvent && currentState == key.currentState &&
+                    defaultStreamEventIndex == key.defaultStreamEventIndex && groupBy == key.groupBy &&
+                    expression.equals(key.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expression, System.identityHashCode(metaEvent), currentState,
+                    defaultStreamEventIndex, groupBy);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.persistence;
+
+import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface for Incremental Persistence Stores which can load the revisions of several elements at once, such as in
+ * parallel, when restoring a Siddhi App.
+ */
+public interface IncrementalBulkPersistenceStore extends IncrementalPersistenceStore {
+
+    /**
+     * Loads the given revisions.
+     *
+     * @param snapshotInfos revisions to load
+     * @return the loaded snapshots by the given revision instances, which does not contain the revisions that could
+     * not be loaded
+     */
+    Map<IncrementalSnapshotInfo, byte[]> loadAll(List<IncrementalSnapshotInfo> snapshotInfos);
+}
@@ -0,0 +1,650 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.persistence;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
+import io.siddhi.core.exception.PersistenceStoreException;
+import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
+import io.siddhi.core.util.persistence.util.PersistenceConstants;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Log structured implementation of the Incremental Persistence Store, which persists snapshots to the file system.
+ * Instead of a file per element per revision, the snapshots of all the elements of a revision are appended to a
+ * single segment file as checksummed records, and the records are looked up using an in-memory index, which is
+ * rebuilt from the segment files when the Siddhi App is first accessed.
+ * <p>
+ * Records superseded by newer base or periodic snapshots of the same element are dropped from the index, and segment
+ * files without any live records are deleted. When the number of segment files of a Siddhi App exceeds the compaction
+ * threshold, the live records of the older segments are compacted into a single segment in the background.
+ * Restoring loads the records of different segments in parallel.
+ */
+public class IncrementalSegmentFileSystemPersistenceStore implements IncrementalBulkPersistenceStore {
+
+    public static final String COMPACTION_THRESHOLD = "compaction.threshold";
+
+    private static final Logger log = Logger.getLogger(IncrementalSegmentFileSystemPersistenceStore.class);
+    private static final String SEGMENT_FILE_SUFFIX = ".seg";
+    private static final String COMPACTED_FILE_PREFIX = "compacted-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int RECORD_MAGIC = 0x53444450;
+    private static final int MAX_HEADER_LENGTH = 1024 * 1024;
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 10;
+
+    private String folder;
+    private int compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private final Map<String, SegmentLog> segmentLogMap = new HashMap<>();
+    private ExecutorService compactionExecutorService;
+
+    public IncrementalSegmentFileSystemPersistenceStore() {
+    }
+
+    public IncrementalSegmentFileSystemPersistenceStore(String storageFilePath) {
+        folder = storageFilePath;
+    }
+
+    public IncrementalSegmentFileSystemPersistenceStore(String storageFilePath, int compactionThreshold) {
+        folder = storageFilePath;
+        this.compactionThreshold = validateCompactionThreshold(compactionThreshold);
+    }
+
+    @Override
+    public void setProperties(Map properties) {
+        if (properties != null && properties.get(COMPACTION_THRESHOLD) != null) {
+            String value = properties.get(COMPACTION_THRESHOLD).toString().trim();
+            try {
+                compactionThreshold = validateCompactionThreshold(Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                throw new PersistenceStoreException("Property '" + COMPACTION_THRESHOLD + "' of the incremental " +
+                        "segment persistence store should be an integer, but found '" + value + "'.", e);
+            }
+        }
+    }
+
+    private static int validateCompactionThreshold(int compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new PersistenceStoreException("Property '" + COMPACTION_THRESHOLD + "' of the incremental " +
+                    "segment persistence store should be greater than zero, but found '" + compactionThreshold + "'.");
+        }
+        return compactionThreshold;
+    }
+
+    @Override
+    public void save(IncrementalSnapshotInfo snapshotInfo, byte[] snapshot) {
+        SegmentLog segmentLog = getSegmentLog(snapshotInfo.getSiddhiAppId());
+        boolean compact = false;
+        segmentLog.lock.writeLock().lock();
+        try {
+            segmentLog.append(snapshotInfo, snapshot);
+            if (segmentLog.segments.size() > compactionThreshold && !segmentLog.compactionScheduled) {
+                segmentLog.compactionScheduled = true;
+                compact = true;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Incremental persistence of '" + snapshotInfo.getSiddhiAppId() +
+                        "' with revision '" + snapshotInfo.getRevision() + "' persisted successfully.");
+            }
+        } catch (IOException e) {
+            log.error("Cannot save the revision '" + snapshotInfo.getRevision() + "' of SiddhiApp: '" +
+                    snapshotInfo.getSiddhiAppId() + "' to the file system.", e);
+        } finally {
+            segmentLog.lock.writeLock().unlock();
+        }
+        if (compact) {
+            getCompactionExecutorService().execute(() -> compact(segmentLog));
+        }
+    }
+
+    @Override
+    public byte[] load(IncrementalSnapshotInfo snapshotInfo) {
+        SegmentLog segmentLog = getSegmentLog(snapshotInfo.getSiddhiAppId());
+        segmentLog.lock.readLock().lock();
+        try {
+            SegmentRecord record = segmentLog.records.get(snapshotInfo.getRevision());
+            if (record == null) {
+                log.error("Cannot load the revision '" + snapshotInfo.getRevision() + "' of SiddhiApp '" +
+                        snapshotInfo.getSiddhiAppId() + "' from file system, as it does not exist.");
+                return null;
+            }
+            try (RandomAccessFile file = new RandomAccessFile(record.segment.file, "r")) {
+                return readRecord(file, record);
+            }
+        } catch (IOException e) {
+            log.error("Cannot load the revision '" + snapshotInfo.getRevision() + "' of SiddhiApp '" +
+                    snapshotInfo.getSiddhiAppId() + "' from file system.", e);
+            return null;
+        } finally {
+            segmentLog.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<IncrementalSnapshotInfo, byte[]> loadAll(List<IncrementalSnapshotInfo> snapshotInfos) {
+        Map<IncrementalSnapshotInfo, byte[]> snapshots = new ConcurrentHashMap<>();
+        Map<String, List<IncrementalSnapshotInfo>> snapshotInfosBySiddhiApp = new HashMap<>();
+        for (IncrementalSnapshotInfo snapshotInfo : snapshotInfos) {
+            snapshotInfosBySiddhiApp.computeIfAbsent(snapshotInfo.getSiddhiAppId(), k -> new ArrayList<>())
+                    .add(snapshotInfo);
+        }
+        for (Map.Entry<String, List<IncrementalSnapshotInfo>> entry : snapshotInfosBySiddhiApp.entrySet()) {
+            SegmentLog segmentLog = getSegmentLog(entry.getKey());
+            segmentLog.lock.readLock().lock();
+            try {
+                Map<Segment, List<IncrementalSnapshotInfo>> snapshotInfosBySegment = new HashMap<>();
+                for (IncrementalSnapshotInfo snapshotInfo : entry.getValue()) {
+                    SegmentRecord record = segmentLog.records.get(snapshotInfo.getRevision());
+                    if (record == null) {
+                        log.error("Cannot load the revision '" + snapshotInfo.getRevision() + "' of SiddhiApp '" +
+                                snapshotInfo.getSiddhiAppId() + "' from file system, as it does not exist.");
+                    } else {
+                        snapshotInfosBySegment.computeIfAbsent(record.segment, k -> new ArrayList<>())
+                                .add(snapshotInfo);
+                    }
+                }
+                // Each segment is read by a single task, in the order of the records in the segment
+                snapshotInfosBySegment.entrySet().parallelStream().forEach(segmentEntry -> {
+                    List<IncrementalSnapshotInfo> segmentSnapshotInfos = segmentEntry.getValue();
+                    segmentSnapshotInfos.sort(Comparator.comparingLong(
+                            snapshotInfo -> segmentLog.records.get(snapshotInfo.getRevision()).offset));
+                    try (RandomAccessFile file = new RandomAccessFile(segmentEntry.getKey().file, "r")) {
+                        for (IncrementalSnapshotInfo snapshotInfo : segmentSnapshotInfos) {
+                            byte[] snapshot = readRecord(file, segmentLog.records.get(snapshotInfo.getRevision()));
+                            if (snapshot != null) {
+                                snapshots.put(snapshotInfo, snapshot);
+                            }
+                        }
+                    } catch (IOException e) {
+                        log.error("Cannot load the revisions of SiddhiApp '" + entry.getKey() + "' from the " +
+                                "segment '" + segmentEntry.getKey().file.getName() + "' of file system.", e);
+                    }
+                });
+            } finally {
+                segmentLog.lock.readLock().unlock();
+            }
+        }
+        return snapshots;
+    }
+
+    @Override
+    public List<IncrementalSnapshotInfo> getListOfRevisionsToLoad(long restoreTime, String siddhiAppName) {
+        SegmentLog segmentLog = getSegmentLog(siddhiAppName);
+        segmentLog.lock.readLock().lock();
+        try {
+            if (segmentLog.records.isEmpty()) {
+                return null;
+            }
+            List<IncrementalSnapshotInfo> results = new ArrayList<>();
+            for (SegmentRecord record : segmentLog.records.values()) {
+                if (record.snapshotInfo.getTime() <= restoreTime) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("List of revisions to load : " + record.snapshotInfo.getRevision());
+                    }
+                    results.add(record.snapshotInfo);
+                }
+            }
+            return results;
+        } finally {
+            segmentLog.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getLastRevision(String siddhiAppName) {
+        SegmentLog segmentLog = getSegmentLog(siddhiAppName);
+        long restoreTime = -1;
+        segmentLog.lock.readLock().lock();
+        try {
+            for (SegmentRecord record : segmentLog.records.values()) {
+                restoreTime = Math.max(restoreTime, record.snapshotInfo.getTime());
+            }
+        } finally {
+            segmentLog.lock.readLock().unlock();
+        }
+        if (restoreTime != -1) {
+            if (log.isDebugEnabled()) {
+                log.debug("Latest revision to load: " + restoreTime + PersistenceConstants.REVISION_SEPARATOR +
+                        siddhiAppName);
+            }
+            return restoreTime + PersistenceConstants.REVISION_SEPARATOR + siddhiAppName;
+        }
+        return null;
+    }
+
+    @Override
+    public void clearAllRevisions(String siddhiAppName) {
+        SegmentLog segmentLog = getSegmentLog(siddhiAppName);
+        segmentLog.lock.writeLock().lock();
+        try {
+            File[] files = segmentLog.directory.listFiles();
+            if (files == null || files.length == 0) {
+                log.info("No revisions were found to delete for the Siddhi App " + siddhiAppName);
+                return;
+            }
+            segmentLog.clear();
+            for (File file : files) {
+                if (file.exists()) {
+                    if (!file.delete()) {
+                        log.error("file is not deleted successfully : " + file.getName());
+                        throw new CannotClearSiddhiAppStateException("Persistence state " +
+                                "file is not deleted : " + file.getName());
+                    }
+                }
+            }
+        } finally {
+            segmentLog.lock.writeLock().unlock();
+        }
+    }
+
+    private synchronized SegmentLog getSegmentLog(String siddhiAppName) {
+        SegmentLog segmentLog = segmentLogMap.get(siddhiAppName);
+        if (segmentLog == null) {
+            segmentLog = new SegmentLog(new File(folder + File.separator + siddhiAppName));
+            segmentLog.scan();
+            segmentLogMap.put(siddhiAppName, segmentLog);
+        }
+        return segmentLog;
+    }
+
+    private synchronized ExecutorService getCompactionExecutorService() {
+        if (compactionExecutorService == null) {
+            compactionExecutorService = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("Siddhi-persistence-compaction-thread-%d").setDaemon(true).build());
+        }
+        return compactionExecutorService;
+    }
+
+    /**
+     * Compacts the live records of all the segments, other than the segment of the latest revision which can still
+     * be appended, into a single segment.
+     *
+     * @param segmentLog segment log of the Siddhi App
+     */
+    private void compact(SegmentLog segmentLog) {
+        segmentLog.lock.writeLock().lock();
+        File tempFile = null;
+        try {
+            segmentLog.compactionScheduled = false;
+            if (segmentLog.segments.size() <= compactionThreshold) {
+                return;
+            }
+            long latestTime = Long.MIN_VALUE;
+            for (Segment segment : segmentLog.segments.values()) {
+                latestTime = Math.max(latestTime, segment.maxTime);
+            }
+            List<Segment> sealedSegments = new ArrayList<>();
+            for (Segment segment : segmentLog.segments.values()) {
+                if (segment.maxTime < latestTime) {
+                    sealedSegments.add(segment);
+                }
+            }
+            if (sealedSegments.size() < 2) {
+                return;
+            }
+            sealedSegments.sort(Comparator.comparingLong(segment -> segment.maxTime));
+            long compactedTime = sealedSegments.get(sealedSegments.size() - 1).maxTime;
+            int sequence = 0;
+            File compactedFile;
+            do {
+                compactedFile = new File(segmentLog.directory, COMPACTED_FILE_PREFIX + compactedTime + "-" +
+                        sequence++ + SEGMENT_FILE_SUFFIX);
+            } while (compactedFile.exists() || segmentLog.segments.containsKey(compactedFile.getName()));
+            tempFile = new File(compactedFile.getPath() + TEMP_FILE_SUFFIX);
+
+            Segment compactedSegment = new Segment(compactedFile);
+            Map<SegmentRecord, Long> compactedOffsets = new HashMap<>();
+            try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+                for (Segment segment : sealedSegments) {
+                    List<SegmentRecord> liveRecords = segmentLog.getLiveRecords(segment);
+                    try (RandomAccessFile file = new RandomAccessFile(segment.file, "r")) {
+                        for (SegmentRecord record : liveRecords) {
+                            byte[] recordBytes = new byte[record.length];
+                            file.seek(record.offset);
+                            file.readFully(recordBytes);
+                            outputStream.write(recordBytes);
+                            compactedOffsets.put(record, compactedSegment.size);
+                            compactedSegment.size += record.length;
+                            compactedSegment.maxTime = Math.max(compactedSegment.maxTime,
+                                    record.snapshotInfo.getTime());
+                        }
+                    }
+                }
+                outputStream.getFD().sync();
+            }
+            Files.move(tempFile.toPath(), compactedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            tempFile = null;
+
+            for (Map.Entry<SegmentRecord, Long> entry : compactedOffsets.entrySet()) {
+                entry.getKey().segment = compactedSegment;
+                entry.getKey().offset = entry.getValue();
+                compactedSegment.liveRecords++;
+            }
+            segmentLog.segments.put(compactedFile.getName(), compactedSegment);
+            for (Segment segment : sealedSegments) {
+                segmentLog.segments.remove(segment.file.getName());
+                if (!segment.file.delete()) {
+                    log.error("Error deleting compacted segment " + segment.file.getName());
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Compacted " + sealedSegments.size() + " segments into '" + compactedFile.getName() +
+                        "' in '" + segmentLog.directory.getName() + "'.");
+            }
+        } catch (IOException e) {
+            log.error("Cannot compact the segments of SiddhiApp '" + segmentLog.directory.getName() +
+                    "' in the file system.", e);
+            if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+                log.error("Error deleting temporary file " + tempFile.getName());
+            }
+        } finally {
+            segmentLog.lock.writeLock().unlock();
+        }
+    }
+
+    private static byte[] encodeRecord(IncrementalSnapshotInfo snapshotInfo, byte[] snapshot) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream header = new DataOutputStream(headerBytes)) {
+            header.writeLong(snapshotInfo.getTime());
+            header.writeUTF(snapshotInfo.getType().name());
+            header.writeUTF(snapshotInfo.getQueryName());
+            header.writeUTF(snapshotInfo.getElementId());
+        }
+        byte[] headerArray = headerBytes.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(4 + 4 + headerArray.length + 4 + snapshot.length + 8);
+        record.putInt(RECORD_MAGIC);
+        record.putInt(headerArray.length);
+        record.put(headerArray);
+        record.putInt(snapshot.length);
+        record.put(snapshot);
+        CRC32 crc32 = new CRC32();
+        crc32.update(record.array(), 4, record.position() - 4);
+        record.putLong(crc32.getValue());
+        return record.array();
+    }
+
+    private static byte[] readRecord(RandomAccessFile file, SegmentRecord record) throws IOException {
+        byte[] recordBytes = new byte[record.length];
+        file.seek(record.offset);
+        file.readFully(recordBytes);
+        ByteBuffer buffer = ByteBuffer.wrap(recordBytes);
+        int headerLength = buffer.getInt(4);
+        int dataOffset = 4 + 4 + headerLength + 4;
+        int dataLength = headerLength >= 0 && dataOffset <= record.length ? buffer.getInt(dataOffset - 4) : -1;
+        boolean valid = buffer.getInt(0) == RECORD_MAGIC && dataLength >= 0 &&
+                dataOffset + dataLength + 8 == record.length;
+        if (valid) {
+            CRC32 crc32 = new CRC32();
+            crc32.update(recordBytes, 4, dataOffset + dataLength - 4);
+            valid = crc32.getValue() == buffer.getLong(dataOffset + dataLength);
+        }
+        if (!valid) {
+            log.error("Checksum mismatch in the revision '" + record.snapshotInfo.getRevision() + "' of segment '" +
+                    record.segment.file.getName() + "', hence ignoring the revision.");
+            return null;
+        }
+        return Arrays.copyOfRange(recordBytes, dataOffset, dataOffset + dataLength);
+    }
+
+    /**
+     * Segments and index of the records of a Siddhi App.
+     */
+    private static class SegmentLog {
+        private final File directory;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Segment> segments = new HashMap<>();
+        private final Map<String, SegmentRecord> records = new HashMap<>();
+        private final Map<String, List<SegmentRecord>> recordsByElement = new HashMap<>();
+        private boolean scanned = false;
+        private boolean compactionScheduled = false;
+
+        private SegmentLog(File directory) {
+            this.directory = directory;
+        }
+
+        private void append(IncrementalSnapshotInfo snapshotInfo, byte[] snapshot) throws IOException {
+            String segmentName = snapshotInfo.getTime() + SEGMENT_FILE_SUFFIX;
+            Segment segment = segments.get(segmentName);
+            if (segment == null) {
+                segment = new Segment(new File(directory, segmentName));
+            }
+            byte[] record = encodeRecord(snapshotInfo, snapshot);
+            if (!directory.exists() && !directory.mkdirs()) {
+                throw new IOException("Cannot create the directory " + directory.getPath());
+            }
+            try (RandomAccessFile file = new RandomAccessFile(segment.file, "rw")) {
+                if (file.length() > segment.size) {
+                    // Discard the partially written record of a failed append
+                    file.setLength(segment.size);
+                }
+                file.seek(segment.size);
+                file.write(record);
+            }
+            segments.put(segmentName, segment);
+            SegmentRecord segmentRecord = new SegmentRecord(snapshotInfo, segment, segment.size, record.length);
+            segment.size += record.length;
+            index(segmentRecord);
+        }
+
+        /**
+         * Rebuilds the index from the segment files.
+         */
+        private void scan() {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (file.getName().endsWith(TEMP_FILE_SUFFIX)) {
+                        if (!file.delete()) {
+                            log.error("Error deleting temporary file " + file.getName());
+                        }
+                    } else if (file.getName().endsWith(SEGMENT_FILE_SUFFIX)) {
+                        scan(file);
+                    }
+                }
+            }
+            scanned = true;
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                deleteIfDead(segment);
+            }
+        }
+
+        private void scan(File file) {
+            Segment segment = new Segment(file);
+            segments.put(file.getName(), segment);
+            String siddhiAppName = directory.getName();
+            try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(
+                    new FileInputStream(file)))) {
+                while (true) {
+                    int magic;
+                    try {
+                        magic = inputStream.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    int headerLength = inputStream.readInt();
+                    if (magic != RECORD_MAGIC || headerLength < 0 || headerLength > MAX_HEADER_LENGTH) {
+                        log.warn("Corrupted record found at position " + segment.size + " of segment '" +
+                                file.getName() + "' of SiddhiApp '" + siddhiAppName + "', hence ignoring the " +
+                                "rest of the segment.");
+                        break;
+                    }
+                    byte[] header = new byte[headerLength];
+                    inputStream.readFully(header);
+                    int dataLength = inputStream.readInt();
+                    if (dataLength < 0 || inputStream.skipBytes(dataLength) != dataLength) {
+                        throw new EOFException();
+                    }
+                    inputStream.readLong();
+                    IncrementalSnapshotInfo snapshotInfo;
+                    try (DataInputStream headerStream = new DataInputStream(new ByteArrayInputStream(header))) {
+                        long time = headerStream.readLong();
+                        IncrementalSnapshotInfo.SnapshotType type =
+                                IncrementalSnapshotInfo.SnapshotType.valueOf(headerStream.readUTF());
+                        String queryName = headerStream.readUTF();
+                        String elementId = headerStream.readUTF();
+                        snapshotInfo = new IncrementalSnapshotInfo(siddhiAppName, queryName, elementId, time, type);
+                    }
+                    int length = 4 + 4 + headerLength + 4 + dataLength + 8;
+                    index(new SegmentRecord(snapshotInfo, segment, segment.size, length));
+                    segment.size += length;
+                }
+            } catch (EOFException e) {
+                log.warn("Incomplete record found at position " + segment.size + " of segment '" + file.getName() +
+                        "' of SiddhiApp '" + siddhiAppName + "', hence ignoring the rest of the segment.");
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("Cannot read the segment '" + file.getName() + "' of SiddhiApp '" + siddhiAppName +
+                        "' from the file system.", e);
+            }
+        }
+
+        private void index(SegmentRecord record) {
+            record.segment.maxTime = Math.max(record.segment.maxTime, record.snapshotInfo.getTime());
+            List<SegmentRecord> elementRecords = recordsByElement.computeIfAbsent(
+                    record.snapshotInfo.getQueryName() + PersistenceConstants.REVISION_SEPARATOR +
+                            record.snapshotInfo.getElementId(), k -> new ArrayList<>());
+            for (SegmentRecord elementRecord : elementRecords) {
+                if (supersedes(elementRecord, record)) {
+                    // Older revision stored after a newer one, as during a scan
+                    deleteIfDead(record.segment);
+                    return;
+                }
+            }
+            record.segment.liveRecords++;
+            List<SegmentRecord> droppedRecords = new ArrayList<>();
+            for (Iterator<SegmentRecord> iterator = elementRecords.iterator(); iterator.hasNext(); ) {
+                SegmentRecord elementRecord = iterator.next();
+                if (supersedes(record, elementRecord) || elementRecord.snapshotInfo.getRevision().equals(
+                        record.snapshotInfo.getRevision())) {
+                    iterator.remove();
+                    droppedRecords.add(elementRecord);
+                }
+            }
+            elementRecords.add(record);
+            records.put(record.snapshotInfo.getRevision(), record);
+            for (SegmentRecord droppedRecord : droppedRecords) {
+                if (records.get(droppedRecord.snapshotInfo.getRevision()) == droppedRecord) {
+                    records.remove(droppedRecord.snapshotInfo.getRevision());
+                }
+                droppedRecord.segment.liveRecords--;
+                deleteIfDead(droppedRecord.segment);
+            }
+        }
+
+        /**
+         * Newer base snapshots supersede the older base and incremental snapshots of the element, and newer periodic
+         * snapshots supersede the older periodic snapshots of the element.
+         */
+        private static boolean supersedes(SegmentRecord newer, SegmentRecord older) {
+            if (older.snapshotInfo.getTime() >= newer.snapshotInfo.getTime()) {
+                return false;
+            }
+            IncrementalSnapshotInfo.SnapshotType newerType = newer.snapshotInfo.getType();
+            IncrementalSnapshotInfo.SnapshotType olderType = older.snapshotInfo.getType();
+            if (newerType == IncrementalSnapshotInfo.SnapshotType.BASE) {
+                return olderType != IncrementalSnapshotInfo.SnapshotType.PERIODIC;
+            }
+            return newerType == IncrementalSnapshotInfo.SnapshotType.PERIODIC &&
+                    olderType == IncrementalSnapshotInfo.SnapshotType.PERIODIC;
+        }
+
+        private void deleteIfDead(Segment segment) {
+            if (scanned && segment.liveRecords == 0 && segments.get(segment.file.getName()) == segment) {
+                segments.remove(segment.file.getName());
+                if (segment.file.exists() && !segment.file.delete()) {
+                    log.error("Error deleting old segment " + segment.file.getName());
+                }
+            }
+        }
+
+        private List<SegmentRecord> getLiveRecords(Segment segment) {
+            List<SegmentRecord> liveRecords = new ArrayList<>();
+            for (SegmentRecord record : records.values()) {
+                if (record.segment == segment) {
+                    liveRecords.add(record);
+                }
+            }
+            liveRecords.sort(Comparator.comparingLong(record -> record.offset));
+            return liveRecords;
+        }
+
+        private void clear() {
+            segments.clear();
+            records.clear();
+            recordsByElement.clear();
+        }
+    }
+
+    /**
+     * Segment file, holding the records of one or more revisions.
+     */
+    private static class Segment {
+        private final File file;
+        private long size = 0;
+        private long maxTime = Long.MIN_VALUE;
+        private int liveRecords = 0;
+
+        private Segment(File file) {
+            this.file = file;
+        }
+    }
+
+    /**
+     * Location of the snapshot of an element in a segment.
+     */
+    private static class SegmentRecord {
+        private final IncrementalSnapshotInfo snapshotInfo;
+        private Segment segment;
+        private long offset;
+        private final int length;
+
+        private SegmentRecord(IncrementalSnapshotInfo snapshotInfo, Segment segment, long offset, int length) {
+            this.snapshotInfo = snapshotInfo;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -20,19 +20,29 @@ package io.siddhi.core.util.snapshot;
 
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.util.ExceptionUtil;
+import io.siddhi.core.util.snapshot.compression.SnapshotCodec;
 import org.apache.log4j.Logger;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 
 /**
- * Serializer used by {@link SnapshotService} to do Object to Byte[] conversion and vise-versa
+ * Serializer used by {@link SnapshotService} to do Object to Byte[] conversion and vise-versa.
+ * When a {@link SnapshotCodec} is set to the Siddhi Manager, the serialized output is streamed through the codec,
+ * and the snapshot is prefixed with a header recording the name of the codec. Snapshots without the header are
+ * read as uncompressed snapshots.
  */
 public class ByteSerializer {
     private static final Logger log = Logger.getLogger(ByteSerializer.class);
+    // Differs from the magic of the Java serialization stream (0xACED), with which the uncompressed snapshots start
+    private static final byte[] HEADER_MAGIC = new byte[]{'S', 'D', 'C', 'S'};
+    private static final byte HEADER_VERSION = 1;
 
     private ByteSerializer() {
     }
@@ -43,8 +53,21 @@ public class ByteSerializer {
         if (obj != null) {
             try {
                 ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ObjectOutputStream oos = new ObjectOutputStream(baos);
-                oos.writeObject(obj);
+                SnapshotCodec snapshotCodec = siddhiAppContext.getSiddhiContext().getSnapshotCodec();
+                if (snapshotCodec == null) {
+                    ObjectOutputStream oos = new ObjectOutputStream(baos);
+                    oos.writeObject(obj);
+                    oos.flush();
+                } else {
+                    DataOutputStream headerOutputStream = new DataOutputStream(baos);
+                    headerOutputStream.write(HEADER_MAGIC);
+                    headerOutputStream.writeByte(HEADER_VERSION);
+                    headerOutputStream.writeUTF(snapshotCodec.getName());
+                    headerOutputStream.flush();
+                    try (ObjectOutputStream oos = new ObjectOutputStream(snapshotCodec.compress(baos))) {
+                        oos.writeObject(obj);
+                    }
+                }
                 out = baos.toByteArray();
             } catch (IOException e) {
                 log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
@@ -64,9 +87,28 @@ public class ByteSerializer {
         Object out = null;
         if (bytes != null) {
             try {
-                ByteArrayInputStream bios = new ByteArrayInputStream(bytes);
-                ObjectInputStream ois = new ObjectInputStream(bios);
-                out = ois.readObject();
+                InputStream inputStream = new ByteArrayInputStream(bytes);
+                if (hasHeader(bytes)) {
+                    DataInputStream headerInputStream = new DataInputStream(inputStream);
+                    headerInputStream.skipBytes(HEADER_MAGIC.length);
+                    byte version = headerInputStream.readByte();
+                    if (version != HEADER_VERSION) {
+                        log.error("Error when reading the snapshot of Siddhi App '" + siddhiAppContext.getName() +
+                                "', as the snapshot header version '" + version + "' is not supported.");
+                        return null;
+                    }
+                    String codecName = headerInputStream.readUTF();
+                    SnapshotCodec snapshotCodec = siddhiAppContext.getSiddhiContext().getSnapshotCodec(codecName);
+                    if (snapshotCodec == null) {
+                        log.error("Error when reading the snapshot of Siddhi App '" + siddhiAppContext.getName() +
+                                "', as no snapshot codec is available with the name '" + codecName + "'.");
+                        return null;
+                    }
+                    inputStream = snapshotCodec.decompress(inputStream);
+                }
+                try (ObjectInputStream ois = new ObjectInputStream(inputStream)) {
+                    out = ois.readObject();
+                }
             } catch (IOException e) {
                 log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
                         " Error when writing to object.", e);
@@ -83,4 +125,16 @@ public class ByteSerializer {
         }
         return out;
     }
+
+    private static boolean hasHeader(byte[] bytes) {
+        if (bytes.length < HEADER_MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER_MAGIC.length; i++) {
+            if (bytes[i] != HEADER_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -17,12 +17,15 @@
  */
 package io.siddhi.core.util.snapshot;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.NoPersistenceStoreException;
 import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.util.ThreadBarrier;
+import io.siddhi.core.util.concurrent.SharedThreadPools;
+import io.siddhi.core.util.persistence.IncrementalBulkPersistenceStore;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
 import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
@@ -31,13 +34,21 @@ import io.siddhi.core.util.snapshot.state.SnapshotState;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
  * Service level implementation to take/restore snapshots of processing elements.
@@ -49,6 +60,9 @@ public class SnapshotService {
     private final ThreadBarrier threadBarrier;
     private ConcurrentHashMap<String, Map<String, Snapshotable>> snapshotableMap = new ConcurrentHashMap<>();
     private SiddhiAppContext siddhiAppContext;
+    private final AtomicInteger restoredSnapshotableCount = new AtomicInteger(0);
+    private volatile int restoringSnapshotableCount = 0;
+    private volatile long lastRestoreDuration = -1;
 
     public SnapshotService(SiddhiAppContext siddhiAppContext) {
         this.siddhiAppContext = siddhiAppContext;
@@ -303,42 +317,25 @@ public class SnapshotService {
                 }
             }
 
-            for (Map.Entry<String, Map<String, Snapshotable>> entry : snapshotableMap.entrySet()) {
-                if (!entry.getKey().equals("partition")) {
-                    Map<String, Snapshotable> map = entry.getValue();
-                    try {
-                        for (Map.Entry snapshotableEntry : map.entrySet()) {
-                            Snapshotable snapshotable = (Snapshotable) snapshotableEntry.getValue();
-                            Map<String, Map<String, Object>> snapshotsByElementId =
-                                    snapshotsByQueryName.get(entry.getKey());
-                            if (snapshotsByElementId != null) {
-                                Map<String, Object> snapshotsByKey = snapshotsByElementId.get(
-                                        snapshotable.getElementId());
-                                if (snapshotsByKey != null) {
-                                    Map<String, Object> snapshotRestoresByKey = new HashMap<>();
-                                    for (Map.Entry<String, Object> snapshotsByKeyEntry : snapshotsByKey.entrySet()) {
-                                        if (snapshotsByKeyEntry.getValue() instanceof SnapshotState) {
-                                            SnapshotStateList snapshotStateList = new SnapshotStateList();
-                                            snapshotStateList.putSnapshotState(0L,
-                                                    (SnapshotState) snapshotsByKeyEntry.getValue());
-                                            snapshotRestoresByKey.put(snapshotsByKeyEntry.getKey(), snapshotStateList);
-                                        } else {
-                                            snapshotRestoresByKey.put(snapshotsByKeyEntry.getKey(),
-                                                    snapshotsByKeyEntry.getValue());
-                                        }
-                                    }
-                                    snapshotable.restoreState(snapshotRestoresByKey);
-                                }
+            restoreSnapshotables((snapshotableName, snapshotable) -> {
+                Map<String, Map<String, Object>> snapshotsByElementId = snapshotsByQueryName.get(snapshotableName);
+                if (snapshotsByElementId != null) {
+                    Map<String, Object> snapshotsByKey = snapshotsByElementId.get(snapshotable.getElementId());
+                    if (snapshotsByKey != null) {
+                        Map<String, Object> snapshotRestoresByKey = new HashMap<>();
+                        for (Map.Entry<String, Object> snapshotsByKeyEntry : snapshotsByKey.entrySet()) {
+                            if (snapshotsByKeyEntry.getValue() instanceof SnapshotState) {
+                                SnapshotStateList snapshotStateList = new SnapshotStateList();
+                                snapshotStateList.putSnapshotState(0L, (SnapshotState) snapshotsByKeyEntry.getValue());
+                                snapshotRestoresByKey.put(snapshotsByKeyEntry.getKey(), snapshotStateList);
+                            } else {
+                                snapshotRestoresByKey.put(snapshotsByKeyEntry.getKey(), snapshotsByKeyEntry.getValue());
                             }
                         }
-                    } catch (Throwable t) {
-                        throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " +
-                                siddhiAppContext.getName() + " not completed properly because content of Siddhi " +
-                                "app has changed since last state persistence. Clean persistence store for a " +
-                                "fresh deployment.", t);
+                        snapshotable.restoreState(snapshotRestoresByKey);
                     }
                 }
-            }
+            });
         } finally {
             threadBarrier.unlock();
         }
@@ -367,29 +364,121 @@ public class SnapshotService {
                 }
             }
 
+            restoreSnapshotables((snapshotableName, snapshotable) ->
+                    restoreIncrementalSnapshot(snapshotable, snapshot.get(snapshotableName)));
+        } finally {
+            threadBarrier.unlock();
+        }
+    }
+
+    /**
+     * Restores the state of all the non partition snapshotables. The snapshotables of different queries, tables,
+     * windows, etc. are independent of each other, hence they are restored concurrently on a bounded pool, while
+     * the snapshotables of the same query are restored in order by the same thread. The caller should hold the
+     * thread barrier.
+     *
+     * @param restorer restores the state of the given snapshotable, which belongs to the given snapshotable name
+     * @throws CannotRestoreSiddhiAppStateException if the state of any of the snapshotables cannot be restored
+     */
+    private void restoreSnapshotables(BiConsumer<String, Snapshotable> restorer)
+            throws CannotRestoreSiddhiAppStateException {
+        long start = System.currentTimeMillis();
+        Map<String, List<Snapshotable>> snapshotablesByName = new LinkedHashMap<>();
+        int snapshotableCount = 0;
+        synchronized (this) {
             for (Map.Entry<String, Map<String, Snapshotable>> entry : snapshotableMap.entrySet()) {
                 if (!entry.getKey().equals("partition")) {
-                    Map<String, Snapshotable> map = entry.getValue();
-                    try {
-                        for (Map.Entry snapshotableEntry : map.entrySet()) {
-                            Snapshotable snapshotable = (Snapshotable) snapshotableEntry.getValue();
-                            Map<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>> incrementalStateByElementId
-                                    = snapshot.get(entry.getKey());
-                            restoreIncrementalSnapshot(snapshotable, incrementalStateByElementId);
-                        }
-                    } catch (Throwable t) {
-                        throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " +
-                                siddhiAppContext.getName() + " not completed properly because content of Siddhi " +
-                                "app has changed since last state persistence. Clean persistence store for a " +
-                                "fresh deployment.", t);
+                    snapshotablesByName.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+                    snapshotableCount += entry.getValue().size();
+                }
+            }
+        }
+        restoringSnapshotableCount = snapshotableCount;
+        restoredSnapshotableCount.set(0);
+        int parallelism = Math.min(siddhiAppContext.getSiddhiContext().getRestoreParallelism(),
+                snapshotablesByName.size());
+        try {
+            if (parallelism <= 1) {
+                for (Map.Entry<String, List<Snapshotable>> entry : snapshotablesByName.entrySet()) {
+                    restoreSnapshotables(entry.getKey(), entry.getValue(), restorer);
+                }
+            } else {
+                // Restores on the threads shared by the Siddhi Apps, using at most the given number of them, or on
+                // threads of this restore when the Siddhi Apps do not share thread pools
+                SharedThreadPools sharedThreadPools = siddhiAppContext.getSiddhiContext().getSharedThreadPools();
+                ExecutorService executorService;
+                if (sharedThreadPools != null) {
+                    executorService = sharedThreadPools.createExecutorService(parallelism);
+                } else {
+                    executorService = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                            .setNameFormat("Siddhi-" + siddhiAppContext.getName() + "-restore-thread-%d").build());
+                }
+                try {
+                    List<Future<?>> futures = new ArrayList<>(snapshotablesByName.size());
+                    for (Map.Entry<String, List<Snapshotable>> entry : snapshotablesByName.entrySet()) {
+                        futures.add(executorService.submit(() ->
+                                restoreSnapshotables(entry.getKey(), entry.getValue(), restorer)));
                     }
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                } finally {
+                    executorService.shutdownNow();
                 }
             }
-        } finally {
-            threadBarrier.unlock();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.getName() +
+                    " was interrupted.", e);
+        } catch (Throwable t) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " +
+                    siddhiAppContext.getName() + " not completed properly because content of Siddhi " +
+                    "app has changed since last state persistence. Clean persistence store for a " +
+                    "fresh deployment.", t instanceof ExecutionException ? t.getCause() : t);
+        }
+        lastRestoreDuration = System.currentTimeMillis() - start;
+        if (log.isDebugEnabled()) {
+            log.debug("Restored the state of " + snapshotableCount + " elements of Siddhi app '" +
+                    siddhiAppContext.getName() + "' in " + lastRestoreDuration + " msec using " +
+                    Math.max(parallelism, 1) + " thread(s).");
         }
     }
 
+    private void restoreSnapshotables(String snapshotableName, List<Snapshotable> snapshotables,
+                                      BiConsumer<String, Snapshotable> restorer) {
+        for (Snapshotable snapshotable : snapshotables) {
+            restorer.accept(snapshotableName, snapshotable);
+        }
+        int restoredCount = restoredSnapshotableCount.addAndGet(snapshotables.size());
+        if (log.isDebugEnabled()) {
+            log.debug("Restored the state of '" + snapshotableName + "' of Siddhi app '" +
+                    siddhiAppContext.getName() + "' (" + restoredCount + "/" + restoringSnapshotableCount +
+                    " elements).");
+        }
+    }
+
+    /**
+     * @return the number of elements, which are restored so far by the ongoing (or the last) restore
+     */
+    public int getRestoredSnapshotableCount() {
+        return restoredSnapshotableCount.get();
+    }
+
+    /**
+     * @return the total number of elements to be restored by the ongoing (or the last) restore
+     */
+    public int getRestoringSnapshotableCount() {
+        return restoringSnapshotableCount;
+    }
+
+    /**
+     * @return the time taken in milliseconds to restore the elements by the last restore, or -1 if the state has
+     * not been restored yet
+     */
+    public long getLastRestoreDuration() {
+        return lastRestoreDuration;
+    }
+
     private void restoreIncrementalSnapshot(Snapshotable snapshotable,
                                             Map<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>>
                                                     incrementalStateByElementId) {
@@ -504,6 +593,11 @@ public class SnapshotService {
                     }
                     lastElementId = snapshotInfo.getElementId();
                 }
+                Map<IncrementalSnapshotInfo, byte[]> loadedSnapshots = null;
+                if (incrementalPersistenceStore instanceof IncrementalBulkPersistenceStore) {
+                    loadedSnapshots = ((IncrementalBulkPersistenceStore) incrementalPersistenceStore)
+                            .loadAll(incrementalSnapshotInfos);
+                }
                 Map<String, Map<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>>> incrementalState =
                         new HashMap<>();
                 for (IncrementalSnapshotInfo snapshotInfo : incrementalSnapshotInfos) {
@@ -514,7 +608,8 @@ public class SnapshotService {
                                     k -> new TreeMap<>());
                     Map<IncrementalSnapshotInfo, byte[]> incrementalStateByInfo = incrementalStateByTime.
                             computeIfAbsent(snapshotInfo.getTime(), k -> new HashMap<>());
-                    incrementalStateByInfo.put(snapshotInfo, incrementalPersistenceStore.load(snapshotInfo));
+                    incrementalStateByInfo.put(snapshotInfo, loadedSnapshots != null ?
+                            loadedSnapshots.get(snapshotInfo) : incrementalPersistenceStore.load(snapshotInfo));
                 }
                 restore(incrementalState);
                 if (log.isDebugEnabled()) {
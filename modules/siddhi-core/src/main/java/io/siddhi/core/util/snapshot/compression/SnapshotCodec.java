@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.siddhi.core.util.snapshot.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Codec used to compress the serialized snapshots of the Siddhi Apps. The name of the codec is recorded in the
+ * header of each snapshot, hence the snapshots can be restored even after the codec of the
+ * {@link io.siddhi.core.SiddhiManager} is changed, as long as the codec, which wrote the snapshot, is available.
+ * Codecs other than the ones shipped with Siddhi are discovered via {@link java.util.ServiceLoader}, or can be
+ * registered through {@link io.siddhi.core.SiddhiManager#setSnapshotCodec(SnapshotCodec)}.
+ */
+public interface SnapshotCodec {
+
+    /**
+     * @return unique name of the codec, which is recorded in the snapshot header
+     */
+    String getName();
+
+    /**
+     * Wraps the given stream, such that the data written to the returned stream is compressed into the given stream.
+     * Closing the returned stream should complete the compression.
+     *
+     * @param outputStream stream to write the compressed data to
+     * @return stream to write the uncompressed data to
+     * @throws IOException if the compressed stream cannot be created
+     */
+    OutputStream compress(OutputStream outputStream) throws IOException;
+
+    /**
+     * Wraps the given stream, such that the data read from the returned stream is decompressed from the given stream.
+     *
+     * @param inputStream stream to read the compressed data from
+     * @return stream to read the uncompressed data from
+     * @throws IOException if the compressed stream cannot be read
+     */
+    InputStream decompress(InputStream inputStream) throws IOException;
+}
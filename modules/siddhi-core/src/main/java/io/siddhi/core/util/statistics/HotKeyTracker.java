@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.statistics;
+
+import java.util.List;
+
+/**
+ * This interface will have the necessary methods to track the keys receiving the most events, such as the keys of a
+ * partition or the group by keys of a query, using memory that is bounded regardless of the number of keys.
+ */
+public interface HotKeyTracker {
+
+    /**
+     * Decides whether the next notification is to be recorded. Callers check this before {@link #eventsIn}, so that
+     * the events of the notifications left out need not be counted.
+     *
+     * @return true if the events should be notified through {@link #eventsIn}, which is always the case for trackers
+     * not sampling their notifications
+     */
+    default boolean sample() {
+        return true;
+    }
+
+    /**
+     * This method is to notify receive of events with the given key, when {@link #sample()} returned true
+     *
+     * @param key        key of the events
+     * @param eventCount number of events passing through
+     */
+    void eventsIn(String key, int eventCount);
+
+    /**
+     * @return the keys with the highest estimated event rates, in events per second, in descending order
+     */
+    List<HotKey> getTopKeysByRate();
+
+    /**
+     * @return Name of the hot key tracker
+     */
+    String getName();
+
+}
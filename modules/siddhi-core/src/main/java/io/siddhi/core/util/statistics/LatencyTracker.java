@@ -21,7 +21,8 @@ package io.siddhi.core.util.statistics;
 /**
  * Calculates the process latency. markIn and markOut is used to denote start
  * and end of processing events respectively. Latency is the time gap between
- * markIn and markOut calls of given thread.
+ * markIn and markOut calls of given thread. Latencies measured across threads, such as the time taken by an
+ * event to travel from a source to a sink, are recorded directly.
  */
 public interface LatencyTracker {
     /**
@@ -34,6 +35,15 @@ public interface LatencyTracker {
      */
     void markOut();
 
+    /**
+     * This is to be called to record a latency that is measured outside of the tracker. Trackers which only measure
+     * the latencies between markIn and markOut ignore it.
+     *
+     * @param latency latency in nanoseconds
+     */
+    default void record(long latency) {
+    }
+
     /**
      * @return Name of the latency tracker
      */
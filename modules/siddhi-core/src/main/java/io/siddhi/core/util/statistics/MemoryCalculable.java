@@ -18,9 +18,16 @@
 
 package io.siddhi.core.util.statistics;
 
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
+
 /**
  * Memory Calculable Objects
  */
 public interface MemoryCalculable {
 
+    /**
+     * @return tracker of the running size of the state held by the object, or null when it does not track the size of
+     * its state
+     */
+    StateSizeTracker getStateSizeTracker();
 }
@@ -18,6 +18,9 @@
 
 package io.siddhi.core.util.statistics;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Estimate the memory usage of set of object
  */
@@ -36,4 +39,14 @@ public interface MemoryUsageTracker {
      * @return Name of the mem tracker
      */
     String getName(Object object);
+
+    /**
+     * Calculates the memory usage of the registered objects, such as by walking their object graphs, which takes
+     * time proportional to the size of their state. Trackers that do not support it report none.
+     *
+     * @return the memory usage of the registered objects in bytes, mapped by their names
+     */
+    default Map<String, Long> calculateMemoryUsage() {
+        return Collections.emptyMap();
+    }
 }
@@ -18,6 +18,8 @@
 
 package io.siddhi.core.util.statistics;
 
+import java.util.function.Supplier;
+
 /**
  * Each siddhi app will have one StatisticsManager in siddhi app context
  */
@@ -28,4 +30,14 @@ public interface StatisticsManager {
     void stopReporting();
 
     void cleanup();
+
+    /**
+     * Registers a gauge, which reports the value given by the supplier. Statistics managers that do not support
+     * gauges ignore the registration.
+     *
+     * @param name  unique name of the gauge
+     * @param value supplier of the current value of the gauge
+     */
+    default void registerGauge(String name, Supplier<? extends Number> value) {
+    }
 }
@@ -35,6 +35,21 @@ public interface StatisticsTrackerFactory {
 
     MemoryUsageTracker createMemoryUsageTracker(StatisticsManager statisticsManager);
 
+    /**
+     * Creates a tracker of the hot keys of a partition or a group by query. Factories that do not support hot key
+     * tracking need not implement this, and hot keys are then not tracked.
+     *
+     * @param name              name of the tracker
+     * @param topKeyCount       number of hot keys to report
+     * @param sampleInterval    one in sampleInterval events is recorded
+     * @param statisticsManager statistics manager of the Siddhi app
+     * @return the hot key tracker, or null if hot keys are not tracked
+     */
+    default HotKeyTracker createHotKeyTracker(String name, int topKeyCount, int sampleInterval,
+                                              StatisticsManager statisticsManager) {
+        return null;
+    }
+
     StatisticsManager createStatisticsManager(String prefix, String siddhiAppName, List<Element> elements);
 
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.statistics.memory;
+
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.io.Serializable;
+
+/**
+ * Estimates the memory taken by the events of a holder from the number of events it holds and the average size of
+ * the events added to it. Only every {@value #SAMPLING_INTERVAL}th added event is measured, so that adding events
+ * stays cheap; the counters are written by the processing thread without synchronization, hence readers may observe
+ * slightly stale values.
+ */
+public class EventSizeEstimator implements Serializable {
+
+    private static final long serialVersionUID = 6120338516282462539L;
+    private static final int SAMPLING_INTERVAL = 64;
+    private static final int OBJECT_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+    private static final int STREAM_EVENT_SIZE = 56;
+    private static final int STRING_SIZE = 24;
+
+    private long addedEvents;
+    private long sampledEvents;
+    private long sampledSize;
+
+    public void sample(StreamEvent streamEvent) {
+        if (addedEvents++ % SAMPLING_INTERVAL == 0) {
+            sampledEvents++;
+            sampledSize += estimateSize(streamEvent);
+        }
+    }
+
+    public long estimateSize(long eventCount) {
+        if (sampledEvents == 0 || eventCount <= 0) {
+            return 0;
+        }
+        return eventCount * (sampledSize / sampledEvents);
+    }
+
+    /**
+     * Estimates the shallow size of the given event together with its attribute arrays and values, assuming a 64 bit
+     * JVM with compressed object pointers. The next events of the chain are not included.
+     *
+     * @param streamEvent event to be measured
+     * @return estimated size in bytes
+     */
+    public static long estimateSize(StreamEvent streamEvent) {
+        return STREAM_EVENT_SIZE + estimateSize(streamEvent.getBeforeWindowData()) +
+                estimateSize(streamEvent.getOnAfterWindowData()) + estimateSize(streamEvent.getOutputData());
+    }
+
+    private static long estimateSize(Object[] data) {
+        if (data == null) {
+            return 0;
+        }
+        long size = align(OBJECT_HEADER_SIZE + (long) REFERENCE_SIZE * data.length);
+        for (Object value : data) {
+            size += estimateSize(value);
+        }
+        return size;
+    }
+
+    private static long estimateSize(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 0;
+        } else if (value instanceof String) {
+            return STRING_SIZE + align(OBJECT_HEADER_SIZE + 2L * ((String) value).length());
+        } else if (value instanceof Long || value instanceof Double) {
+            return 24;
+        } else {
+            return 16;
+        }
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -35,6 +35,7 @@ import io.siddhi.core.util.statistics.MemoryCalculable;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.StatisticsManager;
 import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.core.util.timestamp.TimestampGenerator;
 import org.apache.log4j.Logger;
 
 import java.lang.management.ManagementFactory;
@@ -48,6 +49,7 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Contains utility methods for calculating the memory usage of objects. It
@@ -113,6 +115,12 @@ public class ObjectSizeCalculator {
         ignoreCalculation.add(StatisticsManager.class);
         ignoreCalculation.add(MemoryCalculable.class);
         ignoreCalculation.add(AbstractRecordTable.class);
+        // Shared by the Siddhi app, or by the JVM, hence not part of the memory usage of a single element
+        ignoreCalculation.add(TimestampGenerator.class);
+        ignoreCalculation.add(ExecutorService.class);
+        ignoreCalculation.add(Thread.class);
+        ignoreCalculation.add(ClassLoader.class);
+        ignoreCalculation.add(Class.class);
     }
 
     /**
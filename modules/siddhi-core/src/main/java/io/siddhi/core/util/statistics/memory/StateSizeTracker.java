@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.statistics.memory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Tracks the size of the state of a {@link io.siddhi.core.util.statistics.MemoryCalculable} element by summing the
+ * running counters of the event holders registered to it. Reading the size is proportional to the number of holders
+ * and not to the number of events they hold.
+ */
+public class StateSizeTracker {
+
+    private final Queue<SizedEventHolder> eventHolders = new ConcurrentLinkedQueue<>();
+    private StateSizeTracker scopeTracker;
+
+    public void register(SizedEventHolder eventHolder) {
+        eventHolders.add(eventHolder);
+        if (scopeTracker != null) {
+            scopeTracker.register(eventHolder);
+        }
+    }
+
+    /**
+     * Sets the tracker to which the event holders registered from now on are also registered, such as the tracker
+     * of the partition instance being cloned, so that the state of that scope can be reported on its own.
+     *
+     * @param scopeTracker tracker of the current scope, or null when leaving the scope
+     */
+    public void setScopeTracker(StateSizeTracker scopeTracker) {
+        this.scopeTracker = scopeTracker;
+    }
+
+    /**
+     * @return true if at least one event holder is registered, so that the tracked size can be used instead of
+     * walking the object graph of the element
+     */
+    public boolean isTracking() {
+        return !eventHolders.isEmpty();
+    }
+
+    public long getEventCount() {
+        long eventCount = 0;
+        for (SizedEventHolder eventHolder : eventHolders) {
+            eventCount += eventHolder.getEventCount();
+        }
+        return eventCount;
+    }
+
+    public long getEstimatedSize() {
+        long estimatedSize = 0;
+        for (SizedEventHolder eventHolder : eventHolders) {
+            estimatedSize += eventHolder.getEstimatedSize();
+        }
+        return estimatedSize;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.statistics.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed memory reservoir that counts values in log-linear buckets, as in HDR histograms. Each power of two range is
+ * split into 64 buckets, so that the reported percentiles are within 1.6% of the recorded values. Values are recorded
+ * without locks into the stripe selected by the thread id, and the stripes are merged when a snapshot is taken.
+ * Values are kept in two alternating windows, so that a snapshot covers the values of the last one to two window
+ * lengths.
+ * <p>
+ * A stripe holds 2242 counters, about 18 KB. Stripes are allocated when a thread first records into them, so a timer
+ * recorded into by one thread takes about 36 KB, and at most 2 windows of 4 stripes take about 143 KB.
+ */
+public class LogBucketReservoir implements Reservoir {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_TRACKABLE_VALUE = (1L << 40) - 1;
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+    private static final int SUM_INDEX = BUCKET_COUNT;
+    private static final int MAX_INDEX = BUCKET_COUNT + 1;
+    private static final int STRIPE_LENGTH = BUCKET_COUNT + 2;
+    private static final int MAX_STRIPES = 4;
+
+    private final int stripeCount;
+    private final int mask;
+    private final long windowLength;
+    // The stripes of the two windows, those of the second window following those of the first
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+    private volatile int currentWindow = 0;
+    private long windowStartTime;
+
+    public LogBucketReservoir() {
+        this(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param windowLength length of the windows the values are kept in
+     * @param timeUnit     time unit of the window length
+     */
+    public LogBucketReservoir(long windowLength, TimeUnit timeUnit) {
+        int stripeCount = 1;
+        while (stripeCount < Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES)) {
+            stripeCount <<= 1;
+        }
+        this.stripeCount = stripeCount;
+        this.mask = stripeCount - 1;
+        this.windowLength = timeUnit.toNanos(windowLength);
+        this.windowStartTime = System.nanoTime();
+        this.stripes = new AtomicReferenceArray<>(2 * stripeCount);
+    }
+
+    static int bucketIndex(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return bucketLowerBound(index) + (1L << shift) - 1;
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int index = currentWindow * stripeCount + ((int) Thread.currentThread().getId() & mask);
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new AtomicLongArray(STRIPE_LENGTH));
+            stripe = stripes.get(index);
+        }
+        stripe.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_VALUE)));
+        stripe.addAndGet(SUM_INDEX, value);
+        long max = stripe.get(MAX_INDEX);
+        while (value > max && !stripe.compareAndSet(MAX_INDEX, max, value)) {
+            max = stripe.get(MAX_INDEX);
+        }
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        rotateWindows();
+        long[] counts = new long[BUCKET_COUNT];
+        long sum = 0;
+        long max = 0;
+        for (int index = 0; index < stripes.length(); index++) {
+            AtomicLongArray stripe = stripes.get(index);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+            sum += stripe.get(SUM_INDEX);
+            max = Math.max(max, stripe.get(MAX_INDEX));
+        }
+        return new LogBucketSnapshot(counts, sum, max);
+    }
+
+    /**
+     * Clears the older window and starts recording into it, once the current window has been recorded into for the
+     * window length. A value recorded by a thread that has not yet seen the rotation may get cleared with the window.
+     */
+    private synchronized void rotateWindows() {
+        long currentTime = System.nanoTime();
+        if (currentTime - windowStartTime < windowLength) {
+            return;
+        }
+        int nextWindow = 1 - currentWindow;
+        if (currentTime - windowStartTime >= 2 * windowLength) {
+            // The current window is also older than the window length
+            clear(currentWindow);
+        }
+        clear(nextWindow);
+        windowStartTime = currentTime;
+        currentWindow = nextWindow;
+    }
+
+    private void clear(int window) {
+        for (int index = window * stripeCount; index < (window + 1) * stripeCount; index++) {
+            AtomicLongArray stripe = stripes.get(index);
+            if (stripe != null) {
+                for (int i = 0; i < stripe.length(); i++) {
+                    stripe.set(i, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the merged bucket counts of a {@link LogBucketReservoir}
+     */
+    private static class LogBucketSnapshot extends Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        LogBucketSnapshot(long[] counts, long sum, long max) {
+            this.counts = counts;
+            this.sum = sum;
+            this.max = max;
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            this.count = count;
+        }
+
+        private static double bucketValue(int index) {
+            return (bucketLowerBound(index) + bucketUpperBound(index)) / 2.0;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            if (count == 0) {
+                return 0.0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * @return a value of each bucket the recorded values fall into, as the values themselves are not kept
+         */
+        @Override
+        public long[] getValues() {
+            int nonEmptyBuckets = 0;
+            for (long bucketCount : counts) {
+                if (bucketCount > 0) {
+                    nonEmptyBuckets++;
+                }
+            }
+            long[] values = new long[nonEmptyBuckets];
+            for (int i = 0, j = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    values[j++] = (long) Math.min(bucketValue(i), max);
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(count, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public double getMean() {
+            if (count == 0) {
+                return 0.0;
+            }
+            return (double) sum / count;
+        }
+
+        @Override
+        public long getMin() {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    return bucketLowerBound(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public double getStdDev() {
+            if (count <= 1) {
+                return 0.0;
+            }
+            double mean = getMean();
+            double variance = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    double diff = bucketValue(i) - mean;
+                    variance += diff * diff * counts[i];
+                }
+            }
+            return Math.sqrt(variance / (count - 1));
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] > 0) {
+                        out.printf("%d-%d: %d%n", bucketLowerBound(i), bucketUpperBound(i), counts[i]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.statistics.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.siddhi.core.util.statistics.HotKey;
+import io.siddhi.core.util.statistics.HotKeyTracker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class to track the hot keys of a Siddhi element. Event counts are estimated by a count-min sketch of fixed size,
+ * and only the keys with the highest estimates are kept, so that the memory used is bounded regardless of the number
+ * of keys. One in sampleInterval notifications is sampled and recorded, weighted by the interval, and all the counts
+ * are halved every minute so that the reported rates follow the recent load.
+ */
+public class SiddhiHotKeyMetric implements HotKeyTracker {
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH_BITS = 10;
+    private static final int SKETCH_WIDTH = 1 << SKETCH_WIDTH_BITS;
+    private static final int[] HASH_SEEDS = {0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F};
+    private static final long DECAY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final AtomicLongArray sketch = new AtomicLongArray(SKETCH_DEPTH * SKETCH_WIDTH);
+    private final Map<String, Long> topKeys = new HashMap<>();
+    private final int topKeyCount;
+    private final int sampleInterval;
+    private String name;
+    private long windowStartTime;
+    private long decayedDuration;
+    private volatile long minTopEstimate;
+
+    public SiddhiHotKeyMetric(String name, int topKeyCount, int sampleInterval, MetricRegistry metricRegistry) {
+        this.name = name;
+        this.topKeyCount = topKeyCount;
+        this.sampleInterval = sampleInterval;
+        this.windowStartTime = System.currentTimeMillis();
+        metricRegistry.register(name, (Gauge<List<HotKey>>) this::getTopKeysByRate);
+    }
+
+    @Override
+    public boolean sample() {
+        return sampleInterval <= 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+    }
+
+    /**
+     * This method is to notify receive of events with the given key to track the hot keys
+     *
+     * @param key        key of the events
+     * @param eventCount number of events passing through
+     */
+    @Override
+    public void eventsIn(String key, int eventCount) {
+        long weight = (long) eventCount * sampleInterval;
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0; i < SKETCH_DEPTH; i++) {
+            int index = (i << SKETCH_WIDTH_BITS) + ((hash * HASH_SEEDS[i]) >>> (Integer.SIZE - SKETCH_WIDTH_BITS));
+            estimate = Math.min(estimate, sketch.addAndGet(index, weight));
+        }
+        offer(key, estimate);
+    }
+
+    private void offer(String key, long estimate) {
+        // Estimates only grow between decays, so a key not above the smallest top estimate is not a top key, and
+        // the cold keys, which are most of the notifications, are left out without taking the lock.
+        if (estimate <= minTopEstimate) {
+            return;
+        }
+        synchronized (this) {
+            decayIfDue(System.currentTimeMillis());
+            if (topKeys.size() < topKeyCount || topKeys.containsKey(key)) {
+                topKeys.put(key, estimate);
+            } else {
+                String minKey = null;
+                long minEstimate = Long.MAX_VALUE;
+                for (Map.Entry<String, Long> entry : topKeys.entrySet()) {
+                    if (entry.getValue() < minEstimate) {
+                        minKey = entry.getKey();
+                        minEstimate = entry.getValue();
+                    }
+                }
+                if (estimate > minEstimate) {
+                    topKeys.remove(minKey);
+                    topKeys.put(key, estimate);
+                }
+            }
+            updateMinTopEstimate();
+        }
+    }
+
+    private void updateMinTopEstimate() {
+        if (topKeys.size() < topKeyCount) {
+            minTopEstimate = 0;
+            return;
+        }
+        long minEstimate = Long.MAX_VALUE;
+        for (long topEstimate : topKeys.values()) {
+            minEstimate = Math.min(minEstimate, topEstimate);
+        }
+        minTopEstimate = minEstimate;
+    }
+
+    private void decayIfDue(long currentTime) {
+        if (currentTime - windowStartTime < DECAY_INTERVAL) {
+            return;
+        }
+        for (int i = 0; i < sketch.length(); i++) {
+            // Atomically, as the counters are incremented without holding the lock
+            sketch.getAndUpdate(i, count -> count >> 1);
+        }
+        topKeys.replaceAll((key, estimate) -> estimate >> 1);
+        updateMinTopEstimate();
+        decayedDuration = (decayedDuration + currentTime - windowStartTime) >> 1;
+        windowStartTime = currentTime;
+    }
+
+    @Override
+    public synchronized List<HotKey> getTopKeysByRate() {
+        long currentTime = System.currentTimeMillis();
+        decayIfDue(currentTime);
+        double duration = Math.max(decayedDuration + currentTime - windowStartTime, 1) / 1000.0;
+        List<HotKey> hotKeys = new ArrayList<>(topKeys.size());
+        for (Map.Entry<String, Long> entry : topKeys.entrySet()) {
+            hotKeys.add(new HotKey(entry.getKey(), entry.getValue() / duration));
+        }
+        hotKeys.sort((hotKey1, hotKey2) -> Double.compare(hotKey2.getValue(), hotKey1.getValue()));
+        return hotKeys;
+    }
+
+    /**
+     * @return Name of the hot key tracker
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -22,39 +22,41 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import io.siddhi.core.util.statistics.LatencyTracker;
 
+import java.util.concurrent.TimeUnit;
+
 /**
- * Class to calculate Siddhi latency.
+ * Class to calculate Siddhi latency. Latencies are recorded into a {@link LogBucketReservoir}, so that recording
+ * neither locks nor allocates.
  */
 public class SiddhiLatencyMetric implements LatencyTracker {
-    // Using thread local variables to keep the timer track the time of the same execution path by different threads.
-    private ThreadLocal<Timer> execLatencyTimer;
-    private ThreadLocal<Timer.Context> context;
+    private final Timer execLatencyTimer;
+    // Using a thread local start time to track the time of the same execution path by different threads.
+    private final ThreadLocal<long[]> startTime = new ThreadLocal<long[]>() {
+        protected long[] initialValue() {
+            return new long[]{-1};
+        }
+    };
     private String metricName;
 
     public SiddhiLatencyMetric(String name, final MetricRegistry metricRegistry) {
         this.metricName = name;
-        execLatencyTimer = new ThreadLocal<Timer>() {
-            protected Timer initialValue() {
-                return metricRegistry.timer(metricName);
-            }
-        };
-        context = new ThreadLocal<Timer.Context>() {
-            protected Timer.Context initialValue() {
-                return null;
-            }
-        };
+        Timer timer;
+        try {
+            timer = metricRegistry.register(metricName, new Timer(new LogBucketReservoir()));
+        } catch (IllegalArgumentException e) {
+            // Timer already registered by another tracker of the same name
+            timer = metricRegistry.timer(metricName);
+        }
+        execLatencyTimer = timer;
     }
 
     /**
      * This is called when the processing of the event is started. This is
      * called at ProcessStreamReceiver#receive before the event is passed into
-     * process chain
+     * process chain. Calling markIn again before markOut restarts the measurement.
      */
     public void markIn() {
-        if (context.get() != null) {
-            throw new IllegalStateException("MarkIn consecutively called without calling markOut in " + metricName);
-        }
-        context.set(execLatencyTimer.get().time());
+        startTime.get()[0] = System.nanoTime();
     }
 
     /**
@@ -66,12 +68,24 @@ public class SiddhiLatencyMetric implements LatencyTracker {
      */
     @Override
     public void markOut() {
-        if (context.get() != null) {
-            context.get().stop();
-            context.set(null);
+        long[] start = startTime.get();
+        if (start[0] != -1) {
+            execLatencyTimer.update(System.nanoTime() - start[0], TimeUnit.NANOSECONDS);
+            start[0] = -1;
         }
     }
 
+    /**
+     * This is called when the latency is measured across threads, such as the time taken by a sampled event to
+     * travel from its source to a sink, or the time it waited in the queue of an async stream junction.
+     *
+     * @param latency latency in nanoseconds
+     */
+    @Override
+    public void record(long latency) {
+        execLatencyTimer.update(latency, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * @return Name of the latency tracker
      */
@@ -20,14 +20,21 @@ package io.siddhi.core.util.statistics.metrics;
 
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
+import io.siddhi.core.util.statistics.MemoryCalculable;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.memory.ObjectSizeCalculator;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Class to calculate Siddhi memory usage.
+ * Class to calculate Siddhi memory usage. The gauges report the running estimate of the {@link StateSizeTracker} of
+ * each object, so reading them does not depend on the size of the state. State that is not kept in tracked event
+ * holders, such as aggregator maps and sort windows, is not part of the gauges; {@link #calculateMemoryUsage()}
+ * measures it on demand by walking the object graphs.
  */
 public class SiddhiMemoryUsageMetric implements MemoryUsageTracker {
     private ConcurrentMap<Object, ObjectMetric> registeredObjects = new ConcurrentHashMap<Object, ObjectMetric>();
@@ -62,14 +69,39 @@ public class SiddhiMemoryUsageMetric implements MemoryUsageTracker {
         }
     }
 
+    /**
+     * Calculates the memory usage of the registered objects by walking their object graphs. This takes time
+     * proportional to the size of their state, hence it is meant to be called on demand for diagnosis.
+     *
+     * @return the memory usage of the registered objects in bytes, mapped by their names
+     */
+    @Override
+    public Map<String, Long> calculateMemoryUsage() {
+        Map<String, Long> memoryUsage = new TreeMap<>();
+        for (ObjectMetric objectMetric : registeredObjects.values()) {
+            try {
+                memoryUsage.put(objectMetric.getName(), ObjectSizeCalculator.getObjectSize(objectMetric.object));
+            } catch (UnsupportedOperationException e) {
+                memoryUsage.put(objectMetric.getName(), 0L);
+            }
+        }
+        return memoryUsage;
+    }
+
     class ObjectMetric {
 
         private final Object object;
+        private final StateSizeTracker stateSizeTracker;
         private String name;
 
         public ObjectMetric(final Object object, String name) {
             this.object = object;
             this.name = name;
+            if (object instanceof MemoryCalculable) {
+                this.stateSizeTracker = ((MemoryCalculable) object).getStateSizeTracker();
+            } else {
+                this.stateSizeTracker = null;
+            }
             initMetric();
         }
 
@@ -82,11 +114,7 @@ public class SiddhiMemoryUsageMetric implements MemoryUsageTracker {
                     new Gauge<Long>() {
                         @Override
                         public Long getValue() {
-                            try {
-                                return ObjectSizeCalculator.getObjectSize(object);
-                            } catch (UnsupportedOperationException e) {
-                                return 0L;
-                            }
+                            return stateSizeTracker == null ? 0L : stateSizeTracker.getEstimatedSize();
                         }
                     });
         }
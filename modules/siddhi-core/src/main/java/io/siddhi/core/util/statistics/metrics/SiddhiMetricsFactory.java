@@ -19,6 +19,7 @@
 package io.siddhi.core.util.statistics.metrics;
 
 import io.siddhi.core.util.statistics.BufferedEventsTracker;
+import io.siddhi.core.util.statistics.HotKeyTracker;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.StatisticsManager;
@@ -49,6 +50,12 @@ public class SiddhiMetricsFactory implements StatisticsTrackerFactory {
         return new SiddhiMemoryUsageMetric(((SiddhiStatisticsManager) statisticsManager).getRegistry());
     }
 
+    public HotKeyTracker createHotKeyTracker(String name, int topKeyCount, int sampleInterval,
+                                             StatisticsManager statisticsManager) {
+        return new SiddhiHotKeyMetric(name, topKeyCount, sampleInterval,
+                ((SiddhiStatisticsManager) statisticsManager).getRegistry());
+    }
+
     @Override
     public StatisticsManager createStatisticsManager(String prefix, String siddhiAppName, List<Element> elements) {
         return new SiddhiStatisticsManager(elements);
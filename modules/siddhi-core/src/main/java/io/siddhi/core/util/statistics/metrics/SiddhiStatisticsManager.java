@@ -19,6 +19,7 @@
 package io.siddhi.core.util.statistics.metrics;
 
 import com.codahale.metrics.ConsoleReporter;
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.JmxReporter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Reporter;
@@ -28,6 +29,7 @@ import io.siddhi.query.api.annotation.Element;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Each siddhi app will have one metric registry and placed in siddhi app context
@@ -88,4 +90,13 @@ public class SiddhiStatisticsManager implements StatisticsManager {
     public void cleanup() {
 
     }
+
+    @Override
+    public void registerGauge(String name, Supplier<? extends Number> value) {
+        try {
+            metricRegistry.register(name, (Gauge<Number>) value::get);
+        } catch (IllegalArgumentException e) {
+            // The gauge is already registered, e.g. when the Siddhi App is recreated with the same statistics manager
+        }
+    }
 }
@@ -48,6 +48,7 @@ import io.siddhi.core.util.snapshot.Snapshotable;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryCalculable;
 import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.WindowDefinition;
 import io.siddhi.query.api.execution.query.output.stream.OutputStream;
@@ -100,6 +101,10 @@ public class Window implements FindableProcessor, Snapshotable, MemoryCalculable
      * StreamEventPool to create new empty StreamEvent.
      */
     private StreamEventPool streamEventPool;
+    /**
+     * Tracker of the size of the events held by the internal window.
+     */
+    private StateSizeTracker stateSizeTracker;
 
     /**
      * window operation latency and throughput trackers
@@ -161,6 +166,7 @@ public class Window implements FindableProcessor, Snapshotable, MemoryCalculable
         boolean outputExpectsExpiredEvents = outputEventType != OutputStream.OutputEventType.CURRENT_EVENTS;
 
         SiddhiQueryContext siddhiQueryContext = new SiddhiQueryContext(siddhiAppContext, windowName);
+        this.stateSizeTracker = siddhiQueryContext.getStateSizeTracker();
         WindowProcessor internalWindowProcessor = (WindowProcessor) SingleInputStreamParser.generateProcessor
                 (windowDefinition.getWindow(), metaStreamEvent, new ArrayList<VariableExpressionExecutor>(),
                         tableMap, false,
@@ -331,6 +337,11 @@ public class Window implements FindableProcessor, Snapshotable, MemoryCalculable
         return internalWindowProcessor.getProcessingMode();
     }
 
+    @Override
+    public StateSizeTracker getStateSizeTracker() {
+        return stateSizeTracker;
+    }
+
     /**
      * PublisherProcessor receives events from the last window processor of Window,
      * filter them depending on user defined output type and publish them to the stream junction.
@@ -553,6 +553,172 @@ public class Aggregation2TestCase {
         siddhiAppRuntime.start();
     }
 
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTest56"})
+    public void incrementalStreamProcessorTest57() throws InterruptedException {
+        LOG.info("incrementalStreamProcessorTest57 - Checking cached aggregates with out of order events");
+        SiddhiManager siddhiManager = new SiddhiManager();
 
-}
+        String stockStream =
+                "define stream stockStream (symbol string, price float, lastClosingPrice float, volume long , " +
+                        "quantity int, timestamp long);";
+        String query = " define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice, count() as eventCount " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...hour ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+
+            // Thursday, June 1, 2017 4:05:50 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 50f, 60f, 90L, 6, 1496289950000L});
+            stockStreamInputHandler.send(new Object[]{"WSO2", 70f, null, 40L, 10, 1496289950000L});
+
+            // Thursday, June 1, 2017 4:05:52 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 60f, 44f, 200L, 56, 1496289952000L});
+            stockStreamInputHandler.send(new Object[]{"WSO2", 100f, null, 200L, 16, 1496289952000L});
+
+            // Thursday, June 1, 2017 4:05:54 AM
+            stockStreamInputHandler.send(new Object[]{"IBM", 100f, null, 200L, 26, 1496289954000L});
+            stockStreamInputHandler.send(new Object[]{"IBM", 100f, null, 200L, 96, 1496289954000L});
+            Thread.sleep(100);
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{1496289950000L, "WSO2", 120.0, 2L},
+                    new Object[]{1496289952000L, "WSO2", 160.0, 2L},
+                    new Object[]{1496289954000L, "IBM", 200.0, 2L}
+            );
+            // The second query reads the aggregates of the closed seconds from the cache
+            for (int i = 0; i < 2; i++) {
+                Event[] events = siddhiAppRuntime.query("from stockAggregation " +
+                        "within \"2017-06-** **:**:**\" " +
+                        "per \"seconds\"");
+                EventPrinter.print(events);
+                AssertJUnit.assertEquals(3, events.length);
+                AssertJUnit.assertEquals("In events matched", true,
+                        SiddhiTestHelper.isUnsortedEventsMatch(toDataList(events), expected));
+            }
+
+            // Thursday, June 1, 2017 4:05:50 AM (out of order)
+            stockStreamInputHandler.send(new Object[]{"WSO2", 10f, null, 40L, 10, 1496289950000L});
+            Thread.sleep(100);
+
+            expected = Arrays.asList(
+                    new Object[]{1496289950000L, "WSO2", 130.0, 3L},
+                    new Object[]{1496289952000L, "WSO2", 160.0, 2L},
+                    new Object[]{1496289954000L, "IBM", 200.0, 2L}
+            );
+            Event[] events = siddhiAppRuntime.query("from stockAggregation " +
+                    "within \"2017-06-** **:**:**\" " +
+                    "per \"seconds\"");
+            EventPrinter.print(events);
+            AssertJUnit.assertEquals(3, events.length);
+            AssertJUnit.assertEquals("In events matched", true,
+                    SiddhiTestHelper.isUnsortedEventsMatch(toDataList(events), expected));
+
+            // Thursday, June 1, 2017 4:05:56 AM (persists the out of order aggregate of the 50th second)
+            stockStreamInputHandler.send(new Object[]{"IBM", 40f, null, 200L, 26, 1496289956000L});
+            Thread.sleep(100);
+
+            expected = Arrays.asList(
+                    new Object[]{1496289950000L, "WSO2", 130.0, 3L},
+                    new Object[]{1496289952000L, "WSO2", 160.0, 2L},
+                    new Object[]{1496289954000L, "IBM", 200.0, 2L},
+                    new Object[]{1496289956000L, "IBM", 40.0, 1L}
+            );
+            events = siddhiAppRuntime.query("from stockAggregation " +
+                    "within \"2017-06-** **:**:**\" " +
+                    "per \"seconds\"");
+            EventPrinter.print(events);
+            AssertJUnit.assertEquals(4, events.length);
+            AssertJUnit.assertEquals("In events matched", true,
+                    SiddhiTestHelper.isUnsortedEventsMatch(toDataList(events), expected));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTest57"})
+    public void incrementalStreamProcessorTest58() throws InterruptedException {
+        LOG.info("incrementalStreamProcessorTest58 - Checking aggregates with a limited result cache");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String stockStream =
+                "define stream stockStream (symbol string, price float, lastClosingPrice float, volume long , " +
+                        "quantity int, timestamp long);";
+        String query = "@ResultCache(size='2') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice, count() as eventCount " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...hour ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+
+            // Thursday, June 1, 2017 4:05:50 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 50f, 60f, 90L, 6, 1496289950000L});
+            stockStreamInputHandler.send(new Object[]{"WSO2", 70f, null, 40L, 10, 1496289950000L});
+
+            // Thursday, June 1, 2017 4:05:52 AM
+            stockStreamInputHandler.send(new Object[]{"WSO2", 60f, 44f, 200L, 56, 1496289952000L});
+            stockStreamInputHandler.send(new Object[]{"WSO2", 100f, null, 200L, 16, 1496289952000L});
+
+            // Thursday, June 1, 2017 4:05:54 AM
+            stockStreamInputHandler.send(new Object[]{"IBM", 100f, null, 200L, 26, 1496289954000L});
+            stockStreamInputHandler.send(new Object[]{"IBM", 100f, null, 200L, 96, 1496289954000L});
+            Thread.sleep(100);
+
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{1496289950000L, "WSO2", 120.0, 2L},
+                    new Object[]{1496289952000L, "WSO2", 160.0, 2L},
+                    new Object[]{1496289954000L, "IBM", 200.0, 2L}
+            );
+            // The cached aggregates exceed the cache size, hence they are read from the tables again
+            for (int i = 0; i < 2; i++) {
+                Event[] events = siddhiAppRuntime.query("from stockAggregation " +
+                        "within \"2017-06-** **:**:**\" " +
+                        "per \"seconds\"");
+                EventPrinter.print(events);
+                AssertJUnit.assertEquals(3, events.length);
+                AssertJUnit.assertEquals("In events matched", true,
+                        SiddhiTestHelper.isUnsortedEventsMatch(toDataList(events), expected));
+            }
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = {"incrementalStreamProcessorTest58"},
+            expectedExceptions = SiddhiAppCreationException.class)
+    public void incrementalStreamProcessorTest59() {
+        LOG.info("incrementalStreamProcessorTest59 - Checking an invalid result cache size");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String stockStream =
+                "define stream stockStream (symbol string, price float, lastClosingPrice float, volume long , " +
+                        "quantity int, timestamp long);";
+        String query = "@ResultCache(size='large') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice, count() as eventCount " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...hour ;";
 
+        siddhiManager.createSiddhiAppRuntime(stockStream + query);
+    }
+
+    private List<Object[]> toDataList(Event[] events) {
+        List<Object[]> dataList = new ArrayList<>();
+        for (Event event : events) {
+            dataList.add(event.getData());
+        }
+        return dataList;
+    }
+}
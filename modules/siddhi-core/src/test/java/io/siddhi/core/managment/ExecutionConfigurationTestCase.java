@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.managment;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.ExecutionConfiguration;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecutionConfigurationTestCase {
+    private static final Logger log = Logger.getLogger(ExecutionConfigurationTestCase.class);
+    private AtomicInteger asyncCount;
+    private AtomicInteger batchCount;
+    private Set<String> asyncThreads;
+    private Set<String> batchThreads;
+
+    @BeforeMethod
+    public void init() {
+        asyncCount = new AtomicInteger(0);
+        batchCount = new AtomicInteger(0);
+        asyncThreads = ConcurrentHashMap.newKeySet();
+        batchThreads = ConcurrentHashMap.newKeySet();
+    }
+
+    private SiddhiAppRuntime createSiddhiAppRuntime(SiddhiManager siddhiManager, String appName) {
+        String siddhiApp = "" +
+                "@app:name('" + appName + "') " +
+                "@async(buffer.size='16')" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream[price > 10] " +
+                "select symbol, price " +
+                "insert into AsyncOutputStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from StockStream#window.timeBatch(500) " +
+                "select count() as totalCount " +
+                "insert into BatchOutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("AsyncOutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                asyncThreads.add(Thread.currentThread().getName());
+                asyncCount.addAndGet(events.length);
+            }
+        });
+        siddhiAppRuntime.addCallback("BatchOutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                batchThreads.add(Thread.currentThread().getName());
+                batchCount.addAndGet(events.length);
+            }
+        });
+        return siddhiAppRuntime;
+    }
+
+    @Test
+    public void executionConfigurationTest1() throws InterruptedException {
+        log.info("execution configuration test 1 - shared thread pools");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        ExecutionConfiguration executionConfiguration = new ExecutionConfiguration();
+        executionConfiguration.setExecutorPoolSize(2);
+        executionConfiguration.setSchedulerPoolSize(1);
+        executionConfiguration.setAppSchedulerQuota(1);
+        siddhiManager.setExecutionConfiguration(executionConfiguration);
+
+        SiddhiAppRuntime siddhiAppRuntime1 = createSiddhiAppRuntime(siddhiManager, "SharedPoolApp1");
+        SiddhiAppRuntime siddhiAppRuntime2 = createSiddhiAppRuntime(siddhiManager, "SharedPoolApp2");
+        siddhiAppRuntime1.start();
+        siddhiAppRuntime2.start();
+
+        InputHandler inputHandler1 = siddhiAppRuntime1.getInputHandler("StockStream");
+        InputHandler inputHandler2 = siddhiAppRuntime2.getInputHandler("StockStream");
+        inputHandler1.send(new Object[]{"WSO2", 55.6f, 100L});
+        inputHandler1.send(new Object[]{"IBM", 5.6f, 100L});
+        inputHandler2.send(new Object[]{"WSO2", 57.6f, 100L});
+        inputHandler2.send(new Object[]{"IBM", 75.6f, 100L});
+
+        SiddhiTestHelper.waitForEvents(100, 3, asyncCount, 5000);
+        SiddhiTestHelper.waitForEvents(100, 2, batchCount, 5000);
+        AssertJUnit.assertEquals(3, asyncCount.get());
+        AssertJUnit.assertTrue(batchCount.get() >= 2);
+        for (String asyncThread : asyncThreads) {
+            AssertJUnit.assertTrue(asyncThread, asyncThread.contains("-junction-thread-"));
+        }
+        for (String batchThread : batchThreads) {
+            AssertJUnit.assertTrue(batchThread, batchThread.startsWith("Siddhi-executor-thread-") ||
+                    batchThread.contains("-junction-thread-"));
+        }
+        siddhiManager.shutdown();
+    }
+
+    @Test
+    public void executionConfigurationTest2() throws InterruptedException {
+        log.info("execution configuration test 2 - shutting down an app does not affect the shared thread pools");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExecutionConfiguration(new ExecutionConfiguration());
+
+        SiddhiAppRuntime siddhiAppRuntime1 = createSiddhiAppRuntime(siddhiManager, "SharedPoolApp3");
+        SiddhiAppRuntime siddhiAppRuntime2 = createSiddhiAppRuntime(siddhiManager, "SharedPoolApp4");
+        siddhiAppRuntime1.start();
+        siddhiAppRuntime2.start();
+        siddhiAppRuntime1.shutdown();
+        Thread.sleep(3000);
+
+        InputHandler inputHandler = siddhiAppRuntime2.getInputHandler("StockStream");
+        inputHandler.send(new Object[]{"WSO2", 55.6f, 100L});
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100L});
+
+        SiddhiTestHelper.waitForEvents(100, 2, asyncCount, 5000);
+        SiddhiTestHelper.waitForEvents(100, 1, batchCount, 5000);
+        AssertJUnit.assertEquals(2, asyncCount.get());
+        AssertJUnit.assertTrue(batchCount.get() >= 1);
+        siddhiManager.shutdown();
+    }
+
+    @Test
+    public void executionConfigurationTest3() throws InterruptedException {
+        log.info("execution configuration test 3 - virtual threads, or platform threads when not supported");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        ExecutionConfiguration executionConfiguration = new ExecutionConfiguration();
+        executionConfiguration.setVirtualThreadsEnabled(true);
+        siddhiManager.setExecutionConfiguration(executionConfiguration);
+
+        SiddhiAppRuntime siddhiAppRuntime = createSiddhiAppRuntime(siddhiManager, "SharedPoolApp5");
+        siddhiAppRuntime.start();
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        inputHandler.send(new Object[]{"WSO2", 55.6f, 100L});
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100L});
+
+        SiddhiTestHelper.waitForEvents(100, 2, asyncCount, 5000);
+        SiddhiTestHelper.waitForEvents(100, 1, batchCount, 5000);
+        AssertJUnit.assertEquals(2, asyncCount.get());
+        AssertJUnit.assertTrue(batchCount.get() >= 1);
+        siddhiManager.shutdown();
+    }
+}
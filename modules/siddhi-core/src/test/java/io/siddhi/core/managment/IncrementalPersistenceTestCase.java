@@ -22,12 +22,14 @@ import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.core.util.persistence.IncrementalFileSystemPersistenceStore;
+import io.siddhi.core.util.persistence.IncrementalSegmentFileSystemPersistenceStore;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
@@ -36,6 +38,7 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -1279,4 +1282,85 @@ public class IncrementalPersistenceTestCase {
 
         AssertJUnit.assertEquals(true, eventArrived);
     }
+
+    @Test
+    public void incrementalPersistenceTest13() throws InterruptedException {
+        log.info("Incremental persistence test 13 - length window query with segment persistence store");
+        final int eventWindowSize = 4;
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(
+                new IncrementalSegmentFileSystemPersistenceStore(storageFilePath, 2));
+
+        String siddhiApp = "" +
+                "@app:name('incrementalPersistenceTest13') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream[price>10]#window.length(" + eventWindowSize + ") " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                eventArrived = true;
+                for (Event inEvent : inEvents) {
+                    count++;
+                    lastValue = (Long) inEvent.getData(2);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.clearAllRevisions();
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        // Several revisions, so that the segments get compacted
+        for (int i = 0; i < 6; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f + i, 100 + i});
+            Thread.sleep(100);
+            siddhiAppRuntime.persist();
+            Thread.sleep(500);
+        }
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(new Long(102 + 103 + 104 + 105), lastValue);
+
+        siddhiAppRuntime.shutdown();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 500.6f, 200});
+        Thread.sleep(500);
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(new Long(103 + 104 + 105 + 200), lastValue);
+    }
+
+    @Test(expectedExceptions = PersistenceStoreException.class)
+    public void incrementalPersistenceTest14() {
+        log.info("Incremental persistence test 14 - non integer compaction threshold of segment persistence store");
+        new IncrementalSegmentFileSystemPersistenceStore(storageFilePath).setProperties(
+                Collections.singletonMap(IncrementalSegmentFileSystemPersistenceStore.COMPACTION_THRESHOLD, "ten"));
+    }
+
+    @Test(expectedExceptions = PersistenceStoreException.class)
+    public void incrementalPersistenceTest15() {
+        log.info("Incremental persistence test 15 - non positive compaction threshold of segment persistence store");
+        new IncrementalSegmentFileSystemPersistenceStore(storageFilePath).setProperties(
+                Collections.singletonMap(IncrementalSegmentFileSystemPersistenceStore.COMPACTION_THRESHOLD, "0"));
+    }
 }
@@ -20,6 +20,7 @@ package io.siddhi.core.managment;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.ExecutionConfiguration;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.NoPersistenceStoreException;
@@ -31,6 +32,7 @@ import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
 import io.siddhi.core.util.snapshot.PersistenceReference;
+import io.siddhi.core.util.snapshot.compression.DeflateSnapshotCodec;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
@@ -1119,4 +1121,191 @@ public class PersistenceTestCase {
 
         siddhiAppRuntime.shutdown();
     }
+
+    @Test(dependsOnMethods = "persistenceTest13")
+    public void persistenceTest14() throws InterruptedException {
+        log.info("persistence test 14 - restore compressed snapshot with different snapshot codec configuration");
+
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setSnapshotCodec(new DeflateSnapshotCodec());
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream[price>10]#window.length(10) " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                eventArrived = true;
+                for (Event inEvent : inEvents) {
+                    count++;
+                    lastValue = (Long) inEvent.getData(2);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 5; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        }
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(new Long(500), lastValue);
+
+        //persisting
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        try {
+            persistenceReference.getFullStateFuture().get();
+        } catch (ExecutionException e) {
+            Assert.fail("Persisting of Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+        }
+        byte[] snapshot = persistenceStore.load("Test", persistenceReference.getRevision());
+        AssertJUnit.assertEquals('S', snapshot[0]);
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+
+        //restarting siddhi app with a siddhi manager persisting uncompressed snapshots
+        siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+        }
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(new Long(600), lastValue);
+
+        siddhiAppRuntime.shutdown();
+        siddhiManager.shutdown();
+    }
+
+    @Test(dependsOnMethods = "persistenceTest14")
+    public void persistenceTest15() throws InterruptedException {
+        log.info("persistence test 15 - concurrent restore of multiple queries without execution configuration");
+
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setRestoreParallelism(4);
+
+        // Restores on threads of its own, as there are no thread pools shared by the Siddhi Apps
+        assertConcurrentRestore(siddhiManager);
+    }
+
+    @Test(dependsOnMethods = "persistenceTest15")
+    public void persistenceTest16() throws InterruptedException {
+        log.info("persistence test 16 - concurrent restore of multiple queries on the shared thread pools");
+
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setRestoreParallelism(4);
+        ExecutionConfiguration executionConfiguration = new ExecutionConfiguration();
+        executionConfiguration.setExecutorPoolSize(4);
+        siddhiManager.setExecutionConfiguration(executionConfiguration);
+
+        assertConcurrentRestore(siddhiManager);
+        siddhiManager.shutdown();
+    }
+
+    private void assertConcurrentRestore(SiddhiManager siddhiManager) throws InterruptedException {
+        StringBuilder siddhiApp = new StringBuilder("" +
+                "@app:name('Test') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );");
+        for (int i = 0; i < 8; i++) {
+            siddhiApp.append("" +
+                    "@info(name = 'query").append(i).append("')" +
+                    "from StockStream[price>10]#window.length(").append(i + 2).append(") " +
+                    "select symbol, price, sum(volume) as totalVol " +
+                    "insert into OutStream").append(i).append(";");
+        }
+
+        final Long[] lastValues = new Long[8];
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp.toString());
+        for (int i = 0; i < 8; i++) {
+            final int queryIndex = i;
+            siddhiAppRuntime.addCallback("query" + i, new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    for (Event inEvent : inEvents) {
+                        lastValues[queryIndex] = (Long) inEvent.getData(2);
+                    }
+                }
+            });
+        }
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 10; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        }
+
+        //persisting
+        Thread.sleep(100);
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        try {
+            persistenceReference.getFullStateFuture().get();
+        } catch (ExecutionException e) {
+            Assert.fail("Persisting of Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+        }
+
+        //restarting siddhi app
+        siddhiAppRuntime.shutdown();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp.toString());
+        for (int i = 0; i < 8; i++) {
+            final int queryIndex = i;
+            siddhiAppRuntime.addCallback("query" + i, new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    for (Event inEvent : inEvents) {
+                        lastValues[queryIndex] = (Long) inEvent.getData(2);
+                    }
+                }
+            });
+        }
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed", e);
+        }
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 200});
+        Thread.sleep(100);
+        siddhiAppRuntime.shutdown();
+
+        for (int i = 0; i < 8; i++) {
+            // window of length i + 2 holds i + 1 of the restored events and the new event
+            AssertJUnit.assertEquals(new Long((i + 1) * 100 + 200), lastValues[i]);
+        }
+    }
 }
@@ -21,10 +21,15 @@ package io.siddhi.core.managment;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.statistics.HotKey;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
+import io.siddhi.core.util.transport.InMemoryBroker;
+import io.siddhi.core.util.transport.SubscriberUnAvailableException;
 import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
@@ -32,6 +37,13 @@ import org.testng.annotations.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 public class StatisticsTestCase {
     private static final Logger log = Logger.getLogger(StatisticsTestCase.class);
@@ -479,4 +491,310 @@ public class StatisticsTestCase {
 
     }
 
+    @Test(dependsOnMethods = "statisticsTest6")
+    public void statisticsTest7() throws InterruptedException, SubscriberUnAvailableException {
+        log.info("statistics test 7");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '2', trace.sample.interval = '1' )" +
+                " " +
+                "@source(type='inMemory', topic='TraceInput', @map(type='passThrough')) " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "@async(buffer.size='16') " +
+                "define stream filteredStream (symbol string, price float, volume int);" +
+                "@sink(type='inMemory', topic='TraceOutput', @map(type='passThrough')) " +
+                "define stream outputStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into filteredStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from filteredStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        InMemoryBroker.Subscriber subscriber = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                eventArrived = true;
+                count++;
+            }
+
+            @Override
+            public String getTopic() {
+                return "TraceOutput";
+            }
+        };
+        InMemoryBroker.subscribe(subscriber);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(baos);
+        PrintStream old = System.out;
+        System.setOut(ps);
+
+        siddhiAppRuntime.start();
+        InMemoryBroker.publish("TraceInput", new Event(System.currentTimeMillis(), new Object[]{"WSO2", 55.6f, 100}));
+        InMemoryBroker.publish("TraceInput", new Event(System.currentTimeMillis(), new Object[]{"IBM", 75.6f, 100}));
+
+        Thread.sleep(3010);
+        siddhiAppRuntime.shutdown();
+        InMemoryBroker.unsubscribe(subscriber);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(1, count);
+
+        System.out.flush();
+        String output = baos.toString();
+
+        AssertJUnit.assertTrue(output.contains("Timers"));
+        AssertJUnit.assertTrue(output.contains("filteredStream" + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_TYPE_QUEUE_WAIT + ".latency"));
+        AssertJUnit.assertTrue(output.contains("outputStream.inMemory" + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_TYPE_END_TO_END + ".latency"));
+
+        log.info(output);
+        System.setOut(old);
+
+    }
+
+    @Test(dependsOnMethods = "statisticsTest7")
+    public void statisticsTest8() throws InterruptedException {
+        log.info("statistics test 8");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics('false', hot.key.sample.interval = '1', hot.keys = '2')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'partition1') " +
+                "partition with (symbol of cseEventStream) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from cseEventStream#window.length(10) " +
+                "   select symbol, price " +
+                "   insert into outputStream ;" +
+                "end;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "insert into groupedStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"WSO2", 55.6f, 100});
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        inputHandler.send(new Object[]{"WSO2", 57.6f, 100});
+        inputHandler.send(new Object[]{"ORACLE", 50.6f, 100});
+        inputHandler.send(new Object[]{"WSO2", 58.6f, 100});
+
+        Map<String, List<HotKey>> hotKeysByRate = siddhiAppRuntime.getHotKeysByRate();
+        AssertJUnit.assertEquals(2, hotKeysByRate.get("partition1").size());
+        AssertJUnit.assertEquals("WSO2", hotKeysByRate.get("partition1").get(0).getKey());
+        AssertJUnit.assertEquals("WSO2" + SiddhiConstants.KEY_DELIMITER,
+                hotKeysByRate.get("query2").get(0).getKey());
+
+        Map<String, List<HotKey>> hotKeysByStateSize = siddhiAppRuntime.getHotKeysByStateSize();
+        AssertJUnit.assertEquals(2, hotKeysByStateSize.get("partition1").size());
+        AssertJUnit.assertEquals("WSO2", hotKeysByStateSize.get("partition1").get(0).getKey());
+        AssertJUnit.assertTrue(hotKeysByStateSize.get("partition1").get(0).getValue() >
+                hotKeysByStateSize.get("partition1").get(1).getValue());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "statisticsTest8")
+    public void statisticsTest9() throws InterruptedException, JMException {
+        log.info("statistics test 9");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:name('StatisticsTest9')" +
+                "@app:statistics(reporter = 'jmx')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(1000) " +
+                "select symbol, volume " +
+                "insert into outputStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from cseEventStream#window.length(1000) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "insert into groupedStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 300; i++) {
+            inputHandler.send(new Object[]{"SYMBOL" + i, 55.6f, 100});
+        }
+
+        // Both windows are tracked, the per group state of query2 is only found by walking the query.
+        String groupedWindowMetricName = getMemoryMetricName("StatisticsTest9", SiddhiConstants.METRIC_INFIX_QUERIES,
+                "query2");
+        long windowMemory = getMemoryUsage(getMemoryMetricName("StatisticsTest9",
+                SiddhiConstants.METRIC_INFIX_QUERIES, "query1"));
+        long groupedWindowMemory = getMemoryUsage(groupedWindowMetricName);
+        AssertJUnit.assertTrue(windowMemory > 0);
+        AssertJUnit.assertTrue(groupedWindowMemory > 0);
+        Map<String, Long> calculatedMemoryUsage = siddhiAppRuntime.calculateMemoryUsage();
+        AssertJUnit.assertTrue(calculatedMemoryUsage.get(groupedWindowMetricName) > groupedWindowMemory + 300 * 100);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "statisticsTest9")
+    public void statisticsTest10() throws InterruptedException, JMException {
+        log.info("statistics test 10");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:name('StatisticsTest10')" +
+                "@app:statistics(reporter = 'jmx')" +
+                " " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "define stream UpdateStockStream (symbol string, price float, volume long);" +
+                "" +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "update or insert into StockTable " +
+                "   on StockTable.symbol == symbol ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   on StockTable.symbol == symbol ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+        siddhiAppRuntime.start();
+        StateSizeTracker stateSizeTracker = siddhiAppRuntime.getTables().iterator().next().getStateSizeTracker();
+        for (int i = 0; i < 10; i++) {
+            stockStream.send(new Object[]{"SYMBOL" + i, 55.6f, 100L});
+        }
+        AssertJUnit.assertEquals(10, stateSizeTracker.getEventCount());
+        long estimatedSize = stateSizeTracker.getEstimatedSize();
+        AssertJUnit.assertTrue(estimatedSize > 0);
+
+        // Replacing events of existing primary keys neither adds to the count nor to the size.
+        for (int i = 0; i < 100; i++) {
+            stockStream.send(new Object[]{"SYMBOL" + (i % 10), 60.6f, 200L});
+        }
+        AssertJUnit.assertEquals(10, stateSizeTracker.getEventCount());
+        AssertJUnit.assertEquals(estimatedSize, stateSizeTracker.getEstimatedSize());
+
+        for (int i = 0; i < 100; i++) {
+            updateStockStream.send(new Object[]{"SYMBOL" + (i % 10), 70.6f, 300L});
+        }
+        AssertJUnit.assertEquals(10, stateSizeTracker.getEventCount());
+        AssertJUnit.assertEquals(estimatedSize, stateSizeTracker.getEstimatedSize());
+        AssertJUnit.assertEquals(estimatedSize, getMemoryUsage(getMemoryMetricName("StatisticsTest10",
+                SiddhiConstants.METRIC_INFIX_TABLES, "StockTable")));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "statisticsTest10", expectedExceptions = SiddhiAppCreationException.class)
+    public void statisticsTest11() {
+        log.info("statistics test 11 - non integer trace sample interval");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '2', trace.sample.interval = 'ten')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, price " +
+                "insert into outputStream ;";
+        try {
+            siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = "statisticsTest11", expectedExceptions = SiddhiAppCreationException.class)
+    public void statisticsTest12() {
+        log.info("statistics test 12 - zero trace sample interval");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '2', trace.sample.interval = '0')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, price " +
+                "insert into outputStream ;";
+        try {
+            siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = "statisticsTest12", expectedExceptions = SiddhiAppCreationException.class)
+    public void statisticsTest13() {
+        log.info("statistics test 13 - non integer hot key sample interval");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics('false', hot.key.sample.interval = 'often')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "insert into outputStream ;";
+        try {
+            siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    @Test(dependsOnMethods = "statisticsTest13", expectedExceptions = SiddhiAppCreationException.class)
+    public void statisticsTest14() {
+        log.info("statistics test 14 - zero hot keys");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics('false', hot.key.sample.interval = '1', hot.keys = '0')" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "insert into outputStream ;";
+        try {
+            siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    private String getMemoryMetricName(String siddhiAppName, String metricInfix, String name) {
+        return "io.siddhi" + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_SIDDHI_APPS + SiddhiConstants.METRIC_DELIMITER + siddhiAppName +
+                SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI +
+                SiddhiConstants.METRIC_DELIMITER + metricInfix + SiddhiConstants.METRIC_DELIMITER + name +
+                SiddhiConstants.METRIC_DELIMITER + "memory";
+    }
+
+    private long getMemoryUsage(String metricName) throws JMException {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> objectNames = mBeanServer.queryNames(new ObjectName("metrics:name=" + metricName + ",*"),
+                null);
+        AssertJUnit.assertEquals(1, objectNames.size());
+        return (Long) mBeanServer.getAttribute(objectNames.iterator().next(), "Value");
+    }
 }
@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.extension.util.CountingFunctionExtension;
+import io.siddhi.core.query.extension.util.CustomFunctionExtension;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExpressionOptimizationTestCase {
+    private static final Logger log = Logger.getLogger(ExpressionOptimizationTestCase.class);
+    private AtomicInteger count;
+    private AtomicBoolean eventArrived;
+
+    @BeforeMethod
+    public void init() {
+        count = new AtomicInteger(0);
+        eventArrived = new AtomicBoolean(false);
+        CountingFunctionExtension.INVOCATION_COUNT.set(0);
+    }
+
+    @Test
+    public void constantFoldingTest1() throws InterruptedException {
+        log.info("constant folding test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("custom:plus", CustomFunctionExtension.class);
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream[volume > custom:plus(10 * 5, 50) and symbol == 'IBM'] " +
+                "select symbol, price * (1 + 0.05) as taxedPrice, volume + (2 - 1) as volume " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    AssertJUnit.assertEquals("IBM", event.getData(0));
+                    AssertJUnit.assertEquals(105.0, (Double) event.getData(1), 0.0001);
+                    AssertJUnit.assertEquals(201L, event.getData(2));
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 100.0, 200L});
+        inputHandler.send(new Object[]{"IBM", 100.0, 50L});
+        inputHandler.send(new Object[]{"WSO2", 100.0, 200L});
+        SiddhiTestHelper.waitForEvents(10, eventArrived, 100);
+        AssertJUnit.assertEquals(1, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void constantFoldingTest2() throws InterruptedException {
+        log.info("constant folding test2 - deterministic functions are evaluated once at query creation");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("custom:twice", CountingFunctionExtension.class);
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, price * custom:twice(5) as price " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AssertJUnit.assertEquals(1, CountingFunctionExtension.INVOCATION_COUNT.get());
+        List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    results.add(event.getData());
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10.0, 20L});
+        inputHandler.send(new Object[]{"WSO2", 5.0, 20L});
+        inputHandler.send(new Object[]{"ORACLE", 1.0, 20L});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        AssertJUnit.assertEquals(3, count.get());
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 100.0}, results.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 50.0}, results.get(1));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORACLE", 10.0}, results.get(2));
+        AssertJUnit.assertEquals(1, CountingFunctionExtension.INVOCATION_COUNT.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void constantFoldingTest3() throws InterruptedException {
+        log.info("constant folding test3 - functions not declared as deterministic are not folded");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("custom:twice", CountingFunctionExtension.NonDeterministic.class);
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, price * custom:twice(5) as price " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        AssertJUnit.assertEquals(0, CountingFunctionExtension.INVOCATION_COUNT.get());
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    AssertJUnit.assertEquals(100.0, event.getData(1));
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10.0, 20L});
+        inputHandler.send(new Object[]{"WSO2", 10.0, 20L});
+        SiddhiTestHelper.waitForEvents(10, 2, count, 100);
+        AssertJUnit.assertEquals(2, count.get());
+        AssertJUnit.assertEquals(2, CountingFunctionExtension.INVOCATION_COUNT.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void sharedSubExpressionTest1() throws InterruptedException {
+        log.info("shared sub expression test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, price * volume as total, price * volume / 2 as half, " +
+                "   ifThenElse(price * volume > 1000, 'high', 'low') as level " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    results.add(event.getData());
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 100.0, 20L}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 10.0, 20L})});
+        inputHandler.send(new Object[]{"ORACLE", 5.0, 10L});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        AssertJUnit.assertEquals(3, count.get());
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 2000.0, 1000.0, "high"}, results.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 200.0, 100.0, "low"}, results.get(1));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORACLE", 50.0, 25.0, "low"}, results.get(2));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void sharedSubExpressionTest2() throws InterruptedException {
+        log.info("shared sub expression test2 - non deterministic functions are not shared");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select UUID() as id1, UUID() as id2, sum(price) as total1, sum(price) as total2 " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    int eventCount = count.incrementAndGet();
+                    AssertJUnit.assertNotSame(event.getData(0), event.getData(1));
+                    AssertJUnit.assertFalse(event.getData(0).equals(event.getData(1)));
+                    AssertJUnit.assertEquals(eventCount * 10.0, event.getData(2));
+                    AssertJUnit.assertEquals(eventCount * 10.0, event.getData(3));
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10.0, 20L});
+        inputHandler.send(new Object[]{"WSO2", 10.0, 20L});
+        SiddhiTestHelper.waitForEvents(10, 2, count, 100);
+        AssertJUnit.assertEquals(2, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void sharedSubExpressionTest3() throws InterruptedException {
+        log.info("shared sub expression test3 - within partitions");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "partition with (symbol of StockStream) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from StockStream " +
+                "   select symbol, price * volume as total, price * volume + 1 as totalPlusOne " +
+                "   insert into OutputStream; " +
+                "end;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    count.incrementAndGet();
+                    double total = (Double) event.getData(1);
+                    AssertJUnit.assertEquals(total + 1, (Double) event.getData(2), 0.0001);
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10.0, 20L});
+        inputHandler.send(new Object[]{"WSO2", 5.0, 20L});
+        inputHandler.send(new Object[]{"IBM", 1.0, 3L});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        AssertJUnit.assertEquals(3, count.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void sharedSubExpressionTest4() throws InterruptedException {
+        log.info("shared sub expression test4 - repeated deterministic functions are evaluated once per event");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("custom:twice", CountingFunctionExtension.class);
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, custom:twice(price) as doublePrice, custom:twice(price) + 1 as doublePricePlusOne, " +
+                "   custom:twice(price) * volume as doubleTotal " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    results.add(event.getData());
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 10.0, 2L}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 5.0, 3L})});
+        inputHandler.send(new Object[]{"ORACLE", 1.0, 4L});
+        SiddhiTestHelper.waitForEvents(10, 3, count, 100);
+        AssertJUnit.assertEquals(3, count.get());
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 20.0, 21.0, 40.0}, results.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 10.0, 11.0, 30.0}, results.get(1));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORACLE", 2.0, 3.0, 8.0}, results.get(2));
+        AssertJUnit.assertEquals(3, CountingFunctionExtension.INVOCATION_COUNT.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void sharedSubExpressionTest5() throws InterruptedException {
+        log.info("shared sub expression test5 - functions not declared as deterministic are not shared");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("custom:twice", CountingFunctionExtension.NonDeterministic.class);
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "select symbol, custom:twice(price) as doublePrice, custom:twice(price) + 1 as doublePricePlusOne " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    AssertJUnit.assertEquals((Double) event.getData(1) + 1, event.getData(2));
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 10.0, 2L});
+        inputHandler.send(new Object[]{"WSO2", 5.0, 3L});
+        SiddhiTestHelper.waitForEvents(10, 2, count, 100);
+        AssertJUnit.assertEquals(2, count.get());
+        AssertJUnit.assertEquals(4, CountingFunctionExtension.INVOCATION_COUNT.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void primitiveExecutionTest1() throws InterruptedException {
+        log.info("primitive execution test1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream[(price * volume) + 10 > 1000] " +
+                "select symbol, (price + 1) * volume / (volume - 10) as ratio, volume * 2 + 1 as units " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    results.add(event.getData());
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 100.0, 20});
+        inputHandler.send(new Object[]{"WSO2", 10.0, 5});
+        inputHandler.send(new Object[]{"ORCL", 100.0, 10});
+        inputHandler.send(new Object[]{"GOOG", null, 20});
+        SiddhiTestHelper.waitForEvents(10, 2, count, 100);
+        AssertJUnit.assertEquals(2, count.get());
+        AssertJUnit.assertEquals("IBM", results.get(0)[0]);
+        AssertJUnit.assertEquals(202.0, (Double) results.get(0)[1], 0.0001);
+        AssertJUnit.assertEquals(41, results.get(0)[2]);
+        // Division by zero results in null
+        AssertJUnit.assertEquals("ORCL", results.get(1)[0]);
+        AssertJUnit.assertNull(results.get(1)[1]);
+        AssertJUnit.assertEquals(21, results.get(1)[2]);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void primitiveExecutionTest2() throws InterruptedException {
+        log.info("primitive execution test2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price double, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream[price / (volume - 10) + 1 > 5] " +
+                "select symbol, price % (volume - 10) * 2 as remainder " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    count.incrementAndGet();
+                    results.add(event.getData());
+                }
+                eventArrived.set(true);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 100.0, 13});
+        // Division by zero results in null, which does not match the filter
+        inputHandler.send(new Object[]{"ORCL", 100.0, 10});
+        inputHandler.send(new Object[]{"GOOG", null, 20});
+        inputHandler.send(new Object[]{"WSO2", 10.0, 20});
+        SiddhiTestHelper.waitForEvents(10, 1, count, 100);
+        AssertJUnit.assertEquals(1, count.get());
+        AssertJUnit.assertEquals("IBM", results.get(0)[0]);
+        AssertJUnit.assertEquals(2.0, (Double) results.get(0)[1], 0.0001);
+        siddhiAppRuntime.shutdown();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.extension.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ReturnAttribute;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.function.FunctionExecutor;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Extension(
+        name = "twice",
+        namespace = "custom",
+        description = "Return twice the given value, while counting the number of times it is called.",
+        parameters = {
+                @Parameter(name = "arg",
+                        description = "The value that need to be doubled.",
+                        type = {DataType.INT, DataType.LONG, DataType.DOUBLE, DataType.FLOAT})
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "Returns twice the value as a double.",
+                type = {DataType.DOUBLE}),
+        examples = @Example(
+                syntax = "from fooStream\n" +
+                        "select custom:twice(price) as doublePrice\n" +
+                        "insert into barStream",
+                description = "This will return twice the price as doublePrice."
+        )
+)
+public class CountingFunctionExtension extends FunctionExecutor {
+
+    public static final AtomicInteger INVOCATION_COUNT = new AtomicInteger(0);
+
+    @Override
+    public void init(ExpressionExecutor[] attributeExpressionExecutors,
+                     ConfigReader configReader,
+                     SiddhiQueryContext siddhiQueryContext) {
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return Attribute.Type.DOUBLE;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    protected Object execute(Object[] obj) {
+        return null;
+    }
+
+    @Override
+    protected Object execute(Object obj) {
+        INVOCATION_COUNT.incrementAndGet();
+        return ((Number) obj).doubleValue() * 2;
+    }
+
+    @Override
+    public Map<String, Object> currentState() {
+        //No state
+        return null;
+    }
+
+    @Override
+    public void restoreState(Map<String, Object> state) {
+        //Nothing to be done
+    }
+
+    /**
+     * Same function, which does not declare itself as deterministic.
+     */
+    public static class NonDeterministic extends CountingFunctionExtension {
+
+        @Override
+        public boolean isDeterministic() {
+            return false;
+        }
+    }
+}
@@ -597,5 +597,140 @@ public class EveryPatternTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test
+    public void testQuery10() throws InterruptedException {
+        log.info("testPatternEvery10 - OUT 3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream Stream1 (symbol string, price float, volume int); " +
+                "define stream Stream2 (symbol string, price float, volume int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from every e1=Stream1 -> e2=Stream2[e1.symbol == symbol and price > e1.price] " +
+                "select e1.symbol as symbol, e1.price as price1, e2.price as price2 " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        switch (inEventCount) {
+                            case 1:
+                                AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 55.6f, 57.6f}, event.getData());
+                                break;
+                            case 2:
+                                AssertJUnit.assertArrayEquals(new Object[]{"IBM", 75.6f, 80.6f}, event.getData());
+                                break;
+                            case 3:
+                                AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 58.0f, 58.6f}, event.getData());
+                                break;
+                            default:
+                                AssertJUnit.assertSame(3, inEventCount);
+                        }
+                    }
+                    eventArrived = true;
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler stream1 = siddhiAppRuntime.getInputHandler("Stream1");
+        InputHandler stream2 = siddhiAppRuntime.getInputHandler("Stream2");
+
+        siddhiAppRuntime.start();
+
+        stream1.send(new Object[]{"WSO2", 55.6f, 100});
+        stream1.send(new Object[]{"IBM", 75.6f, 100});
+        stream1.send(new Object[]{"WSO2", 58.0f, 100});
+        stream2.send(new Object[]{"GOOG", 95.6f, 100});
+        stream2.send(new Object[]{"WSO2", 57.6f, 100});
+        stream2.send(new Object[]{"IBM", 80.6f, 100});
+        stream2.send(new Object[]{"WSO2", 58.6f, 100});
+        Thread.sleep(100);
+
+        AssertJUnit.assertEquals("Number of success events", 3, inEventCount);
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testQuery11() throws InterruptedException {
+        log.info("testPatternEvery11 - OUT 3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream Stream1 (symbol string, price float, volume int); " +
+                "define stream Stream2 (symbol string, price float, volume int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from every e1=Stream1 -> e2=Stream2[price > e1.price] " +
+                "select e1.symbol as symbol1, e2.symbol as symbol2, e2.price as price2 " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        switch (inEventCount) {
+                            case 1:
+                                AssertJUnit.assertArrayEquals(new Object[]{"WSO2", "IBM", 30f}, event.getData());
+                                break;
+                            case 2:
+                                AssertJUnit.assertArrayEquals(new Object[]{"ORCL", "IBM", 30f}, event.getData());
+                                break;
+                            case 3:
+                                AssertJUnit.assertArrayEquals(new Object[]{"GOOG", "MSFT", 60f}, event.getData());
+                                break;
+                            default:
+                                AssertJUnit.assertSame(3, inEventCount);
+                        }
+                    }
+                    eventArrived = true;
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler stream1 = siddhiAppRuntime.getInputHandler("Stream1");
+        InputHandler stream2 = siddhiAppRuntime.getInputHandler("Stream2");
+
+        siddhiAppRuntime.start();
+
+        stream1.send(new Object[]{"WSO2", 10f, 100});
+        stream1.send(new Object[]{"GOOG", 50f, 100});
+        stream1.send(new Object[]{"ORCL", 20f, 100});
+        stream2.send(new Object[]{"IBM", 30f, 100});
+        stream2.send(new Object[]{"MSFT", 60f, 100});
+        Thread.sleep(100);
+
+        AssertJUnit.assertEquals("Number of success events", 3, inEventCount);
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+
+        siddhiAppRuntime.shutdown();
+    }
 
 }
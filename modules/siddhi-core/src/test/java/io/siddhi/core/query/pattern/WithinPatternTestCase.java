@@ -29,6 +29,10 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 
 public class WithinPatternTestCase {
 
@@ -444,4 +448,64 @@ public class WithinPatternTestCase {
 
         siddhiAppRuntime.shutdown();
     }
+
+    @Test
+    public void testQuery8() throws InterruptedException {
+        log.info("testPatternWithin8 - OUT 2");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "@app:playback " +
+                "define stream Stream1 (symbol string, price float, volume int); " +
+                "define stream Stream2 (symbol string, price float, volume int); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from (every e1=Stream1[price>20]-> e2=Stream2[price>e1.price]) " +
+                "within 1 sec " +
+                "select e1.symbol as symbol1, e2.symbol as symbol2 " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<Object> symbols = new ArrayList<>();
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    inEventCount = inEventCount + inEvents.length;
+                    for (Event event : inEvents) {
+                        symbols.add(event.getData(0));
+                    }
+                    eventArrived = true;
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler stream1 = siddhiAppRuntime.getInputHandler("Stream1");
+        InputHandler stream2 = siddhiAppRuntime.getInputHandler("Stream2");
+
+        siddhiAppRuntime.start();
+
+        stream1.send(1000, new Object[]{"WSO2", 55.6f, 100});
+        stream1.send(1500, new Object[]{"GOOG", 54f, 100});
+        // Arrives out of order, hence starts before the already pending GOOG
+        stream1.send(1400, new Object[]{"IBM", 53f, 100});
+        stream2.send(2200, new Object[]{"ORCL", 60f, 100});
+        stream2.send(3000, new Object[]{"ORCL", 60f, 100});
+        Thread.sleep(100);
+
+        AssertJUnit.assertEquals("Number of success events", 2, inEventCount);
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        AssertJUnit.assertTrue(symbols.containsAll(Arrays.asList("GOOG", "IBM")));
+
+        siddhiAppRuntime.shutdown();
+    }
 }
@@ -20,8 +20,14 @@ package io.siddhi.core.query.table;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.table.util.AsyncRecordingStore;
+import io.siddhi.core.query.table.util.RecordingStore;
 import io.siddhi.core.query.table.util.TestStore;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.config.InMemoryConfigManager;
 import io.siddhi.query.api.SiddhiApp;
 import io.siddhi.query.api.definition.Attribute;
@@ -32,7 +38,12 @@ import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -381,4 +392,292 @@ public class DefineTableTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test
+    public void testQuery22() throws InterruptedException {
+        log.info("testTableDefinition22 - Table w/ write batch");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:test", TestStore.class);
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price int, volume float); " +
+                "@store(type='test', uri='http://localhost:8080', @WriteBatch(size='2', interval='1 sec')) " +
+                "@PrimaryKey('symbol')" +
+                "define table StockTable (symbol string, price int, volume float); " +
+                "" +
+                "from StockStream " +
+                "update or insert into StockTable " +
+                "   on StockTable.symbol == symbol; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        stockStream.send(new Object[]{"WSO2", 55, 100f});
+        stockStream.send(new Object[]{"WSO2", 56, 100f});
+        stockStream.send(new Object[]{"IBM", 75, 100f});
+        AssertJUnit.assertEquals("http://localhost:8080", TestStore.systemConfigs.get("uri"));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testQuery23() {
+        log.info("testTableDefinition23 - Table w/ write batch of size zero");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:test", TestStore.class);
+        String siddhiApp = "" +
+                "@store(type='test', uri='http://localhost:8080', @WriteBatch(size='0')) " +
+                "define table testTable (symbol string, price int, volume float); ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testQuery24() {
+        log.info("testTableDefinition24 - Table w/ async store calls of zero in flight");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:test", TestStore.class);
+        String siddhiApp = "" +
+                "@store(type='test', uri='http://localhost:8080', @Async(max.in.flight='0')) " +
+                "define table testTable (symbol string, price int, volume float); ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testQuery25() {
+        log.info("testTableDefinition25 - Table w/ write batch of non integer size");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:test", TestStore.class);
+        String siddhiApp = "" +
+                "@store(type='test', uri='http://localhost:8080', @WriteBatch(size='ten')) " +
+                "define table testTable (symbol string, price int, volume float); ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testQuery26() {
+        log.info("testTableDefinition26 - Table w/ write batch of non integer max pending");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:test", TestStore.class);
+        String siddhiApp = "" +
+                "@store(type='test', uri='http://localhost:8080', @WriteBatch(size='10', max.pending='1k')) " +
+                "define table testTable (symbol string, price int, volume float); ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testQuery27() throws InterruptedException {
+        log.info("testTableDefinition27 - Table w/ write batch coalescing writes in their arrival order");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:recording", RecordingStore.class);
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price int); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "@store(type='recording', @WriteBatch(size='100', interval='1 min')) " +
+                "define table StockTable (symbol string, price int); " +
+                "" +
+                "from StockStream " +
+                "insert into StockTable; " +
+                "" +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+        siddhiAppRuntime.start();
+        stockStream.send(new Object[]{"WSO2", 55});
+        stockStream.send(new Object[]{"IBM", 75});
+        stockStream.send(new Object[]{"ORCL", 60});
+        deleteStockStream.send(new Object[]{"WSO2"});
+        deleteStockStream.send(new Object[]{"IBM"});
+        stockStream.send(new Object[]{"GOOG", 10});
+        stockStream.send(new Object[]{"WSO2", 57});
+        AssertJUnit.assertEquals(Collections.emptyList(), RecordingStore.calls);
+        siddhiAppRuntime.snapshot();
+        AssertJUnit.assertEquals(Arrays.asList("add[WSO2, IBM, ORCL]", "delete[WSO2, IBM]", "add[GOOG, WSO2]"),
+                RecordingStore.calls);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testQuery28() throws InterruptedException {
+        log.info("testTableDefinition28 - Table w/ write batch collapsing updates of a primary key and flushing " +
+                "before reads");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:recording", RecordingStore.class);
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price int); " +
+                "define stream CheckStockStream (symbol string); " +
+                "@store(type='recording', @WriteBatch(size='100', interval='1 min')) " +
+                "@PrimaryKey('symbol')" +
+                "define table StockTable (symbol string, price int); " +
+                "" +
+                "from StockStream " +
+                "update or insert into StockTable " +
+                "   on StockTable.symbol == symbol; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream[(symbol == StockTable.symbol) in StockTable] " +
+                "insert into OutStream; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object> checkedSymbols = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    checkedSymbols.add(event.getData(0));
+                }
+            }
+        });
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+        siddhiAppRuntime.start();
+        stockStream.send(new Object[]{"WSO2", 55});
+        stockStream.send(new Object[]{"IBM", 75});
+        stockStream.send(new Object[]{"WSO2", 57});
+        AssertJUnit.assertEquals(Collections.emptyList(), RecordingStore.calls);
+        checkStockStream.send(new Object[]{"WSO2"});
+        AssertJUnit.assertEquals(Arrays.asList("updateOrAdd[WSO2, IBM]", "contains[WSO2]"), RecordingStore.calls);
+        AssertJUnit.assertEquals(Collections.singletonList("WSO2"), checkedSymbols);
+
+        stockStream.send(new Object[]{"IBM", 76});
+        stockStream.send(new Object[]{"GOOG", 10});
+        Event[] events = siddhiAppRuntime.query("from StockTable select symbol, price ");
+        AssertJUnit.assertEquals(Arrays.asList("updateOrAdd[WSO2, IBM]", "contains[WSO2]",
+                "updateOrAdd[IBM, GOOG]", "find[]"), RecordingStore.calls);
+        AssertJUnit.assertEquals(3, events.length);
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 57}, events[0].getData());
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 76}, events[1].getData());
+        AssertJUnit.assertArrayEquals(new Object[]{"GOOG", 10}, events[2].getData());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testQuery29() throws InterruptedException {
+        log.info("testTableDefinition29 - Table w/ write batch flushing on max pending");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:recording", RecordingStore.class);
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price int); " +
+                "@store(type='recording', @WriteBatch(size='2', interval='1 min', max.pending='2')) " +
+                "define table StockTable (symbol string, price int); " +
+                "" +
+                "from StockStream " +
+                "insert into StockTable; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        stockStream.send(new Event[]{new Event(1, new Object[]{"WSO2", 55}), new Event(1, new Object[]{"IBM", 75})});
+        stockStream.send(new Object[]{"ORCL", 60});
+        siddhiAppRuntime.snapshot();
+        AssertJUnit.assertEquals(Arrays.asList("add[WSO2, IBM]", "add[ORCL]"), RecordingStore.calls);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testQuery30() throws InterruptedException {
+        log.info("testTableDefinition30 - Table w/ write batch passing store errors to the exception listener");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:recording", RecordingStore.class);
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price int); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "@store(type='recording', @WriteBatch(size='100', interval='1 min')) " +
+                "define table StockTable (symbol string, price int); " +
+                "" +
+                "from StockStream " +
+                "insert into StockTable; " +
+                "" +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Throwable> exceptions = new ArrayList<>();
+        siddhiAppRuntime.handleRuntimeExceptionWith(exceptions::add);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+        siddhiAppRuntime.start();
+        RecordingStore.failingKey = "IBM";
+        stockStream.send(new Object[]{"IBM", 75});
+        deleteStockStream.send(new Object[]{"WSO2"});
+        stockStream.send(new Object[]{"ORCL", 60});
+        siddhiAppRuntime.snapshot();
+        AssertJUnit.assertEquals(Arrays.asList("failedAdd", "delete[WSO2]", "add[ORCL]"), RecordingStore.calls);
+        AssertJUnit.assertEquals(1, exceptions.size());
+        AssertJUnit.assertEquals("Cannot add record of 'IBM'", exceptions.get(0).getMessage());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testQuery31() {
+        log.info("testTableDefinition31 - Table w/ async store calls of non integer max in flight");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:test", TestStore.class);
+        String siddhiApp = "" +
+                "@store(type='test', uri='http://localhost:8080', @Async(max.in.flight='many')) " +
+                "define table testTable (symbol string, price int, volume float); ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testQuery32() throws InterruptedException {
+        log.info("testTableDefinition32 - Table w/ write batch and async store calls keeping the write order of " +
+                "a key");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:asyncRecording", AsyncRecordingStore.class);
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price int); " +
+                "define stream UpdateStockStream (symbol string, price int); " +
+                "@store(type='asyncRecording', @Async(max.in.flight='2'), @WriteBatch(size='2', interval='1 min')) " +
+                "define table StockTable (symbol string, price int); " +
+                "" +
+                "from StockStream " +
+                "insert into StockTable; " +
+                "" +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   on StockTable.symbol == symbol; ";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+        siddhiAppRuntime.start();
+        stockStream.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 55}),
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 75}),
+                new Event(System.currentTimeMillis(), new Object[]{"ORCL", 60}),
+                new Event(System.currentTimeMillis(), new Object[]{"GOOG", 10}),
+                new Event(System.currentTimeMillis(), new Object[]{"MSFT", 20}),
+                new Event(System.currentTimeMillis(), new Object[]{"AMZN", 30})});
+        updateStockStream.send(new Object[]{"WSO2", 56});
+        stockStream.send(new Object[]{"FB", 40});
+        siddhiAppRuntime.snapshot();
+
+        // The adds are sent as concurrent calls of up to the batch size, which may complete in any order, while the
+        // update waits for them
+        List<String> calls = new ArrayList<>(RecordingStore.calls);
+        AssertJUnit.assertEquals(5, calls.size());
+        AssertJUnit.assertEquals(new HashSet<>(Arrays.asList("add[WSO2, IBM]", "add[ORCL, GOOG]", "add[MSFT, AMZN]")),
+                new HashSet<>(calls.subList(0, 3)));
+        AssertJUnit.assertEquals(Arrays.asList("update[WSO2]", "add[FB]"), calls.subList(3, 5));
+        AssertJUnit.assertEquals(2, AsyncRecordingStore.maxCallsInFlight.get());
+
+        Event[] events = siddhiAppRuntime.query("from StockTable on symbol == 'WSO2' select symbol, price ");
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 56}, events[0].getData());
+        siddhiAppRuntime.shutdown();
+    }
+
 }
@@ -24,7 +24,9 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.table.Table;
 import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.statistics.memory.StateSizeTracker;
 import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
@@ -292,5 +294,45 @@ public class DeleteFromTableTestCase {
 
     }
 
+    @Test
+    public void deleteFromTableTest6() throws InterruptedException {
+        log.info("deleteFromTableTest6");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
 
+        String streams = "" +
+                "define stream StockStream (symbol string, price float, volume long); " +
+                "define stream DeleteStockStream (symbol string, price float, volume long); " +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, price float, volume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol==symbol ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 100L});
+        stockStream.send(new Object[]{"ORACLE", 57.6f, 100L});
+        deleteStockStream.send(new Object[]{"IBM", 57.6f, 100L});
+        deleteStockStream.send(new Object[]{"GOOG", 57.6f, 100L});
+
+        Table table = siddhiAppRuntime.getTables().iterator().next();
+        StateSizeTracker stateSizeTracker = table.getStateSizeTracker();
+        AssertJUnit.assertTrue(stateSizeTracker.isTracking());
+        AssertJUnit.assertEquals(2, stateSizeTracker.getEventCount());
+        AssertJUnit.assertTrue(stateSizeTracker.getEstimatedSize() > 0);
+        siddhiAppRuntime.shutdown();
+
+    }
 }
@@ -22,6 +22,8 @@ import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.table.util.AsyncRecordingStore;
+import io.siddhi.core.query.table.util.RecordingStore;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
 import org.apache.log4j.Logger;
@@ -29,6 +31,11 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class JoinTableTestCase {
     private static final Logger log = Logger.getLogger(JoinTableTestCase.class);
     private int inEventCount;
@@ -525,4 +532,284 @@ public class JoinTableTestCase {
 
     }
 
+    @Test
+    public void testTableJoinQuery8() throws InterruptedException {
+        log.info("testTableJoinQuery8 - OUT 3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream CheckStockStream (symbol1 string); " +
+                "@store(type='test') " +
+                "define table StockTable (symbol2 string, price2 float, volume2 long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from CheckStockStream#window.lengthBatch(3) left outer join StockTable " +
+                "   on symbol1 == symbol2 " +
+                "select symbol1, symbol2, volume2  " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        switch (inEventCount) {
+                            case 1:
+                                AssertJUnit.assertArrayEquals(new Object[]{"WSO2", null, null}, event.getData());
+                                break;
+                            case 2:
+                                AssertJUnit.assertArrayEquals(new Object[]{"IBM", null, null}, event.getData());
+                                break;
+                            case 3:
+                                AssertJUnit.assertArrayEquals(new Object[]{"ORCL", null, null}, event.getData());
+                                break;
+                            default:
+                                AssertJUnit.assertSame(3, inEventCount);
+                        }
+                    }
+                    eventArrived = true;
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+        siddhiAppRuntime.start();
+
+        checkStockStream.send(new Object[]{"WSO2"});
+        checkStockStream.send(new Object[]{"IBM"});
+        checkStockStream.send(new Object[]{"ORCL"});
+
+        Thread.sleep(500);
+
+        AssertJUnit.assertEquals("Number of success events", 3, inEventCount);
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+
+        siddhiAppRuntime.shutdown();
+
+    }
+
+    @Test
+    public void testTableJoinQuery9() throws InterruptedException {
+        log.info("testTableJoinQuery9 - OUT 3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream CheckStockStream (symbol1 string); " +
+                "@store(type='test', @Async(max.in.flight='2')) " +
+                "define table StockTable (symbol2 string, price2 float, volume2 long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from CheckStockStream#window.lengthBatch(3) left outer join StockTable " +
+                "   on symbol1 == symbol2 " +
+                "select symbol1, symbol2, volume2  " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        switch (inEventCount) {
+                            case 1:
+                                AssertJUnit.assertArrayEquals(new Object[]{"WSO2", null, null}, event.getData());
+                                break;
+                            case 2:
+                                AssertJUnit.assertArrayEquals(new Object[]{"IBM", null, null}, event.getData());
+                                break;
+                            case 3:
+                                AssertJUnit.assertArrayEquals(new Object[]{"ORCL", null, null}, event.getData());
+                                break;
+                            default:
+                                AssertJUnit.assertSame(3, inEventCount);
+                        }
+                    }
+                    eventArrived = true;
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+        siddhiAppRuntime.start();
+
+        checkStockStream.send(new Object[]{"WSO2"});
+        checkStockStream.send(new Object[]{"IBM"});
+        checkStockStream.send(new Object[]{"ORCL"});
+
+        Thread.sleep(500);
+
+        AssertJUnit.assertEquals("Number of success events", 3, inEventCount);
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+
+        siddhiAppRuntime.shutdown();
+
+    }
+
+    @Test
+    public void testTableJoinQuery10() throws InterruptedException {
+        log.info("testTableJoinQuery10 - OUT 3");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream StockStream (symbol2 string, price2 float, volume2 long); " +
+                "define stream CheckStockStream (symbol1 string); " +
+                "@store(type='recording') " +
+                "define table StockTable (symbol2 string, price2 float, volume2 long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream left outer join StockTable " +
+                "   on symbol1 == symbol2 " +
+                "select symbol1, symbol2, volume2  " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        results.add(event.getData());
+                    }
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+        RecordingStore.calls.clear();
+        // The events of a chunk are looked up in one call, even though the stream has no window
+        checkStockStream.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2"}),
+                new Event(System.currentTimeMillis(), new Object[]{"ORCL"}),
+                new Event(System.currentTimeMillis(), new Object[]{"IBM"})});
+        checkStockStream.send(new Object[]{"WSO2"});
+
+        AssertJUnit.assertEquals(Arrays.asList("findBatch[WSO2, ORCL, IBM]", "find[WSO2]"), RecordingStore.calls);
+        AssertJUnit.assertEquals("Number of success events", 4, inEventCount);
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", "WSO2", 100L}, results.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORCL", null, null}, results.get(1));
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", "IBM", 10L}, results.get(2));
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", "WSO2", 100L}, results.get(3));
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+
+        siddhiAppRuntime.shutdown();
+
+    }
+
+    @Test
+    public void testTableJoinQuery11() throws InterruptedException {
+        log.info("testTableJoinQuery11 - OUT 4");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "" +
+                "define stream StockStream (symbol2 string, price2 float, volume2 long); " +
+                "define stream CheckStockStream (symbol1 string); " +
+                "@store(type='asyncRecording', @Async(max.in.flight='2')) " +
+                "define table StockTable (symbol2 string, price2 float, volume2 long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from StockStream " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStockStream left outer join StockTable " +
+                "   on symbol1 == symbol2 " +
+                "select symbol1, symbol2, volume2  " +
+                "insert into OutputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<Object[]> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        results.add(event.getData());
+                    }
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+        InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+
+        siddhiAppRuntime.start();
+
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 10L});
+        stockStream.send(new Object[]{"GOOG", 50.6f, 20L});
+        RecordingStore.calls.clear();
+        // The store completes the later of the two lookups in flight first
+        checkStockStream.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2"}),
+                new Event(System.currentTimeMillis(), new Object[]{"ORCL"}),
+                new Event(System.currentTimeMillis(), new Object[]{"IBM"}),
+                new Event(System.currentTimeMillis(), new Object[]{"GOOG"})});
+
+        List<String> calls = new ArrayList<>(RecordingStore.calls);
+        Collections.sort(calls);
+        AssertJUnit.assertEquals(Arrays.asList("find[GOOG]", "find[IBM]", "find[ORCL]", "find[WSO2]"), calls);
+        AssertJUnit.assertEquals(2, AsyncRecordingStore.maxCallsInFlight.get());
+        AssertJUnit.assertEquals("Number of success events", 4, inEventCount);
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", "WSO2", 100L}, results.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORCL", null, null}, results.get(1));
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", "IBM", 10L}, results.get(2));
+        AssertJUnit.assertArrayEquals(new Object[]{"GOOG", "GOOG", 20L}, results.get(3));
+        AssertJUnit.assertEquals("Number of remove events", 0, removeEventCount);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+
+        siddhiAppRuntime.shutdown();
+
+    }
+
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.table.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.table.record.RecordIterator;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+import io.siddhi.core.util.collection.operator.CompiledExpression;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.query.api.definition.TableDefinition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link RecordingStore} whose calls complete on other threads. A call started while others are in flight completes
+ * sooner than them, so that the calls complete out of order. Calls are recorded as they complete.
+ */
+@Extension(
+        name = "asyncRecording",
+        namespace = "store",
+        description = "Using this implementation the asynchronous calls a record table makes to its store can be " +
+                "tested.",
+        examples = {
+                @Example(
+                        syntax = "@store(type='asyncRecording', @Async(max.in.flight='2'))" +
+                                "define table testTable (symbol string, price int, volume float); ",
+                        description = "The above syntax initializes an asyncRecording type store."
+                )
+        }
+)
+public class AsyncRecordingStore extends RecordingStore {
+
+    /**
+     * Highest number of calls that were in flight at once.
+     */
+    public static AtomicInteger maxCallsInFlight = new AtomicInteger();
+    private final AtomicInteger callsInFlight = new AtomicInteger();
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @Override
+    protected void init(TableDefinition tableDefinition, ConfigReader configReader) {
+        super.init(tableDefinition, configReader);
+        maxCallsInFlight.set(0);
+        scheduledExecutorService = Executors.newScheduledThreadPool(4);
+    }
+
+    @Override
+    protected boolean findsInBatches() {
+        return false;
+    }
+
+    @Override
+    protected CompletableFuture<RecordIterator<Object[]>> findAsync(Map<String, Object> findConditionParameterMap,
+                                                                    CompiledCondition compiledCondition) {
+        return completeLater(() -> find(findConditionParameterMap, compiledCondition));
+    }
+
+    @Override
+    protected CompletableFuture<Void> addAsync(List<Object[]> records) {
+        return completeLater(() -> {
+            add(records);
+            return null;
+        });
+    }
+
+    @Override
+    protected CompletableFuture<Void> deleteAsync(List<Map<String, Object>> deleteConditionParameterMaps,
+                                                  CompiledCondition compiledCondition) {
+        return completeLater(() -> {
+            delete(deleteConditionParameterMaps, compiledCondition);
+            return null;
+        });
+    }
+
+    @Override
+    protected CompletableFuture<Void> updateAsync(CompiledCondition updateCondition,
+                                                  List<Map<String, Object>> updateConditionParameterMaps,
+                                                  Map<String, CompiledExpression> updateSetExpressions,
+                                                  List<Map<String, Object>> updateSetParameterMaps) {
+        return completeLater(() -> {
+            update(updateCondition, updateConditionParameterMaps, updateSetExpressions, updateSetParameterMaps);
+            return null;
+        });
+    }
+
+    @Override
+    protected CompletableFuture<Void> updateOrAddAsync(CompiledCondition updateCondition,
+                                                       List<Map<String, Object>> updateConditionParameterMaps,
+                                                       Map<String, CompiledExpression> updateSetExpressions,
+                                                       List<Map<String, Object>> updateSetParameterMaps,
+                                                       List<Object[]> addingRecords) {
+        return completeLater(() -> {
+            updateOrAdd(updateCondition, updateConditionParameterMaps, updateSetExpressions, updateSetParameterMaps,
+                    addingRecords);
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> completeLater(Callable<T> storeCall) {
+        int inFlight = callsInFlight.incrementAndGet();
+        maxCallsInFlight.accumulateAndGet(inFlight, Math::max);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        scheduledExecutorService.schedule(() -> {
+            try {
+                T result = storeCall.call();
+                callsInFlight.decrementAndGet();
+                future.complete(result);
+            } catch (Exception e) {
+                callsInFlight.decrementAndGet();
+                future.completeExceptionally(e);
+            }
+        }, 20L * Math.max(0, 4 - inFlight), TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @Override
+    protected void destroy() {
+        scheduledExecutorService.shutdown();
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.table.util;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.table.record.AbstractRecordTable;
+import io.siddhi.core.table.record.BaseExpressionVisitor;
+import io.siddhi.core.table.record.ExpressionBuilder;
+import io.siddhi.core.table.record.RecordIterator;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+import io.siddhi.core.util.collection.operator.CompiledExpression;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.TableDefinition;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In memory store for testing purposes, which records the calls it receives. It supports conditions that compare
+ * attributes for equality, combined with and.
+ */
+@Extension(
+        name = "recording",
+        namespace = "store",
+        description = "Using this implementation the calls a record table makes to its store can be tested.",
+        examples = {
+                @Example(
+                        syntax = "@store(type='recording')" +
+                                "define table testTable (symbol string, price int, volume float); ",
+                        description = "The above syntax initializes a recording type store."
+                )
+        }
+)
+public class RecordingStore extends AbstractRecordTable {
+
+    /**
+     * Calls received by the store, such as "add[WSO2, IBM]" or "findBatch[WSO2, IBM]", listing the first attribute
+     * of each added record and the condition parameters of each matched record.
+     */
+    public static List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * First attribute value of the records the store fails to add with a runtime error, if any.
+     */
+    public static volatile Object failingKey;
+    protected final List<Object[]> records = new ArrayList<>();
+    protected List<Attribute> attributes;
+
+    @Override
+    protected void init(TableDefinition tableDefinition, ConfigReader configReader) {
+        calls.clear();
+        failingKey = null;
+        attributes = tableDefinition.getAttributeList();
+    }
+
+    @Override
+    protected void add(List<Object[]> records) throws ConnectionUnavailableException {
+        List<Object> keys = new ArrayList<>();
+        for (Object[] record : records) {
+            if (failingKey != null && failingKey.equals(record[0])) {
+                calls.add("failedAdd");
+                throw new IllegalStateException("Cannot add record of '" + failingKey + "'");
+            }
+        }
+        synchronized (this.records) {
+            for (Object[] record : records) {
+                this.records.add(record.clone());
+                keys.add(record[0]);
+            }
+        }
+        calls.add("add" + keys);
+    }
+
+    @Override
+    protected RecordIterator<Object[]> find(Map<String, Object> findConditionParameterMap,
+                                            CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        calls.add("find" + findConditionParameterMap.values());
+        return new ListRecordIterator(match(findConditionParameterMap, (Condition) compiledCondition));
+    }
+
+    @Override
+    protected List<RecordIterator<Object[]>> findBatch(List<Map<String, Object>> findConditionParameterMaps,
+                                                       CompiledCondition compiledCondition)
+            throws ConnectionUnavailableException {
+        if (!findsInBatches()) {
+            return super.findBatch(findConditionParameterMaps, compiledCondition);
+        }
+        calls.add("findBatch" + conditionValues(findConditionParameterMaps));
+        List<RecordIterator<Object[]>> recordsList = new ArrayList<>();
+        for (Map<String, Object> findConditionParameterMap : findConditionParameterMaps) {
+            recordsList.add(new ListRecordIterator(match(findConditionParameterMap, (Condition) compiledCondition)));
+        }
+        return recordsList;
+    }
+
+    /**
+     * @return true if the parameter maps of a batch are looked up in one call, false to look each of them up with
+     * {@link #findAsync(Map, CompiledCondition)}
+     */
+    protected boolean findsInBatches() {
+        return true;
+    }
+
+    @Override
+    protected boolean contains(Map<String, Object> containsConditionParameterMap,
+                               CompiledCondition compiledCondition) throws ConnectionUnavailableException {
+        calls.add("contains" + containsConditionParameterMap.values());
+        return !match(containsConditionParameterMap, (Condition) compiledCondition).isEmpty();
+    }
+
+    @Override
+    protected void delete(List<Map<String, Object>> deleteConditionParameterMaps,
+                          CompiledCondition compiledCondition) throws ConnectionUnavailableException {
+        calls.add("delete" + conditionValues(deleteConditionParameterMaps));
+        synchronized (records) {
+            for (Map<String, Object> deleteConditionParameterMap : deleteConditionParameterMaps) {
+                records.removeIf(record -> ((Condition) compiledCondition).matches(record,
+                        deleteConditionParameterMap));
+            }
+        }
+    }
+
+    @Override
+    protected void update(CompiledCondition updateCondition,
+                          List<Map<String, Object>> updateConditionParameterMaps,
+                          Map<String, CompiledExpression> updateSetExpressions,
+                          List<Map<String, Object>> updateSetParameterMaps) throws ConnectionUnavailableException {
+        calls.add("update" + conditionValues(updateConditionParameterMaps));
+        for (int i = 0; i < updateConditionParameterMaps.size(); i++) {
+            set(match(updateConditionParameterMaps.get(i), (Condition) updateCondition), updateSetExpressions,
+                    updateSetParameterMaps.get(i));
+        }
+    }
+
+    @Override
+    protected void updateOrAdd(CompiledCondition updateCondition,
+                               List<Map<String, Object>> updateConditionParameterMaps,
+                               Map<String, CompiledExpression> updateSetExpressions,
+                               List<Map<String, Object>> updateSetParameterMaps,
+                               List<Object[]> addingRecords)
+            throws ConnectionUnavailableException {
+        calls.add("updateOrAdd" + conditionValues(updateConditionParameterMaps));
+        for (int i = 0; i < updateConditionParameterMaps.size(); i++) {
+            List<Object[]> matchedRecords = match(updateConditionParameterMaps.get(i), (Condition) updateCondition);
+            if (matchedRecords.isEmpty()) {
+                synchronized (records) {
+                    records.add(addingRecords.get(i).clone());
+                }
+            } else {
+                set(matchedRecords, updateSetExpressions, updateSetParameterMaps.get(i));
+            }
+        }
+    }
+
+    private List<Object> conditionValues(List<Map<String, Object>> conditionParameterMaps) {
+        List<Object> values = new ArrayList<>();
+        for (Map<String, Object> conditionParameterMap : conditionParameterMaps) {
+            values.addAll(conditionParameterMap.values());
+        }
+        return values;
+    }
+
+    private List<Object[]> match(Map<String, Object> conditionParameterMap, Condition condition) {
+        List<Object[]> matchedRecords = new ArrayList<>();
+        synchronized (records) {
+            for (Object[] record : records) {
+                if (condition.matches(record, conditionParameterMap)) {
+                    matchedRecords.add(record);
+                }
+            }
+        }
+        return matchedRecords;
+    }
+
+    private void set(List<Object[]> matchedRecords, Map<String, CompiledExpression> updateSetExpressions,
+                     Map<String, Object> updateSetParameterMap) {
+        synchronized (records) {
+            for (Object[] record : matchedRecords) {
+                for (Map.Entry<String, CompiledExpression> entry : updateSetExpressions.entrySet()) {
+                    record[indexOf(entry.getKey())] = ((Operand) entry.getValue()).value(updateSetParameterMap);
+                }
+            }
+        }
+    }
+
+    private int indexOf(String attributeName) {
+        for (int i = 0; i < attributes.size(); i++) {
+            if (attributes.get(i).getName().equals(attributeName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown attribute '" + attributeName + "'");
+    }
+
+    @Override
+    protected CompiledCondition compileCondition(ExpressionBuilder expressionBuilder) {
+        Condition condition = new Condition();
+        expressionBuilder.build(new BaseExpressionVisitor() {
+            private Operand operand;
+
+            @Override
+            public void beginVisitStoreVariable(String storeId, String attributeName, Attribute.Type type) {
+                condition.attributeIndexes.add(indexOf(attributeName));
+            }
+
+            @Override
+            public void beginVisitStreamVariable(String id, String streamId, String attributeName,
+                                                 Attribute.Type type) {
+                operand = new Operand(id, null);
+            }
+
+            @Override
+            public void beginVisitConstant(Object value, Attribute.Type type) {
+                operand = new Operand(null, value);
+            }
+
+            @Override
+            public void endVisitCompare(Compare.Operator operator) {
+                if (operator != Compare.Operator.EQUAL) {
+                    throw new UnsupportedOperationException("Only equality is supported, but found " + operator);
+                }
+                condition.operands.add(operand);
+            }
+        });
+        return condition;
+    }
+
+    @Override
+    protected CompiledExpression compileSetAttribute(ExpressionBuilder expressionBuilder) {
+        Operand[] operand = new Operand[1];
+        expressionBuilder.build(new BaseExpressionVisitor() {
+            @Override
+            public void beginVisitStreamVariable(String id, String streamId, String attributeName,
+                                                 Attribute.Type type) {
+                operand[0] = new Operand(id, null);
+            }
+
+            @Override
+            public void beginVisitConstant(Object value, Attribute.Type type) {
+                operand[0] = new Operand(null, value);
+            }
+        });
+        return operand[0];
+    }
+
+    @Override
+    protected void connect() throws ConnectionUnavailableException {
+        //Not Applicable
+    }
+
+    @Override
+    protected void disconnect() {
+        //Not Applicable
+    }
+
+    @Override
+    protected void destroy() {
+        //Not Applicable
+    }
+
+    /**
+     * Stream variable or constant of a compiled condition or set expression.
+     */
+    private static class Operand implements CompiledExpression {
+        private final String id;
+        private final Object constant;
+
+        private Operand(String id, Object constant) {
+            this.id = id;
+            this.constant = constant;
+        }
+
+        private Object value(Map<String, Object> parameterMap) {
+            return id != null ? parameterMap.get(id) : constant;
+        }
+
+        @Override
+        public CompiledExpression cloneCompilation(String key) {
+            return this;
+        }
+    }
+
+    /**
+     * Equality comparisons of store attributes, which should all match.
+     */
+    private static class Condition implements CompiledCondition {
+        private final List<Integer> attributeIndexes = new ArrayList<>();
+        private final List<Operand> operands = new ArrayList<>();
+
+        private boolean matches(Object[] record, Map<String, Object> conditionParameterMap) {
+            for (int i = 0; i < attributeIndexes.size(); i++) {
+                if (!Objects.equals(record[attributeIndexes.get(i)], operands.get(i).value(conditionParameterMap))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public CompiledCondition cloneCompilation(String key) {
+            return this;
+        }
+    }
+
+    /**
+     * Iterates over copies of the matched records.
+     */
+    private static class ListRecordIterator implements RecordIterator<Object[]> {
+        private final Iterator<Object[]> iterator;
+
+        private ListRecordIterator(List<Object[]> records) {
+            List<Object[]> copies = new ArrayList<>(records.size());
+            for (Object[] record : records) {
+                copies.add(record.clone());
+            }
+            this.iterator = copies.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public Object[] next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -21,11 +21,14 @@ package io.siddhi.core.stream;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.EventView;
 import io.siddhi.core.exception.DefinitionNotExistException;
 import io.siddhi.core.exception.QueryNotExistException;
 import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.output.callback.QueryViewCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.stream.output.StreamViewCallback;
 import io.siddhi.core.util.EventPrinter;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
@@ -33,6 +36,8 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -224,4 +229,103 @@ public class CallbackTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test
+    public void callbackTest5() throws InterruptedException {
+        log.info("callback test5 - stream view callback");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream[price > 50] " +
+                "select symbol, price, volume * 2 as volume " +
+                "insert into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        List<Object[]> receivedData = new ArrayList<>();
+        siddhiAppRuntime.addCallback("OutputStream", new StreamViewCallback() {
+
+            @Override
+            public void receive(EventView eventView) {
+                while (eventView.next()) {
+                    AssertJUnit.assertFalse(eventView.isExpired());
+                    AssertJUnit.assertEquals(3, eventView.getAttributeCount());
+                    receivedData.add(new Object[]{eventView.getString(0), eventView.getFloat(1),
+                            eventView.getLong(2)});
+                    count++;
+                }
+                eventArrived = true;
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Event[]{
+                new Event(System.currentTimeMillis(), new Object[]{"IBM", 700f, 100L}),
+                new Event(System.currentTimeMillis(), new Object[]{"FB", 40f, 100L}),
+                new Event(System.currentTimeMillis(), new Object[]{"WSO2", 60.5f, 200L})});
+        inputHandler.send(new Object[]{"ORACLE", 70f, 300L});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals(3, count);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertArrayEquals(new Object[]{"IBM", 700f, 200L}, receivedData.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 60.5f, 400L}, receivedData.get(1));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORACLE", 70f, 600L}, receivedData.get(2));
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void callbackTest6() throws InterruptedException {
+        log.info("callback test6 - query view callback");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from StockStream#window.length(1) " +
+                "select symbol, price " +
+                "insert all events into OutputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        List<Event> currentEvents = new ArrayList<>();
+        List<Event> expiredEvents = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryViewCallback() {
+
+            @Override
+            public void receive(long timestamp, EventView eventView) {
+                AssertJUnit.assertTrue(timestamp > 0);
+                while (eventView.next()) {
+                    if (eventView.isExpired()) {
+                        expiredEvents.add(eventView.toEvent());
+                    } else {
+                        currentEvents.add(eventView.toEvent());
+                    }
+                }
+                eventArrived = true;
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 700f, 100L});
+        inputHandler.send(new Object[]{"WSO2", 60.5f, 200L});
+        Thread.sleep(100);
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(2, currentEvents.size());
+        AssertJUnit.assertEquals(1, expiredEvents.size());
+        AssertJUnit.assertEquals("WSO2", currentEvents.get(1).getData(0));
+        AssertJUnit.assertEquals("IBM", expiredEvents.get(0).getData(0));
+        AssertJUnit.assertTrue(expiredEvents.get(0).isExpired());
+
+        siddhiAppRuntime.shutdown();
+    }
 }
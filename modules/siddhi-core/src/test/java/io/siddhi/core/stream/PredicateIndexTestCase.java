@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.aggregation.AggregationRuntime;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.config.SiddhiContext;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.query.QueryRuntime;
+import io.siddhi.core.query.input.ProcessStreamReceiver;
+import io.siddhi.core.query.output.callback.InsertIntoStreamCallback;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.table.Table;
+import io.siddhi.core.util.ElementIdGenerator;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.lock.LockSynchronizer;
+import io.siddhi.core.util.parser.QueryParser;
+import io.siddhi.core.util.snapshot.SnapshotService;
+import io.siddhi.core.window.Window;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
+import io.siddhi.query.api.execution.query.Query;
+import io.siddhi.query.api.execution.query.input.stream.InputStream;
+import io.siddhi.query.api.execution.query.selection.Selector;
+import io.siddhi.query.api.expression.Expression;
+import io.siddhi.query.api.expression.condition.Compare;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PredicateIndexTestCase {
+    private static final Logger log = Logger.getLogger(PredicateIndexTestCase.class);
+    private AtomicInteger count1;
+    private AtomicInteger count2;
+    private AtomicInteger count3;
+    private AtomicInteger count4;
+    private AtomicInteger count5;
+    private AtomicInteger count6;
+
+    @BeforeMethod
+    public void init() {
+        count1 = new AtomicInteger(0);
+        count2 = new AtomicInteger(0);
+        count3 = new AtomicInteger(0);
+        count4 = new AtomicInteger(0);
+        count5 = new AtomicInteger(0);
+        count6 = new AtomicInteger(0);
+    }
+
+    private void addCallback(SiddhiAppRuntime siddhiAppRuntime, String queryName, AtomicInteger count) {
+        siddhiAppRuntime.addCallback(queryName, new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    count.addAndGet(inEvents.length);
+                }
+            }
+        });
+    }
+
+    private String filterQueries(String streamId) {
+        return "" +
+                "@info(name = 'query1') " +
+                "from " + streamId + "[price > 100] " +
+                "select symbol, price, volume " +
+                "insert into OutputStream1;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from " + streamId + "[price > 100 and volume < 5] " +
+                "select symbol, price, volume " +
+                "insert into OutputStream2;" +
+                "" +
+                "@info(name = 'query3') " +
+                "from " + streamId + "[symbol == 'IBM'] " +
+                "select symbol, price, volume " +
+                "insert into OutputStream3;" +
+                "" +
+                "@info(name = 'query4') " +
+                "from " + streamId + "[50.0 <= price and symbol != 'WSO2' and volume >= 10] " +
+                "select symbol, price, volume " +
+                "insert into OutputStream4;" +
+                "" +
+                "@info(name = 'query5') " +
+                "from " + streamId + "[price > volume] " +
+                "select symbol, price, volume " +
+                "insert into OutputStream5;" +
+                "" +
+                "@info(name = 'query6') " +
+                "from " + streamId + " " +
+                "select symbol, price, volume " +
+                "insert into OutputStream6;";
+    }
+
+    private void addCallbacks(SiddhiAppRuntime siddhiAppRuntime) {
+        addCallback(siddhiAppRuntime, "query1", count1);
+        addCallback(siddhiAppRuntime, "query2", count2);
+        addCallback(siddhiAppRuntime, "query3", count3);
+        addCallback(siddhiAppRuntime, "query4", count4);
+        addCallback(siddhiAppRuntime, "query5", count5);
+        addCallback(siddhiAppRuntime, "query6", count6);
+    }
+
+    private void assertCounts() throws InterruptedException {
+        SiddhiTestHelper.waitForEvents(10, 6, count6, 1000);
+        SiddhiTestHelper.waitForEvents(10, 4, count5, 1000);
+        AssertJUnit.assertEquals(3, count1.get());
+        AssertJUnit.assertEquals(1, count2.get());
+        AssertJUnit.assertEquals(3, count3.get());
+        AssertJUnit.assertEquals(2, count4.get());
+        AssertJUnit.assertEquals(4, count5.get());
+        AssertJUnit.assertEquals(6, count6.get());
+    }
+
+    @Test
+    public void predicateIndexTest1() throws InterruptedException {
+        log.info("predicate index test1 - single events");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                filterQueries("StockStream");
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        addCallbacks(siddhiAppRuntime);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 150f, 2L});
+        inputHandler.send(new Object[]{"WSO2", 150f, 20L});
+        inputHandler.send(new Object[]{"IBM", 50f, 10L});
+        inputHandler.send(new Object[]{"ORACLE", 100f, 10L});
+        inputHandler.send(new Object[]{"IBM", 10f, 100L});
+        inputHandler.send(new Object[]{"GOOG", 101f, null});
+        assertCounts();
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void predicateIndexTest2() throws InterruptedException {
+        log.info("predicate index test2 - event batches");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                filterQueries("StockStream");
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        addCallbacks(siddhiAppRuntime);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        long timestamp = System.currentTimeMillis();
+        inputHandler.send(new Event[]{
+                new Event(timestamp, new Object[]{"IBM", 150f, 2L}),
+                new Event(timestamp, new Object[]{"WSO2", 150f, 20L}),
+                new Event(timestamp, new Object[]{"IBM", 50f, 10L})});
+        inputHandler.send(new Event[]{
+                new Event(timestamp, new Object[]{"ORACLE", 100f, 10L}),
+                new Event(timestamp, new Object[]{"IBM", 10f, 100L}),
+                new Event(timestamp, new Object[]{"GOOG", 101f, null})});
+        assertCounts();
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void predicateIndexTest3() throws InterruptedException {
+        log.info("predicate index test3 - events from an inner stream");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                "" +
+                "from StockStream " +
+                "select symbol, price, volume " +
+                "insert into InnerStream;" +
+                filterQueries("InnerStream");
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        addCallbacks(siddhiAppRuntime);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        long timestamp = System.currentTimeMillis();
+        inputHandler.send(new Event[]{
+                new Event(timestamp, new Object[]{"IBM", 150f, 2L}),
+                new Event(timestamp, new Object[]{"WSO2", 150f, 20L}),
+                new Event(timestamp, new Object[]{"IBM", 50f, 10L}),
+                new Event(timestamp, new Object[]{"ORACLE", 100f, 10L})});
+        inputHandler.send(new Object[]{"IBM", 10f, 100L});
+        inputHandler.send(new Object[]{"GOOG", 101f, null});
+        assertCounts();
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void predicateIndexTest4() throws InterruptedException {
+        log.info("predicate index test4 - async stream");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "@async(buffer.size='16') " +
+                "define stream StockStream (symbol string, price float, volume long);" +
+                filterQueries("StockStream");
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        addCallbacks(siddhiAppRuntime);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 150f, 2L});
+        inputHandler.send(new Object[]{"WSO2", 150f, 20L});
+        inputHandler.send(new Object[]{"IBM", 50f, 10L});
+        inputHandler.send(new Object[]{"ORACLE", 100f, 10L});
+        inputHandler.send(new Object[]{"IBM", 10f, 100L});
+        inputHandler.send(new Object[]{"GOOG", 101f, null});
+        assertCounts();
+        siddhiAppRuntime.shutdown();
+    }
+
+    private ProcessStreamReceiver parseQuery(SiddhiAppContext siddhiAppContext, StreamDefinition streamDefinition,
+                                             String queryName, Expression filter, AtomicInteger count) {
+        Query query = Query.query();
+        query.annotation(Annotation.annotation("info").element("name", queryName));
+        query.from(InputStream.stream(streamDefinition.getId()).filter(filter));
+        query.select(Selector.selector().select("symbol", Expression.variable("symbol")));
+        query.insertInto("OutputStream");
+        Map<String, AbstractDefinition> streamDefinitionMap = new HashMap<>();
+        streamDefinitionMap.put(streamDefinition.getId(), streamDefinition);
+        QueryRuntime queryRuntime = QueryParser.parse(query, siddhiAppContext, streamDefinitionMap, new HashMap<>(),
+                new HashMap<>(), new HashMap<>(), new HashMap<String, Table>(),
+                new HashMap<String, AggregationRuntime>(), new HashMap<String, Window>(), new LockSynchronizer(),
+                queryName);
+        InsertIntoStreamCallback outputCallback = (InsertIntoStreamCallback) queryRuntime.getOutputCallback();
+        outputCallback.init(new StreamJunction(outputCallback.getOutputStreamDefinition(), null, 1024, null,
+                siddhiAppContext));
+        addCallback(queryRuntime, count);
+        return queryRuntime.getStreamRuntime().getSingleStreamRuntimes().get(0).getProcessStreamReceiver();
+    }
+
+    private void addCallback(QueryRuntime queryRuntime, AtomicInteger count) {
+        queryRuntime.addCallback(new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    count.addAndGet(inEvents.length);
+                }
+            }
+        });
+    }
+
+    private void sendEvents(StreamJunction.Publisher publisher) {
+        long timestamp = System.currentTimeMillis();
+        publisher.send(timestamp, new Object[]{"IBM", 150f, 2L}, 0);
+        publisher.send(new Event(timestamp, new Object[]{"WSO2", 150f, 20L}), 0);
+        publisher.send(new Event[]{
+                new Event(timestamp, new Object[]{"IBM", 50f, 10L}),
+                new Event(timestamp, new Object[]{"ORACLE", 101f, 1L}),
+                new Event(timestamp, new Object[]{"GOOG", 10f, 100L})}, 0);
+    }
+
+    @Test
+    public void predicateIndexTest5() {
+        log.info("predicate index test5 - filters are skipped only while the index is in use");
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setSiddhiContext(new SiddhiContext());
+        siddhiAppContext.setElementIdGenerator(new ElementIdGenerator(siddhiAppContext.getName()));
+        siddhiAppContext.setSnapshotService(new SnapshotService(siddhiAppContext));
+        StreamDefinition streamDefinition = StreamDefinition.id("StockStream")
+                .attribute("symbol", Attribute.Type.STRING).attribute("price", Attribute.Type.FLOAT)
+                .attribute("volume", Attribute.Type.LONG);
+
+        Expression priceFilter = Expression.compare(Expression.variable("price"), Compare.Operator.GREATER_THAN,
+                Expression.value(100f));
+        Expression volumeFilter = Expression.and(Expression.compare(Expression.variable("price"),
+                Compare.Operator.GREATER_THAN, Expression.value(100f)), Expression.compare(
+                Expression.variable("volume"), Compare.Operator.LESS_THAN, Expression.value(5L)));
+        Expression attributeFilter = Expression.compare(Expression.variable("price"), Compare.Operator.GREATER_THAN,
+                Expression.variable("volume"));
+        ProcessStreamReceiver receiver1 = parseQuery(siddhiAppContext, streamDefinition, "query1", priceFilter,
+                count1);
+        ProcessStreamReceiver receiver2 = parseQuery(siddhiAppContext, streamDefinition, "query2", volumeFilter,
+                count2);
+        ProcessStreamReceiver receiver3 = parseQuery(siddhiAppContext, streamDefinition, "query3", attributeFilter,
+                count3);
+
+        StreamJunction streamJunction = new StreamJunction(streamDefinition, null, 1024, null, siddhiAppContext);
+        StreamJunction.Publisher publisher = streamJunction.constructPublisher();
+        streamJunction.subscribe(receiver1);
+        streamJunction.subscribe(receiver2);
+        streamJunction.subscribe(receiver3);
+
+        streamJunction.startProcessing();
+        PredicateIndex predicateIndex = streamJunction.getPredicateIndex();
+        AssertJUnit.assertNotNull(predicateIndex);
+        AssertJUnit.assertEquals(0, predicateIndex.getSlot(receiver1));
+        AssertJUnit.assertEquals(1, predicateIndex.getSlot(receiver2));
+        AssertJUnit.assertEquals(-1, predicateIndex.getSlot(receiver3));
+        AssertJUnit.assertTrue(receiver1.isFilterIndexed());
+        AssertJUnit.assertTrue(receiver2.isFilterIndexed());
+        AssertJUnit.assertFalse(receiver3.isFilterIndexed());
+        // The filters are kept in the processor chains
+        AssertJUnit.assertTrue(receiver1.getNext() instanceof FilterProcessor);
+        AssertJUnit.assertTrue(receiver2.getNext() instanceof FilterProcessor);
+        sendEvents(publisher);
+        AssertJUnit.assertEquals(3, count1.get());
+        AssertJUnit.assertEquals(2, count2.get());
+        AssertJUnit.assertEquals(4, count3.get());
+
+        // Without the index, the queries filter the events by themselves
+        streamJunction.stopProcessing();
+        AssertJUnit.assertNull(streamJunction.getPredicateIndex());
+        AssertJUnit.assertFalse(receiver1.isFilterIndexed());
+        AssertJUnit.assertFalse(receiver2.isFilterIndexed());
+        sendEvents(publisher);
+        AssertJUnit.assertEquals(6, count1.get());
+        AssertJUnit.assertEquals(4, count2.get());
+        AssertJUnit.assertEquals(8, count3.get());
+
+        // The index is rebuilt when the junction is restarted
+        streamJunction.startProcessing();
+        AssertJUnit.assertNotNull(streamJunction.getPredicateIndex());
+        AssertJUnit.assertNotSame(predicateIndex, streamJunction.getPredicateIndex());
+        AssertJUnit.assertTrue(receiver1.isFilterIndexed());
+        AssertJUnit.assertTrue(receiver2.isFilterIndexed());
+        sendEvents(publisher);
+        AssertJUnit.assertEquals(9, count1.get());
+        AssertJUnit.assertEquals(6, count2.get());
+        AssertJUnit.assertEquals(12, count3.get());
+        streamJunction.stopProcessing();
+    }
+}
@@ -26,6 +26,8 @@ import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.StreamEventPool;
+import io.siddhi.core.event.stream.StripedStreamEventPool;
+import io.siddhi.core.event.stream.TracedStreamEvent;
 import io.siddhi.core.event.stream.converter.SelectiveStreamEventConverter;
 import io.siddhi.core.event.stream.converter.SimpleStreamEventConverter;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
@@ -50,6 +52,7 @@ import io.siddhi.core.util.event.handler.EventExchangeHolderFactory;
 import io.siddhi.core.util.lock.LockSynchronizer;
 import io.siddhi.core.util.parser.QueryParser;
 import io.siddhi.core.util.parser.helper.QueryParserHelper;
+import io.siddhi.core.util.snapshot.ByteSerializer;
 import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.window.Window;
 import io.siddhi.query.api.annotation.Annotation;
@@ -103,6 +106,110 @@ public class EventTestCase {
 
     }
 
+    @Test
+    public void testStripedEventPool() throws InterruptedException {
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addOutputDataAllowingDuplicate(new Attribute("symbol", Attribute.Type.STRING));
+        StripedStreamEventPool streamEventPool = new StripedStreamEventPool(metaStreamEvent, 4, 64);
+        int initialSize = streamEventPool.getSize();
+        StreamEvent[] streamEvents = new StreamEvent[6];
+        for (int i = 0; i < 6; i++) {
+            streamEvents[i] = streamEventPool.borrowEvent();
+        }
+        AssertJUnit.assertEquals(0, streamEventPool.getBufferedEventsSize());
+        AssertJUnit.assertEquals(6, streamEventPool.getOutstandingEvents());
+        for (int i = 0; i < 6; i++) {
+            streamEventPool.returnEvents(streamEvents[i]);
+        }
+        AssertJUnit.assertEquals(4, streamEventPool.getBufferedEventsSize());
+        AssertJUnit.assertEquals(0, streamEventPool.getOutstandingEvents());
+        streamEventPool.borrowEvent();
+        AssertJUnit.assertEquals(3, streamEventPool.getBufferedEventsSize());
+        AssertJUnit.assertEquals(14, streamEventPool.getHitRate());
+
+        // Frequent misses grow the stripe of the current thread
+        for (int i = 0; i < 1024; i++) {
+            for (int j = 0; j < 6; j++) {
+                streamEvents[j] = streamEventPool.borrowEvent();
+            }
+            for (int j = 0; j < 6; j++) {
+                streamEventPool.returnEvents(streamEvents[j]);
+            }
+        }
+        AssertJUnit.assertTrue(streamEventPool.getSize() > initialSize);
+        AssertJUnit.assertTrue(streamEventPool.getHitRate() > 90);
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    StreamEvent streamEvent = streamEventPool.borrowEvent();
+                    streamEvent.setNext(streamEventPool.borrowEvent());
+                    streamEventPool.returnEvents(streamEvent);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        AssertJUnit.assertEquals(1, streamEventPool.getOutstandingEvents());
+        AssertJUnit.assertTrue(streamEventPool.getBufferedEventsSize() <= streamEventPool.getSize());
+    }
+
+    @Test
+    public void testStripedEventPoolSerialization() {
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addOutputDataAllowingDuplicate(new Attribute("symbol", Attribute.Type.STRING));
+        StripedStreamEventPool streamEventPool = new StripedStreamEventPool(metaStreamEvent, 4, 64);
+        streamEventPool.returnEvents(streamEventPool.borrowEvent());
+        AssertJUnit.assertEquals(1, streamEventPool.getBufferedEventsSize());
+
+        SiddhiAppContext context = new SiddhiAppContext();
+        context.setSiddhiContext(new SiddhiContext());
+        StripedStreamEventPool restoredEventPool = (StripedStreamEventPool) ByteSerializer.byteToObject(
+                ByteSerializer.objectToByte(streamEventPool, context), context);
+        // Pooled events are not serialized, hence the restored pool starts empty
+        AssertJUnit.assertEquals(0, restoredEventPool.getBufferedEventsSize());
+        AssertJUnit.assertEquals(streamEventPool.getSize(), restoredEventPool.getSize());
+        StreamEvent streamEvent = restoredEventPool.borrowEvent();
+        AssertJUnit.assertEquals(1, streamEvent.getOutputData().length);
+        restoredEventPool.returnEvents(streamEvent);
+        AssertJUnit.assertEquals(1, restoredEventPool.getBufferedEventsSize());
+        AssertJUnit.assertEquals(0, restoredEventPool.getOutstandingEvents());
+    }
+
+    @Test
+    public void testTracedStreamEvent() {
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addOutputDataAllowingDuplicate(new Attribute("symbol", Attribute.Type.STRING));
+        metaStreamEvent.addInputDefinition(StreamDefinition.id("cseEventStream").attribute("symbol",
+                Attribute.Type.STRING));
+        StreamEventConverter converter = StreamEventConverterFactory.constructEventConverter(metaStreamEvent);
+        Event event = new Event(System.currentTimeMillis(), new Object[]{"WSO2"});
+        event.setIngestTimestamp(1000L);
+
+        // Events are only traced when the pool is created for tracing
+        StreamEvent streamEvent = new StreamEventPool(metaStreamEvent, 5).borrowEvent();
+        converter.convertEvent(event, streamEvent);
+        AssertJUnit.assertFalse(streamEvent instanceof TracedStreamEvent);
+        AssertJUnit.assertEquals(-1, streamEvent.getIngestTimestamp());
+
+        StreamEvent tracedStreamEvent = new StreamEventPool(metaStreamEvent, 5, true).borrowEvent();
+        converter.convertEvent(event, tracedStreamEvent);
+        AssertJUnit.assertTrue(tracedStreamEvent instanceof TracedStreamEvent);
+        AssertJUnit.assertEquals(1000L, tracedStreamEvent.getIngestTimestamp());
+        AssertJUnit.assertEquals("WSO2", tracedStreamEvent.getOutputData()[0]);
+
+        // The ingest timestamp is not persisted
+        SiddhiAppContext context = new SiddhiAppContext();
+        context.setSiddhiContext(new SiddhiContext());
+        StreamEvent restoredStreamEvent = (StreamEvent) ByteSerializer.byteToObject(
+                ByteSerializer.objectToByte(tracedStreamEvent, context), context);
+        AssertJUnit.assertEquals("WSO2", restoredStreamEvent.getOutputData()[0]);
+        AssertJUnit.assertEquals(-1, restoredStreamEvent.getIngestTimestamp());
+    }
+
     @Test
     public void testPassThroughStreamEventConverter() {
         Attribute symbol = new Attribute("symbol", Attribute.Type.STRING);
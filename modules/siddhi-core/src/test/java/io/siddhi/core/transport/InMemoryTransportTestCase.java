@@ -24,8 +24,10 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.ConnectionUnavailableException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.input.source.AttributeProjection;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.core.util.config.InMemoryConfigManager;
 import io.siddhi.core.util.transport.InMemoryBroker;
 import io.siddhi.core.util.transport.SubscriberUnAvailableException;
@@ -34,7 +36,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -825,5 +829,280 @@ public class InMemoryTransportTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test
+    public void inMemorySourceWithFilterPushDown() throws InterruptedException {
+        log.info("Test inMemorySource with filters of the consuming queries pushed down to the source mapper");
+        TestPushDownSourceMapper.RECEIVED_EVENTS.set(0);
+        TestPushDownSourceMapper.PUBLISHED_EVENTS.set(0);
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "@source(type='inMemory', topic='Stock', @map(type='testPushDown')) " +
+                "define stream FooStream (symbol string, price float, volume long); ";
+
+        String query = "" +
+                "from FooStream[symbol == 'WSO2'] " +
+                "select * " +
+                "insert into WSO2Stream; " +
+                "" +
+                "from FooStream[symbol == 'IBM' and price > 70] " +
+                "select * " +
+                "insert into IBMStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        siddhiAppRuntime.addCallback("WSO2Stream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                wso2Count.addAndGet(events.length);
+            }
+        });
+        siddhiAppRuntime.addCallback("IBMStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                ibmCount.addAndGet(events.length);
+            }
+        });
+
+        siddhiAppRuntime.start();
+
+        long timestamp = System.currentTimeMillis();
+        InMemoryBroker.publish("Stock", new Event(timestamp, new Object[]{"WSO2", 55.6f, 100L}));
+        InMemoryBroker.publish("Stock", new Object[]{"IBM", 75.6f, 100L});
+        InMemoryBroker.publish("Stock", new Object[]{"IBM", 65.6f, 100L});
+        InMemoryBroker.publish("Stock", new Event[]{
+                new Event(timestamp, new Object[]{"ORACLE", 75.6f, 100L}),
+                new Event(timestamp, new Object[]{"WSO2", 57.6f, 100L}),
+                new Event(timestamp, new Object[]{"IBM", 85.6f, 100L})});
+        InMemoryBroker.publish("Stock", new Event[]{
+                new Event(timestamp, new Object[]{"ORACLE", 75.6f, 100L})});
+        SiddhiTestHelper.waitForEvents(10, 2, wso2Count, 1000);
+        SiddhiTestHelper.waitForEvents(10, 2, ibmCount, 1000);
+
+        AssertJUnit.assertEquals("Number of WSO2 events", 2, wso2Count.get());
+        AssertJUnit.assertEquals("Number of IBM events", 2, ibmCount.get());
+        // The events no query consumes are dropped by the mapper, and never reach the stream junction
+        AssertJUnit.assertEquals("Number of received events", 7, TestPushDownSourceMapper.RECEIVED_EVENTS.get());
+        AssertJUnit.assertEquals("Number of published events", 4, TestPushDownSourceMapper.PUBLISHED_EVENTS.get());
+
+        // Consumers without filters receive all the events
+        AtomicInteger fooCount = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("FooStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                fooCount.addAndGet(events.length);
+            }
+        });
+        InMemoryBroker.publish("Stock", new Object[]{"ORACLE", 75.6f, 100L});
+        InMemoryBroker.publish("Stock", new Object[]{"WSO2", 57.6f, 100L});
+        SiddhiTestHelper.waitForEvents(10, 2, fooCount, 1000);
+
+        AssertJUnit.assertEquals("Number of Foo events", 2, fooCount.get());
+        AssertJUnit.assertEquals("Number of WSO2 events", 3, wso2Count.get());
+        AssertJUnit.assertEquals("Number of IBM events", 2, ibmCount.get());
+        AssertJUnit.assertEquals("Number of received events", 9, TestPushDownSourceMapper.RECEIVED_EVENTS.get());
+        AssertJUnit.assertEquals("Number of published events", 6, TestPushDownSourceMapper.PUBLISHED_EVENTS.get());
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void inMemorySourceWithAttributeProjection() throws InterruptedException {
+        log.info("Test inMemorySource with the attributes used by the consuming queries exposed to the mapper");
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "@source(type='inMemory', topic='Stock', @map(type='passThrough')) " +
+                "define stream FooStream (symbol string, price float, volume long, exchange string); ";
+
+        String query = "" +
+                "from FooStream[volume > 10] " +
+                "select symbol " +
+                "insert into BarStream; " +
+                "" +
+                "from FooStream#window.length(2) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "insert into TotalStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        siddhiAppRuntime.addCallback("BarStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                wso2Count.addAndGet(events.length);
+            }
+        });
+        siddhiAppRuntime.start();
+
+        AttributeProjection attributeProjection = siddhiAppRuntime.getSources().iterator().next().get(0)
+                .getMapper().getAttributeProjection();
+        AssertJUnit.assertTrue(attributeProjection.isProjected());
+        AssertJUnit.assertTrue(attributeProjection.isRequired(0));
+        AssertJUnit.assertFalse(attributeProjection.isRequired(1));
+        AssertJUnit.assertTrue(attributeProjection.isRequired(2));
+        AssertJUnit.assertFalse(attributeProjection.isRequired(3));
+
+        InMemoryBroker.publish("Stock", new Object[]{"WSO2", null, 100L, null});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals("Number of WSO2 events", 1, wso2Count.get());
+
+        // Callbacks need the full event
+        siddhiAppRuntime.addCallback("FooStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+            }
+        });
+        AssertJUnit.assertFalse(attributeProjection.isProjected());
+        AssertJUnit.assertTrue(attributeProjection.isRequired(3));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void inMemorySourceWithIndexMappedAttributes() throws InterruptedException {
+        log.info("Test inMemorySource with attributes mapped to indexes of the received data");
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "@source(type='inMemory', topic='Stock', @map(type='passThrough', " +
+                "   @attributes(symbol='0', volume='2', exchange='3'))) " +
+                "define stream FooStream (symbol string, volume long, exchange string); ";
+
+        String query = "" +
+                "from FooStream[volume > 10] " +
+                "select symbol, volume " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<Object[]> received = new ArrayList<>();
+        siddhiAppRuntime.addCallback("BarStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    received.add(event.getData());
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        AttributeProjection attributeProjection = siddhiAppRuntime.getSources().iterator().next().get(0)
+                .getMapper().getAttributeProjection();
+        AssertJUnit.assertTrue(attributeProjection.isProjected());
+        AssertJUnit.assertFalse(attributeProjection.isRequired(2));
+
+        long timestamp = System.currentTimeMillis();
+        InMemoryBroker.publish("Stock", new Object[]{"WSO2", 55.6f, 100L, "NYSE"});
+        InMemoryBroker.publish("Stock", new Event(timestamp, new Object[]{"IBM", 75.6f, 5L, "NYSE"}));
+        InMemoryBroker.publish("Stock", new Event[]{
+                new Event(timestamp, new Object[]{"ORACLE", 57.6f, 20L, "NASDAQ"})});
+        SiddhiTestHelper.waitForEvents(10, 2, received, 1000);
+
+        AssertJUnit.assertEquals("Number of events", 2, received.size());
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 100L}, received.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORACLE", 20L}, received.get(1));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void inMemorySourceWithIndexMappedAttributesConsumedByCallback() throws InterruptedException {
+        log.info("Test inMemorySource with index mapped attributes of a stream consumed by a stream callback");
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "@source(type='inMemory', topic='Stock', @map(type='passThrough', " +
+                "   @attributes(symbol='0', volume='2', exchange='3'))) " +
+                "define stream FooStream (symbol string, volume long, exchange string); ";
+
+        String query = "" +
+                "from FooStream[volume > 10] " +
+                "select symbol, volume " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<Object[]> received = new ArrayList<>();
+        siddhiAppRuntime.addCallback("FooStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    received.add(event.getData());
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        InMemoryBroker.publish("Stock", new Object[]{"WSO2", 55.6f, 100L, "NYSE"});
+        // Events with fewer elements than a mapped index are dropped
+        InMemoryBroker.publish("Stock", new Object[]{"IBM", 75.6f, 200L});
+        InMemoryBroker.publish("Stock", new Object[]{"ORACLE", 57.6f, 5L, "NASDAQ"});
+        SiddhiTestHelper.waitForEvents(10, 2, received, 1000);
+
+        AssertJUnit.assertEquals("Number of events", 2, received.size());
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 100L, "NYSE"}, received.get(0));
+        AssertJUnit.assertArrayEquals(new Object[]{"ORACLE", 5L, "NASDAQ"}, received.get(1));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void inMemorySourceWithNameMappedAttributes() throws InterruptedException {
+        log.info("Test inMemorySource with attributes mapped by name passing the received data through");
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "@source(type='inMemory', topic='Stock', @map(type='passThrough', " +
+                "   @attributes(symbol='symbol', volume='volume'))) " +
+                "define stream FooStream (symbol string, volume long); ";
+
+        String query = "" +
+                "from FooStream " +
+                "select symbol, volume " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<Object[]> received = new ArrayList<>();
+        siddhiAppRuntime.addCallback("BarStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    received.add(event.getData());
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+
+        InMemoryBroker.publish("Stock", new Object[]{"WSO2", 100L});
+        SiddhiTestHelper.waitForEvents(10, 1, received, 1000);
+
+        AssertJUnit.assertEquals("Number of events", 1, received.size());
+        AssertJUnit.assertArrayEquals(new Object[]{"WSO2", 100L}, received.get(0));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void inMemorySourceWithNegativeIndexMappedAttribute() {
+        log.info("Test inMemorySource with an attribute mapped to a negative index");
 
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "@source(type='inMemory', topic='Stock', @map(type='passThrough', " +
+                "   @attributes(symbol='0', volume='-1'))) " +
+                "define stream FooStream (symbol string, volume long); ";
+
+        String query = "" +
+                "from FooStream " +
+                "select symbol, volume " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.createSiddhiAppRuntime(streams + query);
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.transport;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.stream.input.source.AttributeMapping;
+import io.siddhi.core.stream.input.source.InputEventHandler;
+import io.siddhi.core.stream.input.source.SourceMapper;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.transport.OptionHolder;
+import io.siddhi.query.api.definition.StreamDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test mapper that counts the events it receives and the events it publishes to the stream junction after checking
+ * the filters pushed down from the consuming queries.
+ */
+@Extension(
+        name = "testPushDown",
+        namespace = "sourceMapper",
+        description = "testPushDown mapper passes the events through, dropping the events no query consumes.",
+        examples = @Example(
+                syntax = "@source(type='inMemory', @map(type='testPushDown'),\n" +
+                        "define stream BarStream (symbol string, price float, volume long);",
+                description = "In this example BarStream uses testPushDown inputmapper which passes the " +
+                        "received events consumed by the queries of the stream."
+        )
+)
+public class TestPushDownSourceMapper extends SourceMapper {
+
+    public static final AtomicInteger RECEIVED_EVENTS = new AtomicInteger(0);
+    public static final AtomicInteger PUBLISHED_EVENTS = new AtomicInteger(0);
+
+    @Override
+    public void init(StreamDefinition streamDefinition, OptionHolder optionHolder,
+                     List<AttributeMapping> attributeMappingList, ConfigReader configReader,
+                     SiddhiAppContext siddhiAppContext) {
+    }
+
+    @Override
+    public Class[] getSupportedInputEventClasses() {
+        return new Class[]{Event.class, Event[].class, Object[].class};
+    }
+
+    @Override
+    protected void mapAndProcess(Object eventObject, InputEventHandler inputEventHandler) throws InterruptedException {
+        if (eventObject instanceof Event[]) {
+            List<Event> consumedEvents = new ArrayList<>();
+            for (Event event : (Event[]) eventObject) {
+                RECEIVED_EVENTS.incrementAndGet();
+                if (isEventConsumed(event.getData())) {
+                    consumedEvents.add(event);
+                }
+            }
+            if (!consumedEvents.isEmpty()) {
+                PUBLISHED_EVENTS.addAndGet(consumedEvents.size());
+                inputEventHandler.sendEvents(consumedEvents.toArray(new Event[consumedEvents.size()]));
+            }
+        } else if (eventObject instanceof Event) {
+            RECEIVED_EVENTS.incrementAndGet();
+            if (isEventConsumed(((Event) eventObject).getData())) {
+                PUBLISHED_EVENTS.incrementAndGet();
+                inputEventHandler.sendEvent((Event) eventObject);
+            }
+        } else if (eventObject instanceof Object[]) {
+            RECEIVED_EVENTS.incrementAndGet();
+            if (isEventConsumed((Object[]) eventObject)) {
+                PUBLISHED_EVENTS.incrementAndGet();
+                inputEventHandler.sendEvent(new Event(-1, (Object[]) eventObject));
+            }
+        } else {
+            throw new SiddhiAppRuntimeException("Event object must be either Event[], Event or Object[] " +
+                    "but found " + eventObject.getClass().getCanonicalName());
+        }
+    }
+
+    @Override
+    protected boolean allowNullInTransportProperties() {
+        return false;
+    }
+}
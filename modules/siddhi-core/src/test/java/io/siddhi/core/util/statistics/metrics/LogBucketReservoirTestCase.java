@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.statistics.metrics;
+
+import com.codahale.metrics.Snapshot;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LogBucketReservoirTestCase {
+    private static final Logger log = Logger.getLogger(LogBucketReservoirTestCase.class);
+    private static final long MAX_TRACKABLE_VALUE = (1L << 40) - 1;
+
+    @Test
+    public void testBucketBounds() {
+        log.info("testBucketBounds - buckets cover each value within 1/64 of it");
+
+        for (long value = 0; value < 128; value++) {
+            int index = LogBucketReservoir.bucketIndex(value);
+            AssertJUnit.assertEquals(value, index);
+            AssertJUnit.assertEquals(value, LogBucketReservoir.bucketLowerBound(index));
+            AssertJUnit.assertEquals(value, LogBucketReservoir.bucketUpperBound(index));
+        }
+        int lastIndex = LogBucketReservoir.bucketIndex(MAX_TRACKABLE_VALUE);
+        AssertJUnit.assertEquals(2239, lastIndex);
+        AssertJUnit.assertEquals(MAX_TRACKABLE_VALUE, LogBucketReservoir.bucketUpperBound(lastIndex));
+        for (int index = 0; index < lastIndex; index++) {
+            long lowerBound = LogBucketReservoir.bucketLowerBound(index);
+            long upperBound = LogBucketReservoir.bucketUpperBound(index);
+            AssertJUnit.assertEquals(index, LogBucketReservoir.bucketIndex(lowerBound));
+            AssertJUnit.assertEquals(index, LogBucketReservoir.bucketIndex(upperBound));
+            AssertJUnit.assertEquals(upperBound + 1, LogBucketReservoir.bucketLowerBound(index + 1));
+            AssertJUnit.assertTrue(upperBound - lowerBound + 1 <= Math.max(1, lowerBound / 64));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        log.info("testPercentiles - percentiles within 1.6% of the recorded values");
+
+        LogBucketReservoir reservoir = new LogBucketReservoir();
+        for (long value = 1; value <= 100000; value++) {
+            reservoir.update(value * 1000);
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        AssertJUnit.assertEquals(100000, snapshot.size());
+        AssertJUnit.assertEquals(100000000L, snapshot.getMax());
+        AssertJUnit.assertEquals(50000500.0, snapshot.getMean(), 0.0);
+        AssertJUnit.assertEquals(1000.0, snapshot.getMin(), 1000 * 0.016);
+        AssertJUnit.assertEquals(50000000.0, snapshot.getMedian(), 50000000 * 0.016);
+        AssertJUnit.assertEquals(75000000.0, snapshot.get75thPercentile(), 75000000 * 0.016);
+        AssertJUnit.assertEquals(99000000.0, snapshot.get99thPercentile(), 99000000 * 0.016);
+        AssertJUnit.assertEquals(99900000.0, snapshot.get999thPercentile(), 99900000 * 0.016);
+        AssertJUnit.assertEquals(100000000.0, snapshot.getValue(1.0), 0.0);
+    }
+
+    @Test
+    public void testEmptyReservoir() {
+        log.info("testEmptyReservoir - snapshot of no values");
+
+        Snapshot snapshot = new LogBucketReservoir().getSnapshot();
+        AssertJUnit.assertEquals(0, snapshot.size());
+        AssertJUnit.assertEquals(0, snapshot.getMax());
+        AssertJUnit.assertEquals(0.0, snapshot.get99thPercentile(), 0.0);
+        AssertJUnit.assertEquals(0, snapshot.getValues().length);
+    }
+
+    @Test
+    public void testWindowRotation() throws InterruptedException {
+        log.info("testWindowRotation - values kept for one to two window lengths");
+
+        LogBucketReservoir reservoir = new LogBucketReservoir(500, TimeUnit.MILLISECONDS);
+        reservoir.update(10);
+        reservoir.update(10);
+        reservoir.update(10);
+        Thread.sleep(750);
+        // The values of the previous window are still kept
+        AssertJUnit.assertEquals(3, reservoir.getSnapshot().size());
+
+        reservoir.update(20);
+        Thread.sleep(750);
+        // The window of the first values is cleared for the new values
+        Snapshot snapshot = reservoir.getSnapshot();
+        AssertJUnit.assertEquals(1, snapshot.size());
+        AssertJUnit.assertEquals(20, snapshot.getMax());
+
+        Thread.sleep(1100);
+        snapshot = reservoir.getSnapshot();
+        AssertJUnit.assertEquals(0, snapshot.size());
+        AssertJUnit.assertEquals(0, snapshot.getMax());
+    }
+
+    @Test
+    public void testStripeMerging() throws InterruptedException {
+        log.info("testStripeMerging - values recorded by several threads merged in the snapshot");
+
+        LogBucketReservoir reservoir = new LogBucketReservoir();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (long value = 1; value <= 1000; value++) {
+                    reservoir.update(value);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Snapshot snapshot = reservoir.getSnapshot();
+        AssertJUnit.assertEquals(8000, snapshot.size());
+        AssertJUnit.assertEquals(1000, snapshot.getMax());
+        AssertJUnit.assertEquals(500.5, snapshot.getMean(), 0.0);
+        AssertJUnit.assertEquals(500.0, snapshot.getMedian(), 500 * 0.016);
+        AssertJUnit.assertEquals(990.0, snapshot.get99thPercentile(), 990 * 0.016);
+    }
+}
@@ -37,6 +37,8 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -1062,4 +1064,63 @@ public class SessionWindowTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test(description = "Check whether the sessions of many session keys expire in the order of their end times")
+    public void testSessionWindow21() throws InterruptedException {
+        log.info("SessionWindow Test21: testing expiry order of many session keys");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = "@app:playback "
+                + "define stream purchaseEventStream (user string, item_number int, price double, quantity int); ";
+
+        String query = ""
+                + "@info(name = 'query0') "
+                + "from purchaseEventStream#window.session(1 sec, user) "
+                + "select user, item_number "
+                + "insert all events into outputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        List<String> expiredUsers = new ArrayList<>();
+
+        siddhiAppRuntime.addCallback("query0", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    inEventCount = inEventCount + inEvents.length;
+                }
+                if (removeEvents != null) {
+                    removeEventCount = removeEventCount + removeEvents.length;
+                    for (Event event : removeEvents) {
+                        expiredUsers.add((String) event.getData(0));
+                    }
+                    count.addAndGet(removeEvents.length);
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler purchaseEventStreamHandler = siddhiAppRuntime.getInputHandler("purchaseEventStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 50; i++) {
+            purchaseEventStreamHandler.send(1000 + i * 10, new Object[]{"user" + i, i, 10.0, 1});
+        }
+        // Extends the session of user0 beyond the sessions of all the other users
+        purchaseEventStreamHandler.send(1600, new Object[]{"user0", 50, 10.0, 1});
+        purchaseEventStreamHandler.send(5000, new Object[]{"user50", 51, 10.0, 1});
+
+        SiddhiTestHelper.waitForEvents(100, 51, count, 4200);
+        AssertJUnit.assertEquals(52, inEventCount);
+        AssertJUnit.assertEquals(51, removeEventCount);
+        for (int i = 1; i < 50; i++) {
+            AssertJUnit.assertEquals("user" + i, expiredUsers.get(i - 1));
+        }
+        AssertJUnit.assertEquals("user0", expiredUsers.get(49));
+        AssertJUnit.assertEquals("user0", expiredUsers.get(50));
+        AssertJUnit.assertTrue(eventArrived);
+        siddhiAppRuntime.shutdown();
+    }
+
 }